@@ -0,0 +1,236 @@
+package __SpringBoot2.reativo.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import __SpringBoot2.__star_Spring_io.Application;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+import __SpringBoot2.reativo.ReativoApplication;
+
+/**
+ * Servlet (Tomcat, 200 threads, JPA/JDBC) x reativo (Netty, WebFlux/R2DBC) com milhares de
+ * clientes lentos conectados - aplicação inteira, HTTP + H2 em memória, uma aplicação por fork.
+ *
+ * Clientes lentos: LENTOS conexões com POST /animes cujo corpo chega 1 byte por segundo
+ * (rede móvel ruim). No servlet cada uma prende uma thread do Tomcat lendo o corpo; no reativo
+ * só ocupa um canal do Netty.
+ *
+ * Resultados:
+ * - no setup, impresso: heap e threads de plataforma a mais por conexão lenta
+ *   (thread de plataforma também reserva a pilha fora do heap: -Xss, 1 MB por padrão)
+ * - JMH: GET /animes?page=..&size=10 de 32 clientes normais enquanto os lentos seguem conectados
+ *   respondidas = requisições/ms atendidas; expiradas = sem resposta em TEMPO_LIMITE
+ *   SampleTime = latência com percentis (p0.99 = cauda)
+ *
+ * Milhares de sockets: cliente + servidor na mesma JVM usam 2 descritores por conexão
+ * (ulimit -n maior que 2 * lentos + folga).
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g" })
+@Threads(32)
+@State(Scope.Benchmark)
+public class ClientesLentosBenchmark {
+
+	private static final int LINHAS = 10_000;
+
+	// Bytes prometidos no Content-Length dos clientes lentos (nunca terminam durante o benchmark)
+	private static final int CORPO_LENTO = 100_000;
+
+	private static final Duration TEMPO_LIMITE = Duration.ofSeconds(2);
+
+	@Param({ "servlet", "reativo" })
+	public String modulo;
+
+	@Param({ "2000" })
+	public int lentos;
+
+	private ConfigurableApplicationContext aplicacao;
+	private HttpClient http;
+	private String base;
+	private int porta;
+
+	private final List<SocketChannel> conexoesLentas = new ArrayList<>();
+	private ScheduledExecutorService gotejamento;
+
+	@Setup
+	public void sobe() throws Exception {
+		List<String> argumentos = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--spring.main.banner-mode=off",
+				"--logging.level.root=WARN"));
+		if ("servlet".equals(modulo)) {
+			// application.properties lido é o deste módulo (classpath de teste): banco e JPA do servlet vão por argumento
+			argumentos.addAll(List.of(
+					"--spring.datasource.url=jdbc:h2:mem:servlet;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+					"--spring.jpa.hibernate.ddl-auto=create-drop",
+					"--spring.jpa.show-sql=false",
+					"--spring.sql.init.mode=never",
+					"--spring.autoconfigure.exclude="
+							+ "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+							+ "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration,"
+							+ "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration,"
+							+ "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration",
+					"--sanitizador.migracao.habilitada=false",
+					// Toda requisição vai ao banco, como no reativo (sem caches em memória)
+					"--cache.respostas.habilitado=false",
+					"--cache.paginas.habilitado=false"));
+			aplicacao = new SpringApplicationBuilder(Application.class).web(WebApplicationType.SERVLET)
+					.run(argumentos.toArray(String[]::new));
+			aplicacao.getBean(JdbcTemplate.class).update(insereLinhas());
+		} else {
+			// Tabelas do schema.sql dos testes (as mesmas que o Hibernate cria no servlet)
+			argumentos.addAll(List.of(
+					"--spring.r2dbc.url=r2dbc:h2:mem:///reativo?options=DB_CLOSE_DELAY=-1;MODE=MYSQL",
+					"--spring.sql.init.mode=always",
+					"--spring.autoconfigure.exclude="
+							+ "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+							+ "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+							+ "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration"));
+			aplicacao = new SpringApplicationBuilder(ReativoApplication.class).web(WebApplicationType.REACTIVE)
+					.run(argumentos.toArray(String[]::new));
+			aplicacao.getBean(DatabaseClient.class).sql(insereLinhas()).fetch().rowsUpdated().block();
+		}
+		porta = ((WebServerApplicationContext) aplicacao).getWebServer().getPort();
+		http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		base = "http://localhost:" + porta + "/animes?size=10&page=";
+
+		long heapAntes = heapUsado();
+		int threadsAntes = ManagementFactory.getThreadMXBean().getThreadCount();
+
+		abreConexoesLentas();
+		// Tempo para o servidor aceitar todas e começar a ler os corpos
+		TimeUnit.SECONDS.sleep(3);
+
+		long heapDepois = heapUsado();
+		int threadsDepois = ManagementFactory.getThreadMXBean().getThreadCount();
+		System.out.println(String.format(Locale.ROOT,
+				"%s: %d conexoes lentas -> heap %.1f KB/conexao, threads de plataforma %.3f/conexao (%d -> %d)",
+				modulo, lentos, (heapDepois - heapAntes) / 1024.0 / lentos,
+				(double) (threadsDepois - threadsAntes) / lentos, threadsAntes, threadsDepois));
+	}
+
+	@TearDown
+	public void desce() {
+		gotejamento.shutdownNow();
+		for (SocketChannel conexao : conexoesLentas) {
+			try {
+				conexao.close();
+			} catch (IOException e) {
+				// já fechada pelo servidor
+			}
+		}
+		aplicacao.close();
+	}
+
+	@Benchmark
+	public int buscaPagina(Contadores contadores) throws Exception {
+		int pagina = ThreadLocalRandom.current().nextInt(LINHAS / 10);
+		HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + pagina)).timeout(TEMPO_LIMITE).build();
+		try {
+			HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+			if (resposta.statusCode() != 200) {
+				throw new IllegalStateException("HTTP " + resposta.statusCode() + " em " + base + pagina);
+			}
+			contadores.respondidas++;
+			return resposta.statusCode();
+		} catch (HttpTimeoutException e) {
+			contadores.expiradas++;
+			return 0;
+		}
+	}
+
+	// Contadores extras do JMH (eventos por iteração, somados entre as threads)
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Contadores {
+		public long respondidas;
+		public long expiradas;
+
+		@Setup(Level.Iteration)
+		public void zera() {
+			respondidas = 0;
+			expiradas = 0;
+		}
+	}
+
+	// Cabeçalho completo + começo do corpo; o resto pinga 1 byte por segundo em todas as conexões
+	private void abreConexoesLentas() throws IOException {
+		byte[] inicio = ("POST /animes HTTP/1.1\r\n"
+				+ "Host: localhost:" + porta + "\r\n"
+				+ "Content-Type: application/json\r\n"
+				+ "Content-Length: " + CORPO_LENTO + "\r\n"
+				+ "\r\n"
+				+ "{\"name\":\"").getBytes(StandardCharsets.US_ASCII);
+		for (int i = 0; i < lentos; i++) {
+			SocketChannel conexao = SocketChannel.open(new InetSocketAddress("localhost", porta));
+			conexao.configureBlocking(false);
+			conexao.write(ByteBuffer.wrap(inicio));
+			conexoesLentas.add(conexao);
+		}
+		gotejamento = Executors.newSingleThreadScheduledExecutor();
+		gotejamento.scheduleAtFixedRate(() -> {
+			for (SocketChannel conexao : conexoesLentas) {
+				try {
+					conexao.write(ByteBuffer.wrap(new byte[] { 'a' }));
+				} catch (IOException e) {
+					// conexão derrubada pelo servidor (tempo limite de leitura): segue com as outras
+				}
+			}
+		}, 1, 1, TimeUnit.SECONDS);
+	}
+
+	private static String insereLinhas() {
+		return "INSERT INTO anime (id, name, sanitizador_versao, nome_busca, versao) "
+				+ "SELECT X, 'anime ' || X, " + Sanatizador.VERSAO + ", 'anime ' || X, 0 FROM SYSTEM_RANGE(1, " + LINHAS + ")";
+	}
+
+	private static long heapUsado() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			TimeUnit.MILLISECONDS.sleep(200);
+		}
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+}
@@ -0,0 +1,27 @@
+// Pacote do módulo reativo (fora de __star_Spring_io: um scan não alcança os componentes do outro módulo)
+package __SpringBoot2.reativo;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Mesma API /animes do módulo servlet (AnimeComtroller), em pilha não bloqueante:
+ * - WebFlux sobre Netty: poucas threads de evento atendem milhares de conexões abertas
+ *   (cliente lento ou resposta esperando o banco não segura thread)
+ * - R2DBC: o driver devolve o resultado por callback, sem thread parada no socket
+ *
+ * Reaproveita do módulo servlet as regras de entrada e saída (Sanatizador, PageableValidation,
+ * NormalizadorNome, EtagAnime), os DTOs e as exceções; mesma tabela anime e mesma sequência anime_seq.
+ */
+@SpringBootApplication
+public class ReativoApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReativoApplication.class, args);
+    }
+}
+
+// COMO USAR:
+// 1. mvn install -DskipTests            (módulo servlet, uma vez)
+// 2. mvn -f reativo/pom.xml spring-boot:run
+// Porta 8081 (application.properties): sobe ao lado do módulo servlet (8080) no mesmo banco
@@ -0,0 +1,21 @@
+// Pacote de configurações do módulo reativo
+package __SpringBoot2.reativo.configurer;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.ReactiveSortHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+// @Configuration: Pageable como parâmetro dos endpoints (?page=0&size=10&sort=name,asc)
+// No WebFlux o Spring Boot não registra esse resolvedor sozinho (só no Spring MVC)
+// Os limites continuam no service (PageableValidation), iguais aos do módulo servlet
+@Configuration
+public class PaginacaoReativaConfig implements WebFluxConfigurer {
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(
+            new ReactivePageableHandlerMethodArgumentResolver(new ReactiveSortHandlerMethodArgumentResolver()));
+    }
+}
@@ -0,0 +1,111 @@
+// Pacote da controller do módulo reativo
+package __SpringBoot2.reativo.controller;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import __SpringBoot2.reativo.services.AnimeServicesReativo;
+import __SpringBoot2.__star_Spring_io.requests.AnimePostRequestBody;
+import __SpringBoot2.__star_Spring_io.requests.AnimePutRequestBody;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+import __SpringBoot2.__star_Spring_io.util.EtagAnime;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Contrato /animes do AnimeComtroller (módulo servlet): mesmas URLs, parâmetros, validações,
+ * corpos JSON e status (200/201, 400, 412). O resultado é um Mono - a thread de evento do Netty
+ * volta para o loop enquanto o banco responde.
+ *
+ * Fora deste módulo: ETag das páginas (GeracaoCatalogo), cursor, busca fuzzy/prefixo, sugestões,
+ * lote, exportação e estatísticas de cache - dependem dos caches/índices em memória do servlet.
+ */
+@RestController
+@RequestMapping("animes")
+@RequiredArgsConstructor
+@Validated
+public class AnimeControllerReativo {
+
+    // Caracteres permitidos no nome buscado (mesma regex do AnimeComtroller)
+    private static final String REGEX_NOME = "^[a-zA-Z0-9áàâãéèêíïóôõöúçñÁÀÂÃÉÈÊÍÏÓÔÕÖÚÇÑ\\s\\-._]*$";
+
+    private final AnimeServicesReativo animeServices;
+
+    // GET /animes?page=0&size=10&sort=name,asc
+    @GetMapping
+    public Mono<Page<AnimeResponse>> list(Pageable pageable) {
+        return animeServices.listAll(pageable);
+    }
+
+    // GET /animes/findByName?name=Naruto&comtem=false
+    @GetMapping(path = "findByName")
+    public Mono<Page<AnimeResponse>> list(
+            Pageable pageable,
+            @RequestParam
+            @NotBlank(message = "Nome não pode ser vazio")
+            @Size(min = 1, max = 50, message = "Nome deve ter entre 1 e 50 caracteres")
+            @Pattern(regexp = REGEX_NOME, message = "Caracteres inválidos no nome")
+            String name,
+            @RequestParam(defaultValue = "false")
+            boolean comtem) {
+        return animeServices.findByName(pageable, name, comtem);
+    }
+
+    // POST /animes → 201 com o anime criado (ETag da versão inicial)
+    @PostMapping
+    public Mono<ResponseEntity<AnimeResponse>> save(@RequestBody @Valid AnimePostRequestBody animePostRequestBody) {
+        return animeServices.save(animePostRequestBody).map(anime -> comEtag(HttpStatus.CREATED, anime));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<AnimeResponse> delete(@PathVariable Long id) {
+        return animeServices.deleteById(id);
+    }
+
+    // PUT /animes   If-Match: "a-<id>-<versao>" (opcional) → só grava se ninguém alterou depois (senão 412)
+    @PutMapping
+    public Mono<ResponseEntity<AnimeResponse>> update(
+            @RequestBody @Valid AnimePutRequestBody animePutRequestBody,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> {
+            Long id = animePutRequestBody.getId();
+            Long versaoLida = EtagAnime.versaoExigida(ifMatch, id);
+            return animeServices.updateByName(id, animePutRequestBody.getName(), versaoLida)
+                .map(anime -> comEtag(HttpStatus.OK, anime));
+        });
+    }
+
+    // Resposta de um anime com ETag quando a versão é conhecida
+    private static ResponseEntity<AnimeResponse> comEtag(HttpStatus status, AnimeResponse anime) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.status(status);
+        if (anime.getVersao() != null) {
+            resposta.eTag(EtagAnime.doRecurso(anime.getId(), anime.getVersao()));
+        }
+        return resposta.body(anime);
+    }
+}
+
+// RESUMO DOS ENDPOINTS (porta 8081):
+// GET    /animes              → Lista todos (paginação)
+// GET    /animes/findByName   → Busca por nome (contém ou exato sem acentos/maiúsculas)
+// POST   /animes              → Cria anime (201)
+// DELETE /animes/{id}         → Remove anime
+// PUT    /animes              → Atualiza nome (If-Match opcional → 412 se desatualizado)
@@ -0,0 +1,44 @@
+// Pacote das linhas lidas/gravadas pelo R2DBC
+package __SpringBoot2.reativo.dominio;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * CLASSE AnimeLinha
+ *
+ * Linha da tabela anime para o Spring Data R2DBC (mesmas colunas da entidade JPA Anime).
+ * Sem JPA: nada de lazy loading, dirty checking ou @PrePersist - nomeBusca é preenchido
+ * pelo service (NormalizadorNome.dobra) em todo INSERT/UPDATE.
+ *
+ * versao (@Version): nula = linha nova → save() faz INSERT (e grava versao 0);
+ * o id vem da SequenciaAnimeReativa antes do save.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("anime")
+public class AnimeLinha {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    @Column("sanitizador_versao")
+    private Integer sanitizadorVersao;
+
+    @Column("nome_busca")
+    private String nomeBusca;
+
+    @Version
+    private Long versao;
+}
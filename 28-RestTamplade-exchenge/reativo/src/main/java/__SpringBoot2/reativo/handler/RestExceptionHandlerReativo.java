@@ -0,0 +1,125 @@
+// Pacote para manipuladores de exceção do módulo reativo
+package __SpringBoot2.reativo.handler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+
+import __SpringBoot2.__star_Spring_io.exception.BedRequestException;
+import __SpringBoot2.__star_Spring_io.exception.BedRequestExceptionDetails;
+import __SpringBoot2.__star_Spring_io.exception.ExceptionDetails;
+import __SpringBoot2.__star_Spring_io.exception.ValidationException;
+import __SpringBoot2.__star_Spring_io.exception.VersaoDesatualizadaException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Mesmos corpos de erro do RestExceptionHandler (módulo servlet), com as exceções do WebFlux:
+ * - BedRequestException → 400 (BedRequestExceptionDetails)
+ * - VersaoDesatualizadaException → 412
+ * - @Valid no corpo (WebExchangeBindException) → 400 com campos e mensagens (ValidationException)
+ * - validação dos @RequestParam (HandlerMethodValidationException) → 400
+ * - validação dos @RequestParam com @Validated na classe (ConstraintViolationException do
+ *   MethodValidationPostProcessor, antes da validação do WebFlux) → 400
+ * Campo com mais de uma regra violada (ex: @NotEmpty + @Size) aparece uma vez só em fields
+ */
+@Log4j2
+@RestControllerAdvice
+public class RestExceptionHandlerReativo {
+
+    @ExceptionHandler(BedRequestException.class)
+    public ResponseEntity<BedRequestExceptionDetails> handlerBedResponseException(BedRequestException bre) {
+        log.error("Bad request exception: {}", bre.getMessage());
+        return new ResponseEntity<>(
+            BedRequestExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .title("bed request exception , check the documentation")
+                .details(bre.getMessage())
+                .developerMessage(bre.getClass().getName())
+                .build(),
+            HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(VersaoDesatualizadaException.class)
+    public ResponseEntity<ExceptionDetails> handlerVersaoDesatualizada(VersaoDesatualizadaException vde) {
+        log.warn("Precondition failed: {}", vde.getMessage());
+        return new ResponseEntity<>(
+            ExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .title("precondition failed , reload the anime and try again")
+                .details(vde.getMessage())
+                .developerMessage(vde.getClass().getName())
+                .build(),
+            HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ValidationException> handlerCorpoInvalido(WebExchangeBindException exception) {
+        List<FieldError> fieldErrors = exception.getBindingResult().getFieldErrors();
+        String fields = fieldErrors.stream().map(FieldError::getField).distinct().collect(Collectors.joining(", "));
+        String fieldsMessage = fieldErrors.stream().map(FieldError::getDefaultMessage).collect(Collectors.joining(", "));
+        log.warn("Validation errors - Fields: {}, Messages: {}", fields, fieldsMessage);
+        return validacao(exception, fields, fieldsMessage);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ValidationException> handlerParametroInvalido(HandlerMethodValidationException exception) {
+        String fields = exception.getParameterValidationResults().stream()
+            .map(resultado -> resultado.getMethodParameter().getParameterName())
+            .distinct()
+            .collect(Collectors.joining(", "));
+        String fieldsMessage = exception.getAllErrors().stream()
+            .map(erro -> erro.getDefaultMessage())
+            .collect(Collectors.joining(", "));
+        log.warn("Validation errors - Fields: {}, Messages: {}", fields, fieldsMessage);
+        return validacao(exception, fields, fieldsMessage);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ValidationException> handlerRestricaoViolada(ConstraintViolationException exception) {
+        // Caminho "metodo.parametro": o último nó é o nome do parâmetro
+        String fields = exception.getConstraintViolations().stream()
+            .map(RestExceptionHandlerReativo::parametro)
+            .distinct()
+            .collect(Collectors.joining(", "));
+        String fieldsMessage = exception.getConstraintViolations().stream()
+            .map(ConstraintViolation::getMessage)
+            .collect(Collectors.joining(", "));
+        log.warn("Validation errors - Fields: {}, Messages: {}", fields, fieldsMessage);
+        return validacao(exception, fields, fieldsMessage);
+    }
+
+    private static String parametro(ConstraintViolation<?> violacao) {
+        String nome = null;
+        for (Path.Node no : violacao.getPropertyPath()) {
+            nome = no.getName();
+        }
+        return nome;
+    }
+
+    private static ResponseEntity<ValidationException> validacao(Exception exception, String fields, String fieldsMessage) {
+        return new ResponseEntity<>(
+            ValidationException.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .title("bed request exception , invalid fields")
+                .details(exception.getMessage())
+                .developerMessage(exception.getClass().getName())
+                .fields(fields)
+                .fieldsMessage(fieldsMessage)
+                .build(),
+            HttpStatus.BAD_REQUEST);
+    }
+}
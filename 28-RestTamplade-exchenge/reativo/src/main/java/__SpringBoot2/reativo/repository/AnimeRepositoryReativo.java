@@ -0,0 +1,56 @@
+// Pacote dos repositórios R2DBC
+package __SpringBoot2.reativo.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+
+import __SpringBoot2.reativo.dominio.AnimeLinha;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repositório reativo da tabela anime (mesmas consultas do AnimeRepository do módulo servlet)
+ *
+ * Pageable nos métodos derivados vira LIMIT/OFFSET + ORDER BY; o total da página é um
+ * count* separado (o service pede os dois ao mesmo tempo).
+ */
+public interface AnimeRepositoryReativo extends R2dbcRepository<AnimeLinha, Long> {
+
+    // Página da tabela inteira (GET /animes)
+    Flux<AnimeLinha> findAllBy(Pageable pageable);
+
+    // Busca "contém" (findByName?comtem=true)
+    Flux<AnimeLinha> findByNameContaining(String name, Pageable pageable);
+
+    Mono<Long> countByNameContaining(String name);
+
+    // Busca exata pela chave dobrada (sem maiúsculas/acentos), índice idx_anime_nome_busca
+    Flux<AnimeLinha> findByNomeBusca(String nomeBusca, Pageable pageable);
+
+    Mono<Long> countByNomeBusca(String nomeBusca);
+
+    // Um único UPDATE (sem SELECT antes); linhas afetadas = 0 → id não existe
+    @Modifying
+    @Query("UPDATE anime SET name = :name, nome_busca = :nomeBusca, sanitizador_versao = :versao, "
+         + "versao = versao + 1 WHERE id = :id")
+    Mono<Integer> atualizaNome(@Param("id") Long id, @Param("name") String name,
+            @Param("nomeBusca") String nomeBusca, @Param("versao") Integer versao);
+
+    // Mesmo UPDATE exigindo a versão lida (If-Match): 0 linhas → não existe ou foi alterado no meio
+    @Modifying
+    @Query("UPDATE anime SET name = :name, nome_busca = :nomeBusca, sanitizador_versao = :versao, "
+         + "versao = versao + 1 WHERE id = :id AND versao = :versaoLida")
+    Mono<Integer> atualizaNomeNaVersao(@Param("id") Long id, @Param("name") String name,
+            @Param("nomeBusca") String nomeBusca, @Param("versao") Integer versao,
+            @Param("versaoLida") Long versaoLida);
+
+    @Modifying
+    @Query("DELETE FROM anime WHERE id = :id")
+    Mono<Integer> removePorId(@Param("id") Long id);
+}
+
+// QUEM USA:
+// - AnimeServicesReativo (todas as operações da API)
@@ -0,0 +1,84 @@
+// Pacote dos repositórios R2DBC
+package __SpringBoot2.reativo.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import __SpringBoot2.__star_Spring_io.util.SequenciaIdsAnime;
+import reactor.core.publisher.Mono;
+
+/**
+ * CLASSE SequenciaAnimeReativa
+ *
+ * Propósito: Ids dos INSERTs do módulo reativo sem colidir com os do módulo servlet.
+ *
+ * Os dois módulos gravam na mesma tabela anime. O servlet usa a sequência anime_seq com o
+ * otimizador pooled do Hibernate (no MySQL, emulada na tabela anime_seq(next_val)): cada leitura
+ * do valor v avança next_val em IDS_POR_RESERVA e dá direito aos ids (v - IDS_POR_RESERVA, v].
+ * Aqui a reserva segue a mesma regra (mesma tabela, mesmo passo), então um bloco pertence a
+ * quem leu o valor - seja o Hibernate ou este módulo.
+ *
+ * Reserva = SELECT ... FOR UPDATE + UPDATE na mesma transação (a linha fica travada só nesse
+ * intervalo). Ids do bloco atual saem da memória; bloco reservado por duas requisições ao
+ * mesmo tempo: a segunda usa só o próprio primeiro id e descarta o resto (buraco, nunca repetição).
+ */
+@Component
+public class SequenciaAnimeReativa {
+
+    static final String TABELA = "anime_seq";
+
+    private final DatabaseClient banco;
+
+    private final TransactionalOperator transacao;
+
+    // Bloco em uso: próximos ids [proximo, limite] (proximo > limite = esgotado)
+    private long proximo = 1;
+    private long limite;
+
+    public SequenciaAnimeReativa(DatabaseClient banco, TransactionalOperator transacao) {
+        this.banco = banco;
+        this.transacao = transacao;
+    }
+
+    /**
+     * @return Próximo id livre (reserva um bloco novo no banco quando o atual acabou)
+     */
+    public Mono<Long> proximoId() {
+        return Mono.defer(() -> {
+            Long id = doBlocoAtual();
+            return id != null ? Mono.just(id) : reservaBloco().map(this::usaBloco);
+        });
+    }
+
+    private synchronized Long doBlocoAtual() {
+        return proximo <= limite ? proximo++ : null;
+    }
+
+    // Bloco (v - IDS_POR_RESERVA, v]; ids menores que 1 (sequência recém-criada) ficam de fora
+    private synchronized long usaBloco(long valor) {
+        long primeiro = Math.max(1, valor - SequenciaIdsAnime.IDS_POR_RESERVA + 1);
+        if (proximo > limite) {
+            proximo = primeiro + 1;
+            limite = valor;
+        }
+        return primeiro;
+    }
+
+    // Lê e avança anime_seq numa transação curta (nenhuma outra reserva lê o mesmo valor)
+    Mono<Long> reservaBloco() {
+        return banco.sql("SELECT next_val FROM " + TABELA + " FOR UPDATE")
+            .map(linha -> linha.get("next_val", Long.class))
+            .one()
+            .switchIfEmpty(Mono.error(() -> new IllegalStateException("tabela " + TABELA + " vazia")))
+            .flatMap(valor -> banco.sql("UPDATE " + TABELA + " SET next_val = :novo")
+                .bind("novo", valor + SequenciaIdsAnime.IDS_POR_RESERVA)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(valor))
+            .as(transacao::transactional);
+    }
+}
+
+// QUEM USA:
+// - AnimeServicesReativo.save → proximoId() antes do INSERT
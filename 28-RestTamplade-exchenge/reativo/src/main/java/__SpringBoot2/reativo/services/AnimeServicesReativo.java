@@ -0,0 +1,165 @@
+// Pacote de serviços do módulo reativo
+package __SpringBoot2.reativo.services;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import __SpringBoot2.__star_Spring_io.exception.BedRequestException;
+import __SpringBoot2.__star_Spring_io.exception.VersaoDesatualizadaException;
+import __SpringBoot2.reativo.dominio.AnimeLinha;
+import __SpringBoot2.reativo.repository.AnimeRepositoryReativo;
+import __SpringBoot2.reativo.repository.SequenciaAnimeReativa;
+import __SpringBoot2.__star_Spring_io.requests.AnimePostRequestBody;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+import __SpringBoot2.__star_Spring_io.seguranca.PageableValidation;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+import __SpringBoot2.__star_Spring_io.util.NormalizadorNome;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * CLASSE AnimeServicesReativo
+ *
+ * Mesmas regras do AnimeServices (módulo servlet) para list, findByName, save, delete e update,
+ * devolvendo Mono: nada é executado até o WebFlux assinar, e nenhuma thread espera o banco.
+ *
+ * - Entrada: PageableValidation (tamanho/página/ordenação) e Sanatizador (nomes)
+ * - Saída: nome sanitizado só quando a linha é anterior à versão atual do Sanatizador
+ * - Escritas: um comando por operação (UPDATE/DELETE direto, linhas afetadas no lugar do SELECT)
+ *
+ * Sem os caches/índices em memória do módulo servlet: escrita feita por aqui não dispara
+ * AnimeAlteradoEvento lá. Quando o servlet (mesmo banco) enxerga a escrita:
+ * - FiltroBloomNomes: na próxima reconstrução (busca.bloom.reconstrucao-ms)
+ * - ContadorAnimes: na próxima reconciliação (cache.contagem.reconciliacao-ms)
+ * - CachePaginas/CacheRespostas e cache de segundo nível: quando a entrada vence (ttl-ms / ehcache.xml)
+ * - IndiceTrigramaNomes/IndiceFuzzyNomes/IndiceSugestaoNomes: carregados uma vez na subida
+ *   (CarregadorIndicesNome), só na próxima subida do servlet
+ */
+@Service
+@RequiredArgsConstructor
+public class AnimeServicesReativo {
+
+    private final AnimeRepositoryReativo animeRepository;
+
+    private final SequenciaAnimeReativa sequencia;
+
+    // ========== LISTA TODOS OS ANIMES (COM PAGINAÇÃO) ==========
+    public Mono<Page<AnimeResponse>> listAll(Pageable pageable) {
+        return Mono.defer(() -> {
+            Pageable pageableRequest = PageableValidation.validateAndSanitize(pageable);
+            return pagina(animeRepository.findAllBy(pageableRequest), animeRepository.count(), pageableRequest);
+        });
+    }
+
+    // ========== BUSCA ANIMES POR NOME ==========
+    public Mono<Page<AnimeResponse>> findByName(Pageable pageable, String name, boolean comtem) {
+        return Mono.defer(() -> {
+            Pageable pageableRequest = PageableValidation.validateAndSanitize(pageable);
+            String nSani = nomeBuscaSanitizado(name);
+            if (comtem) {
+                return pagina(animeRepository.findByNameContaining(nSani, pageableRequest),
+                    animeRepository.countByNameContaining(nSani), pageableRequest);
+            }
+            // Exato sem diferenciar maiúsculas/acentos: chave dobrada (mesma regra do módulo servlet)
+            String nDobrado = NormalizadorNome.dobra(nSani);
+            return pagina(animeRepository.findByNomeBusca(nDobrado, pageableRequest),
+                animeRepository.countByNomeBusca(nDobrado), pageableRequest);
+        });
+    }
+
+    // ========== SALVA NOVO ANIME ==========
+    public Mono<AnimeResponse> save(AnimePostRequestBody animePostRequestBody) {
+        return Mono.defer(() -> {
+            String nameSani = Sanatizador.saniNomeGravado(animePostRequestBody.getName());
+            if (nameSani != null && nameSani.trim().isEmpty()) {
+                return Mono.error(new BedRequestException(
+                    "Digite um nome válido (apenas tags HTML não são permitidas)"));
+            }
+            return sequencia.proximoId()
+                .flatMap(id -> animeRepository.save(AnimeLinha.builder()
+                    .id(id)
+                    .name(nameSani)
+                    .nomeBusca(NormalizadorNome.dobra(nameSani))
+                    .sanitizadorVersao(Sanatizador.VERSAO)
+                    .build()))
+                .map(AnimeServicesReativo::resposta);
+        });
+    }
+
+    // ========== DELETA UM ANIME POR ID ==========
+    // Nome da resposta vem da linha lida antes do DELETE; DELETE com 0 linhas → removido no meio
+    public Mono<AnimeResponse> deleteById(long id) {
+        return animeRepository.findById(id)
+            .switchIfEmpty(Mono.error(() -> new BedRequestException("id nao emcomtrado")))
+            .flatMap(linha -> animeRepository.removePorId(id)
+                .flatMap(removidas -> removidas == 0
+                    ? Mono.<AnimeResponse>error(new BedRequestException("id nao emcomtrado"))
+                    : Mono.just(resposta(linha))));
+    }
+
+    // ========== ATUALIZA NOME DE UM ANIME ==========
+    // versaoLida (If-Match) null: último a escrever vence; senão 412 se outra escrita veio antes
+    public Mono<AnimeResponse> updateByName(Long id, String newName, Long versaoLida) {
+        return Mono.defer(() -> {
+            String nameSani = Sanatizador.saniNomeGravado(newName);
+            if (nameSani == null || nameSani.trim().isEmpty()) {
+                return Mono.error(new BedRequestException("nome invalido"));
+            }
+            String nomeBusca = NormalizadorNome.dobra(nameSani);
+            Mono<Integer> alteradas = versaoLida == null
+                ? animeRepository.atualizaNome(id, nameSani, nomeBusca, Sanatizador.VERSAO)
+                : animeRepository.atualizaNomeNaVersao(id, nameSani, nomeBusca, Sanatizador.VERSAO, versaoLida);
+            return alteradas.flatMap(linhas -> {
+                if (linhas > 0) {
+                    // Versão nova só é conhecida quando o cliente mandou a lida (sem SELECT extra)
+                    return Mono.just(AnimeResponse.builder()
+                        .id(id)
+                        .name(nameSani)
+                        .versao(versaoLida == null ? null : versaoLida + 1)
+                        .build());
+                }
+                // Só no caminho de falha: separa "não existe" (400) de "versão mudou" (412)
+                if (versaoLida == null) {
+                    return Mono.error(new BedRequestException("id nao encomtrado"));
+                }
+                return animeRepository.existsById(id).flatMap(existe -> Mono.error(existe
+                    ? new VersaoDesatualizadaException("anime " + id + " foi alterado depois da versao " + versaoLida)
+                    : new BedRequestException("id nao encomtrado")));
+            });
+        });
+    }
+
+    // Conteúdo e total pedidos juntos (Mono.zip assina os dois: duas conexões do pool em paralelo)
+    private static Mono<Page<AnimeResponse>> pagina(Flux<AnimeLinha> conteudo, Mono<Long> total, Pageable pageable) {
+        return Mono.zip(conteudo.map(AnimeServicesReativo::resposta).collectList(), total)
+            .map(resultado -> new PageImpl<>(resultado.getT1(), pageable, resultado.getT2()));
+    }
+
+    // Sanitiza nome buscado e valida o resultado
+    private static String nomeBuscaSanitizado(String name) {
+        String nSani = Sanatizador.saniString(name);
+        if (nSani == null) {
+            throw new BedRequestException("nome invalido");
+        }
+        return nSani;
+    }
+
+    // Linha → DTO (nome sanitizado de novo só em linha gravada antes da versão atual do Sanatizador)
+    private static AnimeResponse resposta(AnimeLinha linha) {
+        return AnimeResponse.builder()
+            .id(linha.getId())
+            .name(Sanatizador.saniNomeLido(linha.getName(), linha.getSanitizadorVersao()))
+            .versao(linha.getVersao())
+            .build();
+    }
+}
+
+// FLUXOS (iguais aos do AnimeServices do módulo servlet):
+// LISTAR:     GET /animes → PageableValidation → SELECT página + COUNT (juntos) → DTOs
+// BUSCAR:     GET /animes/findByName?name=X&comtem= → sanitiza → contém (LIKE) ou exato (nome_busca)
+// SALVAR:     POST /animes → sanitiza → id da anime_seq → INSERT → DTO com versão 0
+// DELETAR:    DELETE /animes/{id} → SELECT (nome da resposta) → DELETE
+// ATUALIZAR:  PUT /animes (If-Match opcional) → sanitiza → UPDATE ... WHERE id [AND versao]
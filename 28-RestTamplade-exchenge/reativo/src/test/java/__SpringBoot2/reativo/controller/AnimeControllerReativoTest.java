@@ -0,0 +1,132 @@
+package __SpringBoot2.reativo.controller;
+
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+import __SpringBoot2.__star_Spring_io.util.EtagAnime;
+
+// Aplicação inteira (WebFlux + R2DBC) contra H2 em modo MySQL; cada teste usa nomes próprios
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@DisplayName("AnimeControllerReativo (contrato /animes) testes")
+class AnimeControllerReativoTest {
+
+	@Autowired
+	private WebTestClient cliente;
+
+	@Test
+	@DisplayName("POST sanitiza o nome, responde 201 com a ETag da versão 0")
+	void save_returnsCreated_withSanitizedNameAndEtag() {
+		AnimeResponse criado = cria("<b>Naruto Reativo</b>");
+
+		Assertions.assertThat(criado.getName()).isEqualTo("Naruto Reativo");
+		Assertions.assertThat(criado.getId()).isPositive();
+	}
+
+	@Test
+	@DisplayName("POST com nome vazio responde 400 com o campo inválido")
+	void save_returnsBadRequest_whenNameIsEmpty() {
+		cliente.post().uri("/animes").bodyValue(Map.of("name", ""))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody().jsonPath("$.fields").isEqualTo("name");
+	}
+
+	@Test
+	@DisplayName("findByName exato ignora maiúsculas e acentos; comtem=true acha por trecho")
+	void findByName_matchesFoldedName_andContains() {
+		cria("Pokémon Reativo");
+
+		cliente.get().uri("/animes/findByName?name=pokemon reativo")
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody()
+			.jsonPath("$.totalElements").isEqualTo(1)
+			.jsonPath("$.content[0].name").isEqualTo("Pokémon Reativo");
+
+		cliente.get().uri("/animes/findByName?name=mon Reat&comtem=true")
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody().jsonPath("$.totalElements").isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("findByName com caracteres fora da regex responde 400")
+	void findByName_returnsBadRequest_whenNameHasInvalidCharacters() {
+		cliente.get().uri("/animes/findByName?name={nome}", "<script>")
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody().jsonPath("$.fields").isEqualTo("name");
+	}
+
+	@Test
+	@DisplayName("GET /animes pagina com o tamanho pedido e traz o total")
+	void list_returnsPageWithTotal() {
+		cria("Bleach Reativo 1");
+		cria("Bleach Reativo 2");
+		cria("Bleach Reativo 3");
+
+		cliente.get().uri("/animes?page=0&size=2&sort=id,desc")
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody()
+			.jsonPath("$.content.length()").isEqualTo(2)
+			.jsonPath("$.content[0].name").isEqualTo("Bleach Reativo 3")
+			.jsonPath("$.totalElements").value(total -> Assertions.assertThat(((Number) total).longValue())
+				.isGreaterThanOrEqualTo(3));
+	}
+
+	@Test
+	@DisplayName("PUT com If-Match da versão lida grava; If-Match antigo responde 412")
+	void update_honorsIfMatch() {
+		AnimeResponse criado = cria("One Piece Reativo");
+		String versao0 = EtagAnime.doRecurso(criado.getId(), 0);
+
+		cliente.put().uri("/animes").header(HttpHeaders.IF_MATCH, versao0)
+			.bodyValue(Map.of("id", criado.getId(), "name", "One Piece Reativo 2"))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().valueEquals(HttpHeaders.ETAG, EtagAnime.doRecurso(criado.getId(), 1))
+			.expectBody().jsonPath("$.name").isEqualTo("One Piece Reativo 2");
+
+		cliente.put().uri("/animes").header(HttpHeaders.IF_MATCH, versao0)
+			.bodyValue(Map.of("id", criado.getId(), "name", "One Piece Reativo 3"))
+			.exchange()
+			.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+	}
+
+	@Test
+	@DisplayName("DELETE devolve o anime removido; repetir responde 400")
+	void delete_returnsRemovedAnime_thenBadRequest() {
+		AnimeResponse criado = cria("Dragon Ball Reativo");
+
+		cliente.delete().uri("/animes/{id}", criado.getId())
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody().jsonPath("$.name").isEqualTo("Dragon Ball Reativo");
+
+		cliente.delete().uri("/animes/{id}", criado.getId())
+			.exchange()
+			.expectStatus().isBadRequest();
+	}
+
+	private AnimeResponse cria(String nome) {
+		return cliente.post().uri("/animes").bodyValue(Map.of("name", nome))
+			.exchange()
+			.expectStatus().isCreated()
+			.expectHeader().exists(HttpHeaders.ETAG)
+			.expectBody(AnimeResponse.class)
+			.returnResult()
+			.getResponseBody();
+	}
+}
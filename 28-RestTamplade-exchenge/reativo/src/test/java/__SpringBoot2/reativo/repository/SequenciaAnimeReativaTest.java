@@ -0,0 +1,52 @@
+package __SpringBoot2.reativo.repository;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import __SpringBoot2.__star_Spring_io.util.SequenciaIdsAnime;
+import reactor.core.publisher.Flux;
+
+@DataR2dbcTest
+// TransactionalOperator da reserva vem da TransactionAutoConfiguration
+@ImportAutoConfiguration(TransactionAutoConfiguration.class)
+@Import(SequenciaAnimeReativa.class)
+@DisplayName("SequenciaAnimeReativa testes")
+class SequenciaAnimeReativaTest {
+
+	@Autowired
+	private SequenciaAnimeReativa sequencia;
+
+	@Autowired
+	private DatabaseClient banco;
+
+	@Test
+	@DisplayName("ids pedidos ao mesmo tempo nunca se repetem e anime_seq avança de bloco em bloco")
+	void proximoId_neverRepeats_andAdvancesSequenceByBlock() {
+		long antes = nextVal();
+
+		List<Long> ids = Flux.range(0, 3 * SequenciaIdsAnime.IDS_POR_RESERVA)
+			.flatMap(i -> sequencia.proximoId(), 16)
+			.collectList()
+			.block();
+
+		Assertions.assertThat(ids).doesNotHaveDuplicates().allMatch(id -> id >= 1);
+		long depois = nextVal();
+		Assertions.assertThat(depois).isGreaterThan(antes);
+		Assertions.assertThat((depois - antes) % SequenciaIdsAnime.IDS_POR_RESERVA).isZero();
+		// Ids saem de blocos (v - IDS_POR_RESERVA, v] com v < valor atual: nenhum alcança o próximo bloco
+		Assertions.assertThat(ids).allMatch(id -> id < depois);
+	}
+
+	private long nextVal() {
+		return banco.sql("SELECT next_val FROM anime_seq").map(linha -> linha.get("next_val", Long.class)).one().block();
+	}
+}
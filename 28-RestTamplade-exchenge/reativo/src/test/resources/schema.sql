@@ -0,0 +1,20 @@
+-- Tabelas como o modulo servlet (Hibernate, ddl-auto) cria no MySQL
+-- anime_seq: sequencia emulada em tabela (MySQL nao tem SEQUENCE), valor inicial 1
+DROP TABLE IF EXISTS anime;
+DROP TABLE IF EXISTS anime_seq;
+
+CREATE TABLE anime (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    sanitizador_versao INT,
+    nome_busca VARCHAR(100),
+    versao BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE INDEX idx_anime_nome_busca ON anime (nome_busca);
+
+CREATE TABLE anime_seq (
+    next_val BIGINT
+);
+
+INSERT INTO anime_seq VALUES (1);
@@ -0,0 +1,89 @@
+package __SpringBoot2.__star_Spring_io.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import __SpringBoot2.__star_Spring_io.busca.IndiceFuzzyNomes;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+
+/**
+ * Busca aproximada (mode=fuzzy) em um catálogo sintético de 1 milhão de nomes.
+ * Modo SampleTime: além da média, o JSON traz p50/p99/p99.9 para comparar com o orçamento
+ * (busca.fuzzy.orcamento-ms). orcamentoMs=10000 mede o custo real (sem corte);
+ * orcamentoMs=50 é o valor de produção (p99 deve ficar no orçamento).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+@State(Scope.Benchmark)
+public class BuscaFuzzyBenchmark {
+
+	private static final String[] SILABAS = { "na", "ru", "to", "shi", "ppu", "den", "bo", "ko", "ku", "ma", "ga", "ki",
+			"yo", "ji", "ta", "ka", "mi", "no", "se", "hi", "ra", "tsu", "ri", "sa", "do", "ha", "ne", "yu", "mo", "ze" };
+
+	@Param({ "1000000" })
+	private int catalogo;
+
+	@Param({ "50", "10000" })
+	private long orcamentoMs;
+
+	private IndiceFuzzyNomes indice;
+	private String[] consultas;
+	private int proxima;
+
+	@Setup
+	public void prepara() {
+		indice = new IndiceFuzzyNomes(true, 0.25, 200, orcamentoMs);
+		indice.iniciaCarga();
+		Random random = new Random(42);
+		for (long id = 1; id <= catalogo; id++) {
+			indice.adiciona(new AnimeLeitura(id, nome(random), 1));
+		}
+		indice.concluiCarga();
+
+		// Consultas com erro de digitação: duas letras vizinhas trocadas em nomes do catálogo
+		consultas = new String[1024];
+		for (int i = 0; i < consultas.length; i++) {
+			char[] nome = nome(random).toCharArray();
+			int posicao = random.nextInt(nome.length - 1);
+			char troca = nome[posicao];
+			nome[posicao] = nome[posicao + 1];
+			nome[posicao + 1] = troca;
+			consultas[i] = new String(nome);
+		}
+	}
+
+	@Benchmark
+	public List<AnimeLeitura> buscaComErroDeDigitacao() {
+		return indice.busca(consultas[proxima++ & (consultas.length - 1)]);
+	}
+
+	// 1 a 3 palavras de 2 a 4 sílabas ("naruto shippuden")
+	private static String nome(Random random) {
+		StringBuilder nome = new StringBuilder();
+		for (int palavra = 0, palavras = 1 + random.nextInt(3); palavra < palavras; palavra++) {
+			if (palavra > 0) {
+				nome.append(' ');
+			}
+			for (int silaba = 0, silabas = 2 + random.nextInt(3); silaba < silabas; silaba++) {
+				nome.append(SILABAS[random.nextInt(SILABAS.length)]);
+			}
+		}
+		return nome.toString();
+	}
+}
@@ -0,0 +1,106 @@
+package __SpringBoot2.__star_Spring_io.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import __SpringBoot2.__star_Spring_io.Application;
+
+/**
+ * Carga noturna: linhas gravadas por segundo pela API (aplicação inteira, HTTP + H2 em memória).
+ * - umPorRequisicao: POST /animes linha a linha (uma requisição e uma transação por linha)
+ * - lote: POST /animes/batch com LINHAS itens (INSERTs em lote JDBC, ids da sequência pooled)
+ * ops/s = linhas/s nos dois casos (@OperationsPerInvocation).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g" })
+@State(Scope.Benchmark)
+public class CriacaoLoteBenchmark {
+
+	// Linhas por invocação (igual nos dois casos)
+	private static final int LINHAS = 100;
+
+	private ConfigurableApplicationContext aplicacao;
+	private HttpClient http;
+	private URI animes;
+	private URI animesLote;
+	private long proximo;
+
+	@Setup
+	public void sobe() {
+		// Argumentos de linha de comando: vencem o application.properties (log de SQL desligado)
+		aplicacao = new SpringApplicationBuilder(Application.class).run(
+				"--server.port=0",
+				"--spring.main.banner-mode=off",
+				"--spring.jpa.show-sql=false",
+				"--logging.level.root=WARN",
+				"--logging.level.org.hibernate.SQL=WARN",
+				"--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+				"--sanitizador.migracao.habilitada=false");
+		int porta = ((WebServerApplicationContext) aplicacao).getWebServer().getPort();
+		http = HttpClient.newHttpClient();
+		animes = URI.create("http://localhost:" + porta + "/animes");
+		animesLote = URI.create("http://localhost:" + porta + "/animes/batch");
+	}
+
+	@TearDown
+	public void desce() {
+		aplicacao.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINHAS)
+	public int umPorRequisicao() throws Exception {
+		int status = 0;
+		for (int i = 0; i < LINHAS; i++) {
+			status += envia(animes, "{\"name\":\"anime " + proximo++ + "\"}");
+		}
+		return status;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINHAS)
+	public int lote() throws Exception {
+		StringBuilder corpo = new StringBuilder(LINHAS * 24).append('[');
+		for (int i = 0; i < LINHAS; i++) {
+			if (i > 0) {
+				corpo.append(',');
+			}
+			corpo.append("{\"name\":\"anime ").append(proximo++).append("\"}");
+		}
+		return envia(animesLote, corpo.append(']').toString());
+	}
+
+	private int envia(URI destino, String json) throws Exception {
+		HttpRequest requisicao = HttpRequest.newBuilder(destino)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.build();
+		HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+		if (resposta.statusCode() != 201) {
+			throw new IllegalStateException("HTTP " + resposta.statusCode() + " em " + destino);
+		}
+		return resposta.statusCode();
+	}
+}
@@ -0,0 +1,142 @@
+package __SpringBoot2.__star_Spring_io.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import __SpringBoot2.__star_Spring_io.Application;
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+import __SpringBoot2.__star_Spring_io.util.NormalizadorNome;
+
+/**
+ * PUT e DELETE sob carga concorrente (8 threads, H2 em memória, sem HTTP).
+ * - carrega*: caminho antigo - findById + setName (dirty checking) / findById + delete
+ * - umComando*: UPDATE/DELETE direto pelo repositório (@Modifying), linhas afetadas no lugar do SELECT
+ * Cada operação roda na própria transação (TransactionTemplate), como numa requisição.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g" })
+@Threads(8)
+@State(Scope.Benchmark)
+public class EscritaUmComandoBenchmark {
+
+	// Linhas alvo dos updates (ids 1..LINHAS_UPDATE)
+	private static final int LINHAS_UPDATE = 10_000;
+
+	// Linhas recriadas a cada iteração para os deletes (cada delete consome um id)
+	private static final int LINHAS_DELETE = 1_000_000;
+
+	private ConfigurableApplicationContext aplicacao;
+	private AnimeRepository animeRepository;
+	private TransactionTemplate transacao;
+	private JdbcTemplate jdbcTemplate;
+
+	private final AtomicLong proximoNome = new AtomicLong();
+	private final AtomicLong proximoApagado = new AtomicLong();
+	private long inicioApagados = LINHAS_UPDATE;
+	private long fimApagados;
+
+	@Setup
+	public void sobe() {
+		aplicacao = new SpringApplicationBuilder(Application.class).web(WebApplicationType.NONE).run(
+				"--spring.main.banner-mode=off",
+				"--spring.jpa.show-sql=false",
+				"--logging.level.root=WARN",
+				"--logging.level.org.hibernate.SQL=WARN",
+				"--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+				"--sanitizador.migracao.habilitada=false");
+		animeRepository = aplicacao.getBean(AnimeRepository.class);
+		transacao = aplicacao.getBean(TransactionTemplate.class);
+		jdbcTemplate = aplicacao.getBean(JdbcTemplate.class);
+
+		insere(1, LINHAS_UPDATE);
+	}
+
+	// Pool novo de ids para os deletes (o anterior foi consumido ou fica sobrando sem afetar nada)
+	@Setup(Level.Iteration)
+	public void reabastece() {
+		inicioApagados += LINHAS_DELETE;
+		fimApagados = inicioApagados + LINHAS_DELETE - 1;
+		proximoApagado.set(inicioApagados);
+		insere(inicioApagados, fimApagados);
+	}
+
+	@TearDown
+	public void desce() {
+		aplicacao.close();
+	}
+
+	@Benchmark
+	public Anime atualizaCarregaEModifica() {
+		long id = ThreadLocalRandom.current().nextLong(1, LINHAS_UPDATE + 1);
+		String nome = "anime " + proximoNome.incrementAndGet();
+		return transacao.execute(status -> {
+			Anime anime = animeRepository.findById(id).orElseThrow();
+			anime.setName(nome);
+			anime.setSanitizadorVersao(Sanatizador.VERSAO);
+			return anime;
+		});
+	}
+
+	@Benchmark
+	public Integer atualizaUmComando() {
+		long id = ThreadLocalRandom.current().nextLong(1, LINHAS_UPDATE + 1);
+		String nome = "anime " + proximoNome.incrementAndGet();
+		return transacao.execute(status ->
+				animeRepository.atualizaNome(id, nome, NormalizadorNome.dobra(nome), Sanatizador.VERSAO));
+	}
+
+	@Benchmark
+	public Anime removeCarregaEApaga() {
+		long id = idParaApagar();
+		return transacao.execute(status -> {
+			Anime anime = animeRepository.findById(id).orElseThrow();
+			animeRepository.delete(anime);
+			return anime;
+		});
+	}
+
+	@Benchmark
+	public Integer removeUmComando() {
+		long id = idParaApagar();
+		return transacao.execute(status -> animeRepository.removePorId(id));
+	}
+
+	private long idParaApagar() {
+		long id = proximoApagado.getAndIncrement();
+		if (id > fimApagados) {
+			throw new IllegalStateException("pool de deletes esgotado: aumente LINHAS_DELETE");
+		}
+		return id;
+	}
+
+	// Massa direto no H2 (sem passar por entidades)
+	private void insere(long de, long ate) {
+		jdbcTemplate.update("INSERT INTO anime (id, name, sanitizador_versao, nome_busca) "
+				+ "SELECT X, 'anime ' || X, " + Sanatizador.VERSAO + ", 'anime ' || X FROM SYSTEM_RANGE(?, ?)", de, ate);
+	}
+}
@@ -0,0 +1,56 @@
+package __SpringBoot2.__star_Spring_io.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import __SpringBoot2.__star_Spring_io.seguranca.PageableValidation;
+
+/**
+ * Custo de PageableValidation.validateAndSanitize por combinação de ordenação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageableValidationBenchmark {
+
+	// formato igual ao parâmetro ?sort= (campos separados por ';', direção após ',')
+	@Param({ "sem-ordem", "id", "name,desc", "name,desc;id", "senha<script>,desc" })
+	private String ordenacao;
+
+	private Pageable pageable;
+
+	@Setup
+	public void prepara() {
+		Sort sort = Sort.unsorted();
+		if (!"sem-ordem".equals(ordenacao)) {
+			for (String campo : ordenacao.split(";")) {
+				String[] partes = campo.split(",");
+				Sort.Direction direcao = partes.length > 1 ? Sort.Direction.fromString(partes[1]) : Sort.Direction.ASC;
+				sort = sort.and(Sort.by(direcao, partes[0]));
+			}
+		}
+		pageable = PageRequest.of(3, 500, sort);
+	}
+
+	@Benchmark
+	public Pageable validateAndSanitize() {
+		return PageableValidation.validateAndSanitize(pageable);
+	}
+}
@@ -0,0 +1,87 @@
+package __SpringBoot2.__star_Spring_io.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.mapper.AnimeMapper;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+import __SpringBoot2.__star_Spring_io.seguranca.PageValid;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+
+/**
+ * Caminho de leitura depois do repositório: PageValid e AnimeMapper gerado (AnimeMapperImpl).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaginaLeituraBenchmark {
+
+	@Param({ "5", "50" })
+	private int tamanhoPagina;
+
+	// legado = linhas sem marcador (sanitizadas na leitura); marcado = gravadas pela versão atual
+	@Param({ "legado", "marcado" })
+	private String linhas;
+
+	private final AnimeMapper animeMapper = Mappers.getMapper(AnimeMapper.class);
+	private Page<Anime> pagina;
+	private Page<AnimeLeitura> paginaLeitura;
+	private Anime anime;
+
+	@Setup
+	public void prepara() {
+		Integer versao = "marcado".equals(linhas) ? Sanatizador.VERSAO : null;
+		List<Anime> animes = new ArrayList<>(tamanhoPagina);
+		List<AnimeLeitura> leituras = new ArrayList<>(tamanhoPagina);
+		for (int i = 0; i < tamanhoPagina; i++) {
+			String nome = i % 5 == 0 ? "<i>Anime</i> numero " + i : "Anime numero " + i;
+			animes.add(Anime.builder().id((long) i).name(nome).sanitizadorVersao(versao).build());
+			leituras.add(new AnimeLeitura((long) i, nome, versao));
+		}
+		pagina = new PageImpl<>(animes, PageRequest.of(0, tamanhoPagina), 10_000);
+		paginaLeitura = new PageImpl<>(leituras, PageRequest.of(0, tamanhoPagina), 10_000);
+		anime = animes.get(0);
+	}
+
+	@Benchmark
+	public Page<Anime> validaSanitizaPageAnime() {
+		return PageValid.ValidaSanitizaPageAnime(pagina);
+	}
+
+	@Benchmark
+	public Page<AnimeResponse> validaSanitizaPageAnimeMaisMap() {
+		return PageValid.ValidaSanitizaPageAnime(pagina).map(animeMapper::toAnimeResponse);
+	}
+
+	@Benchmark
+	public Page<AnimeResponse> validaSanitizaMapeiaPageLeitura() {
+		return PageValid.ValidaSanitizaMapeiaPageLeitura(paginaLeitura, animeMapper::toAnimeResponse);
+	}
+
+	@Benchmark
+	public AnimeResponse mapperToAnimeResponse() {
+		return animeMapper.toAnimeResponse(anime);
+	}
+}
@@ -0,0 +1,62 @@
+package __SpringBoot2.__star_Spring_io.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+
+/**
+ * Custo de Sanatizador.saniString / saniAnime por tipo de entrada,
+ * com e sem o cache de sanitização.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SanatizadorBenchmark {
+
+	@Param({ "limpo", "sujo", "longo" })
+	private String entrada;
+
+	@Param({ "true", "false" })
+	private boolean cache;
+
+	private String texto;
+	private Anime anime;
+
+	@Setup
+	public void prepara() {
+		Sanatizador.configuraCache(cache, Sanatizador.CAPACIDADE_CACHE_PADRAO);
+		texto = switch (entrada) {
+			case "limpo" -> "Shingeki no Kyojin";
+			case "sujo" -> "<b onmouseover=alert('x')>Shingeki</b> &amp; <script>no()</script>Kyojin";
+			default -> "<p>" + "Kimetsu no Yaiba &ndash; ".repeat(20) + "</p>";
+		};
+		// linha legada: saniAnime precisa copiar e sanitizar
+		anime = Anime.builder().id(1L).name(texto).build();
+	}
+
+	@Benchmark
+	public String saniString() {
+		return Sanatizador.saniString(texto);
+	}
+
+	@Benchmark
+	public Anime saniAnime() {
+		return Sanatizador.saniAnime(anime);
+	}
+}
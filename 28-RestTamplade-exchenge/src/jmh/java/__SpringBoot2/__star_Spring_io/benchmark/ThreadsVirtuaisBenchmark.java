@@ -0,0 +1,157 @@
+package __SpringBoot2.__star_Spring_io.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import __SpringBoot2.__star_Spring_io.Application;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * GET /animes/{id} com alta concorrência: pool fixo de threads do Tomcat x threads virtuais
+ * (aplicação inteira, HTTP + H2 em memória).
+ * - H2 responde em microssegundos; cada comando JDBC ganha LATENCIA_MS de espera para imitar a
+ *   ida e volta até o MySQL (a requisição passa o tempo bloqueada no banco, como em produção)
+ * - Tomcat com THREADS_TOMCAT threads no modo de plataforma; Hikari com POOL_CONEXOES nos dois modos
+ *   (threads virtuais só ganham enquanto o pool de conexões não é o gargalo)
+ * - CLIENTES threads do JMH disparando ao mesmo tempo
+ * - Cache de segundo nível do Hibernate desligado: findById vai ao banco em toda requisição
+ *   (com ele ligado as 10 mil linhas ficam em memória e o teste deixa de medir a espera no JDBC)
+ * Throughput = requisições/s; SampleTime = latência com percentis (p0.99, p0.999 = cauda).
+ * No fim de cada modo registra no log GET /animes/threads (pinagens vistas no modo virtual).
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g" })
+@Threads(ThreadsVirtuaisBenchmark.CLIENTES)
+@State(Scope.Benchmark)
+@Log4j2
+public class ThreadsVirtuaisBenchmark {
+
+	static final int CLIENTES = 256;
+
+	private static final int THREADS_TOMCAT = 64;
+
+	private static final int POOL_CONEXOES = 128;
+
+	private static final long LATENCIA_MS = 10;
+
+	private static final int LINHAS = 10_000;
+
+	@Param({ "false", "true" })
+	public boolean threadsVirtuais;
+
+	private ConfigurableApplicationContext aplicacao;
+	private HttpClient http;
+	private String base;
+
+	@Setup
+	public void sobe() {
+		aplicacao = new SpringApplicationBuilder(Application.class)
+				.initializers(contexto -> contexto.getBeanFactory().addBeanPostProcessor(new LatenciaBanco()))
+				.run(
+				"--server.port=0",
+				"--spring.main.banner-mode=off",
+				"--spring.jpa.show-sql=false",
+				"--logging.level.root=WARN",
+				"--logging.level.org.hibernate.SQL=WARN",
+				"--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+				"--sanitizador.migracao.habilitada=false",
+				// Log do próprio benchmark (resultado de GET /animes/threads no fim)
+				"--logging.level.__SpringBoot2.__star_Spring_io.benchmark=INFO",
+				// Toda requisição vai ao banco (sem cache de JSON pronto nem entidade no cache do Hibernate)
+				"--cache.respostas.habilitado=false",
+				"--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+				"--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+				"--spring.threads.virtual.enabled=" + threadsVirtuais,
+				"--server.tomcat.threads.max=" + THREADS_TOMCAT,
+				"--spring.datasource.hikari.maximum-pool-size=" + POOL_CONEXOES);
+		aplicacao.getBean(JdbcTemplate.class).update("INSERT INTO anime (id, name, sanitizador_versao, nome_busca) "
+				+ "SELECT X, 'anime ' || X, " + Sanatizador.VERSAO + ", 'anime ' || X FROM SYSTEM_RANGE(1, ?)", LINHAS);
+
+		int porta = ((WebServerApplicationContext) aplicacao).getWebServer().getPort();
+		http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		base = "http://localhost:" + porta + "/animes/";
+	}
+
+	@TearDown
+	public void desce() throws Exception {
+		HttpResponse<String> pinagem = http.send(HttpRequest.newBuilder(URI.create(base + "threads")).build(),
+				HttpResponse.BodyHandlers.ofString());
+		log.info("threadsVirtuais={} GET /animes/threads -> {}", threadsVirtuais, pinagem.body());
+		aplicacao.close();
+	}
+
+	@Benchmark
+	public int buscaPorId() throws Exception {
+		long id = ThreadLocalRandom.current().nextLong(1, LINHAS + 1);
+		HttpResponse<Void> resposta = http.send(HttpRequest.newBuilder(URI.create(base + id)).build(),
+				HttpResponse.BodyHandlers.discarding());
+		if (resposta.statusCode() != 200) {
+			throw new IllegalStateException("HTTP " + resposta.statusCode() + " em " + base + id);
+		}
+		return resposta.statusCode();
+	}
+
+	// Envolve o DataSource do Hikari: cada comando preparado espera LATENCIA_MS (rede até o banco)
+	private static final class LatenciaBanco implements BeanPostProcessor {
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+				return new DelegatingDataSource(dataSource) {
+					@Override
+					public Connection getConnection() throws SQLException {
+						return comLatencia(super.getConnection());
+					}
+				};
+			}
+			return bean;
+		}
+
+		private static Connection comLatencia(Connection alvo) {
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+					new Class<?>[] { Connection.class }, (proxy, metodo, args) -> {
+						if (metodo.getName().startsWith("prepare") || "createStatement".equals(metodo.getName())) {
+							Thread.sleep(LATENCIA_MS);
+						}
+						try {
+							return metodo.invoke(alvo, args);
+						} catch (InvocationTargetException e) {
+							throw e.getTargetException();
+						}
+					});
+		}
+	}
+}
@@ -5,12 +5,15 @@ package __SpringBoot2.__star_Spring_io;
 // Importa classes necessárias do Spring Boot
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 // Anotação principal do Spring Boot - combina 3 anotações:
 // 1. @Configuration: Define classe como fonte de configuração
 // 2. @EnableAutoConfiguration: Habilita configuração automática
 // 3. @ComponentScan: Procura componentes no pacote e subpacotes
 @SpringBootApplication
+// @EnableScheduling: habilita tarefas @Scheduled (ex: MigracaoSanitizacao)
+@EnableScheduling
 public class Application {
 
 	
@@ -37,7 +40,7 @@ public class Application {
 
 // COMO USAR:
 // 1. Executar pela IDE: Run Application.java
-// 2. Linha de comando: java -jar app.jar
+// 2. Linha de comando: java -jar target/07-star-Spring-io-0.0.1-SNAPSHOT-exec.jar
 // 3. Maven: mvn spring-boot:run
 
 // O QUE ACONTECE QUANDO RODA:
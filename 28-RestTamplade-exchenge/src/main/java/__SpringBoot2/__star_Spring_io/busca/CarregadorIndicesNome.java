@@ -0,0 +1,131 @@
+// Pacote de busca em memória (índices sobre Anime.name)
+package __SpringBoot2.__star_Spring_io.busca;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * CLASSE CarregadorIndicesNome
+ *
+ * Propósito: Manter os índices em memória (IndiceNomeAnime) iguais à tabela anime.
+ *
+ * 1. Na subida (ApplicationReadyEvent) lê a tabela UMA vez, em lotes por id (keyset),
+ *    e alimenta todos os índices habilitados - em uma thread própria, sem atrasar o start
+ * 2. Depois repassa cada AnimeAlteradoEvento (save, updateByName, deleteById)
+ *
+ * Escritas durante a carga: o id alterado é anotado e a carga ignora a versão
+ * (possivelmente velha) que leu do banco para ele - vale o que veio no evento.
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class CarregadorIndicesNome {
+
+    private final AnimeRepository animeRepository;
+
+    // Todos os beans IndiceNomeAnime da aplicação
+    private final List<IndiceNomeAnime> indices;
+
+    // Linhas lidas por consulta durante a carga
+    @Value("${busca.carga.lote:1000}")
+    private int tamanhoLote = 1000;
+
+    // Ids alterados por escritas enquanto a carga roda
+    private final Set<Long> alteradosDuranteCarga = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean carregando;
+
+    // ========== CARGA NA SUBIDA ==========
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        if (indices.stream().noneMatch(IndiceNomeAnime::habilitado)) {
+            return;
+        }
+        Thread.ofPlatform().name("carga-indices-nome").daemon().start(this::carrega);
+    }
+
+    /**
+     * Lê todos os animes (em projeção, lote a lote) e alimenta os índices
+     *
+     * @return Quantidade de linhas carregadas
+     */
+    public int carrega() {
+        long inicio = System.nanoTime();
+        synchronized (this) {
+            carregando = true;
+            alteradosDuranteCarga.clear();
+            indices.forEach(IndiceNomeAnime::iniciaCarga);
+        }
+
+        int total = 0;
+        try {
+            long ultimoId = 0;
+            List<AnimeLeitura> lote;
+            do {
+                lote = animeRepository.findLeituraByIdGreaterThan(
+                    ultimoId, PageRequest.of(0, tamanhoLote, Sort.by("id")));
+                aplicaLote(lote);
+                total += lote.size();
+                if (!lote.isEmpty()) {
+                    ultimoId = lote.get(lote.size() - 1).getId();
+                }
+            } while (lote.size() == tamanhoLote);
+
+            synchronized (this) {
+                indices.forEach(IndiceNomeAnime::concluiCarga);
+            }
+            log.info("Indices de nome carregados: {} linhas em {} ms", total, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Índices continuam "aquecendo": o service segue no caminho SQL
+            log.error("Falha na carga dos indices de nome (busca segue pelo banco)", e);
+        } finally {
+            carregando = false;
+            alteradosDuranteCarga.clear();
+        }
+        return total;
+    }
+
+    private synchronized void aplicaLote(List<AnimeLeitura> lote) {
+        for (AnimeLeitura anime : lote) {
+            if (alteradosDuranteCarga.contains(anime.getId())) {
+                continue;
+            }
+            for (IndiceNomeAnime indice : indices) {
+                indice.adiciona(anime);
+            }
+        }
+    }
+
+    // ========== ESCRITAS (depois do commit) ==========
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterar(AnimeAlteradoEvento evento) {
+        if (carregando) {
+            alteradosDuranteCarga.add(evento.getId());
+        }
+        for (IndiceNomeAnime indice : indices) {
+            if (evento.getTipo() == AnimeAlteradoEvento.Tipo.REMOVIDO) {
+                indice.remove(evento.getId());
+            } else {
+                indice.adiciona(evento.getAnime());
+            }
+        }
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// busca.carga.lote=1000 → linhas por consulta na carga inicial
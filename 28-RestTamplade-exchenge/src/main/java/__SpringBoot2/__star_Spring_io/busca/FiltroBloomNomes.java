@@ -0,0 +1,360 @@
+// Pacote de busca em memória (índices sobre Anime.name)
+package __SpringBoot2.__star_Spring_io.busca;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import __SpringBoot2.__star_Spring_io.util.NormalizadorNome;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * CLASSE FiltroBloomNomes
+ *
+ * Propósito: Responder "esse nome NÃO existe" sem ir ao banco na busca exata
+ * (findByName?comtem=false). Boa parte dessas buscas é de nomes inexistentes (robôs, erros
+ * de digitação, links velhos) e cada uma custava o SELECT da página + o COUNT.
+ *
+ * Filtro de Bloom sobre a chave dobrada (mesma regra da coluna nome_busca):
+ * - podeConter(...) = false → nome com certeza ausente (sem falso negativo)
+ * - podeConter(...) = true  → talvez exista (falso positivo na taxa configurada) → vai ao banco
+ *
+ * Bits e funções de hash calculados pela taxa de falso positivo configurada e pelo tamanho da
+ * tabela (com folga para crescer), limitados a max-bytes.
+ *
+ * Ciclo de vida:
+ * 1. Carga na subida pelo CarregadorIndicesNome (IndiceNomeAnime)
+ * 2. save/updateByName/batch → adiciona o nome novo
+ * 3. deleteById (e o nome antigo do update) NÃO sai: filtro de Bloom não remove bits.
+ *    Nome velho só custa falso positivo (vai ao banco) até a reconstrução periódica,
+ *    que relê a tabela em um filtro novo e troca os dois
+ * 4. Linha gravada sem passar por esta instância (outra instância, módulo reativo no mesmo banco,
+ *    INSERT manual) não gera evento aqui: só entra na reconstrução periódica, que por isso roda
+ *    sempre, com ou sem escrita local. Até lá a busca exata desse nome responde vazio -
+ *    reconstrucao-ms é o atraso máximo para enxergar escritas de fora
+ */
+@Component
+@Log4j2
+public class FiltroBloomNomes implements IndiceNomeAnime {
+
+    // Menor capacidade calculada (catálogo vazio ou pequeno)
+    private static final long CAPACIDADE_MINIMA = 1024;
+
+    // Capacidade = linhas da tabela * FOLGA (espaço para inserções até a próxima reconstrução)
+    private static final double FOLGA = 1.5;
+
+    private static final int MAXIMO_HASHES = 16;
+
+    private final AnimeRepository animeRepository;
+
+    private final boolean habilitado;
+
+    // Taxa de falso positivo desejada (0..1)
+    private final double taxaFalsoPositivo;
+
+    // Teto de memória dos bits
+    private final long maxBytes;
+
+    // Linhas por consulta na reconstrução
+    private final int tamanhoLote;
+
+    // Filtro que responde às consultas (trocado inteiro na reconstrução)
+    private volatile Bits atual;
+
+    // Filtro novo durante a reconstrução: escritas vão para os dois
+    private Bits emConstrucao;
+
+    private volatile boolean pronto;
+
+    // Contadores de uso
+    private final LongAdder consultas = new LongAdder();
+    private final LongAdder ausentes = new LongAdder();
+    private final LongAdder reconstrucoes = new LongAdder();
+
+    @Autowired
+    public FiltroBloomNomes(
+            AnimeRepository animeRepository,
+            @Value("${busca.bloom.habilitado:true}") boolean habilitado,
+            @Value("${busca.bloom.taxa-falso-positivo:0.01}") double taxaFalsoPositivo,
+            @Value("${busca.bloom.max-bytes:8388608}") long maxBytes,
+            @Value("${busca.carga.lote:1000}") int tamanhoLote) {
+        if (taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1 || maxBytes < 8 || tamanhoLote <= 0) {
+            throw new IllegalArgumentException("configuracao invalida do filtro de Bloom: taxa-falso-positivo="
+                + taxaFalsoPositivo + ", max-bytes=" + maxBytes + ", lote=" + tamanhoLote);
+        }
+        this.animeRepository = animeRepository;
+        this.habilitado = habilitado;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.maxBytes = maxBytes;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    // ========== CICLO DE VIDA (IndiceNomeAnime) ==========
+
+    @Override
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    @Override
+    public synchronized void iniciaCarga() {
+        pronto = false;
+        if (!habilitado) {
+            return;
+        }
+        emConstrucao = null;
+        atual = dimensiona(animeRepository.count());
+    }
+
+    @Override
+    public synchronized void adiciona(AnimeLeitura anime) {
+        if (!habilitado || atual == null || anime.getName() == null) {
+            return;
+        }
+        String chave = NormalizadorNome.dobra(anime.getName());
+        atual.adiciona(chave);
+        if (emConstrucao != null) {
+            emConstrucao.adiciona(chave);
+        }
+    }
+
+    // Bits não saem: o nome some na próxima reconstrução
+    @Override
+    public void remove(long id) {
+    }
+
+    @Override
+    public synchronized void concluiCarga() {
+        pronto = habilitado && atual != null;
+    }
+
+    @Override
+    public boolean pronto() {
+        return pronto;
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * @param nomeDobrado - Chave de busca exata (NormalizadorNome.dobra do nome sanitizado)
+     * @return false só quando o nome com certeza não está na tabela; true se pode estar
+     *         (ou se o filtro ainda não está pronto)
+     */
+    public boolean podeConter(String nomeDobrado) {
+        Bits bits = atual;
+        if (!pronto || bits == null) {
+            return true;
+        }
+        consultas.increment();
+        if (bits.contem(nomeDobrado)) {
+            return true;
+        }
+        ausentes.increment();
+        return false;
+    }
+
+    // ========== RECONSTRUÇÃO PERIÓDICA ==========
+
+    /**
+     * Relê a tabela (keyset por id, em projeção) em um filtro novo e troca pelo atual:
+     * descarta nomes removidos/renomeados e redimensiona para o tamanho atual da tabela.
+     * Escritas que chegam durante a leitura vão para os dois filtros (nenhum nome novo se perde).
+     * Roda mesmo sem escrita local: linhas gravadas por fora só entram no filtro aqui.
+     *
+     * @return true se reconstruiu (false: desligado, aquecendo ou falha na leitura)
+     */
+    @Scheduled(fixedDelayString = "${busca.bloom.reconstrucao-ms:300000}",
+        initialDelayString = "${busca.bloom.reconstrucao-ms:300000}")
+    public boolean reconstroi() {
+        if (!pronto) {
+            return false;
+        }
+        long inicio = System.nanoTime();
+        Bits novo = dimensiona(animeRepository.count());
+        synchronized (this) {
+            emConstrucao = novo;
+        }
+        try {
+            long ultimoId = 0;
+            List<AnimeLeitura> lote;
+            do {
+                lote = animeRepository.findLeituraByIdGreaterThan(
+                    ultimoId, PageRequest.of(0, tamanhoLote, Sort.by("id")));
+                for (AnimeLeitura anime : lote) {
+                    if (anime.getName() != null) {
+                        novo.adiciona(NormalizadorNome.dobra(anime.getName()));
+                    }
+                }
+                if (!lote.isEmpty()) {
+                    ultimoId = lote.get(lote.size() - 1).getId();
+                }
+            } while (lote.size() == tamanhoLote);
+        } catch (RuntimeException e) {
+            // Filtro antigo continua valendo (sem falso negativo, só mais falsos positivos)
+            synchronized (this) {
+                emConstrucao = null;
+            }
+            log.error("Falha na reconstrucao do filtro de Bloom de nomes (filtro anterior mantido)", e);
+            return false;
+        }
+
+        synchronized (this) {
+            atual = novo;
+            emConstrucao = null;
+        }
+        reconstrucoes.increment();
+        log.info("Filtro de Bloom de nomes reconstruido: {} nomes, {} bytes em {} ms", novo.elementos.sum(),
+            novo.bytes(), (System.nanoTime() - inicio) / 1_000_000);
+        return true;
+    }
+
+    // Bits e hashes para 'linhas' nomes na taxa configurada, dentro do teto de bytes
+    private Bits dimensiona(long linhas) {
+        long capacidade = Math.max(CAPACIDADE_MINIMA, (long) Math.ceil(linhas * FOLGA));
+        // m = -n ln(p) / (ln 2)^2, arredondado para palavras de 64 bits
+        double bitsIdeais = -capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2));
+        long palavras = Math.max(1, (long) Math.ceil(bitsIdeais / Long.SIZE));
+        long maxPalavras = maxBytes / Long.BYTES;
+        if (palavras > maxPalavras) {
+            palavras = maxPalavras;
+            log.warn("Filtro de Bloom de nomes limitado a {} bytes: taxa de falso positivo acima de {}", maxBytes,
+                taxaFalsoPositivo);
+        }
+        long bits = palavras * Long.SIZE;
+        // k = (m/n) ln 2
+        int hashes = (int) Math.max(1, Math.min(MAXIMO_HASHES, Math.round((double) bits / capacidade * Math.log(2))));
+        return new Bits((int) palavras, hashes, capacidade);
+    }
+
+    // Fotografia do filtro e dos contadores no momento da chamada
+    public Estatisticas estatisticas() {
+        Bits bits = atual;
+        if (bits == null) {
+            return new Estatisticas(habilitado, false, 0, 0, 0, 0, 0, taxaFalsoPositivo, 0, consultas.sum(),
+                ausentes.sum(), reconstrucoes.sum());
+        }
+        return new Estatisticas(habilitado, pronto, bits.bits(), bits.hashes, bits.bytes(), bits.elementos.sum(),
+            bits.capacidade, taxaFalsoPositivo, bits.taxaEstimada(), consultas.sum(), ausentes.sum(),
+            reconstrucoes.sum());
+    }
+
+    /**
+     * Array de bits + número de hashes (double hashing: posição i = h1 + i*h2)
+     * AtomicLongArray: escritas (evento, reconstrução) e leituras (requisições) em threads diferentes
+     */
+    private static final class Bits {
+        private final AtomicLongArray palavras;
+        private final int hashes;
+        private final long capacidade;
+        // Nomes inseridos (repetidos contam de novo: estimativa pelo lado seguro)
+        private final LongAdder elementos = new LongAdder();
+
+        Bits(int palavras, int hashes, long capacidade) {
+            this.palavras = new AtomicLongArray(palavras);
+            this.hashes = hashes;
+            this.capacidade = capacidade;
+        }
+
+        void adiciona(String chave) {
+            long h1 = hash(chave);
+            long h2 = mistura(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+            long m = bits();
+            for (int i = 0; i < hashes; i++) {
+                long posicao = Math.floorMod(h1 + i * h2, m);
+                long mascara = 1L << posicao;
+                int palavra = (int) (posicao >>> 6);
+                if ((palavras.get(palavra) & mascara) == 0) {
+                    palavras.accumulateAndGet(palavra, mascara, (a, b) -> a | b);
+                }
+            }
+            elementos.increment();
+        }
+
+        boolean contem(String chave) {
+            long h1 = hash(chave);
+            long h2 = mistura(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+            long m = bits();
+            for (int i = 0; i < hashes; i++) {
+                long posicao = Math.floorMod(h1 + i * h2, m);
+                if ((palavras.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long bits() {
+            return (long) palavras.length() * Long.SIZE;
+        }
+
+        long bytes() {
+            return (long) palavras.length() * Long.BYTES;
+        }
+
+        // (1 - e^(-k n / m))^k com os nomes inseridos até agora
+        double taxaEstimada() {
+            return Math.pow(1 - Math.exp(-(double) hashes * elementos.sum() / bits()), hashes);
+        }
+
+        // FNV-1a de 64 bits sobre os chars + finalizador do MurmurHash3 (espalha os bits)
+        private static long hash(String chave) {
+            long h = 0xCBF29CE484222325L;
+            for (int i = 0; i < chave.length(); i++) {
+                h ^= chave.charAt(i);
+                h *= 0x100000001B3L;
+            }
+            return mistura(h);
+        }
+
+        private static long mistura(long h) {
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+
+    /**
+     * Tamanho, memória e uso do filtro (imutável)
+     */
+    @lombok.Value
+    public static class Estatisticas {
+        boolean habilitado;
+        boolean pronto;
+        long bits;
+        int hashes;
+        // Memória dos bits (o que conta para max-bytes)
+        long bytes;
+        long elementos;
+        long capacidade;
+        double taxaFalsoPositivoConfigurada;
+        // Taxa teórica com os elementos atuais (sobe com inserções até a próxima reconstrução)
+        double taxaFalsoPositivoEstimada;
+        long consultas;
+        // Consultas respondidas "não existe" sem ir ao banco
+        long ausentes;
+        long reconstrucoes;
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// busca.bloom.habilitado=true            → false: toda busca exata vai ao banco
+// busca.bloom.taxa-falso-positivo=0.01   → fração de nomes ausentes que ainda vão ao banco
+// busca.bloom.max-bytes=8388608          → teto dos bits (acima disso a taxa real sobe)
+// busca.bloom.reconstrucao-ms=300000     → intervalo da reconstrução (tira removidos/renomeados e
+//                                          traz linhas gravadas por fora: atraso máximo para vê-las)
+
+// QUEM USA:
+// - AnimeServices.findByName / findByNameSemTotal (comtem=false) → podeConter(nome dobrado)
+// - GET /animes/cache/bloom → estatisticas()
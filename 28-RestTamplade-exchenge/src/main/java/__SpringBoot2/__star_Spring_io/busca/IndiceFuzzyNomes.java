@@ -0,0 +1,398 @@
+// Pacote de busca em memória (índices sobre Anime.name)
+package __SpringBoot2.__star_Spring_io.busca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.util.NormalizadorNome;
+
+/**
+ * CLASSE IndiceFuzzyNomes
+ *
+ * Propósito: Busca aproximada (findByName?mode=fuzzy) - "naurto" encontra "Naruto".
+ *
+ * Similaridade por trigramas (mesma ideia do pg_trgm):
+ *   nome dobrado (minúsculas, sem acento) com borda: "  naruto " → "  n", " na", "nar", ..., "to "
+ *   nota = |trigramas em comum| / |trigramas da união|  (Jaccard, 0..1)
+ *
+ * Contagem por varredura (ScanCount):
+ * - percorre as postagens dos trigramas da consulta G somando +1 por documento num contador
+ * - o contador de cada documento termina = |trigramas em comum| (exato, sem reler o nome)
+ * - com |trigramas do documento| guardado, a nota sai direto: c / (|G| + |D| - c)
+ * - nota >= limiar exige c >= ceil(limiar * |G|): o resto é descartado sem cálculo
+ * Custo = soma dos tamanhos das postagens da consulta (nenhum candidato é verificado de novo).
+ * O contador é um byte[] do tamanho do catálogo reaproveitado entre buscas (pool).
+ *
+ * Orçamento de latência: entre postagens (e a cada bloco grande) confere o relógio; estourou,
+ * devolve o melhor encontrado até ali (e conta em buscasInterrompidas).
+ *
+ * Documentos internos têm índice denso (int) para as postagens caberem em int[];
+ * update/remove marcam o documento antigo como removido e a compactação limpa de tempos em tempos.
+ */
+@Component
+public class IndiceFuzzyNomes implements IndiceNomeAnime {
+
+    // Incrementos entre duas conferências do relógio dentro de uma postagem longa
+    private static final int LOTE_RELOGIO = 1 << 16;
+
+    // Compacta quando mais de 1/4 dos documentos estiver removido (e houver volume)
+    private static final int MINIMO_PARA_COMPACTAR = 1024;
+
+    private final boolean habilitado;
+
+    // Nota mínima para um nome entrar no resultado (0..1)
+    private final double limiar;
+
+    // Tamanho máximo da lista ranqueada (a paginação recorta dentro dela)
+    private final int maxResultados;
+
+    private final long orcamentoNanos;
+
+    // Documento denso → linha (null = removido)
+    private AnimeLeitura[] documentos = new AnimeLeitura[1024];
+
+    // Documento denso → quantidade de trigramas distintos do nome (|D| da nota)
+    private byte[] gramasPorDocumento = new byte[1024];
+
+    private int quantidadeDocumentos;
+
+    private int removidos;
+
+    private final Map<Long, Integer> documentoPorId = new HashMap<>();
+
+    // Trigrama → documentos em ordem crescente (sempre append: documento novo tem índice maior)
+    private final Map<Long, PostagemDensa> postagens = new HashMap<>();
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    private final LongAdder buscasInterrompidas = new LongAdder();
+
+    // Contadores reaproveitados (um por busca simultânea; no máximo um por núcleo fica guardado)
+    private final ConcurrentLinkedQueue<Contadores> contadoresLivres = new ConcurrentLinkedQueue<>();
+    private final int maxContadoresLivres = Runtime.getRuntime().availableProcessors();
+
+    private volatile boolean pronto;
+
+    public IndiceFuzzyNomes(
+            @Value("${busca.fuzzy.habilitado:true}") boolean habilitado,
+            @Value("${busca.fuzzy.limiar:0.25}") double limiar,
+            @Value("${busca.fuzzy.max-resultados:200}") int maxResultados,
+            @Value("${busca.fuzzy.orcamento-ms:50}") long orcamentoMs) {
+        this.habilitado = habilitado;
+        this.limiar = limiar;
+        this.maxResultados = maxResultados;
+        this.orcamentoNanos = TimeUnit.MILLISECONDS.toNanos(orcamentoMs);
+    }
+
+    // ========== CICLO DE VIDA (IndiceNomeAnime) ==========
+
+    @Override
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    @Override
+    public void iniciaCarga() {
+        trava.writeLock().lock();
+        try {
+            pronto = false;
+            documentos = new AnimeLeitura[1024];
+            gramasPorDocumento = new byte[1024];
+            quantidadeDocumentos = 0;
+            removidos = 0;
+            documentoPorId.clear();
+            postagens.clear();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void adiciona(AnimeLeitura anime) {
+        if (!habilitado || anime.getName() == null) {
+            return;
+        }
+        trava.writeLock().lock();
+        try {
+            marcaRemovido(anime.getId());
+            indexa(anime);
+            compactaSeNecessario();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long id) {
+        if (!habilitado) {
+            return;
+        }
+        trava.writeLock().lock();
+        try {
+            marcaRemovido(id);
+            compactaSeNecessario();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void concluiCarga() {
+        pronto = habilitado;
+    }
+
+    @Override
+    public boolean pronto() {
+        return pronto;
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Nomes parecidos com o texto, do mais parecido para o menos parecido
+     *
+     * @param texto - Texto já sanitizado
+     * @return Até maxResultados linhas com nota >= limiar (desempate por nome e id)
+     */
+    public List<AnimeLeitura> busca(String texto) {
+        long prazo = System.nanoTime() + orcamentoNanos;
+        long[] gramasConsulta = gramas(NormalizadorNome.dobra(texto));
+        if (gramasConsulta.length == 0) {
+            return List.of();
+        }
+
+        // Pior resultado no topo: sai quando chega um melhor e a fila está cheia
+        PriorityQueue<Pontuado> melhores = new PriorityQueue<>(Pontuado.ORDEM_RESULTADO.reversed());
+        int minimoEmComum = Math.max(1, (int) Math.ceil(limiar * gramasConsulta.length));
+
+        Contadores contadores = null;
+        trava.readLock().lock();
+        try {
+            contadores = pegaContadores(quantidadeDocumentos);
+            byte[] emComum = contadores.emComum;
+
+            // 1. Soma os trigramas em comum de cada documento (ScanCount)
+            int incrementos = 0;
+            for (long grama : gramasConsulta) {
+                PostagemDensa postagem = postagens.get(grama);
+                if (postagem == null) {
+                    continue;
+                }
+                if (System.nanoTime() > prazo) {
+                    buscasInterrompidas.increment();
+                    break;
+                }
+                for (int i = 0; i < postagem.tamanho; i++) {
+                    int documento = postagem.documentos[i];
+                    if (emComum[documento]++ == 0) {
+                        contadores.marcaTocado(documento);
+                    }
+                }
+                incrementos += postagem.tamanho;
+                if (incrementos > LOTE_RELOGIO && System.nanoTime() > prazo) {
+                    buscasInterrompidas.increment();
+                    break;
+                }
+            }
+
+            // 2. Nota dos documentos tocados que alcançaram o mínimo (e zera o contador para a próxima busca)
+            for (int t = 0; t < contadores.tocados; t++) {
+                int documento = contadores.listaTocados[t];
+                int comuns = emComum[documento];
+                emComum[documento] = 0;
+                AnimeLeitura anime = documentos[documento];
+                if (comuns < minimoEmComum || anime == null) {
+                    continue;
+                }
+                double nota = (double) comuns / (gramasConsulta.length + gramasPorDocumento[documento] - comuns);
+                if (nota >= limiar) {
+                    melhores.offer(new Pontuado(nota, anime));
+                    if (melhores.size() > maxResultados) {
+                        melhores.poll();
+                    }
+                }
+            }
+            contadores.tocados = 0;
+        } finally {
+            trava.readLock().unlock();
+            devolveContadores(contadores);
+        }
+
+        List<Pontuado> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(Pontuado.ORDEM_RESULTADO);
+        List<AnimeLeitura> resultado = new ArrayList<>(ordenados.size());
+        for (Pontuado pontuado : ordenados) {
+            resultado.add(pontuado.anime());
+        }
+        return resultado;
+    }
+
+    // Buscas que estouraram o orçamento e devolveram resultado parcial (monitoramento)
+    public long buscasInterrompidas() {
+        return buscasInterrompidas.sum();
+    }
+
+    // Linhas vivas no índice
+    public int tamanho() {
+        trava.readLock().lock();
+        try {
+            return documentoPorId.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // ========== CONTADORES (pool) ==========
+
+    private Contadores pegaContadores(int documentosNecessarios) {
+        Contadores contadores = contadoresLivres.poll();
+        if (contadores == null) {
+            contadores = new Contadores();
+        }
+        contadores.garanteCapacidade(documentosNecessarios);
+        return contadores;
+    }
+
+    private void devolveContadores(Contadores contadores) {
+        // Contadores sempre voltam zerados (passo 2 da busca); excedente fica para o GC
+        if (contadores != null && contadores.tocados == 0 && contadoresLivres.size() < maxContadoresLivres) {
+            contadoresLivres.offer(contadores);
+        }
+    }
+
+    // ========== MANUTENÇÃO (chamados com a trava de escrita) ==========
+
+    private void indexa(AnimeLeitura anime) {
+        if (quantidadeDocumentos == documentos.length) {
+            documentos = Arrays.copyOf(documentos, documentos.length * 2);
+            gramasPorDocumento = Arrays.copyOf(gramasPorDocumento, gramasPorDocumento.length * 2);
+        }
+        int documento = quantidadeDocumentos++;
+        long[] gramas = gramas(NormalizadorNome.dobra(anime.getName()));
+        documentos[documento] = anime;
+        // Nome tem no máximo 100 caracteres (Anime.name) → no máximo 101 trigramas: cabe em byte
+        gramasPorDocumento[documento] = (byte) gramas.length;
+        documentoPorId.put(anime.getId(), documento);
+        for (long grama : gramas) {
+            postagens.computeIfAbsent(grama, g -> new PostagemDensa()).adiciona(documento);
+        }
+    }
+
+    private void marcaRemovido(long id) {
+        Integer documento = documentoPorId.remove(id);
+        if (documento != null) {
+            documentos[documento] = null;
+            removidos++;
+        }
+    }
+
+    // Reindexa só os vivos (índices densos de novo contíguos, postagens sem removidos)
+    private void compactaSeNecessario() {
+        if (quantidadeDocumentos < MINIMO_PARA_COMPACTAR || removidos * 4 < quantidadeDocumentos) {
+            return;
+        }
+        AnimeLeitura[] vivos = Arrays.stream(documentos, 0, quantidadeDocumentos)
+            .filter(anime -> anime != null)
+            .toArray(AnimeLeitura[]::new);
+        documentos = new AnimeLeitura[Math.max(1024, vivos.length * 2)];
+        gramasPorDocumento = new byte[documentos.length];
+        quantidadeDocumentos = 0;
+        removidos = 0;
+        documentoPorId.clear();
+        postagens.clear();
+        for (AnimeLeitura anime : vivos) {
+            indexa(anime);
+        }
+    }
+
+    // ========== TRIGRAMAS E NOTA ==========
+
+    // Trigramas distintos e ORDENADOS do texto dobrado com borda ("  " + texto + " ")
+    static long[] gramas(String dobrado) {
+        if (dobrado == null || dobrado.isBlank()) {
+            return new long[0];
+        }
+        String comBorda = "  " + dobrado + " ";
+        long[] gramas = new long[comBorda.length() - 2];
+        for (int i = 0; i < gramas.length; i++) {
+            gramas[i] = ((long) comBorda.charAt(i) << 32) | ((long) comBorda.charAt(i + 1) << 16) | comBorda.charAt(i + 2);
+        }
+        Arrays.sort(gramas);
+        int distintos = 0;
+        for (int i = 0; i < gramas.length; i++) {
+            if (i == 0 || gramas[i] != gramas[i - 1]) {
+                gramas[distintos++] = gramas[i];
+            }
+        }
+        return Arrays.copyOf(gramas, distintos);
+    }
+
+    // Linha com a nota da busca; ordem do resultado: nota desc, nome asc, id asc
+    private record Pontuado(double nota, AnimeLeitura anime) {
+
+        static final Comparator<Pontuado> ORDEM_RESULTADO = Comparator
+            .comparingDouble(Pontuado::nota).reversed()
+            .thenComparing(p -> p.anime().getName())
+            .thenComparing(p -> p.anime().getId());
+    }
+
+    // Contador de trigramas em comum por documento + quais documentos foram tocados (para zerar)
+    private static final class Contadores {
+
+        private byte[] emComum = new byte[0];
+        private int[] listaTocados = new int[1024];
+        private int tocados;
+
+        void garanteCapacidade(int documentos) {
+            if (emComum.length < documentos) {
+                emComum = new byte[documentos + (documentos >> 2)];
+            }
+        }
+
+        void marcaTocado(int documento) {
+            if (tocados == listaTocados.length) {
+                listaTocados = Arrays.copyOf(listaTocados, tocados * 2);
+            }
+            listaTocados[tocados++] = documento;
+        }
+    }
+
+    // Lista crescente de documentos densos em int[] (só cresce no fim)
+    static final class PostagemDensa {
+
+        private int[] documentos = new int[2];
+        private int tamanho;
+
+        void adiciona(int documento) {
+            if (tamanho == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamanho * 2);
+            }
+            documentos[tamanho++] = documento;
+        }
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// busca.fuzzy.habilitado=true     → false: mode=fuzzy cai para a busca "contém"
+// busca.fuzzy.limiar=0.25         → nota mínima (0..1); 0.25 aceita duas letras trocadas em nomes de 6+ letras
+//                                   ("naurto" x "naruto" = 3/11 ≈ 0.27; o 0.3 do pg_trgm descartaria)
+// busca.fuzzy.max-resultados=200  → tamanho da lista ranqueada
+// busca.fuzzy.orcamento-ms=50     → tempo máximo de uma busca (devolve o parcial ao estourar)
+
+// MEMÓRIA (aproximada):
+// - 1 AnimeLeitura + 1 byte (quantidade de trigramas) por linha
+// - 4 bytes por (trigrama, documento) nas postagens
+// - 1 byte por linha em cada contador do pool (no máximo um por núcleo guardado)
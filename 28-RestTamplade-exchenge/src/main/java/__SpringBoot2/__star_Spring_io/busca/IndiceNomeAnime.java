@@ -0,0 +1,35 @@
+// Pacote de busca em memória (índices sobre Anime.name)
+package __SpringBoot2.__star_Spring_io.busca;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+
+/**
+ * INTERFACE IndiceNomeAnime
+ * 
+ * Contrato dos índices em memória sobre os nomes dos animes.
+ * O CarregadorIndicesNome faz uma única leitura da tabela na subida
+ * (alimentando todos os índices) e depois repassa cada escrita do AnimeServices.
+ * 
+ * Ciclo de vida:
+ * 1. iniciaCarga()  → descarta o conteúdo e volta ao estado "aquecendo"
+ * 2. adiciona(...)  → linhas da carga e escritas (create/update)
+ * 3. concluiCarga() → índice passa a responder consultas (pronto() = true)
+ * 
+ * Enquanto não estiver pronto, o service usa o caminho SQL.
+ */
+public interface IndiceNomeAnime {
+    
+    // false = índice desligado por configuração (não recebe carga nem escritas)
+    boolean habilitado();
+    
+    void iniciaCarga();
+    
+    // Insere ou substitui (mesmo id) a linha no índice
+    void adiciona(AnimeLeitura anime);
+    
+    void remove(long id);
+    
+    void concluiCarga();
+    
+    boolean pronto();
+}
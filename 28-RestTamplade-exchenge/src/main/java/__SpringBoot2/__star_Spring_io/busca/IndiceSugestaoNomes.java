@@ -0,0 +1,232 @@
+// Pacote de busca em memória (índices sobre Anime.name)
+package __SpringBoot2.__star_Spring_io.busca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+import __SpringBoot2.__star_Spring_io.util.NormalizadorNome;
+
+/**
+ * CLASSE IndiceSugestaoNomes
+ *
+ * Propósito: Autocomplete por prefixo (GET /animes/suggest) sem ir ao banco a cada tecla.
+ *
+ * Estrutura (array ordenado + delta, estilo LSM):
+ * - base: String[] ORDENADO e imutável com as chaves distintas + int[] com quantas linhas têm cada uma
+ *   (compacto: só as strings e um int por nome distinto, sem nós de árvore)
+ * - delta: TreeMap pequeno com os ajustes (+1/-1) das escritas desde a última compactação
+ * - quando o delta passa de LIMITE_DELTA entradas (ou 1/4 da base), é fundido em uma nova base
+ *
+ * Consulta: busca binária do prefixo na base + subMap do delta, intercalados,
+ * parando no limite → custo O(log n + limite + delta), independente do tamanho do catálogo.
+ *
+ * Chave = nome dobrado (minúsculas, sem acento) + '\0' + nome exibido (já sanitizado):
+ * "nar" encontra "Naruto", "poke" encontra "Pokémon" (mesma regra da coluna nome_busca
+ * usada pelo caminho SQL) e o resultado sai em ordem de nome.
+ */
+@Component
+public class IndiceSugestaoNomes implements IndiceNomeAnime {
+
+    // Separa a parte de comparação (minúsculas) do nome exibido dentro da chave
+    private static final char SEPARADOR = '\0';
+
+    private static final int LIMITE_DELTA_PADRAO = 1024;
+
+    private final boolean habilitado;
+
+    private final int limiteDelta;
+
+    // Chave de cada id (para update/remove saberem qual nome sai)
+    private final Map<Long, String> chavePorId = new HashMap<>();
+
+    // Base compacta (substituída inteira na compactação)
+    private String[] base = new String[0];
+    private int[] quantidadeBase = new int[0];
+
+    // Ajustes pendentes desde a última compactação (chave → +/- linhas)
+    private final TreeMap<String, Integer> delta = new TreeMap<>();
+
+    private volatile boolean pronto;
+
+    @Autowired
+    public IndiceSugestaoNomes(@Value("${busca.sugestao.habilitado:true}") boolean habilitado) {
+        this(habilitado, LIMITE_DELTA_PADRAO);
+    }
+
+    IndiceSugestaoNomes(boolean habilitado, int limiteDelta) {
+        this.habilitado = habilitado;
+        this.limiteDelta = limiteDelta;
+    }
+
+    // ========== CICLO DE VIDA (IndiceNomeAnime) ==========
+
+    @Override
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    @Override
+    public synchronized void iniciaCarga() {
+        pronto = false;
+        chavePorId.clear();
+        delta.clear();
+        base = new String[0];
+        quantidadeBase = new int[0];
+    }
+
+    @Override
+    public synchronized void adiciona(AnimeLeitura anime) {
+        if (!habilitado || anime.getName() == null) {
+            return;
+        }
+        String nome = Sanatizador.saniNomeLido(anime.getName(), anime.getSanitizadorVersao());
+        if (nome == null || nome.isEmpty()) {
+            return;
+        }
+        String chave = chave(nome);
+        String anterior = chavePorId.put(anime.getId(), chave);
+        if (chave.equals(anterior)) {
+            return;
+        }
+        if (anterior != null) {
+            ajusta(anterior, -1);
+        }
+        ajusta(chave, +1);
+    }
+
+    @Override
+    public synchronized void remove(long id) {
+        if (!habilitado) {
+            return;
+        }
+        String anterior = chavePorId.remove(id);
+        if (anterior != null) {
+            ajusta(anterior, -1);
+        }
+    }
+
+    @Override
+    public synchronized void concluiCarga() {
+        // Funde o que sobrou da carga no delta
+        compacta();
+        pronto = habilitado;
+    }
+
+    @Override
+    public boolean pronto() {
+        return pronto;
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Nomes distintos que começam com o prefixo (sem diferenciar maiúsculas/acentos), em ordem de nome
+     *
+     * @param prefixo - Texto já sanitizado
+     * @param limite - Máximo de nomes retornados
+     * @return Até 'limite' nomes prontos para exibição
+     */
+    public synchronized List<String> sugere(String prefixo, int limite) {
+        String inicio = NormalizadorNome.dobra(prefixo);
+        // Maior chave possível com esse prefixo (Character.MAX_VALUE > qualquer char do nome)
+        String fim = inicio + Character.MAX_VALUE;
+
+        List<String> nomes = new ArrayList<>(limite);
+        int i = primeiraPosicao(inicio);
+        Iterator<Map.Entry<String, Integer>> pendentes = delta.subMap(inicio, true, fim, false).entrySet().iterator();
+        Map.Entry<String, Integer> pendente = pendentes.hasNext() ? pendentes.next() : null;
+
+        // Intercala base e delta (os dois ordenados) até completar o limite
+        while (nomes.size() < limite) {
+            boolean temBase = i < base.length && base[i].compareTo(fim) < 0;
+            if (!temBase && pendente == null) {
+                break;
+            }
+            int comparacao = !temBase ? 1 : pendente == null ? -1 : base[i].compareTo(pendente.getKey());
+
+            String chave;
+            int quantidade;
+            if (comparacao < 0) {
+                chave = base[i];
+                quantidade = quantidadeBase[i++];
+            } else {
+                chave = pendente.getKey();
+                quantidade = pendente.getValue();
+                if (comparacao == 0) {
+                    quantidade += quantidadeBase[i++];
+                }
+                pendente = pendentes.hasNext() ? pendentes.next() : null;
+            }
+            // Nome removido de todas as linhas (contagem zerada pelo delta) não é sugerido
+            if (quantidade > 0) {
+                nomes.add(chave.substring(chave.indexOf(SEPARADOR) + 1));
+            }
+        }
+        return nomes;
+    }
+
+    // Nomes distintos na base + entradas pendentes (monitoramento/testes)
+    public synchronized int tamanho() {
+        return base.length + delta.size();
+    }
+
+    private int primeiraPosicao(String inicio) {
+        int posicao = Arrays.binarySearch(base, inicio);
+        return posicao >= 0 ? posicao : -posicao - 1;
+    }
+
+    private void ajusta(String chave, int quantidade) {
+        delta.merge(chave, quantidade, (atual, soma) -> atual + soma == 0 ? null : atual + soma);
+        // Limite cresce com a base: na carga inicial as fusões dobram de tamanho (custo amortizado)
+        if (delta.size() > Math.max(limiteDelta, base.length / 4)) {
+            compacta();
+        }
+    }
+
+    // Funde base + delta em um novo par de arrays ordenados (descarta contagens zeradas)
+    private void compacta() {
+        String[] novaBase = new String[base.length + delta.size()];
+        int[] novaQuantidade = new int[novaBase.length];
+        int n = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> pendente : delta.entrySet()) {
+            while (i < base.length && base[i].compareTo(pendente.getKey()) < 0) {
+                novaBase[n] = base[i];
+                novaQuantidade[n++] = quantidadeBase[i++];
+            }
+            int quantidade = pendente.getValue();
+            if (i < base.length && base[i].equals(pendente.getKey())) {
+                quantidade += quantidadeBase[i++];
+            }
+            if (quantidade > 0) {
+                novaBase[n] = pendente.getKey();
+                novaQuantidade[n++] = quantidade;
+            }
+        }
+        while (i < base.length) {
+            novaBase[n] = base[i];
+            novaQuantidade[n++] = quantidadeBase[i++];
+        }
+        base = Arrays.copyOf(novaBase, n);
+        quantidadeBase = Arrays.copyOf(novaQuantidade, n);
+        delta.clear();
+    }
+
+    private static String chave(String nome) {
+        return NormalizadorNome.dobra(nome) + SEPARADOR + nome;
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// busca.sugestao.habilitado=true → false: /animes/suggest sempre consulta o banco (LIKE 'prefixo%')
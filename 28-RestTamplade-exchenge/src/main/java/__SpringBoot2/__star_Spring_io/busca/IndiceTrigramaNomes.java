@@ -0,0 +1,322 @@
+// Pacote de busca em memória (índices sobre Anime.name)
+package __SpringBoot2.__star_Spring_io.busca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.util.NormalizadorNome;
+
+/**
+ * CLASSE IndiceTrigramaNomes
+ *
+ * Propósito: Responder findByName?comtem=true SEM o LIKE '%texto%' (que nenhum índice
+ * B-tree atende - no MySQL é varredura da tabela inteira a cada busca).
+ *
+ * Índice invertido de trigramas sobre o nome DOBRADO (NormalizadorNome.dobra):
+ *   "Naruto" → "naruto" → "nar", "aru", "rut", "uto"
+ *   cada trigrama aponta para a lista ORDENADA de ids cujo nome o contém (postagem)
+ *
+ * Consulta "rut":
+ * 1. Pega as postagens dos trigramas do texto buscado
+ * 2. Intersecta (começando pela menor) → candidatos
+ * 3. Confirma com String.contains nas chaves dobradas (trigramas em comum não garantem a ordem)
+ * 4. Ordena conforme o Pageable e recorta a página (mesmo contrato do Page do SQL)
+ *
+ * Textos com menos de 3 caracteres não têm trigrama: verifica todos os nomes em memória.
+ * Comparação e ordenação por nome usam a chave dobrada: no MySQL a coluna name tem collation
+ * padrão utf8mb4_0900_ai_ci (sem distinção de maiúsculas e acentos), então o LIKE '%texto%' e o
+ * ORDER BY name do caminho SQL também ignoram maiúsculas/acentos - índice pronto ou não, mesmos
+ * resultados, totais e ordem (empate entre chaves iguais: id).
+ */
+@Component
+public class IndiceTrigramaNomes implements IndiceNomeAnime {
+
+    private static final int TAMANHO_GRAMA = 3;
+
+    // Liga/desliga o índice (desligado = sem memória extra, sempre SQL)
+    private final boolean habilitado;
+
+    // Linha de cada id (nome + versão do sanitizador para montar a resposta) + chave dobrada
+    private final Map<Long, Linha> linhas = new HashMap<>();
+
+    // Trigrama (3 chars empacotados em um long) → ids em ordem crescente
+    private final Map<Long, Postagem> postagens = new HashMap<>();
+
+    // Leituras em paralelo; carga e escritas exclusivas
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    private volatile boolean pronto;
+
+    public IndiceTrigramaNomes(@Value("${busca.trigrama.habilitado:true}") boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    // ========== CICLO DE VIDA (IndiceNomeAnime) ==========
+
+    @Override
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    @Override
+    public void iniciaCarga() {
+        trava.writeLock().lock();
+        try {
+            pronto = false;
+            linhas.clear();
+            postagens.clear();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void adiciona(AnimeLeitura anime) {
+        if (!habilitado || anime.getName() == null) {
+            return;
+        }
+        trava.writeLock().lock();
+        try {
+            // Update: sai das postagens do nome antigo antes de entrar nas do novo
+            Linha linha = new Linha(anime, NormalizadorNome.dobra(anime.getName()));
+            Linha anterior = linhas.put(anime.getId(), linha);
+            if (anterior != null) {
+                removePostagens(anime.getId(), anterior);
+            }
+            long id = anime.getId();
+            for (long grama : gramas(linha.chave)) {
+                postagens.computeIfAbsent(grama, g -> new Postagem()).adiciona(id);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long id) {
+        if (!habilitado) {
+            return;
+        }
+        trava.writeLock().lock();
+        try {
+            Linha anterior = linhas.remove(id);
+            if (anterior != null) {
+                removePostagens(id, anterior);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void concluiCarga() {
+        pronto = habilitado;
+    }
+
+    @Override
+    public boolean pronto() {
+        return pronto;
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Equivalente em memória de AnimeRepository.findLeituraByNameContaining
+     *
+     * @param texto - Texto já sanitizado (dobrado aqui: maiúsculas/acentos não importam)
+     * @param pageable - Pageable já validado (PageableValidation)
+     * @return Página com o total exato de nomes que contêm o texto
+     */
+    public Page<AnimeLeitura> buscaContendo(String texto, Pageable pageable) {
+        List<Linha> encontrados;
+        trava.readLock().lock();
+        try {
+            encontrados = candidatosConfirmados(NormalizadorNome.dobra(texto));
+        } finally {
+            trava.readLock().unlock();
+        }
+
+        // Candidatos já saem em id crescente: só reordena se a ordenação pedir outra coisa
+        Sort sort = pageable.getSort();
+        Sort.Order porId = sort.getOrderFor("id");
+        if (sort.isSorted() && !(porId != null && sort.stream().count() == 1)) {
+            encontrados.sort(comparador(sort));
+        } else if (porId != null && porId.isDescending()) {
+            Collections.reverse(encontrados);
+        }
+
+        int total = encontrados.size();
+        int inicio = (int) Math.min(pageable.getOffset(), total);
+        int fim = Math.min(inicio + pageable.getPageSize(), total);
+        List<AnimeLeitura> pagina = new ArrayList<>(fim - inicio);
+        for (Linha linha : encontrados.subList(inicio, fim)) {
+            pagina.add(linha.anime);
+        }
+        return new PageImpl<>(pagina, pageable, total);
+    }
+
+    // Quantidade de nomes indexados (monitoramento/testes)
+    public int tamanho() {
+        trava.readLock().lock();
+        try {
+            return linhas.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Intersecção das postagens + confirmação por contains (texto dobrado; chamado com a trava de leitura)
+    private List<Linha> candidatosConfirmados(String texto) {
+        List<Linha> encontrados = new ArrayList<>();
+
+        // Texto curto: sem trigrama, confere todos os nomes
+        if (texto.length() < TAMANHO_GRAMA) {
+            for (Linha linha : linhas.values()) {
+                if (linha.chave.contains(texto)) {
+                    encontrados.add(linha);
+                }
+            }
+            encontrados.sort(Comparator.comparingLong(linha -> linha.anime.getId()));
+            return encontrados;
+        }
+
+        // 1. Postagens de cada trigrama (qualquer trigrama ausente = nenhum resultado)
+        long[] gramas = gramas(texto);
+        Postagem[] listas = new Postagem[gramas.length];
+        for (int i = 0; i < gramas.length; i++) {
+            listas[i] = postagens.get(gramas[i]);
+            if (listas[i] == null) {
+                return encontrados;
+            }
+        }
+
+        // 2. Menor postagem primeiro: as outras só são consultadas por busca binária
+        Arrays.sort(listas, Comparator.comparingInt(p -> p.tamanho));
+        Postagem menor = listas[0];
+        for (int i = 0; i < menor.tamanho; i++) {
+            long id = menor.ids[i];
+            boolean emTodas = true;
+            for (int j = 1; j < listas.length && emTodas; j++) {
+                emTodas = listas[j].contem(id);
+            }
+            // 3. Confirma a substring (ex.: "abcxbcd" tem "abc" e "bcd" mas não "abcd")
+            if (emTodas) {
+                Linha linha = linhas.get(id);
+                if (linha.chave.contains(texto)) {
+                    encontrados.add(linha);
+                }
+            }
+        }
+        return encontrados;
+    }
+
+    private void removePostagens(long id, Linha linha) {
+        for (long grama : gramas(linha.chave)) {
+            Postagem postagem = postagens.get(grama);
+            if (postagem != null && postagem.remove(id) && postagem.tamanho == 0) {
+                postagens.remove(grama);
+            }
+        }
+    }
+
+    // Trigramas distintos do texto, cada um empacotado em um long (3 x 16 bits)
+    static long[] gramas(String texto) {
+        int quantidade = texto.length() - TAMANHO_GRAMA + 1;
+        if (quantidade <= 0) {
+            return new long[0];
+        }
+        long[] gramas = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            gramas[i] = ((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2);
+        }
+        return Arrays.stream(gramas).distinct().toArray();
+    }
+
+    // Mesma ordenação que o ORDER BY do Pageable (campos permitidos: id, name) + id como desempate
+    // name compara a chave dobrada (collation _ai_ci do MySQL: "Naruto" e "naruto" empatam)
+    private static Comparator<Linha> comparador(Sort sort) {
+        Comparator<Linha> comparador = null;
+        for (Sort.Order ordem : sort) {
+            Comparator<Linha> campo = "name".equals(ordem.getProperty())
+                ? Comparator.comparing((Linha linha) -> linha.chave)
+                : Comparator.comparingLong((Linha linha) -> linha.anime.getId());
+            if (ordem.isDescending()) {
+                campo = campo.reversed();
+            }
+            comparador = comparador == null ? campo : comparador.thenComparing(campo);
+        }
+        Comparator<Linha> desempate = Comparator.comparingLong(linha -> linha.anime.getId());
+        return comparador == null ? desempate : comparador.thenComparing(desempate);
+    }
+
+    // Linha indexada: o que a resposta usa + a chave dobrada das comparações
+    private static final class Linha {
+        private final AnimeLeitura anime;
+        private final String chave;
+
+        Linha(AnimeLeitura anime, String chave) {
+            this.anime = anime;
+            this.chave = chave;
+        }
+    }
+
+    /**
+     * Lista de ids ordenada em um long[] (sem boxing de Long por entrada)
+     * Ids crescem com o tempo: inserções quase sempre caem no fim (append)
+     */
+    static final class Postagem {
+
+        private long[] ids = new long[4];
+        private int tamanho;
+
+        void adiciona(long id) {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao >= 0) {
+                return;
+            }
+            posicao = -posicao - 1;
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho + (tamanho >> 1) + 1);
+            }
+            System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+            ids[posicao] = id;
+            tamanho++;
+        }
+
+        boolean remove(long id) {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao < 0) {
+                return false;
+            }
+            System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+            tamanho--;
+            return true;
+        }
+
+        boolean contem(long id) {
+            return Arrays.binarySearch(ids, 0, tamanho, id) >= 0;
+        }
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// busca.trigrama.habilitado=true → false desliga o índice (comtem=true sempre via LIKE no banco)
+
+// MEMÓRIA (aproximada):
+// - 1 AnimeLeitura + chave dobrada por linha (a chave é o próprio nome quando já é ASCII minúsculo)
+//   + entrada no HashMap
+// - 8 bytes por (trigrama, id) nas postagens - nome de 20 chars ≈ 18 trigramas ≈ 144 bytes
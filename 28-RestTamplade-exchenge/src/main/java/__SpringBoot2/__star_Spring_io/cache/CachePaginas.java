@@ -0,0 +1,339 @@
+// Pacote de caches/validadores em memória sobre a tabela anime
+package __SpringBoot2.__star_Spring_io.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * CLASSE CachePaginas
+ *
+ * Propósito: Guardar as páginas já montadas de listAll e findByName (conteúdo + total),
+ * para que as páginas mais pedidas não voltem ao banco (SELECT + COUNT) a cada requisição.
+ *
+ * Chave = Pageable canônico (saída do PageableValidation) + nome + comtem.
+ * Contagem SEPARADA e JANELA dão a mesma página: as duas dividem a entrada.
+ *
+ * Validade de uma entrada:
+ * - TTL: vence depois de cache.paginas.ttl-ms
+ * - Geração: cada AnimeAlteradoEvento (save, saveLote, updateByName, deleteById) sobe a geração
+ *   e esvazia o cache depois do commit. A geração é lida ANTES da consulta: uma escrita no meio
+ *   deixa a página guardada com geração velha, e ela nunca é servida
+ * - Capacidade: passou do limite, as entradas mais antigas saem primeiro (FIFO, como o SanitizacaoCache)
+ *
+ * Refresh-ahead: a cada cache.paginas.refresh-ms as chaves mais acessadas na janela são
+ * recalculadas antes de vencer, e logo depois de uma escrita (em segundo plano) - a página
+ * quente é trocada no lugar, sem a requisição seguinte pagar a consulta.
+ */
+@Component
+@Log4j2
+public class CachePaginas {
+
+    // Liga/desliga o cache (desligado = toda página vai ao banco)
+    private final boolean habilitado;
+
+    // Número máximo de páginas guardadas
+    private final int capacidade;
+
+    private final long ttlNanos;
+
+    // Intervalo do refresh-ahead (também a antecedência: o que venceria antes da próxima rodada é renovado)
+    private final long intervaloNanos;
+
+    // Quantas chaves quentes são mantidas renovadas
+    private final int quantidadeQuentes;
+
+    // Fonte de tempo (System.nanoTime; substituível nos testes)
+    private final LongSupplier relogio;
+
+    // Onde roda a recarga disparada por escrita (fora da thread que fez o commit)
+    private final Executor recargaAposEscrita;
+
+    private final ConcurrentHashMap<ChavePagina, Entrada> entradas;
+
+    // Ordem de inserção, usada para escolher quem sai quando o cache enche
+    private final Queue<ChavePagina> ordemInsercao = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong geracao = new AtomicLong();
+
+    // Chaves mais acessadas na última janela (com a função que recalcula a página)
+    private volatile List<Entrada> quentes = List.of();
+
+    // Evita enfileirar uma recarga por escrita quando elas chegam em rajada
+    private final AtomicBoolean recargaPendente = new AtomicBoolean();
+
+    // Contadores de uso
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder despejos = new LongAdder();
+    private final LongAdder invalidacoes = new LongAdder();
+    private final LongAdder recargas = new LongAdder();
+
+    @Autowired
+    public CachePaginas(
+            @Value("${cache.paginas.habilitado:true}") boolean habilitado,
+            @Value("${cache.paginas.capacidade:1000}") int capacidade,
+            @Value("${cache.paginas.ttl-ms:60000}") long ttlMs,
+            @Value("${cache.paginas.refresh-ms:5000}") long intervaloMs,
+            @Value("${cache.paginas.quentes:20}") int quantidadeQuentes) {
+        this(habilitado, capacidade, ttlMs, intervaloMs, quantidadeQuentes, System::nanoTime,
+            Executors.newSingleThreadExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "recarga-cache-paginas");
+                thread.setDaemon(true);
+                return thread;
+            }));
+    }
+
+    CachePaginas(boolean habilitado, int capacidade, long ttlMs, long intervaloMs, int quantidadeQuentes,
+            LongSupplier relogio, Executor recargaAposEscrita) {
+        if (capacidade <= 0 || ttlMs <= 0 || intervaloMs <= 0 || quantidadeQuentes < 0) {
+            throw new IllegalArgumentException("configuracao invalida do cache de paginas: capacidade=" + capacidade
+                + ", ttl-ms=" + ttlMs + ", refresh-ms=" + intervaloMs + ", quentes=" + quantidadeQuentes);
+        }
+        this.habilitado = habilitado;
+        this.capacidade = capacidade;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        this.quantidadeQuentes = quantidadeQuentes;
+        this.relogio = relogio;
+        this.recargaAposEscrita = recargaAposEscrita;
+        this.entradas = new ConcurrentHashMap<>(Math.min(capacidade, 1024));
+    }
+
+    /**
+     * Página guardada para a chave ou calcula, guarda e retorna
+     *
+     * @param chave - Pedido canônico (Pageable validado + filtros)
+     * @param carga - Consulta executada na falha (e depois pelo refresh-ahead)
+     * @return Página válida na geração atual
+     */
+    public Page<AnimeResponse> obtem(ChavePagina chave, Supplier<Page<AnimeResponse>> carga) {
+        if (!habilitado) {
+            return carga.get();
+        }
+
+        Entrada entrada = entradas.get(chave);
+        if (entrada != null && valida(entrada, relogio.getAsLong())) {
+            entrada.acessos.increment();
+            acertos.increment();
+            return entrada.valor;
+        }
+
+        falhas.increment();
+        LongAdder acessos = entrada == null ? new LongAdder() : entrada.acessos;
+        acessos.increment();
+        return guarda(calcula(chave, carga, acessos)).valor;
+    }
+
+    // ========== INVALIDAÇÃO (depois do commit) ==========
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(AnimeAlteradoEvento evento) {
+        invalida();
+    }
+
+    // Descarta todas as páginas e agenda a recarga das quentes
+    public void invalida() {
+        if (!habilitado) {
+            return;
+        }
+        geracao.incrementAndGet();
+        entradas.clear();
+        ordemInsercao.clear();
+        invalidacoes.increment();
+
+        if (!quentes.isEmpty() && recargaPendente.compareAndSet(false, true)) {
+            recargaAposEscrita.execute(() -> {
+                recargaPendente.set(false);
+                recarregaQuentes();
+            });
+        }
+    }
+
+    // ========== REFRESH-AHEAD ==========
+    @Scheduled(
+        initialDelayString = "${cache.paginas.refresh-ms:5000}",
+        fixedDelayString = "${cache.paginas.refresh-ms:5000}"
+    )
+    public synchronized void renova() {
+        if (!habilitado) {
+            return;
+        }
+        // 1. Mantém as quentes da janela anterior (sumiram por escrita/despejo ou vencem antes da próxima rodada)
+        recarregaQuentes();
+
+        // 2. Novo ranking pelos acessos desde a última rodada (zera a janela)
+        List<Map.Entry<Entrada, Long>> ranking = new ArrayList<>();
+        for (Entrada entrada : entradas.values()) {
+            long acessosJanela = entrada.acessos.sumThenReset();
+            if (acessosJanela > 0) {
+                ranking.add(Map.entry(entrada, acessosJanela));
+            }
+        }
+        ranking.sort(Map.Entry.<Entrada, Long>comparingByValue(Comparator.reverseOrder()));
+        quentes = ranking.stream().limit(quantidadeQuentes).map(Map.Entry::getKey).toList();
+    }
+
+    // Recalcula as quentes ausentes, de geração velha ou perto de vencer
+    private synchronized void recarregaQuentes() {
+        for (Entrada quente : quentes) {
+            Entrada atual = entradas.get(quente.chave);
+            long agora = relogio.getAsLong();
+            if (atual != null && valida(atual, agora) && agora - atual.criadaEm + intervaloNanos < ttlNanos) {
+                continue;
+            }
+            try {
+                guarda(calcula(quente.chave, quente.carga, quente.acessos));
+                recargas.increment();
+            } catch (RuntimeException e) {
+                // Falha na recarga não derruba nada: a próxima requisição consulta o banco
+                log.warn("Falha ao renovar pagina em cache {}: {}", quente.chave, e.getMessage());
+            }
+        }
+    }
+
+    // Geração lida antes da consulta (uma escrita no meio invalida o resultado)
+    private Entrada calcula(ChavePagina chave, Supplier<Page<AnimeResponse>> carga, LongAdder acessos) {
+        long geracaoLida = geracao.get();
+        return new Entrada(chave, carga.get(), carga, geracaoLida, relogio.getAsLong(), acessos);
+    }
+
+    private Entrada guarda(Entrada nova) {
+        // Calculada antes de uma escrita: devolve para quem pediu, mas não guarda
+        if (nova.geracao != geracao.get()) {
+            return nova;
+        }
+        if (entradas.put(nova.chave, nova) == null) {
+            ordemInsercao.offer(nova.chave);
+            despejaExcedente();
+        }
+        return nova;
+    }
+
+    private boolean valida(Entrada entrada, long agora) {
+        return entrada.geracao == geracao.get() && agora - entrada.criadaEm < ttlNanos;
+    }
+
+    // Remove as entradas mais antigas até voltar para dentro da capacidade
+    private void despejaExcedente() {
+        while (entradas.size() > capacidade) {
+            ChavePagina maisAntiga = ordemInsercao.poll();
+            if (maisAntiga == null) {
+                return;
+            }
+            if (entradas.remove(maisAntiga) != null) {
+                despejos.increment();
+            }
+        }
+    }
+
+    @PreDestroy
+    void encerra() {
+        if (recargaAposEscrita instanceof ExecutorService servico) {
+            servico.shutdownNow();
+        }
+    }
+
+    // Fotografia dos contadores no momento da chamada
+    public Estatisticas estatisticas() {
+        return new Estatisticas(habilitado, acertos.sum(), falhas.sum(), despejos.sum(), invalidacoes.sum(),
+            recargas.sum(), entradas.size(), quentes.size());
+    }
+
+    /**
+     * Pedido canônico de uma página (imutável - equals/hashCode pelo Lombok)
+     * nome: sanitizado (comtem=true) ou dobrado (comtem=false); null na listagem geral
+     */
+    @lombok.Value
+    public static class ChavePagina {
+        Pageable pageable;
+        String nome;
+        boolean comtem;
+
+        public static ChavePagina todos(Pageable pageable) {
+            return new ChavePagina(pageable, null, false);
+        }
+
+        public static ChavePagina porNome(Pageable pageable, String nome, boolean comtem) {
+            return new ChavePagina(pageable, nome, comtem);
+        }
+    }
+
+    // Página guardada + o necessário para renová-la
+    private static final class Entrada {
+        final ChavePagina chave;
+        final Page<AnimeResponse> valor;
+        final Supplier<Page<AnimeResponse>> carga;
+        final long geracao;
+        final long criadaEm;
+        // Compartilhado entre as versões da mesma chave: a renovação não zera a popularidade
+        final LongAdder acessos;
+
+        Entrada(ChavePagina chave, Page<AnimeResponse> valor, Supplier<Page<AnimeResponse>> carga,
+                long geracao, long criadaEm, LongAdder acessos) {
+            this.chave = chave;
+            this.valor = valor;
+            this.carga = carga;
+            this.geracao = geracao;
+            this.criadaEm = criadaEm;
+            this.acessos = acessos;
+        }
+    }
+
+    /**
+     * Valores de uso do cache (imutável)
+     */
+    @lombok.Value
+    public static class Estatisticas {
+        boolean habilitado;
+        long acertos;
+        long falhas;
+        long despejos;
+        long invalidacoes;
+        long recargas;
+        int tamanho;
+        int quentes;
+
+        // Acertos / (acertos + falhas); 0 antes do primeiro pedido
+        public double getTaxaAcerto() {
+            long pedidos = acertos + falhas;
+            return pedidos == 0 ? 0 : (double) acertos / pedidos;
+        }
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// cache.paginas.habilitado=true → false desliga (toda página vai ao banco)
+// cache.paginas.capacidade=1000 → páginas guardadas; as mais antigas saem primeiro
+// cache.paginas.ttl-ms=60000    → idade máxima de uma página
+// cache.paginas.refresh-ms=5000 → rodada do refresh-ahead (menor que o TTL)
+// cache.paginas.quentes=20      → chaves mais acessadas mantidas sempre renovadas
+
+// QUEM USA:
+// - AnimeServices.listAll / findByName (GET /animes e /animes/findByName com total)
+// - GET /animes/cache → estatisticas() (taxa de acerto)
@@ -0,0 +1,326 @@
+// Pacote de caches/validadores em memória sobre a tabela anime
+package __SpringBoot2.__star_Spring_io.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import lombok.Getter;
+
+/**
+ * CLASSE CacheRespostas
+ *
+ * Propósito: Guardar o JSON FINAL (bytes já serializados) das listagens GET de /animes.
+ * O CachePaginas ainda paga mapeamento, sanitização e Jackson a cada acerto; aqui o acerto
+ * é só copiar bytes para o socket (FiltroCacheRespostas).
+ *
+ * - Chave: caminho + parâmetros normalizados (montada pelo filtro)
+ * - Variante gzip opcional: comprimida UMA vez ao guardar, servida a quem manda Accept-Encoding: gzip
+ * - Off-heap opcional: corpo em ByteBuffer direto (fora do heap) - o GC não copia nem varre
+ *   os bytes, só o pequeno objeto ByteBuffer; a memória volta quando esse objeto é coletado
+ *   (limite da JVM: -XX:MaxDirectMemorySize)
+ * - Limites: número de respostas E total de bytes (o que estourar primeiro despeja as mais antigas)
+ * - Invalidação: AnimeAlteradoEvento (POST, PUT, DELETE, batch) depois do commit - mesma regra
+ *   de geração do CachePaginas (resposta montada durante uma escrita não é guardada)
+ */
+@Component
+public class CacheRespostas {
+
+    // Liga/desliga o cache
+    @Getter
+    private final boolean habilitado;
+
+    // Número máximo de respostas guardadas
+    private final int capacidade;
+
+    // Total máximo de bytes (identidade + gzip de todas as respostas)
+    private final long maxBytes;
+
+    private final long ttlNanos;
+
+    // Guarda também a versão comprimida
+    @Getter
+    private final boolean gzip;
+
+    // Corpo em ByteBuffer direto (fora do heap)
+    private final boolean offHeap;
+
+    // Fonte de tempo (System.nanoTime; substituível nos testes)
+    private final LongSupplier relogio;
+
+    private final ConcurrentHashMap<String, Resposta> entradas;
+
+    // Ordem de inserção, usada para escolher quem sai quando o cache enche
+    private final Queue<String> ordemInsercao = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong bytesGuardados = new AtomicLong();
+
+    private final AtomicLong geracao = new AtomicLong();
+
+    // Contadores de uso
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder acertosGzip = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder despejos = new LongAdder();
+    private final LongAdder invalidacoes = new LongAdder();
+
+    @Autowired
+    public CacheRespostas(
+            @Value("${cache.respostas.habilitado:true}") boolean habilitado,
+            @Value("${cache.respostas.capacidade:500}") int capacidade,
+            @Value("${cache.respostas.max-bytes:33554432}") long maxBytes,
+            @Value("${cache.respostas.ttl-ms:60000}") long ttlMs,
+            @Value("${cache.respostas.gzip:true}") boolean gzip,
+            @Value("${cache.respostas.off-heap:false}") boolean offHeap) {
+        this(habilitado, capacidade, maxBytes, ttlMs, gzip, offHeap, System::nanoTime);
+    }
+
+    CacheRespostas(boolean habilitado, int capacidade, long maxBytes, long ttlMs, boolean gzip, boolean offHeap,
+            LongSupplier relogio) {
+        if (capacidade <= 0 || maxBytes <= 0 || ttlMs <= 0) {
+            throw new IllegalArgumentException("configuracao invalida do cache de respostas: capacidade=" + capacidade
+                + ", max-bytes=" + maxBytes + ", ttl-ms=" + ttlMs);
+        }
+        this.habilitado = habilitado;
+        this.capacidade = capacidade;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.gzip = gzip;
+        this.offHeap = offHeap;
+        this.relogio = relogio;
+        this.entradas = new ConcurrentHashMap<>(Math.min(capacidade, 1024));
+    }
+
+    /**
+     * Resposta guardada e ainda válida
+     *
+     * @param chave - Caminho + parâmetros normalizados
+     * @return Resposta ou null (falha, vencida ou de geração anterior)
+     */
+    public Resposta obtem(String chave) {
+        Resposta resposta = entradas.get(chave);
+        if (resposta == null || resposta.geracao != geracao.get()
+                || relogio.getAsLong() - resposta.criadaEm >= ttlNanos) {
+            falhas.increment();
+            return null;
+        }
+        acertos.increment();
+        return resposta;
+    }
+
+    // Lida ANTES de montar a resposta e devolvida em guarda()
+    public long geracao() {
+        return geracao.get();
+    }
+
+    /**
+     * Guarda o corpo serializado (e a variante gzip, se ligada e menor)
+     *
+     * @param chave - Caminho + parâmetros normalizados
+     * @param geracaoLida - geracao() de antes de montar a resposta
+     * @param corpo - Bytes exatamente como foram para o cliente
+     * @param contentType - Content-Type da resposta
+     * @param etag - ETag da resposta (null se não tiver)
+     */
+    public void guarda(String chave, long geracaoLida, byte[] corpo, String contentType, String etag) {
+        if (!habilitado || geracaoLida != geracao.get()) {
+            return;
+        }
+        Corpo identidade = armazena(corpo);
+        byte[] comprimido = gzip ? comprime(corpo) : null;
+        Corpo variacaoGzip = comprimido != null && comprimido.length < corpo.length ? armazena(comprimido) : null;
+        // Uma resposta maior que o limite inteiro nunca cabe: não entra
+        Resposta nova = new Resposta(contentType, etag, identidade, variacaoGzip, geracaoLida, relogio.getAsLong());
+        if (nova.bytes() > maxBytes) {
+            return;
+        }
+
+        Resposta anterior = entradas.put(chave, nova);
+        bytesGuardados.addAndGet(nova.bytes());
+        if (anterior != null) {
+            bytesGuardados.addAndGet(-anterior.bytes());
+        } else {
+            ordemInsercao.offer(chave);
+        }
+        despejaExcedente();
+    }
+
+    // ========== INVALIDAÇÃO (depois do commit) ==========
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(AnimeAlteradoEvento evento) {
+        invalida();
+    }
+
+    public void invalida() {
+        if (!habilitado) {
+            return;
+        }
+        geracao.incrementAndGet();
+        // Remove uma a uma para a conta de bytes bater
+        for (String chave : entradas.keySet()) {
+            remove(chave);
+        }
+        ordemInsercao.clear();
+        invalidacoes.increment();
+    }
+
+    // Remove as mais antigas até caber na capacidade E no limite de bytes
+    private void despejaExcedente() {
+        while (entradas.size() > capacidade || bytesGuardados.get() > maxBytes) {
+            String maisAntiga = ordemInsercao.poll();
+            if (maisAntiga == null) {
+                return;
+            }
+            if (remove(maisAntiga)) {
+                despejos.increment();
+            }
+        }
+    }
+
+    private boolean remove(String chave) {
+        Resposta removida = entradas.remove(chave);
+        if (removida == null) {
+            return false;
+        }
+        bytesGuardados.addAndGet(-removida.bytes());
+        return true;
+    }
+
+    private Corpo armazena(byte[] bytes) {
+        if (!offHeap) {
+            return new Corpo(bytes, null);
+        }
+        ByteBuffer direto = ByteBuffer.allocateDirect(bytes.length);
+        direto.put(bytes).flip();
+        return new Corpo(null, direto.asReadOnlyBuffer());
+    }
+
+    private static byte[] comprime(byte[] corpo) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, corpo.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(saida)) {
+            gz.write(corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    // Fotografia dos contadores no momento da chamada
+    public Estatisticas estatisticas() {
+        return new Estatisticas(habilitado, offHeap, acertos.sum(), acertosGzip.sum(), falhas.sum(), despejos.sum(),
+            invalidacoes.sum(), entradas.size(), bytesGuardados.get());
+    }
+
+    // Contado pelo filtro quando a variante servida é a gzip
+    void contaAcertoGzip() {
+        acertosGzip.increment();
+    }
+
+    /**
+     * Resposta guardada (imutável)
+     */
+    @Getter
+    public static final class Resposta {
+        private final String contentType;
+        private final String etag;
+        private final Corpo identidade;
+        // null: gzip desligado ou o JSON comprimido não ficou menor
+        private final Corpo gzip;
+        private final long geracao;
+        private final long criadaEm;
+
+        Resposta(String contentType, String etag, Corpo identidade, Corpo gzip, long geracao, long criadaEm) {
+            this.contentType = contentType;
+            this.etag = etag;
+            this.identidade = identidade;
+            this.gzip = gzip;
+            this.geracao = geracao;
+            this.criadaEm = criadaEm;
+        }
+
+        long bytes() {
+            return identidade.getTamanho() + (gzip == null ? 0 : gzip.getTamanho());
+        }
+    }
+
+    /**
+     * Bytes de um corpo: byte[] no heap ou ByteBuffer direto (somente leitura)
+     */
+    public static final class Corpo {
+        private final byte[] heap;
+        private final ByteBuffer direto;
+
+        Corpo(byte[] heap, ByteBuffer direto) {
+            this.heap = heap;
+            this.direto = direto;
+        }
+
+        public int getTamanho() {
+            return heap != null ? heap.length : direto.capacity();
+        }
+
+        /**
+         * Copia o corpo para a saída (socket)
+         * Off-heap: duplicate() dá posição própria a cada requisição (o buffer é compartilhado);
+         * o canal copia em blocos do buffer direto para o stream do servlet
+         */
+        public void escreve(OutputStream saida) throws IOException {
+            if (heap != null) {
+                saida.write(heap);
+            } else {
+                Channels.newChannel(saida).write(direto.duplicate());
+            }
+        }
+    }
+
+    /**
+     * Valores de uso do cache (imutável)
+     */
+    @lombok.Value
+    public static class Estatisticas {
+        boolean habilitado;
+        boolean offHeap;
+        long acertos;
+        long acertosGzip;
+        long falhas;
+        long despejos;
+        long invalidacoes;
+        int tamanho;
+        long bytes;
+
+        // Acertos / (acertos + falhas); 0 antes do primeiro pedido
+        public double getTaxaAcerto() {
+            long pedidos = acertos + falhas;
+            return pedidos == 0 ? 0 : (double) acertos / pedidos;
+        }
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// cache.respostas.habilitado=true   → false desliga (toda listagem passa pelo controller)
+// cache.respostas.capacidade=500    → respostas guardadas
+// cache.respostas.max-bytes=33554432 → soma dos corpos (identidade + gzip)
+// cache.respostas.ttl-ms=60000      → idade máxima de uma resposta
+// cache.respostas.gzip=true         → guarda também a versão comprimida
+// cache.respostas.off-heap=false    → true guarda os corpos em ByteBuffer direto
+
+// QUEM USA:
+// - FiltroCacheRespostas (GET /animes, /animes/findByName, /animes/suggest)
+// - GET /animes/cache/respostas → estatisticas()
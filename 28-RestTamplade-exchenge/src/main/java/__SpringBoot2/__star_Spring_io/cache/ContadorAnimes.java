@@ -0,0 +1,292 @@
+// Pacote de caches/validadores em memória sobre a tabela anime
+package __SpringBoot2.__star_Spring_io.cache;
+
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * CLASSE ContadorAnimes
+ *
+ * Propósito: Tirar o SELECT COUNT(*) das páginas. Em tabela grande o COUNT da tabela inteira
+ * custa mais que as 5-50 linhas da página.
+ *
+ * 1. Total da tabela (listAll sem filtro): AtomicLong mantido na aplicação
+ *    - carregado por um COUNT na subida
+ *    - +1/-1 a cada AnimeAlteradoEvento CRIADO/REMOVIDO (save, batch, deleteById) depois do commit
+ *    - reconciliado com um COUNT a cada cache.contagem.reconciliacao-ms: corrige o que as escritas
+ *      desta instância não explicam (outra instância, alteração direta no banco)
+ * 2. Totais dos filtros de findByName (contém/exato): guardados por cache.contagem.ttl-ms
+ *    (páginas 0, 1, 2... do mesmo nome dividem uma contagem); toda escrita descarta, com a mesma
+ *    regra de geração do CachePaginas (contagem feita durante uma escrita não é guardada)
+ *
+ * Reconciliação: se chegou escrita enquanto o COUNT rodava, o resultado é descartado
+ * (não dá para saber se a linha entrou na contagem) e fica para a próxima rodada.
+ * O evento depois do commit chega DEPOIS do COMMIT no banco: uma escrita confirmada antes do COUNT
+ * pode ter o evento atrasado para depois da reconciliação (a linha seria contada duas vezes).
+ * Por isso cada escrita desta instância fica "em commit" do BEFORE_COMMIT até o fim da transação,
+ * e o COUNT só vale se nenhuma estava em commit antes nem depois dele.
+ */
+@Component
+@Log4j2
+public class ContadorAnimes {
+
+    private final AnimeRepository animeRepository;
+
+    // Liga/desliga (desligado = toda página faz o COUNT dela)
+    private final boolean habilitado;
+
+    // Número máximo de contagens de filtro guardadas
+    private final int capacidade;
+
+    private final long ttlNanos;
+
+    // Fonte de tempo (System.nanoTime; substituível nos testes)
+    private final LongSupplier relogio;
+
+    // Total da tabela (vale só depois da primeira reconciliação)
+    private final AtomicLong total = new AtomicLong();
+
+    private volatile boolean pronto;
+
+    // Escritas vistas (a reconciliação compara antes/depois do COUNT)
+    private final AtomicLong escritas = new AtomicLong();
+
+    // Escritas entre o BEFORE_COMMIT e o fim da transação (linha talvez já no banco, evento ainda não)
+    private final AtomicLong emCommit = new AtomicLong();
+
+    private final ConcurrentHashMap<String, Contagem> filtros;
+
+    // Ordem de inserção, usada para escolher quem sai quando o cache enche
+    private final Queue<String> ordemInsercao = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong geracao = new AtomicLong();
+
+    // Contadores de uso
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder reconciliacoes = new LongAdder();
+    private final LongAdder divergencias = new LongAdder();
+
+    @Autowired
+    public ContadorAnimes(
+            AnimeRepository animeRepository,
+            @Value("${cache.contagem.habilitado:true}") boolean habilitado,
+            @Value("${cache.contagem.capacidade:1000}") int capacidade,
+            @Value("${cache.contagem.ttl-ms:5000}") long ttlMs) {
+        this(animeRepository, habilitado, capacidade, ttlMs, System::nanoTime);
+    }
+
+    ContadorAnimes(AnimeRepository animeRepository, boolean habilitado, int capacidade, long ttlMs,
+            LongSupplier relogio) {
+        if (capacidade <= 0 || ttlMs <= 0) {
+            throw new IllegalArgumentException("configuracao invalida do contador: capacidade=" + capacidade
+                + ", ttl-ms=" + ttlMs);
+        }
+        this.animeRepository = animeRepository;
+        this.habilitado = habilitado;
+        this.capacidade = capacidade;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.relogio = relogio;
+        this.filtros = new ConcurrentHashMap<>(Math.min(capacidade, 1024));
+    }
+
+    // ========== TOTAL DA TABELA ==========
+
+    /**
+     * @return Total de animes, ou vazio enquanto a primeira contagem não terminou (ou desligado)
+     */
+    public OptionalLong total() {
+        return pronto ? OptionalLong.of(total.get()) : OptionalLong.empty();
+    }
+
+    // Primeira contagem na subida (até aqui as páginas fazem o COUNT delas)
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        reconcilia();
+    }
+
+    /**
+     * COUNT(*) da tabela; substitui o total mantido se nenhuma escrita chegou durante a contagem
+     *
+     * @return true se o total foi atualizado
+     */
+    @Scheduled(fixedDelayString = "${cache.contagem.reconciliacao-ms:60000}",
+        initialDelayString = "${cache.contagem.reconciliacao-ms:60000}")
+    public boolean reconcilia() {
+        if (!habilitado) {
+            return false;
+        }
+        long antes = escritas.get();
+        if (emCommit.get() != 0) {
+            log.debug("Reconciliacao do total de animes adiada: escrita em commit");
+            return false;
+        }
+        long contado = animeRepository.count();
+        synchronized (this) {
+            // Escrita que começou o commit depois da primeira leitura ainda não aplicou o evento
+            // (emCommit) ou já aplicou (escritas): nos dois casos o COUNT pode tê-la contado
+            if (escritas.get() != antes || emCommit.get() != 0) {
+                log.debug("Reconciliacao do total de animes adiada: escrita durante o COUNT");
+                return false;
+            }
+            long mantido = total.getAndSet(contado);
+            if (pronto && mantido != contado) {
+                divergencias.increment();
+                log.info("Total de animes reconciliado: mantido {}, banco {}", mantido, contado);
+            }
+            pronto = true;
+        }
+        reconciliacoes.increment();
+        return true;
+    }
+
+    // ========== TOTAIS DOS FILTROS (findByName) ==========
+
+    /**
+     * Total de um filtro, do cache ou da contagem (guardada por ttl-ms)
+     *
+     * @param chave - Identifica o filtro (tipo + nome já sanitizado/dobrado)
+     * @param contagem - COUNT do filtro no banco
+     */
+    public long contaFiltro(String chave, LongSupplier contagem) {
+        if (!habilitado) {
+            return contagem.getAsLong();
+        }
+        Contagem guardada = filtros.get(chave);
+        long agora = relogio.getAsLong();
+        if (guardada != null && guardada.geracao == geracao.get() && agora - guardada.criadaEm < ttlNanos) {
+            acertos.increment();
+            return guardada.valor;
+        }
+        falhas.increment();
+
+        // Geração lida antes da contagem: escrita no meio impede de guardar
+        long geracaoLida = geracao.get();
+        long valor = contagem.getAsLong();
+        if (geracaoLida == geracao.get()) {
+            if (filtros.put(chave, new Contagem(valor, geracaoLida, agora)) == null) {
+                ordemInsercao.offer(chave);
+            }
+            while (filtros.size() > capacidade) {
+                String maisAntiga = ordemInsercao.poll();
+                if (maisAntiga == null) {
+                    break;
+                }
+                filtros.remove(maisAntiga);
+            }
+        }
+        return valor;
+    }
+
+    // ========== ESCRITAS (depois do commit) ==========
+    // Marca a escrita antes do COMMIT no banco até o fim da transação (commit ou rollback)
+    // Toda escrita do AnimeServices (save, saveLote, updateByName, deleteById) e a MigracaoSanitizacao
+    // publicam dentro da transação. Evento publicado sem transação não passa por aqui: aoAlterar
+    // (fallbackExecution) aplica na hora, DEPOIS do commit - reconciliação no meio contaria a linha duas vezes
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void antesDoCommit(AnimeAlteradoEvento evento) {
+        if (!habilitado) {
+            return;
+        }
+        emCommit.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // Depois do afterCommit (onde aoAlterar roda): o evento já foi aplicado
+            @Override
+            public void afterCompletion(int status) {
+                emCommit.decrementAndGet();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(AnimeAlteradoEvento evento) {
+        if (!habilitado) {
+            return;
+        }
+        synchronized (this) {
+            escritas.incrementAndGet();
+            if (evento.getTipo() == AnimeAlteradoEvento.Tipo.CRIADO) {
+                total.incrementAndGet();
+            } else if (evento.getTipo() == AnimeAlteradoEvento.Tipo.REMOVIDO) {
+                total.decrementAndGet();
+            }
+        }
+        // Renomear também muda os totais por nome
+        geracao.incrementAndGet();
+        filtros.clear();
+        ordemInsercao.clear();
+    }
+
+    // Fotografia dos contadores no momento da chamada
+    public Estatisticas estatisticas() {
+        return new Estatisticas(habilitado, pronto, total.get(), reconciliacoes.sum(), divergencias.sum(),
+            acertos.sum(), falhas.sum(), filtros.size());
+    }
+
+    // Contagem de um filtro guardada (imutável)
+    private static final class Contagem {
+        private final long valor;
+        private final long geracao;
+        private final long criadaEm;
+
+        Contagem(long valor, long geracao, long criadaEm) {
+            this.valor = valor;
+            this.geracao = geracao;
+            this.criadaEm = criadaEm;
+        }
+    }
+
+    /**
+     * Total mantido e uso do cache de contagens (imutável)
+     */
+    @lombok.Value
+    public static class Estatisticas {
+        boolean habilitado;
+        boolean pronto;
+        long total;
+        long reconciliacoes;
+        // Reconciliações em que o banco discordou do total mantido
+        long divergencias;
+        long acertos;
+        long falhas;
+        int tamanho;
+
+        // Acertos / (acertos + falhas) das contagens de filtro; 0 antes do primeiro pedido
+        public double getTaxaAcerto() {
+            long pedidos = acertos + falhas;
+            return pedidos == 0 ? 0 : (double) acertos / pedidos;
+        }
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// cache.contagem.habilitado=true          → false: toda página faz o COUNT dela
+// cache.contagem.capacidade=1000          → contagens de filtro guardadas
+// cache.contagem.ttl-ms=5000              → idade máxima de uma contagem de filtro
+// cache.contagem.reconciliacao-ms=60000   → intervalo do COUNT que confere o total mantido
+
+// QUEM USA:
+// - AnimeServices.listAll → total() no lugar do COUNT
+// - AnimeServices.findByName → contaFiltro(...) no lugar do COUNT do Page
+// - GET /animes/cache/contagem → estatisticas()
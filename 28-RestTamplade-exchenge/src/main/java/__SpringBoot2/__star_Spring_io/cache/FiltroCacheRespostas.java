@@ -0,0 +1,145 @@
+// Pacote de caches/validadores em memória sobre a tabela anime
+package __SpringBoot2.__star_Spring_io.cache;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * CLASSE FiltroCacheRespostas
+ *
+ * Propósito: Responder as listagens GET repetidas direto do CacheRespostas, antes do
+ * DispatcherServlet - sem controller, service, mapper, sanitização nem Jackson.
+ *
+ * Acerto: If-None-Match igual à ETag guardada → 304; senão copia os bytes guardados
+ *         (gzip quando o cliente aceita) para a resposta.
+ * Falha:  deixa a requisição seguir, captura o corpo (ContentCachingResponseWrapper) e,
+ *         se foi 200 com JSON, guarda para a próxima.
+ *
+ * Chave = caminho + parâmetros em ordem alfabética de nome (?size=5&page=0 = ?page=0&size=5);
+ * a ordem dos valores repetidos é mantida (sort=name&sort=id ≠ sort=id&sort=name).
+ */
+@Component
+@RequiredArgsConstructor
+public class FiltroCacheRespostas extends OncePerRequestFilter {
+
+    // Listagens cacheáveis (export é streaming; /{id} tem ETag de versão própria)
+    private static final Set<String> CAMINHOS = Set.of("/animes", "/animes/findByName", "/animes/suggest");
+
+    private final CacheRespostas cacheRespostas;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !cacheRespostas.isHabilitado()
+            || !"GET".equals(request.getMethod())
+            || !CAMINHOS.contains(caminho(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String chave = chave(request);
+
+        CacheRespostas.Resposta guardada = cacheRespostas.obtem(chave);
+        if (guardada != null) {
+            responde(guardada, request, response);
+            return;
+        }
+
+        // Geração lida antes de o controller montar a resposta
+        long geracaoLida = cacheRespostas.geracao();
+        ContentCachingResponseWrapper captura = new ContentCachingResponseWrapper(response);
+        if (cacheRespostas.isGzip()) {
+            captura.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        try {
+            chain.doFilter(request, captura);
+            if (captura.getStatus() == HttpStatus.OK.value() && ehJson(captura.getContentType())
+                    && captura.getHeader(HttpHeaders.CONTENT_ENCODING) == null) {
+                cacheRespostas.guarda(chave, geracaoLida, captura.getContentAsByteArray(), captura.getContentType(),
+                    captura.getHeader(HttpHeaders.ETAG));
+            }
+        } finally {
+            captura.copyBodyToResponse();
+        }
+    }
+
+    // Acerto: 304 pela ETag guardada ou cópia dos bytes
+    private void responde(CacheRespostas.Resposta guardada, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (cacheRespostas.isGzip()) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        // checkNotModified também escreve a ETag na resposta (304 ou 200)
+        if (guardada.getEtag() != null && new ServletWebRequest(request, response).checkNotModified(guardada.getEtag())) {
+            return;
+        }
+
+        CacheRespostas.Corpo corpo = guardada.getIdentidade();
+        if (guardada.getGzip() != null && aceitaGzip(request)) {
+            corpo = guardada.getGzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            cacheRespostas.contaAcertoGzip();
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(guardada.getContentType());
+        response.setContentLength(corpo.getTamanho());
+        corpo.escreve(response.getOutputStream());
+    }
+
+    // Caminho + parâmetros normalizados (nomes em ordem, valores na ordem recebida)
+    static String chave(HttpServletRequest request) {
+        StringBuilder chave = new StringBuilder(caminho(request));
+        for (Map.Entry<String, String[]> parametro : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String valor : parametro.getValue()) {
+                // \0 não aparece em parâmetro válido: "a=b&c" e "a=b\0c" não colidem
+                chave.append('\0').append(parametro.getKey()).append('=').append(valor);
+            }
+        }
+        return chave.toString();
+    }
+
+    private static String caminho(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static boolean ehJson(String contentType) {
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    // Accept-Encoding com gzip (q=0 recusa explicitamente)
+    private static boolean aceitaGzip(HttpServletRequest request) {
+        String aceitos = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (aceitos == null) {
+            return false;
+        }
+        for (String aceito : aceitos.split(",")) {
+            String[] partes = aceito.trim().split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                return partes.length == 1 || !partes[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
+
+// ORDEM DOS CACHES NUMA LISTAGEM:
+// 1. FiltroCacheRespostas → bytes prontos (este filtro)
+// 2. AnimeComtroller → If-None-Match pela GeracaoCatalogo (304 sem consultar)
+// 3. AnimeServices → CachePaginas (página já mapeada e sanitizada)
+// 4. AnimeRepository → cache de consultas do Hibernate → banco
@@ -0,0 +1,57 @@
+// Pacote de caches/validadores em memória sobre a tabela anime
+package __SpringBoot2.__star_Spring_io.cache;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+
+/**
+ * CLASSE GeracaoCatalogo
+ *
+ * Propósito: ETag das páginas (GET /animes e /animes/findByName) SEM consultar o banco.
+ *
+ * Contador de gerações do catálogo: sobe a cada AnimeAlteradoEvento (depois do commit).
+ * Enquanto a geração não muda, nenhuma página mudou - o mesmo pedido devolve os mesmos bytes.
+ *   ETag = "p-<instância>-<geração>-<hash do pedido>"
+ *
+ * - instância: sorteada na subida → ETag de antes de um restart (ou de outra instância)
+ *   nunca casa por coincidência de contador
+ * - Mesma premissa dos índices em memória (CarregadorIndicesNome): as escritas passam
+ *   por esta instância; alteração direta no banco só aparece depois da próxima escrita
+ *
+ * Ordem importa: ler a geração ANTES de consultar o banco. Uma escrita no meio da
+ * consulta deixa a página com ETag antiga (próximo pedido com ela recebe 200, não 304).
+ */
+@Component
+public class GeracaoCatalogo {
+
+    private final String instancia = UUID.randomUUID().toString().substring(0, 8);
+
+    private final AtomicLong geracao = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(AnimeAlteradoEvento evento) {
+        geracao.incrementAndGet();
+    }
+
+    public long atual() {
+        return geracao.get();
+    }
+
+    /**
+     * ETag forte de uma página na geração atual
+     *
+     * @param pedido - Identifica a página pedida (caminho + query string)
+     * @return ETag entre aspas
+     */
+    public String etagPagina(String pedido) {
+        return "\"p-" + instancia + "-" + geracao.get() + "-" + Integer.toHexString(pedido.hashCode()) + "\"";
+    }
+}
+
+// QUEM USA:
+// - AnimeComtroller: If-None-Match igual → 304 antes de chamar o AnimeServices
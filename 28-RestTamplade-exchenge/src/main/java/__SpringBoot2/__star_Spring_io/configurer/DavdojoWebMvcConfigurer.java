@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 // @Configuration: Marca classe como fonte de configuração Spring
@@ -32,6 +33,13 @@ public class DavdojoWebMvcConfigurer implements WebMvcConfigurer {
         // Adiciona o resolvedor à lista de resolvedores do Spring
         resolvers.add(pageHandler);
     }
+
+    // Tempo limite por endpoint nas respostas assíncronas (ex.: exportação NDJSON)
+    // Demais respostas assíncronas seguem o padrão (spring.mvc.async.request-timeout)
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new TempoLimiteAssincrono());
+    }
 }
 
 // FUNCIONALIDADE:
@@ -0,0 +1,35 @@
+// Pacote para classes de configuração
+package __SpringBoot2.__star_Spring_io.configurer;
+
+// Importações Spring para leitura de propriedades
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+
+// @Configuration: aplica as propriedades do sanitizador na subida da aplicação
+// Sanatizador é estático (usado também pelo MapStruct), por isso a configuração é empurrada para ele
+@Configuration
+@Log4j2
+public class SanitizacaoConfig {
+
+    // Liga/desliga o cache de sanitização
+    @Value("${sanitizador.cache.habilitado:true}")
+    private boolean cacheHabilitado;
+
+    // Número máximo de textos guardados no cache
+    @Value("${sanitizador.cache.capacidade:" + Sanatizador.CAPACIDADE_CACHE_PADRAO + "}")
+    private int cacheCapacidade;
+
+    @PostConstruct
+    void aplica() {
+        Sanatizador.configuraCache(cacheHabilitado, cacheCapacidade);
+        log.info("Cache de sanitizacao: habilitado={}, capacidade={}", cacheHabilitado, cacheCapacidade);
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// sanitizador.cache.habilitado=true   → false desliga o cache (todo texto passa pelo JSoup)
+// sanitizador.cache.capacidade=10000  → limite de entradas; as mais antigas saem primeiro
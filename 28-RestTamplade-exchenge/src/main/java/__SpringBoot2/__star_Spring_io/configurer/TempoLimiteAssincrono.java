@@ -0,0 +1,50 @@
+// Pacote para classes de configuração
+package __SpringBoot2.__star_Spring_io.configurer;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+/**
+ * CLASSE TempoLimiteAssincrono
+ *
+ * Propósito: Tempo limite de UMA resposta assíncrona (StreamingResponseBody), sem mexer no
+ * spring.mvc.async.request-timeout de todas as outras.
+ *
+ * StreamingResponseBody não tem tempo limite próprio (WebAsyncTask tem, mas não escreve no corpo):
+ * o controller marca a requisição com define(...) e este interceptor aplica o valor na requisição
+ * assíncrona antes dela começar (depois de começar o Servlet não aceita mais a troca).
+ * Requisição sem a marca segue com o tempo limite global.
+ */
+public class TempoLimiteAssincrono implements CallableProcessingInterceptor {
+
+    private static final String ATRIBUTO = TempoLimiteAssincrono.class.getName() + ".ms";
+
+    /**
+     * Marca o tempo limite da resposta assíncrona desta requisição
+     *
+     * @param request - Requisição do endpoint (antes de devolver o StreamingResponseBody)
+     * @param tempoLimiteMs - Tempo máximo da resposta em ms (<= 0: mantém o global)
+     */
+    public static void define(NativeWebRequest request, long tempoLimiteMs) {
+        if (tempoLimiteMs > 0) {
+            request.setAttribute(ATRIBUTO, tempoLimiteMs, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    // Chamado com a própria AsyncWebRequest, antes do startAsync (que aplica o tempo limite)
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest assincrona
+                && request.getAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST) instanceof Long tempoLimiteMs) {
+            assincrona.setTimeout(tempoLimiteMs);
+        }
+    }
+}
+
+// QUEM USA:
+// - DavdojoWebMvcConfigurer.configureAsyncSupport → registra o interceptor
+// - AnimeComtroller.export → define(request, exportacao.tempo-limite-ms)
@@ -4,11 +4,17 @@ package __SpringBoot2.__star_Spring_io.controller;
 
 // Importa classes para manipulação de datas
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 // Spring Framework imports - para paginação e respostas HTTP
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,15 +23,34 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import __SpringBoot2.__star_Spring_io.busca.FiltroBloomNomes;
+import __SpringBoot2.__star_Spring_io.cache.CachePaginas;
+import __SpringBoot2.__star_Spring_io.cache.CacheRespostas;
+import __SpringBoot2.__star_Spring_io.cache.ContadorAnimes;
+import __SpringBoot2.__star_Spring_io.cache.GeracaoCatalogo;
+import __SpringBoot2.__star_Spring_io.configurer.TempoLimiteAssincrono;
+import __SpringBoot2.__star_Spring_io.exception.BedRequestException;
+import __SpringBoot2.__star_Spring_io.monitoramento.DiagnosticoPinagem;
+import __SpringBoot2.__star_Spring_io.monitoramento.MedicaoConexoes;
+import __SpringBoot2.__star_Spring_io.requests.AnimeCursorResponse;
+import __SpringBoot2.__star_Spring_io.requests.AnimeLoteResponse;
 import __SpringBoot2.__star_Spring_io.requests.AnimePutRequestBody;
 import __SpringBoot2.__star_Spring_io.requests.AnimePostRequestBody;
 import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
 import __SpringBoot2.__star_Spring_io.services.AnimeServices;
+import __SpringBoot2.__star_Spring_io.services.ContagemParalela;
+import __SpringBoot2.__star_Spring_io.services.ExportacaoAnimes;
+import __SpringBoot2.__star_Spring_io.services.ModoContagem;
 import __SpringBoot2.__star_Spring_io.util.DateUtil;
+import __SpringBoot2.__star_Spring_io.util.EtagAnime;
+import jakarta.servlet.http.HttpServletRequest;
 // Jakarta Validation - para validação de dados de entrada
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -51,23 +76,36 @@ import lombok.extern.log4j.Log4j2;
 @Validated
 public class AnimeComtroller {
 
+    // Caracteres permitidos no nome buscado (regex compartilhada pelos endpoints de busca)
+    private static final String REGEX_NOME = "^[a-zA-Z0-9áàâãéèêíïóôõöúçñÁÀÂÃÉÈÊÍÏÓÔÕÖÚÇÑ\\s\\-._]*$";
+
     // Dependências injetadas automaticamente pelo Spring
     // final = obrigatório, Spring injeta via construtor gerado pelo Lombok
     private final DateUtil dateUtil;          // Utilitário para formatação de datas
     private final AnimeServices animeServices; // Camada de serviço (regras de negócio)
+    private final ExportacaoAnimes exportacaoAnimes; // Exportação NDJSON do catálogo inteiro
+    private final GeracaoCatalogo geracaoCatalogo;   // Geração do catálogo (ETag das páginas)
+    private final CacheRespostas cacheRespostas;     // JSON pronto das listagens (FiltroCacheRespostas)
+    private final MedicaoConexoes medicaoConexoes;   // Tempo com conexão do pool por requisição
+    private final DiagnosticoPinagem diagnosticoPinagem; // Threads virtuais presas à carrier (JFR)
 
     // ENDPOINT 1: Listar todos os animes (com paginação)
     // GET /animes
+    // GET /animes?contagem=JANELA  (página + total em uma única consulta)
+    // GET /animes?contagem=PARALELA  (página e COUNT ao mesmo tempo, em conexões diferentes)
+    // Responde com ETag; If-None-Match igual → 304 sem consultar o banco (vale para todas as listagens abaixo)
     @GetMapping
-    public ResponseEntity<Page<AnimeResponse>> list(Pageable pageable) {
+    public ResponseEntity<Page<AnimeResponse>> list(
+            Pageable pageable,
+            // Como o total é calculado: SEPARADA (SELECT COUNT extra), JANELA (COUNT(*) OVER ()) ou PARALELA
+            @RequestParam(defaultValue = "SEPARADA") ModoContagem contagem,
+            NativeWebRequest request) {
         // Loga a data/hora da requisição (para monitoramento)
         log.info(dateUtil.formatLocalDataTimeToDatabaseStyle(LocalDateTime.now()));
         
-        // Chama serviço para obter lista paginada de animes
-        Page<AnimeResponse> listAnime = animeServices.listAll(pageable);
-        
-        // Retorna HTTP 200 OK com a lista no corpo da resposta
-        return ResponseEntity.ok(listAnime);
+        // Chama serviço para obter lista paginada de animes (só se a página do cliente estiver velha)
+        // Retorna HTTP 200 OK com a lista no corpo da resposta, ou 304 sem corpo
+        return paginaCondicional(request, () -> animeServices.listAll(pageable, contagem));
     }
 
     // ENDPOINT 2: Buscar animes por nome (com validações)
@@ -82,17 +120,204 @@ public class AnimeComtroller {
             @RequestParam 
             @NotBlank(message = "Nome não pode ser vazio")              // Não pode ser null, vazio ou só espaços
             @Size(min = 1, max = 50, message = "Nome deve ter entre 1 e 50 caracteres")  // Tamanho do texto
-            @Pattern(regexp = "^[a-zA-Z0-9áàâãéèêíïóôõöúçñÁÀÂÃÉÈÊÍÏÓÔÕÖÚÇÑ\\s\\-._]*$", 
+            @Pattern(regexp = REGEX_NOME, 
                      message = "Caracteres inválidos no nome")  // Caracteres permitidos (regex)
             String name,
             // Parâmetro opcional com valor padrão false
             @RequestParam(defaultValue = "false") 
-            boolean comtem  // Flag para tipo de busca (contém/exato)
+            boolean comtem,  // Flag para tipo de busca (contém/exato)
+            @RequestParam(defaultValue = "SEPARADA") 
+            ModoContagem contagem,  // Como o total é calculado
+            NativeWebRequest request
     ) {
         // Chama serviço de busca com os parâmetros
-        Page<AnimeResponse> listAnime = animeServices.findByName(pageable, name, comtem);
-        
-        return ResponseEntity.ok(listAnime);
+        return paginaCondicional(request, () -> animeServices.findByName(pageable, name, comtem, contagem));
+    }
+
+    // ENDPOINT 1.2: Listar sem total (sem SELECT COUNT)
+    // GET /animes?withTotal=false&page=3&size=10
+    // Resposta Slice: conteúdo + hasNext (sem totalElements/totalPages)
+    @GetMapping(params = {"withTotal=false", "!cursor"})
+    public ResponseEntity<Slice<AnimeResponse>> listSemTotal(Pageable pageable, NativeWebRequest request) {
+        return paginaCondicional(request, () -> animeServices.listAllSemTotal(pageable));
+    }
+
+    // ENDPOINT 2.2: Buscar por nome sem total
+    // GET /animes/findByName?name=Naruto&comtem=true&withTotal=false
+    // "!mode": mode=fuzzy/prefix com withTotal=false não tem Slice → ENDPOINT 2.6 (400)
+    @GetMapping(path = "findByName", params = {"withTotal=false", "!cursor", "!mode"})
+    public ResponseEntity<Slice<AnimeResponse>> listSemTotal(
+            Pageable pageable,
+            @RequestParam 
+            @NotBlank(message = "Nome não pode ser vazio")
+            @Size(min = 1, max = 50, message = "Nome deve ter entre 1 e 50 caracteres")
+            @Pattern(regexp = REGEX_NOME, message = "Caracteres inválidos no nome")
+            String name,
+            @RequestParam(defaultValue = "false") 
+            boolean comtem,
+            NativeWebRequest request) {
+        return paginaCondicional(request, () -> animeServices.findByNameSemTotal(pageable, name, comtem));
+    }
+
+    // ENDPOINT 1.1: Listar todos os animes com paginação por cursor (keyset)
+    // GET /animes?cursor=&size=10&sort=name,desc   (primeira página)
+    // GET /animes?cursor=<nextCursor>&size=10      (próximas páginas)
+    // params = "cursor": só atende quando o parâmetro existe - clientes page/size seguem no ENDPOINT 1
+    @GetMapping(params = "cursor")
+    public ResponseEntity<AnimeCursorResponse> listCursor(
+            Pageable pageable,
+            @RequestParam(defaultValue = "") String cursor,
+            NativeWebRequest request) {
+        return paginaCondicional(request, () -> animeServices.listAllCursor(pageable, cursor));
+    }
+
+    // ENDPOINT 2.1: Buscar animes por nome com paginação por cursor
+    // GET /animes/findByName?name=Naruto&comtem=true&cursor=
+    // "!mode": o cursor não descartaria o mode em silêncio → ENDPOINT 2.6 (400)
+    @GetMapping(path = "findByName", params = {"cursor", "!mode"})
+    public ResponseEntity<AnimeCursorResponse> listCursor(
+            Pageable pageable,
+            @RequestParam 
+            @NotBlank(message = "Nome não pode ser vazio")
+            @Size(min = 1, max = 50, message = "Nome deve ter entre 1 e 50 caracteres")
+            @Pattern(regexp = REGEX_NOME, message = "Caracteres inválidos no nome")
+            String name,
+            @RequestParam(defaultValue = "false") 
+            boolean comtem,
+            @RequestParam(defaultValue = "") String cursor,
+            NativeWebRequest request) {
+        return paginaCondicional(request, () -> animeServices.findByNameCursor(pageable, name, comtem, cursor));
+    }
+
+    // ENDPOINT 2.4: Busca aproximada (tolerante a erro de digitação)
+    // GET /animes/findByName?name=naurto&mode=fuzzy
+    // Página ordenada por similaridade (o sort do Pageable é ignorado)
+    // Sem ETag: a busca tem orçamento de tempo, a mesma página pode sair diferente sem escrita no meio
+    @GetMapping(path = "findByName", params = {"mode=fuzzy", "!cursor", "withTotal!=false"})
+    public ResponseEntity<Page<AnimeResponse>> listFuzzy(
+            Pageable pageable,
+            @RequestParam 
+            @NotBlank(message = "Nome não pode ser vazio")
+            @Size(min = 1, max = 50, message = "Nome deve ter entre 1 e 50 caracteres")
+            @Pattern(regexp = REGEX_NOME, message = "Caracteres inválidos no nome")
+            String name) {
+        return ResponseEntity.ok(animeServices.findByNameFuzzy(pageable, name));
+    }
+
+    // ENDPOINT 2.5: Busca por prefixo sem diferenciar maiúsculas/acentos
+    // GET /animes/findByName?name=pok&mode=prefix   → encontra "Pokémon"
+    // Range scan no índice da chave dobrada (nome_busca), com a paginação/ordem normais
+    @GetMapping(path = "findByName", params = {"mode=prefix", "!cursor", "withTotal!=false"})
+    public ResponseEntity<Page<AnimeResponse>> listPrefixo(
+            Pageable pageable,
+            @RequestParam 
+            @NotBlank(message = "Nome não pode ser vazio")
+            @Size(min = 1, max = 50, message = "Nome deve ter entre 1 e 50 caracteres")
+            @Pattern(regexp = REGEX_NOME, message = "Caracteres inválidos no nome")
+            String name,
+            NativeWebRequest request) {
+        return paginaCondicional(request, () -> animeServices.findByNamePrefixo(pageable, name));
+    }
+
+    // ENDPOINT 2.6: mode junto com withTotal=false ou cursor → 400
+    // As buscas por mode só têm Page com total; sem estes mapeamentos a combinação casava com dois
+    // métodos igualmente específicos ("Ambiguous handler methods" → 500) ou perdia o mode
+    @GetMapping(path = "findByName", params = {"mode", "withTotal=false"})
+    public ResponseEntity<Void> modoSemTotal(@RequestParam String mode) {
+        throw new BedRequestException("mode=" + mode + " nao aceita withTotal=false");
+    }
+
+    @GetMapping(path = "findByName", params = {"mode", "cursor"})
+    public ResponseEntity<Void> modoComCursor(@RequestParam String mode) {
+        throw new BedRequestException("mode=" + mode + " nao aceita cursor");
+    }
+
+    // ENDPOINT 1.3: Exportar o catálogo inteiro (uma linha JSON por anime, ordem de id)
+    // GET /animes/export   → Content-Type: application/x-ndjson
+    // StreamingResponseBody: escreve direto no corpo enquanto lê do banco (nada é montado em memória)
+    // Roda fora da thread do Tomcat (resposta assíncrona): a transação é aberta lá dentro
+    // Tempo limite só desta resposta (exportacao.tempo-limite-ms), não de todo endpoint assíncrono
+    @GetMapping(path = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(NativeWebRequest request) {
+        TempoLimiteAssincrono.define(request, exportacaoAnimes.tempoLimiteMs());
+        StreamingResponseBody corpo = saida -> {
+            long linhas = exportacaoAnimes.exportaNdjson(saida);
+            log.info("Exportacao NDJSON concluida: {} linhas", linhas);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+    }
+
+    // ENDPOINT 2.3: Autocomplete por prefixo (uma chamada por tecla no frontend)
+    // GET /animes/suggest?prefix=nar&limit=10
+    // Retorna até 'limit' nomes distintos em ordem alfabética (limit ajustado para 1..20)
+    @GetMapping(path = "suggest")
+    public ResponseEntity<List<String>> suggest(
+            @RequestParam 
+            @NotBlank(message = "Prefixo não pode ser vazio")
+            @Size(min = 1, max = 50, message = "Prefixo deve ter entre 1 e 50 caracteres")
+            @Pattern(regexp = REGEX_NOME, message = "Caracteres inválidos no prefixo")
+            String prefix,
+            @RequestParam(defaultValue = "10") 
+            int limit) {
+        return ResponseEntity.ok(animeServices.sugere(prefix, limit));
+    }
+
+    // ENDPOINT 2.4: Uso do cache de páginas (acertos, falhas, taxa de acerto, despejos, recargas)
+    // GET /animes/cache
+    @GetMapping(path = "cache")
+    public ResponseEntity<CachePaginas.Estatisticas> cacheStats() {
+        return ResponseEntity.ok(animeServices.estatisticasCachePaginas());
+    }
+
+    // GET /animes/cache/respostas → uso do cache de bytes do FiltroCacheRespostas (acertos gzip, bytes guardados)
+    @GetMapping(path = "cache/respostas")
+    public ResponseEntity<CacheRespostas.Estatisticas> cacheRespostasStats() {
+        return ResponseEntity.ok(cacheRespostas.estatisticas());
+    }
+
+    // GET /animes/cache/contagem → total mantido em memória (reconciliações, divergências) e acertos das contagens de filtro
+    @GetMapping(path = "cache/contagem")
+    public ResponseEntity<ContadorAnimes.Estatisticas> cacheContagemStats() {
+        return ResponseEntity.ok(animeServices.estatisticasContagem());
+    }
+
+    // GET /animes/cache/bloom → filtro de Bloom da busca exata (bytes, taxa estimada, consultas evitadas)
+    @GetMapping(path = "cache/bloom")
+    public ResponseEntity<FiltroBloomNomes.Estatisticas> cacheBloomStats() {
+        return ResponseEntity.ok(animeServices.estatisticasFiltroBloom());
+    }
+
+    // GET /animes/contagem/paralela → COUNTs em paralelo, sequenciais (pool/executor saturado), expirados
+    @GetMapping(path = "contagem/paralela")
+    public ResponseEntity<ContagemParalela.Estatisticas> contagemParalelaStats() {
+        return ResponseEntity.ok(animeServices.estatisticasContagemParalela());
+    }
+
+    // GET /animes/conexoes → conexões do pool por requisição (tempo segurado, máximo, ocupação)
+    // Por requisição: cabeçalho Server-Timing (bd;dur=...) de cada resposta
+    @GetMapping(path = "conexoes")
+    public ResponseEntity<MedicaoConexoes.Estatisticas> conexoesStats() {
+        return ResponseEntity.ok(medicaoConexoes.estatisticas());
+    }
+
+    // GET /animes/threads → modo de execução (threads virtuais?) e pinagens por origem (mysql, hibernate...)
+    @GetMapping(path = "threads")
+    public ResponseEntity<DiagnosticoPinagem.Estatisticas> threadsStats() {
+        return ResponseEntity.ok(diagnosticoPinagem.estatisticas());
+    }
+
+    // ENDPOINT 2.6: Buscar um anime pelo id
+    // GET /animes/{id}   → ETag "a-<id>-<versao>"
+    // If-None-Match: compara só a versão (uma coluna pela chave) antes de carregar e sanitizar o anime
+    @GetMapping("/{id}")
+    public ResponseEntity<AnimeResponse> findById(@PathVariable long id, NativeWebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> etagAtual = animeServices.versaoAtual(id).map(versao -> EtagAnime.doRecurso(id, versao));
+            if (etagAtual.isPresent() && request.checkNotModified(etagAtual.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etagAtual.get()).build();
+            }
+        }
+        return comEtag(HttpStatus.OK, animeServices.findById(id));
     }
 
     // ENDPOINT 3: Criar novo anime
@@ -106,9 +331,20 @@ public class AnimeComtroller {
         // Chama serviço para salvar o anime
         AnimeResponse animeSalvo = animeServices.save(animePostRequestBody);
         
-        // Retorna HTTP 201 CREATED com o anime salvo no corpo
+        // Retorna HTTP 201 CREATED com o anime salvo no corpo (e a ETag da versão inicial)
         // Diferente do HTTP 200 OK, 201 indica criação bem-sucedida
-        return new ResponseEntity<>(animeSalvo, HttpStatus.CREATED);
+        return comEtag(HttpStatus.CREATED, animeSalvo);
+    }
+
+    // ENDPOINT 3.1: Criar vários animes em uma requisição (carga noturna)
+    // POST /animes/batch   corpo: [{"name": "Naruto"}, {"name": "Bleach"}]
+    // Sem @Valid no array: item inválido vira erro NAQUELE item, os demais são gravados
+    // 201 se ao menos um foi criado; 400 se todos foram rejeitados (corpo traz o motivo de cada um)
+    @PostMapping(path = "batch")
+    public ResponseEntity<AnimeLoteResponse> saveBatch(@RequestBody List<AnimePostRequestBody> animes) {
+        AnimeLoteResponse resultado = animeServices.saveLote(animes);
+        HttpStatus status = resultado.getCriados() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return new ResponseEntity<>(resultado, status);
     }
     
     @DeleteMapping("/{id}")
@@ -116,10 +352,38 @@ public class AnimeComtroller {
     	return ResponseEntity.ok(animeServices.deleteById(id));
     }
     
+    // PUT /animes   If-Match: "a-<id>-<versao>" (opcional)
+    // Com If-Match só grava se ninguém alterou o anime depois daquela versão (senão 412)
+    // Sem If-Match: último a escrever vence (comportamento antigo)
     @PutMapping
-    public ResponseEntity<AnimeResponse> update(@RequestBody @Valid AnimePutRequestBody animePutRequestBody){
+    public ResponseEntity<AnimeResponse> update(
+            @RequestBody @Valid AnimePutRequestBody animePutRequestBody,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
     	
-    	return ResponseEntity.ok(animeServices.updateByName(animePutRequestBody.getId(),animePutRequestBody.getName()));
+    	Long id = animePutRequestBody.getId();
+    	Long versaoLida = EtagAnime.versaoExigida(ifMatch, id);
+    	return comEtag(HttpStatus.OK, animeServices.updateByName(id, animePutRequestBody.getName(), versaoLida));
+    }
+    
+    // Página condicional: ETag da geração atual do catálogo (GeracaoCatalogo)
+    // If-None-Match igual → 304 sem chamar o service (sem consulta, sanitização nem serialização)
+    private <T> ResponseEntity<T> paginaCondicional(NativeWebRequest request, Supplier<T> consulta) {
+        // ETag montada ANTES da consulta: escrita no meio deixa a página com a geração antiga (nunca o contrário)
+        HttpServletRequest http = request.getNativeRequest(HttpServletRequest.class);
+        String etag = geracaoCatalogo.etagPagina(http.getRequestURI() + "?" + http.getQueryString());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(consulta.get());
+    }
+    
+    // Resposta de um anime com ETag quando a versão é conhecida
+    private static ResponseEntity<AnimeResponse> comEtag(HttpStatus status, AnimeResponse anime) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.status(status);
+        if (anime.getVersao() != null) {
+            resposta.eTag(EtagAnime.doRecurso(anime.getId(), anime.getVersao()));
+        }
+        return resposta.body(anime);
     }
     
     
@@ -128,7 +392,27 @@ public class AnimeComtroller {
 // RESUMO DOS ENDPOINTS:
 // GET    /animes              → Lista todos (paginação)
 // GET    /animes/findByName   → Busca por nome (com validações)
+// GET    /animes?contagem=JANELA → Lista com total na mesma consulta (1 round-trip)
+// GET    /animes?contagem=PARALELA → Lista com COUNT e página ao mesmo tempo (2 conexões)
+// GET    /animes?withTotal=false → Lista sem total (Slice com hasNext)
+// GET    /animes?cursor=      → Lista por cursor (keyset, sem OFFSET/COUNT)
+// GET    /animes/findByName?cursor= → Busca por nome com cursor
+// GET    /animes/findByName?mode=fuzzy → Busca aproximada ranqueada (índice em memória)
+// GET    /animes/findByName?mode=prefix → Busca por prefixo na chave dobrada (índice nome_busca)
+// GET    /animes/findByName?mode=...&withTotal=false (ou &cursor=) → 400 (mode só com Page)
+// GET    /animes/suggest?prefix= → Autocomplete por prefixo (índice em memória)
+// GET    /animes/export       → Catálogo inteiro em NDJSON (streaming, memória constante)
+// GET    /animes/cache        → Estatísticas do cache de páginas (taxa de acerto)
+// GET    /animes/cache/respostas → Estatísticas do cache de JSON pronto (FiltroCacheRespostas)
+// GET    /animes/cache/contagem  → Total mantido em memória e cache das contagens de filtro (ContadorAnimes)
+// GET    /animes/cache/bloom     → Estatísticas do filtro de Bloom da busca exata (FiltroBloomNomes)
+// GET    /animes/contagem/paralela → Uso da contagem paralela (ContagemParalela)
+// GET    /animes/conexoes     → Tempo com conexão do pool por requisição (MedicaoConexoes)
+// GET    /animes/threads      → Threads virtuais ligadas? Pinagens na carrier por origem (DiagnosticoPinagem)
+// GET    /animes/{id}         → Um anime (ETag; If-None-Match → 304)
 // POST   /animes              → Cria novo anime
+// PUT    /animes              → Renomeia (If-Match opcional → 412 se a versão mudou)
+// POST   /animes/batch        → Cria vários (INSERTs em lote JDBC, resultado por item)
 
 // FLUXO TÍPICO DE UMA REQUISIÇÃO:
 // 1. Cliente faz requisição HTTP para /animes
@@ -152,6 +436,8 @@ public class AnimeComtroller {
 // CÓDIGOS HTTP USADOS:
 // 200 OK - Sucesso em GET
 // 201 CREATED - Sucesso em POST (recurso criado)
+// 304 NOT MODIFIED - If-None-Match igual à ETag atual (GET, sem corpo)
 // 400 BAD REQUEST - Validação falhou (Spring retorna automaticamente)
 // 404 NOT FOUND - Recurso não existe (se implementado)
+// 412 PRECONDITION FAILED - If-Match do PUT com versão antiga
 // 500 INTERNAL SERVER ERROR - Erro no servidor
\ No newline at end of file
@@ -3,11 +3,23 @@
 package __SpringBoot2.__star_Spring_io.dominio;
 
 // Anotações JPA (Jakarta Persistence API) para mapeamento objeto-relacional
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
 
 // Anotações Lombok para gerar código automaticamente
 import lombok.AllArgsConstructor;
@@ -15,6 +27,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import __SpringBoot2.__star_Spring_io.util.NormalizadorNome;
+import __SpringBoot2.__star_Spring_io.util.SequenciaIdsAnime;
+
 /**
  * CLASSE Anime
  * 
@@ -27,9 +42,21 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor  // Lombok: Gera construtor com todos os campos
 @NoArgsConstructor   // Lombok: Gera construtor vazio (obrigatório para JPA)
 @Entity  // JPA: Marca esta classe como uma entidade persistente
+@Table(indexes = @Index(name = "idx_anime_nome_busca", columnList = "nome_busca"))  // Índice da chave de busca
+@Cacheable  // JPA: entra no cache de segundo nível (findById repetido não vai ao banco)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Anime.REGIAO_CACHE)  // Hibernate: região no ehcache.xml
 @Builder // Lombok: Implementa o padrão Builder para criar objetos de forma fluente
 public class Anime {
     
+    /*
+     * Região do cache de segundo nível (alias no ehcache.xml)
+     * READ_WRITE: a entrada é trocada só depois do commit (trava "soft lock" enquanto a transação roda),
+     * então nenhuma outra sessão lê do cache um estado que ainda pode sofrer rollback
+     * UPDATE/DELETE em um comando (AnimeRepository.atualizaNome/removePorId) não passam pela entidade:
+     * o Hibernate esvazia a região inteira e invalida as consultas em cache sobre a tabela anime
+     */
+    public static final String REGIAO_CACHE = "anime";
+    
     /**
      * CAMPO: id
      * 
@@ -37,15 +64,24 @@ public class Anime {
      * 
      * @Id - JPA: Marca este campo como chave primária
      * @GeneratedValue - JPA: Como o valor é gerado
-     *   strategy = GenerationType.IDENTITY: Banco gera automaticamente (auto_increment no MySQL)
+     *   strategy = GenerationType.SEQUENCE + otimizador pooled (allocationSize = SequenciaIdsAnime.IDS_POR_RESERVA):
+     *   Hibernate reserva 50 ids por consulta e já conhece o id ANTES do INSERT
+     *   → os INSERTs podem ir em lote (hibernate.jdbc.batch_size)
+     *   No MySQL (sem sequências) o Hibernate usa a tabela anime_seq(next_val) no lugar
+     * 
+     * Por que não IDENTITY: o id só existe depois do INSERT (auto_increment), então o
+     * Hibernate executa cada INSERT na hora, um por vez - batching desligado
      * 
      * Outras estratégias:
-     *   - SEQUENCE: Usa sequência do banco (Oracle, PostgreSQL)
      *   - TABLE: Usa tabela especial para controle
      *   - AUTO: Deixa o JPA escolher
+     * 
+     * Tabelas com linhas criadas no tempo do IDENTITY: SequenciaAnime adianta a sequência
+     * para depois do maior id na subida da aplicação
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "anime_seq")
+    @SequenceGenerator(name = "anime_seq", sequenceName = "anime_seq", allocationSize = SequenciaIdsAnime.IDS_POR_RESERVA)
     private Long id;  // Usar Long em vez de long para permitir null (não persistido ainda)
     
     /**
@@ -64,6 +100,59 @@ public class Anime {
     @Column(nullable = false, length = 100)
     private String name;
     
+    /**
+     * CAMPO: sanitizadorVersao
+     * 
+     * Versão do Sanatizador que limpou o nome antes de gravar
+     * 
+     * - Gravado em save/updateByName com Sanatizador.VERSAO
+     * - Na leitura, linhas com a versão atual não são sanitizadas de novo
+     * - null = linha legada (gravada antes do marcador) → sanitizada na leitura
+     *   e atualizada em segundo plano pela MigracaoSanitizacao
+     */
+    @Column(name = "sanitizador_versao")
+    private Integer sanitizadorVersao;
+    
+    /**
+     * CAMPO: nomeBusca
+     * 
+     * Chave de busca: name "dobrado" (minúsculas, sem acento) - NormalizadorNome.dobra
+     *   "Pokémon" → "pokemon"
+     * 
+     * - Preenchido sozinho antes de INSERT/UPDATE (atualizaNomeBusca)
+     *   (o UPDATE em um comando, AnimeRepository.atualizaNome, não passa por aqui: grava a chave no SET)
+     * - Com índice (idx_anime_nome_busca): busca exata e por prefixo viram range scan
+     *   no índice, qualquer que seja a caixa ou o acento digitado
+     * - null = linha legada (gravada antes da coluna) → preenchida pela MigracaoSanitizacao
+     * - @OptimisticLock(excluded = true): derivada do name (que já sobe a versão quando muda);
+     *   só preencher a chave não muda a versão nem invalida o ETag do cliente
+     */
+    @Column(name = "nome_busca", length = 100)
+    @OptimisticLock(excluded = true)
+    private String nomeBusca;
+    
+    /**
+     * CAMPO: versao
+     * 
+     * Versão da linha (controle otimista) - base do ETag do recurso ("a-<id>-<versao>")
+     * 
+     * @Version - JPA: começa em 0 no INSERT e sobe a cada UPDATE por dirty checking;
+     *   o UPDATE do Hibernate leva "WHERE versao = ?" → escrita concorrente falha em vez de sobrescrever
+     * - UPDATE em um comando (AnimeRepository.atualizaNome*) incrementa no próprio SET
+     * - @ColumnDefault("0"): linhas antigas ganham 0 quando o ddl-auto cria a coluna
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+    
+    // Mantém a chave de busca em sincronia com o nome em todo save/update (inclusive dirty checking)
+    @PrePersist
+    @PreUpdate
+    public void atualizaNomeBusca() {
+        nomeBusca = NormalizadorNome.dobra(name);
+    }
+    
     /**
      * O QUE LOMBOK GERA AUTOMATICAMENTE:
      * 
@@ -75,7 +164,8 @@ public class Anime {
      *    - equals(), hashCode(), toString()
      * 
      * 2. @AllArgsConstructor gera:
-     *    public Anime(Long id, String name) { ... }
+     *    public Anime(Long id, String name, Integer sanitizadorVersao, String nomeBusca, Long versao) { ... }
+     *    (ordem dos campos da classe; para criar prefira o builder)
      * 
      * 3. @NoArgsConstructor gera:
      *    public Anime() { }
@@ -92,9 +182,14 @@ public class Anime {
  * MAPEAMENTO PARA TABELA DO BANCO (exemplo MySQL):
  * 
  * CREATE TABLE anime (
- *     id BIGINT PRIMARY KEY AUTO_INCREMENT,
- *     name VARCHAR(100) NOT NULL
+ *     id BIGINT PRIMARY KEY,          -- valor vem da anime_seq (tabelas antigas mantêm o AUTO_INCREMENT, sem uso)
+ *     name VARCHAR(100) NOT NULL,
+ *     sanitizador_versao INT NULL,
+ *     nome_busca VARCHAR(100) NULL,
+ *     versao BIGINT NOT NULL DEFAULT 0
  * );
+ * CREATE INDEX idx_anime_nome_busca ON anime (nome_busca);
+ * CREATE TABLE anime_seq (next_val BIGINT);   -- emulação da sequência no MySQL
  */
 
 /**
@@ -110,8 +205,9 @@ public class Anime {
  *        .build();
  *    // ID é gerado pelo banco, não precisa setar
  * 
- * 3. USANDO CONSTRUTOR COMPLETO:
- *    Anime anime = new Anime(1L, "Naruto");
+ * 3. USANDO CONSTRUTOR COMPLETO (todos os campos, na ordem da classe):
+ *    Anime anime = new Anime(1L, "Naruto", Sanatizador.VERSAO, "naruto", 0L);
+ *    // Fácil trocar a ordem sem perceber - o builder (item 2) é mais seguro
  */
 
 /**
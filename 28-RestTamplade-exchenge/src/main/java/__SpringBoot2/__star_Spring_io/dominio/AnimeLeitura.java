@@ -0,0 +1,36 @@
+// Pacote de domínio - contém as entidades principais do sistema
+package __SpringBoot2.__star_Spring_io.dominio;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * CLASSE AnimeLeitura
+ * 
+ * Modelo de LEITURA do Anime (projeção DTO) - NÃO é entidade.
+ * As consultas de listagem selecionam direto neste objeto:
+ *   SELECT new ...AnimeLeitura(a.id, a.name, a.sanitizadorVersao) FROM Anime a
+ * 
+ * Diferença para carregar a entidade Anime:
+ * - Hibernate não registra o objeto no contexto de persistência
+ * - Sem snapshot para dirty checking (nada para comparar no flush)
+ * - Sem cópia intermediária: vai direto para o AnimeMapper → AnimeResponse
+ * 
+ * Só tem os campos que a resposta precisa (sanitizadorVersao decide se o nome
+ * ainda precisa ser sanitizado na leitura).
+ */
+@Value  // Lombok: campos private final + getters, equals, hashCode, toString
+@AllArgsConstructor  // Construtor usado pelo "SELECT new" (ordem dos campos importa)
+public class AnimeLeitura {
+    
+    Long id;
+    
+    String name;
+    
+    Integer sanitizadorVersao;
+}
+
+// ONDE É USADO:
+// AnimeRepository.findLeituraBy / findLeituraByNomeBusca / findLeituraByNameContaining (Page)
+// AnimeRepository.findSliceBy... (Slice) e consultas com total em janela
+// AnimeServices.listAll / findByName → PageValid → AnimeMapper.toAnimeResponse(AnimeLeitura)
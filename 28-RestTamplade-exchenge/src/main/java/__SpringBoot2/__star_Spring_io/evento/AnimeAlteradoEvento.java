@@ -0,0 +1,55 @@
+// Pacote de eventos da aplicação (publicados pelos services)
+package __SpringBoot2.__star_Spring_io.evento;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import lombok.Value;
+
+/**
+ * CLASSE AnimeAlteradoEvento
+ * 
+ * Publicado pelo AnimeServices a cada escrita (save, saveLote, updateByName, deleteById)
+ * e pela MigracaoSanitizacao a cada linha reescrita em segundo plano.
+ * Estruturas em memória que espelham a tabela (índices de busca, caches)
+ * escutam este evento em vez de serem chamadas uma a uma pelo service.
+ * 
+ * Ouvintes usam @TransactionalEventListener(fallbackExecution = true):
+ * - dentro de transação → executa só depois do COMMIT (rollback não suja o índice)
+ * - fora de transação → executa na hora
+ * Exceção: ContadorAnimes.antesDoCommit (BEFORE_COMMIT, só dentro de transação)
+ */
+@Value
+public class AnimeAlteradoEvento {
+    
+    public enum Tipo {
+        CRIADO,
+        ATUALIZADO,
+        REMOVIDO
+    }
+    
+    Tipo tipo;
+    
+    long id;
+    
+    // Estado gravado (null quando REMOVIDO)
+    AnimeLeitura anime;
+    
+    public static AnimeAlteradoEvento criado(AnimeLeitura anime) {
+        return new AnimeAlteradoEvento(Tipo.CRIADO, anime.getId(), anime);
+    }
+    
+    public static AnimeAlteradoEvento atualizado(AnimeLeitura anime) {
+        return new AnimeAlteradoEvento(Tipo.ATUALIZADO, anime.getId(), anime);
+    }
+    
+    public static AnimeAlteradoEvento removido(long id) {
+        return new AnimeAlteradoEvento(Tipo.REMOVIDO, id, null);
+    }
+}
+
+// QUEM ESCUTA:
+// - CarregadorIndicesNome → repassa para todos os IndiceNomeAnime (ex.: IndiceTrigramaNomes)
+// - CachePaginas → descarta as páginas guardadas e agenda a recarga das quentes
+// - CacheRespostas → descarta o JSON guardado das listagens
+// - ContadorAnimes → ajusta o total (CRIADO/REMOVIDO) e limpa os totais por nome;
+//   antesDoCommit marca a escrita em andamento para a reconciliação não contar em dobro
+// - GeracaoCatalogo → sobe a geração (muda o ETag das páginas)
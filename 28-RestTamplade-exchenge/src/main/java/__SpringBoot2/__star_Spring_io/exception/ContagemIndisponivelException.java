@@ -0,0 +1,16 @@
+// Pacote para classes de exceção personalizadas
+package __SpringBoot2.__star_Spring_io.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// HTTP 503: o COUNT paralelo (?contagem=PARALELA) não respondeu a tempo e o pool tinha folga
+// (o COUNT em si é lento - repetir na conexão da requisição só dobraria a espera)
+// O cliente pode tentar de novo ou pedir a página sem total (?withTotal=false)
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ContagemIndisponivelException extends RuntimeException {
+
+    public ContagemIndisponivelException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+// Pacote para classes de exceção personalizadas
+package __SpringBoot2.__star_Spring_io.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// HTTP 412: o If-Match do cliente não é mais a versão atual do anime
+// (outra escrita chegou antes - o cliente deve reler e tentar de novo)
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class VersaoDesatualizadaException extends RuntimeException {
+
+    public VersaoDesatualizadaException(String message) {
+        super(message);
+    }
+}
@@ -22,8 +22,10 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 // Importações das exceções e detalhes personalizados
 import __SpringBoot2.__star_Spring_io.exception.BedRequestException;
 import __SpringBoot2.__star_Spring_io.exception.BedRequestExceptionDetails;
+import __SpringBoot2.__star_Spring_io.exception.ContagemIndisponivelException;
 import __SpringBoot2.__star_Spring_io.exception.ExceptionDetails;
 import __SpringBoot2.__star_Spring_io.exception.ValidationException;
+import __SpringBoot2.__star_Spring_io.exception.VersaoDesatualizadaException;
 // Lombok para logs
 import lombok.extern.log4j.Log4j2;
 
@@ -54,6 +56,40 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         );
     }
     
+    // ========== TRATA If-Match DESATUALIZADO (PUT concorrente) ==========
+    @ExceptionHandler(VersaoDesatualizadaException.class)
+    public ResponseEntity<ExceptionDetails> handlerVersaoDesatualizada(VersaoDesatualizadaException vde) {
+        log.warn("Precondition failed: {}", vde.getMessage());
+
+        return new ResponseEntity<>(
+            ExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value()) // HTTP 412
+                .title("precondition failed , reload the anime and try again")
+                .details(vde.getMessage())
+                .developerMessage(vde.getClass().getName())
+                .build(),
+            HttpStatus.PRECONDITION_FAILED
+        );
+    }
+
+    // ========== TRATA COUNT PARALELO SEM RESPOSTA (?contagem=PARALELA) ==========
+    @ExceptionHandler(ContagemIndisponivelException.class)
+    public ResponseEntity<ExceptionDetails> handlerContagemIndisponivel(ContagemIndisponivelException cie) {
+        log.warn("Service unavailable: {}", cie.getMessage());
+
+        return new ResponseEntity<>(
+            ExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value()) // HTTP 503
+                .title("service unavailable , retry or use withTotal=false")
+                .details(cie.getMessage())
+                .developerMessage(cie.getClass().getName())
+                .build(),
+            HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+
     // ========== TRATA ERROS DE VALIDAÇÃO (@Valid) ==========
     // Sobrescreve método da classe pai para validações falhadas
     @Override
@@ -124,6 +160,8 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
 // RESUMO DOS TRATAMENTOS:
 // 1. BedRequestException → BedRequestExceptionDetails (personalizado)
 // 2. MethodArgumentNotValidException → ValidationException (validação @Valid)
+// 2.1 VersaoDesatualizadaException → ExceptionDetails com 412 (If-Match do PUT)
+// 2.2 ContagemIndisponivelException → ExceptionDetails com 503 (COUNT paralelo além do timeout)
 // 3. Outras exceções Spring → ExceptionDetails (genérico)
 
 // FLUXO DE ERRO TÍPICO:
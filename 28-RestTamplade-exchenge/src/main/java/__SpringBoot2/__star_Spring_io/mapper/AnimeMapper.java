@@ -7,6 +7,7 @@ import org.mapstruct.Mapping;
 
 // Importações das classes que serão convertidas
 import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
 import __SpringBoot2.__star_Spring_io.requests.AnimePostRequestBody;
 import __SpringBoot2.__star_Spring_io.requests.AnimePutRequestBody;
 import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;	
@@ -19,19 +20,34 @@ import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
 public interface AnimeMapper {
     
     // Converte AnimePostRequestBody para entidade Anime
+    // sanitizadorVersao é marcado pelo service depois de sanitizar o nome
+    @Mapping(target = "sanitizadorVersao", ignore = true)
+    @Mapping(target = "versao", ignore = true)
+    // nomeBusca é derivado do name pela própria entidade (@PrePersist/@PreUpdate)
+    @Mapping(target = "nomeBusca", ignore = true)
     Anime toAnime(AnimePostRequestBody animePostRequestBody);
     
     // Converte AnimePutRequestBody para entidade Anime
-    
+    @Mapping(target = "sanitizadorVersao", ignore = true)
+    @Mapping(target = "versao", ignore = true)
+    @Mapping(target = "nomeBusca", ignore = true)
     Anime toAnime(AnimePutRequestBody animePutRequestBody);
     
     @Mapping(
     		//onde vou salvar em dto
             target = "name",
-            //oq irei salvar em name dto.
-            expression = "java(__SpringBoot2.__star_Spring_io.seguranca.Sanatizador.saniString(anime.getName()))"
+            //oq irei salvar em name dto (linhas já marcadas com a versão atual não são sanitizadas de novo).
+            expression = "java(__SpringBoot2.__star_Spring_io.seguranca.Sanatizador.saniNomeLido(anime.getName(), anime.getSanitizadorVersao()))"
     )
     AnimeResponse toAnimeResponse(Anime anime);
+    
+    // Mesma conversão a partir da projeção de leitura (listAll/findByName) - sem versão
+    @Mapping(target = "versao", ignore = true)
+    @Mapping(
+            target = "name",
+            expression = "java(__SpringBoot2.__star_Spring_io.seguranca.Sanatizador.saniNomeLido(leitura.getName(), leitura.getSanitizadorVersao()))"
+    )
+    AnimeResponse toAnimeResponse(AnimeLeitura leitura);
 }
 
 // ALTERNATIVA SEM SPRING (instância manual):
@@ -0,0 +1,76 @@
+// Pacote de medições da aplicação (uso de conexões do pool)
+package __SpringBoot2.__star_Spring_io.monitoramento;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * CLASSE DataSourceMedido
+ *
+ * Propósito: Medir quanto tempo cada conexão fica fora do pool (getConnection → close).
+ * Cada conexão entregue é um proxy que, no close(), avisa o MedicaoConexoes com a duração.
+ *
+ * Fica ABAIXO do LazyConnectionDataSourceProxy: só conta conexão física de verdade
+ * (transação que não executou SQL não pega conexão e não aparece aqui).
+ */
+public class DataSourceMedido extends DelegatingDataSource {
+
+    private final MedicaoConexoes medicao;
+
+    public DataSourceMedido(DataSource alvo, MedicaoConexoes medicao) {
+        super(alvo);
+        this.medicao = medicao;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return medida(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return medida(super.getConnection(username, password));
+    }
+
+    private Connection medida(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, new ConexaoMedida(conexao, System.nanoTime()));
+    }
+
+    // Repassa tudo para a conexão real; o primeiro close() registra o tempo segurado
+    private final class ConexaoMedida implements InvocationHandler {
+        private final Connection alvo;
+        private final long retiradaEm;
+        private boolean devolvida;
+
+        ConexaoMedida(Connection alvo, long retiradaEm) {
+            this.alvo = alvo;
+            this.retiradaEm = retiradaEm;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            if ("close".equals(metodo.getName()) && !devolvida) {
+                devolvida = true;
+                medicao.conexaoDevolvida(System.nanoTime() - retiradaEm);
+            } else if ("equals".equals(metodo.getName())) {
+                return proxy == args[0];
+            } else if ("hashCode".equals(metodo.getName())) {
+                return System.identityHashCode(proxy);
+            }
+            try {
+                return metodo.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
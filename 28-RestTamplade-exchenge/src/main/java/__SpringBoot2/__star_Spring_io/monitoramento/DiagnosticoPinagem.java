@@ -0,0 +1,248 @@
+// Pacote de medições da aplicação (uso de conexões do pool)
+package __SpringBoot2.__star_Spring_io.monitoramento;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * CLASSE DiagnosticoPinagem
+ *
+ * Propósito: Com spring.threads.virtual.enabled=true cada requisição roda numa thread virtual.
+ * Enquanto ela espera o banco, a thread de plataforma que a carrega (carrier) fica livre para
+ * outra requisição - a não ser que a espera aconteça dentro de um bloco synchronized (ou código
+ * nativo): aí a thread virtual fica PRESA (pinned) à carrier, e poucas esperas presas
+ * esgotam as carriers (uma por núcleo).
+ *
+ * Escuta o evento JFR jdk.VirtualThreadPinned (JDK 21) dentro da própria aplicação
+ * (RecordingStream, sem arquivo) e agrupa por origem:
+ * - mysql     → driver (Connector/J anterior ao 9.x segura synchronized durante o I/O do socket)
+ * - hibernate → sessão/ORM
+ * - hikari    → pool de conexões
+ * - aplicacao → código deste projeto
+ * - outros    → JDK, Spring, Tomcat...
+ * Origem = primeiro quadro da pilha (de cima para baixo) que pertence a um desses pacotes;
+ * local = esse quadro (classe.metodo:linha), para achar o lock.
+ *
+ * Só liga com threads virtuais (monitoramento.pinagem.habilitado segue spring.threads.virtual.enabled).
+ * Resultado: GET /animes/threads
+ */
+@Component
+@Log4j2
+public class DiagnosticoPinagem {
+
+    static final String EVENTO = "jdk.VirtualThreadPinned";
+
+    // Prefixo de pacote → origem (ordem de teste)
+    private static final Map<String, String> ORIGENS = new LinkedHashMap<>();
+    static {
+        ORIGENS.put("com.mysql.", "mysql");
+        ORIGENS.put("org.hibernate.", "hibernate");
+        ORIGENS.put("com.zaxxer.hikari.", "hikari");
+        ORIGENS.put("__SpringBoot2.", "aplicacao");
+    }
+
+    static final String OUTROS = "outros";
+
+    private final boolean threadsVirtuais;
+
+    private final boolean habilitado;
+
+    // Espera presa mais curta que o limiar não gera evento (o JFR filtra na origem)
+    private final long limiarMs;
+
+    // Locais diferentes guardados por origem (o resto só entra na contagem)
+    private final int maxLocais;
+
+    private final ConcurrentHashMap<String, PorOrigem> porOrigem = new ConcurrentHashMap<>();
+
+    private final LongAdder eventos = new LongAdder();
+
+    private RecordingStream gravacao;
+
+    private volatile boolean monitorando;
+
+    @Autowired
+    public DiagnosticoPinagem(
+            @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais,
+            @Value("${monitoramento.pinagem.habilitado:${spring.threads.virtual.enabled:false}}") boolean habilitado,
+            @Value("${monitoramento.pinagem.limiar-ms:20}") long limiarMs,
+            @Value("${monitoramento.pinagem.max-locais:20}") int maxLocais) {
+        if (limiarMs < 0 || maxLocais <= 0) {
+            throw new IllegalArgumentException("configuracao invalida da pinagem: limiar-ms=" + limiarMs
+                + ", max-locais=" + maxLocais);
+        }
+        this.threadsVirtuais = threadsVirtuais;
+        this.habilitado = habilitado;
+        this.limiarMs = limiarMs;
+        this.maxLocais = maxLocais;
+    }
+
+    // ========== GRAVAÇÃO JFR ==========
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void inicia() {
+        if (!habilitado || gravacao != null) {
+            return;
+        }
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable(EVENTO).withThreshold(Duration.ofMillis(limiarMs)).withStackTrace();
+            // Eventos só são lidos aqui: não precisa guardar histórico
+            stream.setMaxAge(Duration.ofMinutes(1));
+            stream.onEvent(EVENTO, this::registra);
+            stream.startAsync();
+            gravacao = stream;
+            monitorando = true;
+            log.info("Diagnostico de pinagem de threads virtuais ligado (limiar {} ms)", limiarMs);
+        } catch (RuntimeException e) {
+            // JFR indisponível (JVM sem o módulo jdk.jfr): a aplicação segue sem o diagnóstico
+            log.warn("Diagnostico de pinagem indisponivel: {}", e.toString());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void encerra() {
+        monitorando = false;
+        if (gravacao != null) {
+            gravacao.close();
+            gravacao = null;
+        }
+    }
+
+    private void registra(RecordedEvent evento) {
+        RecordedStackTrace pilha = evento.getStackTrace();
+        List<String> quadros = new ArrayList<>();
+        if (pilha != null) {
+            for (RecordedFrame quadro : pilha.getFrames()) {
+                if (quadro.isJavaFrame()) {
+                    quadros.add(quadro.getMethod().getType().getName() + "." + quadro.getMethod().getName()
+                        + ":" + quadro.getLineNumber());
+                }
+            }
+        }
+        registra(quadros, evento.getDuration().toNanos());
+    }
+
+    /**
+     * Soma um evento de pinagem
+     *
+     * @param quadros - Pilha da thread presa, do quadro mais interno para fora ("classe.metodo:linha")
+     * @param nanos - Tempo que a thread virtual ficou presa à carrier
+     */
+    void registra(List<String> quadros, long nanos) {
+        eventos.increment();
+        String origem = OUTROS;
+        String local = quadros.isEmpty() ? "?" : quadros.get(0);
+        for (String quadro : quadros) {
+            String encontrada = origem(quadro);
+            if (encontrada != null) {
+                origem = encontrada;
+                local = quadro;
+                break;
+            }
+        }
+        porOrigem.computeIfAbsent(origem, o -> new PorOrigem()).soma(local, nanos, maxLocais);
+        log.debug("Thread virtual presa {} ms ({}) em {}", nanos / 1_000_000.0, origem, local);
+    }
+
+    // Origem do quadro pelo pacote (null = JDK/framework sem interesse próprio)
+    static String origem(String quadro) {
+        for (Map.Entry<String, String> prefixo : ORIGENS.entrySet()) {
+            if (quadro.startsWith(prefixo.getKey())) {
+                return prefixo.getValue();
+            }
+        }
+        return null;
+    }
+
+    // Fotografia dos contadores; requisicaoEmThreadVirtual = a thread que pediu (a da requisição)
+    public Estatisticas estatisticas() {
+        Map<String, Origem> origens = new LinkedHashMap<>();
+        porOrigem.forEach((origem, soma) -> origens.put(origem, soma.fotografia()));
+        return new Estatisticas(threadsVirtuais, Thread.currentThread().isVirtual(), monitorando, limiarMs,
+            eventos.sum(), origens);
+    }
+
+    // Acumulado de uma origem (vários eventos ao mesmo tempo)
+    private static final class PorOrigem {
+        private final LongAdder eventos = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final ConcurrentHashMap<String, LongAdder> locais = new ConcurrentHashMap<>();
+
+        void soma(String local, long duracao, int maxLocais) {
+            eventos.increment();
+            nanos.add(duracao);
+            maxNanos.accumulateAndGet(duracao, Math::max);
+            LongAdder porLocal = locais.get(local);
+            if (porLocal == null && locais.size() < maxLocais) {
+                porLocal = locais.computeIfAbsent(local, l -> new LongAdder());
+            }
+            if (porLocal != null) {
+                porLocal.increment();
+            }
+        }
+
+        Origem fotografia() {
+            Map<String, Long> contagemLocais = new LinkedHashMap<>();
+            locais.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(local -> contagemLocais.put(local.getKey(), local.getValue().sum()));
+            return new Origem(eventos.sum(), nanos.sum() / 1_000_000.0, maxNanos.get() / 1_000_000.0,
+                contagemLocais);
+        }
+    }
+
+    /**
+     * Pinagens de uma origem (imutável)
+     */
+    @lombok.Value
+    public static class Origem {
+        long eventos;
+        double milisPresos;
+        double maxMilisPreso;
+        // Local → eventos, do mais frequente para o menos (até max-locais)
+        Map<String, Long> locais;
+    }
+
+    /**
+     * Modo de execução e pinagens vistas desde a subida (imutável)
+     */
+    @lombok.Value
+    public static class Estatisticas {
+        boolean threadsVirtuais;
+        boolean requisicaoEmThreadVirtual;
+        boolean monitorando;
+        long limiarMs;
+        long eventos;
+        Map<String, Origem> origens;
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// spring.threads.virtual.enabled=false      → true: Tomcat (e @Scheduled/@Async) em threads virtuais
+// monitoramento.pinagem.habilitado=...      → padrão: igual a spring.threads.virtual.enabled
+// monitoramento.pinagem.limiar-ms=20        → espera presa mais curta não é registrada
+// monitoramento.pinagem.max-locais=20       → locais diferentes guardados por origem
+
+// QUEM USA:
+// - GET /animes/threads → estatisticas()
+// - ThreadsVirtuaisBenchmark (src/jmh) → compara os dois modos sob carga
@@ -0,0 +1,93 @@
+// Pacote de medições da aplicação (uso de conexões do pool)
+package __SpringBoot2.__star_Spring_io.monitoramento;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * CLASSE FiltroMedicaoConexoes
+ *
+ * Propósito: Medir, por requisição, quantas conexões do pool ela pegou e por quanto tempo.
+ *
+ * - Primeiro filtro da cadeia (antes do FiltroCacheRespostas): resposta servida do cache também conta
+ * - Server-Timing: bd;dur=<ms segurando conexão>;desc="conexoes=<n>" - escrito quando o corpo
+ *   começa a sair (sem open-in-view, a transação da requisição já terminou e devolveu a conexão)
+ * - Log em DEBUG por requisição; totais em GET /animes/conexoes
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@Log4j2
+public class FiltroMedicaoConexoes extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final MedicaoConexoes medicao;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        medicao.iniciaRequisicao();
+        try {
+            chain.doFilter(request, new RespostaMedida(response));
+        } finally {
+            MedicaoConexoes.Requisicao requisicao = medicao.encerraRequisicao();
+            if (requisicao != null && log.isDebugEnabled()) {
+                log.debug("{} {} → {} conexao(oes), {} ms com conexao", request.getMethod(), request.getRequestURI(),
+                    requisicao.getConexoes(), String.format(Locale.ROOT, "%.3f", requisicao.getMilisSegurados()));
+            }
+        }
+    }
+
+    // Cabeçalho Server-Timing com a medição até o momento em que o corpo começa a ser escrito
+    private final class RespostaMedida extends HttpServletResponseWrapper {
+        private boolean anotado;
+
+        RespostaMedida(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            anota();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            anota();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            anota();
+            super.flushBuffer();
+        }
+
+        private void anota() {
+            MedicaoConexoes.Requisicao requisicao = medicao.requisicaoAtual();
+            if (anotado || requisicao == null || isCommitted()) {
+                return;
+            }
+            anotado = true;
+            setHeader(SERVER_TIMING, String.format(Locale.ROOT, "bd;dur=%.3f;desc=\"conexoes=%d\"",
+                requisicao.getMilisSegurados(), requisicao.getConexoes()));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+// Pacote de medições da aplicação (uso de conexões do pool)
+package __SpringBoot2.__star_Spring_io.monitoramento;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+/**
+ * CLASSE MedicaoConexoes
+ *
+ * Propósito: Mostrar quanto tempo cada requisição segura conexão do pool - para conferir
+ * que o caminho de leitura somente-leitura (sem open-in-view) realmente ocupa menos o pool.
+ *
+ * 1. Envolve o DataSource da aplicação (BeanPostProcessor):
+ *      LazyConnectionDataSourceProxy → DataSourceMedido → pool (Hikari)
+ *    - Lazy: a transação só pega conexão física no primeiro SQL. @Transactional(readOnly = true)
+ *      respondido por cache/índice em memória não toca no pool
+ *    - Medido: tempo de cada conexão fora do pool
+ * 2. FiltroMedicaoConexoes abre/fecha a medição da requisição (ThreadLocal) e devolve o tempo
+ *    no cabeçalho Server-Timing
+ * 3. Totais acumulados: GET /animes/conexoes
+ *
+ * Conexões fora de requisição (carga dos índices, migração, reconciliação) entram só no total geral.
+ */
+@Component
+public class MedicaoConexoes implements BeanPostProcessor {
+
+    // Medição da requisição em andamento nesta thread (null fora de requisição)
+    private final ThreadLocal<Requisicao> atual = new ThreadLocal<>();
+
+    // Contadores de uso
+    private final LongAdder requisicoes = new LongAdder();
+    private final LongAdder requisicoesComConexao = new LongAdder();
+    private final LongAdder nanosRequisicoes = new LongAdder();
+    private final LongAdder nanosSeguradosRequisicoes = new LongAdder();
+    private final AtomicLong maxNanosSeguradosRequisicao = new AtomicLong();
+    private final LongAdder conexoes = new LongAdder();
+    private final LongAdder nanosSegurados = new LongAdder();
+
+    // ========== DATASOURCE ==========
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof LazyConnectionDataSourceProxy)) {
+            return new LazyConnectionDataSourceProxy(new DataSourceMedido(dataSource, this));
+        }
+        return bean;
+    }
+
+    // Chamado pelo DataSourceMedido no close() de cada conexão
+    void conexaoDevolvida(long nanos) {
+        conexoes.increment();
+        nanosSegurados.add(nanos);
+        Requisicao requisicao = atual.get();
+        if (requisicao != null) {
+            requisicao.conexoes++;
+            requisicao.nanosSegurados += nanos;
+        }
+    }
+
+    // ========== REQUISIÇÃO (FiltroMedicaoConexoes) ==========
+    public void iniciaRequisicao() {
+        atual.set(new Requisicao(System.nanoTime()));
+    }
+
+    // Medição parcial da requisição desta thread (null fora de requisição)
+    public Requisicao requisicaoAtual() {
+        return atual.get();
+    }
+
+    /**
+     * Fecha a medição da requisição desta thread e soma nos totais
+     *
+     * @return Medição fechada (null se não havia requisição aberta)
+     */
+    public Requisicao encerraRequisicao() {
+        Requisicao requisicao = atual.get();
+        if (requisicao == null) {
+            return null;
+        }
+        atual.remove();
+        requisicoes.increment();
+        nanosRequisicoes.add(System.nanoTime() - requisicao.inicio);
+        if (requisicao.conexoes > 0) {
+            requisicoesComConexao.increment();
+            nanosSeguradosRequisicoes.add(requisicao.nanosSegurados);
+            maxNanosSeguradosRequisicao.accumulateAndGet(requisicao.nanosSegurados, Math::max);
+        }
+        return requisicao;
+    }
+
+    // Fotografia dos contadores no momento da chamada
+    public Estatisticas estatisticas() {
+        return new Estatisticas(requisicoes.sum(), requisicoesComConexao.sum(), conexoes.sum(),
+            nanosSegurados.sum() / 1_000_000, nanosSeguradosRequisicoes.sum() / 1_000_000,
+            nanosRequisicoes.sum() / 1_000_000, maxNanosSeguradosRequisicao.get() / 1_000_000.0);
+    }
+
+    /**
+     * Conexões e tempo segurado por UMA requisição (só a thread dela escreve)
+     */
+    public static final class Requisicao {
+        private final long inicio;
+        private int conexoes;
+        private long nanosSegurados;
+
+        Requisicao(long inicio) {
+            this.inicio = inicio;
+        }
+
+        public int getConexoes() {
+            return conexoes;
+        }
+
+        public double getMilisSegurados() {
+            return nanosSegurados / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Totais acumulados desde a subida (imutável)
+     */
+    @lombok.Value
+    public static class Estatisticas {
+        long requisicoes;
+        // Requisições que pegaram ao menos uma conexão física
+        long requisicoesComConexao;
+        // Todas as conexões retiradas do pool (com e sem requisição)
+        long conexoes;
+        long milisSegurados;
+        long milisSeguradosRequisicoes;
+        long milisRequisicoes;
+        double maxMilisSeguradosRequisicao;
+
+        // Tempo médio com conexão por requisição (todas, inclusive as que não pegaram conexão)
+        public double getMediaMilisSeguradosPorRequisicao() {
+            return requisicoes == 0 ? 0 : (double) milisSeguradosRequisicoes / requisicoes;
+        }
+
+        // Fração do tempo das requisições passada segurando conexão (0..1; ocupação do pool por requisição)
+        public double getOcupacao() {
+            return milisRequisicoes == 0 ? 0 : (double) milisSeguradosRequisicoes / milisRequisicoes;
+        }
+    }
+}
+
+// QUEM USA:
+// - DataSourceMedido → conexaoDevolvida(...)
+// - FiltroMedicaoConexoes → iniciaRequisicao() / encerraRequisicao()
+// - GET /animes/conexoes → estatisticas()
@@ -1,30 +1,198 @@
 // Pacote para interfaces de repositório
 package __SpringBoot2.__star_Spring_io.repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 // Importações Spring Data para paginação e JPA
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 // Importação da entidade do domínio
 import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 // Interface de repositório para a entidade Anime
 // Extende JpaRepository que fornece operações CRUD básicas automaticamente
-public interface AnimeRepository extends JpaRepository<Anime, Long> {
+// Extende AnimeRepositoryCustom: consultas seek da paginação por cursor
+public interface AnimeRepository extends JpaRepository<Anime, Long>, AnimeRepositoryCustom {
     // Herda automaticamente: save(), findById(), findAll(), delete(), count(), etc.
+    // findById passa pelo cache de segundo nível (Anime é @Cacheable)
+    
+    // ========== CACHE DE CONSULTAS (HINT_CACHEABLE) ==========
+    // Os finders de leitura abaixo guardam o resultado no cache de consultas do Hibernate
+    // (chave = consulta + parâmetros + página). Qualquer escrita na tabela anime - save, UPDATE/DELETE
+    // em um comando, dirty checking - marca a tabela e todos esses resultados deixam de valer no commit
+    // Ficam de fora: carga dos índices, exportação e migração (leitura única, encheriam o cache à toa)
     
     // ========== BUSCA PAGINADA POR NOME (CONTÉM) ==========
     // Retorna página de animes cujo nome CONTÉM a string fornecida
     // Spring Data implementa automaticamente baseado no nome do método
+    // HINT_READ_ONLY: entidades carregadas sem snapshot para dirty checking (ninguém altera o resultado)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Anime> findByNameContaining(String name, Pageable pageable);
     
     // ========== BUSCA PAGINADA POR NOME (EXATO) ==========
     // Retorna página de animes cujo nome é EXATAMENTE igual ao fornecido
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Anime> findByName(String name, Pageable pageable);
     
+    // ========== PROJEÇÕES DE LEITURA (AnimeLeitura) ==========
+    // Retorno em DTO: Spring Data monta "SELECT new AnimeLeitura(a.id, a.name, a.sanitizadorVersao)"
+    // Nenhuma entidade gerenciada (contexto de persistência fica vazio) e só 3 colunas lidas
+    // Usadas por listAll/findByName; as versões com Anime ficam para quem precisa da entidade
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<AnimeLeitura> findLeituraBy(Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<AnimeLeitura> findLeituraByNameContaining(String name, Pageable pageable);
+    
+    // ========== BUSCA PELA CHAVE DOBRADA (nome_busca, com índice) ==========
+    // Parâmetro já dobrado (NormalizadorNome.dobra): "NARUTO", "Naruto" e "naruto" caem na mesma chave
+    // Igualdade na coluna indexada = index seek (o LIKE '%texto%' do comtem=true não usa índice)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<AnimeLeitura> findLeituraByNomeBusca(String nomeBusca, Pageable pageable);
+    
+    // Prefixo: LIKE 'texto%' na coluna indexada = range scan no índice
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<AnimeLeitura> findLeituraByNomeBuscaStartingWith(String prefixo, Pageable pageable);
+    
+    // Só o conteúdo da página (retorno List = LIMIT/OFFSET sem o COUNT do Page)
+    // O total vem do ContadorAnimes (tabela inteira) ou das contagens abaixo, guardadas por pouco tempo
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<AnimeLeitura> findConteudoBy(Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<AnimeLeitura> findConteudoByNameContaining(String name, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<AnimeLeitura> findConteudoByNomeBusca(String nomeBusca, Pageable pageable);
+    
+    // Contagens avulsas (total dos filtros e consulta com total em janela que volta vazia)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    long countByNomeBusca(String nomeBusca);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    long countByNameContaining(String name);
+    
+    // ========== PÁGINA + TOTAL EM UMA ÚNICA CONSULTA ==========
+    // COUNT(a) OVER () calcula o total de linhas do filtro ANTES do LIMIT/OFFSET
+    // Cada linha volta como [id, name, sanitizadorVersao, total] (colunas soltas, sem entidade)
+    // - sem o SELECT COUNT(*) separado do Page
+    // Retorno List (e não Page) para o Spring Data não disparar a contagem dele
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT a.id, a.name, a.sanitizadorVersao, COUNT(a) OVER () FROM Anime a")
+    List<Object[]> findAllComTotal(Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT a.id, a.name, a.sanitizadorVersao, COUNT(a) OVER () FROM Anime a WHERE a.nomeBusca = :nomeBusca")
+    List<Object[]> findByNomeBuscaComTotal(@Param("nomeBusca") String nomeBusca, Pageable pageable);
+    
+    // escape(): mesmo tratamento de '%' e '_' do findByNameContaining
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT a.id, a.name, a.sanitizadorVersao, COUNT(a) OVER () FROM Anime a "
+         + "WHERE a.name LIKE %:#{escape([0])}% ESCAPE :#{escapeCharacter()}")
+    List<Object[]> findByNameContainingComTotal(String name, Pageable pageable);
     
+    // ========== FATIA SEM TOTAL (Slice) ==========
+    // Busca size+1 linhas só para saber se há próxima página - nenhum COUNT
+    // Também em projeção (AnimeLeitura)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Slice<AnimeLeitura> findSliceBy(Pageable pageable);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Slice<AnimeLeitura> findSliceByNomeBusca(String nomeBusca, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Slice<AnimeLeitura> findSliceByNameContaining(String name, Pageable pageable);
+    
+    // ========== SUGESTÃO POR PREFIXO (caminho SQL do /animes/suggest) ==========
+    // Nomes distintos cuja chave dobrada começa com o prefixo (já dobrado) - range scan em idx_anime_nome_busca
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT a.name FROM Anime a WHERE a.nomeBusca LIKE :#{escape([0])}% ESCAPE :#{escapeCharacter()} "
+         + "GROUP BY a.name ORDER BY a.name")
+    List<String> findNomesComPrefixo(String prefixo, Pageable pageable);
+    
+    // ========== CARGA DOS ÍNDICES EM MEMÓRIA ==========
+    // Keyset por id: cada lote começa depois do último id lido (sem OFFSET e sem COUNT)
+    List<AnimeLeitura> findLeituraByIdGreaterThan(Long id, Pageable pageable);
+    
+    // ========== EXPORTAÇÃO (GET /animes/export) ==========
+    // Stream sobre o ResultSet aberto: as linhas chegam do driver em blocos de FETCH_SIZE_EXPORTACAO
+    // (MySQL precisa de useCursorFetch=true na URL para respeitar o fetch size)
+    // Projeção: nada entra no contexto de persistência, memória constante em qualquer tamanho de tabela
+    // Precisa de transação aberta enquanto o Stream é consumido (e fechar o Stream no fim)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACAO),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura(a.id, a.name, a.sanitizadorVersao) "
+         + "FROM Anime a ORDER BY a.id")
+    Stream<AnimeLeitura> streamLeituraOrdenadaPorId();
+    
+    // Linhas por ida ao banco durante a exportação
+    String FETCH_SIZE_EXPORTACAO = "1000";
+    
+    // ========== LINHAS LEGADAS DA SANITIZAÇÃO ==========
+    // Animes gravados sem marcador, com versão antiga do Sanatizador ou sem chave de busca (nome_busca)
+    // Pageable aqui só limita o lote (retorno List = sem COUNT)
+    @Query("SELECT a FROM Anime a WHERE a.sanitizadorVersao IS NULL OR a.sanitizadorVersao < :versao "
+         + "OR a.nomeBusca IS NULL")
+    List<Anime> findLegadosSanitizacao(@Param("versao") Integer versao, Pageable pageable);
+
+    // ========== VERSÃO DA LINHA (ETag do recurso) ==========
+    // Só a coluna versao pela chave primária: decide o 304 sem carregar nem sanitizar o anime
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT a.versao FROM Anime a WHERE a.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
+
+    // ========== ESCRITA EM UM COMANDO (PUT e DELETE) ==========
+    // Um UPDATE/DELETE direto no banco: sem SELECT antes, sem entidade carregada, sem dirty checking
+    // Retorno = linhas afetadas (0 = id não existe)
+    // flushAutomatically: pendências do contexto vão antes do comando
+    // clearAutomatically: nenhuma entidade antiga fica no contexto depois dele
+
+    // @PreUpdate e @Version não agem em UPDATE por JPQL: chave dobrada (nome_busca) e versão vão no SET
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Anime a SET a.name = :name, a.nomeBusca = :nomeBusca, a.sanitizadorVersao = :versao, "
+         + "a.versao = a.versao + 1 WHERE a.id = :id")
+    int atualizaNome(@Param("id") Long id, @Param("name") String name, @Param("nomeBusca") String nomeBusca,
+            @Param("versao") Integer versao);
+
+    // If-Match: só altera se a linha ainda está na versão que o cliente leu (0 = id inexistente OU versão mudou)
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Anime a SET a.name = :name, a.nomeBusca = :nomeBusca, a.sanitizadorVersao = :versao, "
+         + "a.versao = a.versao + 1 WHERE a.id = :id AND a.versao = :versaoLida")
+    int atualizaNomeNaVersao(@Param("id") Long id, @Param("name") String name, @Param("nomeBusca") String nomeBusca,
+            @Param("versao") Integer versao, @Param("versaoLida") Long versaoLida);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Anime a WHERE a.id = :id")
+    int removePorId(@Param("id") Long id);
+
+    // Linha que o DELETE vai remover (MySQL não tem DELETE ... RETURNING): uma leitura pela chave primária
+    // FOR UPDATE: nenhum PUT concorrente troca o nome entre esta leitura e o DELETE da mesma transação
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura(a.id, a.name, a.sanitizadorVersao) "
+         + "FROM Anime a WHERE a.id = :id")
+    Optional<AnimeLeitura> findLeituraParaRemover(@Param("id") Long id);
+
 }
 
 // CONCEITO: REPOSITORY PATTERN
@@ -63,7 +231,7 @@ public interface AnimeRepository extends JpaRepository<Anime, Long> {
 // PERFORMANCE:
 // - Paginação evita carregar todos os dados de uma vez
 // - Consultas otimizadas pelo JPA/Hibernate
-// - Cache de segundo nível opcional
+// - Cache de segundo nível (entidade) e de consultas (HINT_CACHEABLE) - ehcache.xml
 
 // CONFIGURAÇÃO NECESSÁRIA NO APPLICATION.PROPERTIES:
 // spring.datasource.url=jdbc:mysql://localhost:3306/db_anime
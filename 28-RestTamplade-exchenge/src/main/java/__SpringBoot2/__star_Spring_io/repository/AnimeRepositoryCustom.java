@@ -0,0 +1,20 @@
+// Pacote para interfaces de repositório
+package __SpringBoot2.__star_Spring_io.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.util.CursorAnime;
+
+// Fragmento com consultas montadas à mão (implementado em AnimeRepositoryCustomImpl)
+// AnimeRepository herda estes métodos junto com os do JpaRepository
+public interface AnimeRepositoryCustom {
+
+    // ========== BUSCA POR CURSOR (KEYSET / SEEK) ==========
+    // Retorna até 'limite' animes DEPOIS da chave do cursor, na ordem (campo, id)
+    // nome null = sem filtro; comtem escolhe LIKE %nome% ou igualdade da chave dobrada (nome_busca)
+    // cursor null = primeira página
+    List<Anime> buscaPorCursor(String nome, boolean comtem, Sort.Order ordem, CursorAnime cursor, int limite);
+}
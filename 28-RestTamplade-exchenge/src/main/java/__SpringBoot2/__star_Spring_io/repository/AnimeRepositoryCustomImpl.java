@@ -0,0 +1,115 @@
+// Pacote para interfaces de repositório
+package __SpringBoot2.__star_Spring_io.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.util.CursorAnime;
+import __SpringBoot2.__star_Spring_io.util.NormalizadorNome;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+// Implementação do fragmento AnimeRepositoryCustom
+// Spring Data encontra esta classe pelo sufixo "Impl" e a combina com AnimeRepository
+public class AnimeRepositoryCustomImpl implements AnimeRepositoryCustom {
+
+    // Caractere de escape usado no LIKE (mesmo padrão do findByNameContaining)
+    private static final char ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Consulta seek: em vez de OFFSET n (que lê e descarta n linhas), filtra pela chave
+     * da última linha entregue e usa o índice da ordenação.
+     *
+     * SQL gerado (ordem name ASC, com cursor):
+     *   SELECT ... FROM anime
+     *   WHERE (name > :nome OR (name = :nome AND id > :id))
+     *   ORDER BY name ASC, id ASC
+     *   LIMIT :limite
+     */
+    @Override
+    public List<Anime> buscaPorCursor(String nome, boolean comtem, Sort.Order ordem, CursorAnime cursor, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Anime> query = cb.createQuery(Anime.class);
+        Root<Anime> anime = query.from(Anime.class);
+        Path<Long> id = anime.get("id");
+        Path<String> name = anime.get("name");
+        boolean ascendente = ordem.isAscending();
+
+        List<Predicate> filtros = new ArrayList<>();
+
+        // 1. Filtro por nome (igual à busca paginada atual: exato compara a chave dobrada indexada)
+        if (nome != null) {
+            filtros.add(comtem
+                ? cb.like(name, "%" + escapaLike(nome) + "%", ESCAPE)
+                : cb.equal(anime.get("nomeBusca"), NormalizadorNome.dobra(nome)));
+        }
+
+        // 2. Condição seek: linhas estritamente depois da chave do cursor
+        if (cursor != null) {
+            Predicate depoisDoId = ascendente
+                ? cb.greaterThan(id, cursor.getUltimoId())
+                : cb.lessThan(id, cursor.getUltimoId());
+
+            if ("name".equals(ordem.getProperty())) {
+                Predicate depoisDoNome = ascendente
+                    ? cb.greaterThan(name, cursor.getUltimoNome())
+                    : cb.lessThan(name, cursor.getUltimoNome());
+                filtros.add(cb.or(depoisDoNome, cb.and(cb.equal(name, cursor.getUltimoNome()), depoisDoId)));
+            } else {
+                filtros.add(depoisDoId);
+            }
+        }
+
+        // 3. Ordenação estável: campo pedido e id como desempate (mesma direção)
+        List<jakarta.persistence.criteria.Order> ordens = new ArrayList<>();
+        if ("name".equals(ordem.getProperty())) {
+            ordens.add(direcao(cb, name, ascendente));
+        }
+        ordens.add(direcao(cb, id, ascendente));
+
+        query.select(anime)
+            .where(filtros.toArray(Predicate[]::new))
+            .orderBy(ordens);
+
+        // Somente leitura: as entidades viram resposta e nunca são alteradas (sem snapshot de dirty checking)
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .setMaxResults(limite)
+            .getResultList();
+    }
+
+    private static jakarta.persistence.criteria.Order direcao(CriteriaBuilder cb, Expression<?> campo, boolean ascendente) {
+        return ascendente ? cb.asc(campo) : cb.desc(campo);
+    }
+
+    // Escapa curingas do LIKE para que '_' e '%' do nome sejam literais
+    private static String escapaLike(String texto) {
+        StringBuilder escapado = new StringBuilder(texto.length() + 4);
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == ESCAPE || c == '%' || c == '_') {
+                escapado.append(ESCAPE);
+            }
+            escapado.append(c);
+        }
+        return escapado.toString();
+    }
+}
+
+// POR QUE KEYSET E NÃO OFFSET?
+// - OFFSET 100000 faz o banco ler 100000 linhas para descartar
+// - Keyset vai direto à posição pelo índice: custo igual em qualquer profundidade
+// - Limitação: só "próxima página" (não dá para pular para a página 500)
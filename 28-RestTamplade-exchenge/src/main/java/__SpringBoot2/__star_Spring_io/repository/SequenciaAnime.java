@@ -0,0 +1,92 @@
+// Pacote para interfaces de repositório
+package __SpringBoot2.__star_Spring_io.repository;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import __SpringBoot2.__star_Spring_io.util.SequenciaIdsAnime;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * CLASSE SequenciaAnime
+ *
+ * Propósito: Migração de IDENTITY para SEQUENCE (pooled) sem colidir com ids antigos.
+ *
+ * A sequência anime_seq nasce em 1 (criada pelo ddl-auto), mas a tabela anime pode já ter
+ * linhas com ids do auto_increment. Na subida, antes de qualquer INSERT, adianta a sequência
+ * para depois do maior id existente (nunca volta para trás).
+ *
+ * Dois formatos, conforme o banco - nos dois a sequência só anda para frente:
+ * - Sequência de verdade (H2, PostgreSQL...): valores consumidos até passar do maior id
+ *   (sem ALTER SEQUENCE ... RESTART: entre ler o valor e reiniciar, outra instância ou um INSERT
+ *   pode ter passado dele, e o RESTART faria a sequência voltar - ids repetidos)
+ * - Emulação em tabela (MySQL): UPDATE anime_seq SET next_val = ... WHERE next_val < ...
+ */
+@Component
+@Log4j2
+public class SequenciaAnime {
+
+    static final String NOME = "anime_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Dialect dialeto;
+
+    // EntityManagerFactory no construtor: o ddl-auto (que cria anime_seq) roda antes deste bean
+    public SequenciaAnime(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialeto = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @PostConstruct
+    void aplica() {
+        long proximo = ajustaAposMaiorId();
+        if (proximo > 0) {
+            log.info("Sequencia {} adiantada para {} (ids existentes)", NOME, proximo);
+        }
+    }
+
+    /**
+     * Garante que os próximos ids saiam depois do maior id da tabela
+     *
+     * O otimizador pooled lê o valor v da sequência e entrega os ids (v - IDS_POR_RESERVA, v]:
+     * com v >= maior id + IDS_POR_RESERVA o primeiro id novo já fica depois do maior.
+     *
+     * @return Novo valor da sequência, ou 0 se não precisou mexer
+     */
+    public long ajustaAposMaiorId() {
+        Long maiorId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM anime", Long.class);
+        if (maiorId == null) {
+            return 0;
+        }
+        long proximo = maiorId + SequenciaIdsAnime.IDS_POR_RESERVA;
+
+        if (!dialeto.getSequenceSupport().supportsSequences()) {
+            // Tabela anime_seq: só avança (WHERE) - outra instância pode ter avançado antes
+            int alteradas = jdbcTemplate.update(
+                "UPDATE " + NOME + " SET next_val = ? WHERE next_val < ?", proximo, proximo);
+            return alteradas > 0 ? proximo : 0;
+        }
+
+        // Sequência real: consumir um valor para saber onde ela está (o buraco não importa)
+        String proximoValor = dialeto.getSequenceSupport().getSequenceNextValString(NOME);
+        long atual = jdbcTemplate.queryForObject(proximoValor, Long.class);
+        if (atual >= proximo) {
+            return 0;
+        }
+        // Cada valor consumido avança IDS_POR_RESERVA (increment by da sequência); só na migração
+        // Concorrência só adianta o fim: quem consome valores junto também empurra a sequência
+        while (atual < proximo) {
+            atual = jdbcTemplate.queryForObject(proximoValor, Long.class);
+        }
+        return atual;
+    }
+}
+
+// QUANDO RODA DE VERDADE:
+// - Uma vez, na primeira subida depois da troca IDENTITY → SEQUENCE (tabela com ids antigos)
+// - Nas subidas seguintes a sequência já está à frente e nada é alterado
@@ -0,0 +1,21 @@
+package __SpringBoot2.__star_Spring_io.requests;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resposta da paginação por cursor (?cursor=)
+// Sem total/número de página: o cliente segue nextCursor até hasNext = false
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class AnimeCursorResponse {
+	List<AnimeResponse> content;
+	int size;
+	String nextCursor;
+	boolean hasNext;
+}
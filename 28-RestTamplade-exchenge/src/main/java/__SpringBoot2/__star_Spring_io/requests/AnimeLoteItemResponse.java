@@ -0,0 +1,20 @@
+package __SpringBoot2.__star_Spring_io.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado de um item do lote
+// criado: id e name gravados (name já sanitizado) | rejeitado: erro com o motivo
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class AnimeLoteItemResponse {
+	int indice;
+	boolean criado;
+	Long id;
+	String name;
+	String erro;
+}
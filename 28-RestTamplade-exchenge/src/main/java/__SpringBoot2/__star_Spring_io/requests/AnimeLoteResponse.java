@@ -0,0 +1,20 @@
+package __SpringBoot2.__star_Spring_io.requests;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resposta do POST /animes/batch
+// Um item por elemento enviado, na mesma ordem (indice = posição no array da requisição)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class AnimeLoteResponse {
+	int criados;
+	int rejeitados;
+	List<AnimeLoteItemResponse> itens;
+}
@@ -1,5 +1,7 @@
 package __SpringBoot2.__star_Spring_io.requests;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,5 +13,8 @@ import lombok.NoArgsConstructor;
 public class AnimeResponse {
 	String name;
 	long id;
+	// Versão da linha para o cabeçalho ETag (fora do JSON; null quando a origem não tem versão)
+	@JsonIgnore
+	Long versao;
 	
 }
@@ -2,16 +2,21 @@
 package __SpringBoot2.__star_Spring_io.seguranca;
 
 // Imports para manipulação de listas e streams
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 // Spring Data para paginação
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 // Classes do projeto
 import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
 import __SpringBoot2.__star_Spring_io.exception.BedRequestException;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
 
 /**
  * CLASSE PageValid
@@ -43,6 +48,72 @@ public class PageValid {
      */
     public static Page<Anime> ValidaSanitizaPageAnime(Page<Anime> page) {
         
+        // 1 a 5. Mesmo pipeline das leituras do service: valida metadados, sanitiza cada Anime
+        // (saniAnime) e monta uma única página nova (vazia também sai como página nova)
+        return validaMapeiaPage(page, Sanatizador::saniAnime);
+    }
+    
+    /**
+     * Pipeline fundido para a projeção de leitura (AnimeLeitura) usada por listAll/findByName
+     * 
+     * @param page - Página de projeções (sem entidades gerenciadas)
+     * @param conversor - Converte cada AnimeLeitura em AnimeResponse já sanitizado
+     *                    (AnimeMapper.toAnimeResponse sanitiza o nome quando necessário)
+     * @return Página de respostas pronta para o controller
+     * @throws BedRequestException - Se a página for inválida
+     * 
+     * Sem cópia intermediária por linha (a sanitização acontece uma vez, no conversor) e sem
+     * stream/lista/PageImpl intermediários: um array do tamanho exato e um único PageImpl
+     */
+    public static Page<AnimeResponse> ValidaSanitizaMapeiaPageLeitura(
+            Page<AnimeLeitura> page, Function<AnimeLeitura, AnimeResponse> conversor) {
+        return validaMapeiaPage(page, conversor);
+    }
+    
+    // Corpo comum de todas as páginas (entidade ou projeção): a única cópia da validação + conversão
+    private static <T, R> Page<R> validaMapeiaPage(Page<T> page, Function<? super T, ? extends R> conversor) {
+        
+        // 1. VALIDA metadados uma única vez
+        validaMetadados(page);
+        
+        // 2 e 3. CONVERTE direto para o array final e monta a ÚNICA página de saída
+        return new PageImpl<>(mapeia(page.getContent(), conversor), page.getPageable(), page.getTotalElements());
+    }
+    
+    // Array do tamanho exato (Arrays.asList só embrulha o array, não copia)
+    @SuppressWarnings("unchecked")
+    private static <T, R> List<R> mapeia(List<T> conteudo, Function<? super T, ? extends R> conversor) {
+        Object[] saida = new Object[conteudo.size()];
+        for (int i = 0; i < saida.length; i++) {
+            saida[i] = conversor.apply(conteudo.get(i));
+        }
+        return (List<R>) Arrays.asList(saida);
+    }
+    
+    /**
+     * Mesmo pipeline fundido para uma fatia sem total (Slice - modo withTotal=false)
+     * 
+     * @param slice - Fatia retornada pelo repositório
+     * @param conversor - Converte cada linha (Anime ou AnimeLeitura) em AnimeResponse já sanitizado
+     * @return Fatia de respostas (mantém hasNext)
+     * @throws BedRequestException - Se a fatia for inválida
+     */
+    public static <T> Slice<AnimeResponse> ValidaSanitizaMapeiaSliceAnime(
+            Slice<T> slice, Function<? super T, AnimeResponse> conversor) {
+        
+        validaMetadados(slice);
+        
+        return new SliceImpl<>(mapeia(slice.getContent(), conversor), slice.getPageable(), slice.hasNext());
+    }
+    
+    /**
+     * Valida os metadados da página/fatia (comum a todos os fluxos)
+     * 
+     * @param page - Página ou fatia a validar
+     * @throws BedRequestException - Se null, tamanho fora de 1..MAX_PAGE_SIZE ou número negativo
+     */
+    private static void validaMetadados(Slice<?> page) {
+        
         // 1. VALIDAÇÃO CRÍTICA: página não pode ser null
         if (page == null) {
             throw new BedRequestException("page null!!");
@@ -69,27 +140,6 @@ public class PageValid {
                 )
             );
         }
-        
-        // 4. SE PÁGINA VAZIA: retorna sem processar conteúdo
-        if (!page.hasContent()) {
-            return page; // Página vazia já é segura
-        }
-        
-        // 5. SANITIZAÇÃO DO CONTEÚDO (proteção XSS na saída)
-        // Cria NOVA lista com Animes sanitizados
-        List<Anime> sanitizedContent = page.getContent().stream()
-            .map(Sanatizador::saniAnime) // Aplica sanitização em cada Anime
-            .collect(Collectors.toList());
-        
-        // 6. CRIA NOVA PÁGINA com conteúdo sanitizado
-        // PageImpl é implementação concreta de Page
-        Page<Anime> saniPage = new PageImpl<>(
-            sanitizedContent,          // Conteúdo sanitizado
-            page.getPageable(),       // Configuração original (página, tamanho, ordenação)
-            page.getTotalElements()   // Total de registros (importante para paginação)
-        );
-        
-        return saniPage;
     }
 }
 
@@ -153,7 +203,8 @@ public class PageValid {
  * 
  * 2. PERFORMANCE: Stream + map pode ser custoso para páginas grandes
  *    - MAX_PAGE_SIZE limita impacto
- *    - Considerar cache para páginas comuns
+ *    - Leituras do service usam ValidaSanitizaMapeiaPageLeitura (uma passada, sem cópias);
+ *      todas as variantes passam pelo mesmo validaMapeiaPage/mapeia
  * 
  * 3. EXCEÇÕES: Usa BedRequestException (HTTP 400)
  *    - Cliente recebe erro claro
@@ -18,6 +18,27 @@ import __SpringBoot2.__star_Spring_io.dominio.Anime;
  */
 public class Sanatizador {
     
+    // Versão das regras de sanitização gravada junto com o dado (Anime.sanitizadorVersao)
+    // IMPORTANTE: incrementar sempre que a limpeza mudar, para que os dados antigos sejam refeitos
+    // 2: nome gravado é ponto fixo do saniString (versão 1 gravava "&lt;script&gt;" como "<script>")
+    public static final int VERSAO = 2;
+    
+    // Passadas máximas até o nome parar de mudar (cada passada que muda encurta o texto)
+    private static final int PASSADAS_MAXIMAS = 8;
+    
+    // Capacidade padrão do cache de sanitização (sobrescrita pela configuração)
+    public static final int CAPACIDADE_CACHE_PADRAO = 10_000;
+    
+    // Cache de resultados: null quando desligado
+    // volatile: a troca feita pela configuração fica visível para todas as threads
+    private static volatile SanitizacaoCache cache = new SanitizacaoCache(CAPACIDADE_CACHE_PADRAO);
+    
+    // Tamanho máximo do texto sanitizado
+    private static final int TAMANHO_MAXIMO = 100;
+    
+    // Texto devolvido quando nada sobra após a limpeza
+    public static final String TEXTO_INPROPRIO = "CARACTERES OU SIMBOLOS INPROPRIOS";
+    
     /**
      * MÉTODO 1: Sanitiza uma string removendo qualquer código HTML/JavaScript
      * 
@@ -29,6 +50,10 @@ public class Sanatizador {
      * 2. Remove todas as tags HTML usando JSoup
      * 3. Extrai apenas o texto puro (sem tags)
      * 4. Limita tamanho máximo para 100 caracteres
+     * 
+     * Texto simples (sem marcação possível) não passa pelo JSoup: o resultado seria
+     * idêntico ao de entrada. Os demais textos repetidos são respondidos pelo cache
+     * (quando ligado) sem novo parse.
      */
     public static String saniString(String input) {
         // Passo 1: Verificação de null (fail-fast)
@@ -36,6 +61,20 @@ public class Sanatizador {
             return null;
         }
         
+        // Caminho rápido: nenhuma tag, entidade ou espaço a normalizar
+        if (ehTextoSimples(input)) {
+            return limitaTamanho(input);
+        }
+        
+        SanitizacaoCache cacheAtual = cache;
+        if (cacheAtual == null) {
+            return sanitizaComJsoup(input);
+        }
+        return cacheAtual.obtem(input, Sanatizador::sanitizaComJsoup);
+    }
+    
+    // Sanitização completa (sem cache) - chamada apenas na falha do cache
+    static String sanitizaComJsoup(String input) {
         // Passo 2: Remove TODAS as tags HTML
         // Safelist.none() = não permite nenhuma tag, remove todas
         // Exemplo: "<script>alert('hack')</script>" → ""
@@ -46,16 +85,121 @@ public class Sanatizador {
         String textoPuro = Jsoup.parse(htmlseguro).text();
         
         // Passo 4: Limita tamanho máximo (prevenção de overflow)
-        if (textoPuro.length() > 100) {
-            textoPuro = textoPuro.substring(0, 100);
+        return limitaTamanho(textoPuro);
+    }
+    
+    // Corta em TAMANHO_MAXIMO e troca texto vazio pelo aviso padrão
+    private static String limitaTamanho(String textoPuro) {
+        if (textoPuro.length() > TAMANHO_MAXIMO) {
+            textoPuro = textoPuro.substring(0, TAMANHO_MAXIMO);
         }
         if (textoPuro.isEmpty()) {
-        	textoPuro = "CARACTERES OU SIMBOLOS INPROPRIOS";
+        	textoPuro = TEXTO_INPROPRIO;
         }
         
         return textoPuro;
     }
     
+    /**
+     * Sanitiza um nome que será GRAVADO com o marcador VERSAO
+     * 
+     * @param input - Nome recebido do cliente (ou lido de linha legada)
+     * @return Nome que o saniString devolve sem mudar (null se input for null)
+     * 
+     * saniString não é idempotente: "&lt;script&gt;" vira "<script>" na primeira passada.
+     * Linha marcada não é sanitizada de novo na leitura (saniNomeLido), então o valor gravado
+     * precisa ser estável: repete até a saída não mudar mais. Sem estabilizar (não deveria
+     * acontecer: cada passada que muda encurta o texto) → TEXTO_INPROPRIO.
+     */
+    public static String saniNomeGravado(String input) {
+        String atual = saniString(input);
+        for (int passada = 1; atual != null && passada < PASSADAS_MAXIMAS; passada++) {
+            String proximo = saniString(atual);
+            if (proximo.equals(atual)) {
+                return atual;
+            }
+            atual = proximo;
+        }
+        return atual == null ? null : TEXTO_INPROPRIO;
+    }
+    
+    /**
+     * Varredura única que decide se o texto pode conter marcação ou entidades
+     * 
+     * @param input - Texto bruto (não null)
+     * @return true se o JSoup devolveria o próprio texto (pode pular o parse)
+     * 
+     * Regras (conservadoras - na dúvida vai para o JSoup):
+     * - '<', '>' e '&' podem abrir tag/entidade → JSoup
+     * - Controles, tab, quebra de linha, nbsp e invisíveis são normalizados pelo JSoup → JSoup
+     * - Espaço só é aceito isolado e no meio (JSoup apara e junta espaços) 
+     * - Fora do ASCII só letras e dígitos passam direto
+     */
+    static boolean ehTextoSimples(String input) {
+        int tamanho = input.length();
+        char anterior = ' '; // trata o início como espaço: barra espaço inicial
+        for (int i = 0; i < tamanho; i++) {
+            char c = input.charAt(i);
+            if (c == ' ') {
+                if (anterior == ' ') {
+                    return false;
+                }
+            } else if (c < 0x80) {
+                if (c < 0x21 || c == 0x7F || c == '<' || c == '>' || c == '&') {
+                    return false;
+                }
+            } else if (!Character.isLetterOrDigit(c)) {
+                return false;
+            }
+            anterior = c;
+        }
+        // espaço final seria aparado pelo JSoup
+        return anterior != ' ' || tamanho == 0;
+    }
+    
+    /**
+     * Liga/desliga o cache de sanitização e define sua capacidade
+     * 
+     * @param habilitado - false remove o cache (toda chamada passa pelo JSoup)
+     * @param capacidade - número máximo de entradas guardadas
+     */
+    public static void configuraCache(boolean habilitado, int capacidade) {
+        cache = habilitado ? new SanitizacaoCache(capacidade) : null;
+    }
+    
+    /**
+     * Contadores do cache de sanitização
+     * 
+     * @return Estatísticas atuais ou null se o cache estiver desligado
+     */
+    public static SanitizacaoCache.Estatisticas estatisticasCache() {
+        SanitizacaoCache cacheAtual = cache;
+        return cacheAtual == null ? null : cacheAtual.estatisticas();
+    }
+    
+    /**
+     * Indica se um dado gravado já passou pela sanitização atual
+     * 
+     * @param versao - Valor de Anime.sanitizadorVersao lido do banco
+     * @return true se não precisa ser sanitizado de novo
+     */
+    public static boolean estaSanitizado(Integer versao) {
+        return versao != null && versao >= VERSAO;
+    }
+    
+    /**
+     * Sanitiza um nome LIDO do banco apenas quando necessário
+     * 
+     * @param nome - Nome gravado
+     * @param versao - Marcador de sanitização da linha
+     * @return O próprio nome (linha marcada) ou o nome sanitizado (linha legada)
+     * 
+     * Só é seguro porque toda linha marcada foi gravada com saniNomeGravado (ponto fixo)
+     */
+    public static String saniNomeLido(String nome, Integer versao) {
+        return estaSanitizado(versao) ? nome : saniString(nome);
+    }
+    
     /**
      * MÉTODO 2: Sanitiza um objeto Anime completo
      * 
@@ -64,16 +208,21 @@ public class Sanatizador {
      * 
      * IMPORTANTE: Cria NOVA instância, não modifica o original
      * (Princípio de imutabilidade)
+     * Exceção: Anime já marcado com a versão atual é devolvido como está (nada a limpar)
      */
     public static Anime saniAnime(Anime anime) {
         // Passo 1: Verificação de null
         if (anime == null) return null;
         
-        // Passo 2: Cria novo Anime usando Builder Pattern
+        // Passo 2: Dado gravado já sanitizado - evita cópia e reprocessamento
+        if (estaSanitizado(anime.getSanitizadorVersao())) return anime;
+        
+        // Passo 3: Cria novo Anime usando Builder Pattern
         // Apenas campos necessários são sanitizados
         return Anime.builder()
             .id(anime.getId())  // ID geralmente é seguro (gerado pelo sistema)
-            .name(Sanatizador.saniString(anime.getName())) // Nome é sanitizado
+            .name(Sanatizador.saniNomeGravado(anime.getName())) // Nome é sanitizado (estável: leva o marcador)
+            .sanitizadorVersao(VERSAO) // Cópia já está limpa: o mapper não repete o trabalho
             .build();           // Outros campos são ignorados/definidos separadamente
     }
 }
@@ -81,8 +230,8 @@ public class Sanatizador {
 /**
  * COMO E ONDE USAR ESTA CLASSE:
  * 
- * 1. NA ENTRADA DE DADOS (antes de salvar no banco):
- *    String nomeSeguro = Sanatizador.saniString(nomeRecebido);
+ * 1. NA ENTRADA DE DADOS (antes de salvar no banco com o marcador VERSAO):
+ *    String nomeSeguro = Sanatizador.saniNomeGravado(nomeRecebido);
  *    
  * 2. NA SAÍDA DE DADOS (antes de enviar para o cliente):
  *    Anime animeSeguro = Sanatizador.saniAnime(animeDoBanco);
@@ -121,7 +270,8 @@ public class Sanatizador {
  *    Necessário adicionar outros campos se existirem
  * 
  * 3. Performance: JSoup é eficiente, mas processamento extra
- *    Considerar uso apenas em campos de texto livre
+ *    Texto simples pula o JSoup (ehTextoSimples); o resto fica no SanitizacaoCache
+ *    (sanitizador.cache.* no application.properties)
  * 
  * 4. Dados perdidos: Tags HTML legítimas também são removidas
  *    Se precisar de HTML seguro, use Safelist.basic()
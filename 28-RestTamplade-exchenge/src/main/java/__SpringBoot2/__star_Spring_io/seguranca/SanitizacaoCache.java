@@ -0,0 +1,119 @@
+// Pacote de segurança - cache de resultados da sanitização
+package __SpringBoot2.__star_Spring_io.seguranca;
+
+// Estruturas concorrentes para o cache e para os contadores
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+import lombok.Value;
+
+/**
+ * CLASSE SanitizacaoCache
+ *
+ * Propósito: Memorizar o resultado de Sanatizador.saniString por texto de entrada,
+ * evitando que nomes repetidos passem de novo pelo parse HTML do JSoup.
+ *
+ * Características:
+ * - Concorrente: várias requisições leem e gravam ao mesmo tempo (ConcurrentHashMap)
+ * - Limitado: nunca passa da capacidade configurada (despejo FIFO)
+ * - Observável: conta acertos, falhas e despejos
+ */
+public class SanitizacaoCache {
+
+    // Número máximo de entradas guardadas
+    private final int capacidade;
+
+    // Entrada bruta → texto sanitizado
+    private final ConcurrentHashMap<String, String> entradas;
+
+    // Ordem de inserção, usada para escolher quem sai quando o cache enche
+    private final Queue<String> ordemInsercao = new ConcurrentLinkedQueue<>();
+
+    // Contadores de uso (LongAdder tem menos disputa que AtomicLong sob concorrência)
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder despejos = new LongAdder();
+
+    public SanitizacaoCache(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("capacidade do cache deve ser positiva: " + capacidade);
+        }
+        this.capacidade = capacidade;
+        this.entradas = new ConcurrentHashMap<>(Math.min(capacidade, 1024));
+    }
+
+    /**
+     * Retorna o valor já sanitizado para a chave ou calcula, guarda e retorna.
+     *
+     * @param chave - Texto bruto recebido (não pode ser null)
+     * @param calculo - Função de sanitização executada apenas na falha
+     * @return Texto sanitizado
+     */
+    public String obtem(String chave, UnaryOperator<String> calculo) {
+        String valor = entradas.get(chave);
+        if (valor != null) {
+            acertos.increment();
+            return valor;
+        }
+
+        falhas.increment();
+        valor = calculo.apply(chave);
+
+        // putIfAbsent: se outra thread calculou junto, mantém a primeira e não duplica na fila
+        if (entradas.putIfAbsent(chave, valor) == null) {
+            ordemInsercao.offer(chave);
+            despejaExcedente();
+        }
+        return valor;
+    }
+
+    // Remove as entradas mais antigas até voltar para dentro da capacidade
+    private void despejaExcedente() {
+        while (entradas.size() > capacidade) {
+            String maisAntiga = ordemInsercao.poll();
+            if (maisAntiga == null) {
+                return;
+            }
+            if (entradas.remove(maisAntiga) != null) {
+                despejos.increment();
+            }
+        }
+    }
+
+    // Esvazia o cache mantendo os contadores
+    public void limpa() {
+        entradas.clear();
+        ordemInsercao.clear();
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    // Fotografia dos contadores no momento da chamada
+    public Estatisticas estatisticas() {
+        return new Estatisticas(acertos.sum(), falhas.sum(), despejos.sum(), entradas.size());
+    }
+
+    /**
+     * Valores de uso do cache (imutável)
+     */
+    @Value
+    public static class Estatisticas {
+        long acertos;
+        long falhas;
+        long despejos;
+        int tamanho;
+    }
+}
+
+/**
+ * POR QUE FIFO E NÃO LRU?
+ *
+ * - LRU exige reordenar a cada leitura (trava ou estrutura mais pesada)
+ * - Os nomes do catálogo se repetem muito: quem é popular volta logo para o cache
+ * - FIFO mantém a leitura (caminho quente) sem nenhuma escrita além do contador
+ */
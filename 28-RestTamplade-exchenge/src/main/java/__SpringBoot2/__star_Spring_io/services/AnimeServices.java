@@ -1,27 +1,60 @@
 // Pacote para classes de serviço (camada de negócio)
 package __SpringBoot2.__star_Spring_io.services;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 // Importações Spring Data para paginação
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 
 // Importações de domínio, exceções, mappers e repositórios
+import __SpringBoot2.__star_Spring_io.busca.FiltroBloomNomes;
+import __SpringBoot2.__star_Spring_io.busca.IndiceFuzzyNomes;
+import __SpringBoot2.__star_Spring_io.busca.IndiceSugestaoNomes;
+import __SpringBoot2.__star_Spring_io.busca.IndiceTrigramaNomes;
+import __SpringBoot2.__star_Spring_io.cache.CachePaginas;
+import __SpringBoot2.__star_Spring_io.cache.CachePaginas.ChavePagina;
+import __SpringBoot2.__star_Spring_io.cache.ContadorAnimes;
 import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
 import __SpringBoot2.__star_Spring_io.exception.BedRequestException;
+import __SpringBoot2.__star_Spring_io.exception.VersaoDesatualizadaException;
 import __SpringBoot2.__star_Spring_io.mapper.AnimeMapper;
 import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import __SpringBoot2.__star_Spring_io.requests.AnimeCursorResponse;
+import __SpringBoot2.__star_Spring_io.requests.AnimeLoteItemResponse;
+import __SpringBoot2.__star_Spring_io.requests.AnimeLoteResponse;
 import __SpringBoot2.__star_Spring_io.requests.AnimePostRequestBody;
 import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
 import __SpringBoot2.__star_Spring_io.seguranca.PageValid;
 import __SpringBoot2.__star_Spring_io.seguranca.PageableValidation;
 import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+import __SpringBoot2.__star_Spring_io.util.CursorAnime;
+import __SpringBoot2.__star_Spring_io.util.NormalizadorNome;
 // Lombok para injeção de dependências via construtor
 import lombok.RequiredArgsConstructor;
 
@@ -30,6 +63,16 @@ import lombok.RequiredArgsConstructor;
 @Service
 @RequiredArgsConstructor
 public class AnimeServices {
+    
+    // Máximo de nomes por chamada do autocomplete (/animes/suggest)
+    public static final int LIMITE_MAXIMO_SUGESTOES = 20;
+    
+    // Máximo de itens por POST /animes/batch (uma transação e uma resposta por lote)
+    public static final int LIMITE_LOTE = 1000;
+    
+    // Item null no lote: mesma mensagem do @NotEmpty de AnimePostRequestBody
+    private static final String MENSAGEM_NOME_VAZIO = "o nome de um anime nao pode ser vazio";
+    
 	@PersistenceContext
 	private EntityManager entityManager;
 
@@ -41,57 +84,321 @@ public class AnimeServices {
     // Mapper para conversão entre DTO e entidade
     private final AnimeMapper animeMapper;
     
+    // Avisa índices/caches em memória sobre cada escrita (AnimeAlteradoEvento)
+    private final ApplicationEventPublisher eventos;
+    
+    // Índice de trigramas para comtem=true (enquanto aquece, a busca vai ao banco)
+    private final IndiceTrigramaNomes indiceTrigrama;
+    
+    // Array ordenado de nomes para o autocomplete por prefixo
+    private final IndiceSugestaoNomes indiceSugestao;
+    
+    // Trigramas dobrados (sem acento/maiúscula) para a busca aproximada
+    private final IndiceFuzzyNomes indiceFuzzy;
+    
+    // Páginas já montadas de listAll/findByName (invalidado a cada escrita, quentes renovadas antes de vencer)
+    private final CachePaginas cachePaginas;
+    
+    // Filtro de Bloom dos nomes dobrados: busca exata por nome que com certeza não existe não vai ao banco
+    private final FiltroBloomNomes filtroBloom;
+    
+    // Total da tabela mantido em memória + totais dos filtros por nome guardados por pouco tempo (sem COUNT por página)
+    private final ContadorAnimes contadorAnimes;
+    
+    // ?contagem=PARALELA: COUNT em outra conexão ao mesmo tempo que o SELECT da página
+    private final ContagemParalela contagemParalela;
+    
+    // Bean Validation: POST /animes/batch valida cada item com as anotações de AnimePostRequestBody
+    private final Validator validator;
+    
     // ========== LISTA TODOS OS ANIMES (COM PAGINAÇÃO) ==========
+    // Leituras: @Transactional(readOnly = true) - uma transação só para COUNT + SELECT, flush MANUAL
+    // (sem dirty checking no fim) e conexão marcada read-only. Com o LazyConnectionDataSourceProxy
+    // (MedicaoConexoes) a conexão só sai do pool no primeiro SQL: resposta do cache/índice não pega conexão
+    @Transactional(readOnly = true)
     public Page<AnimeResponse> listAll(Pageable pageable) {
-        // Valida e sanitiza parâmetros de paginação
+        return listAll(pageable, ModoContagem.SEPARADA);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<AnimeResponse> listAll(Pageable pageable, ModoContagem contagem) {
+        // Valida e sanitiza parâmetros de paginação (a saída canônica é a chave do cache)
         Pageable pageableRequest = PageableValidation.validateAndSanitize(pageable);
         
-        // Busca todos os animes paginados e sanitiza o resultado
-        Page<Anime> pSani = PageValid.ValidaSanitizaPageAnime(
-            animeRepository.findAll(pageableRequest)
-        );
-        	
-        return pSani.map(animeMapper::toAnimeResponse);
+        return cachePaginas.obtem(ChavePagina.todos(pageableRequest), () -> {
+            // Busca todos os animes paginados em projeção
+            // PARALELA pedida explicitamente vale sempre (COUNT real, mesmo com o total mantido pronto);
+            // nos outros modos o total mantido pelo ContadorAnimes dispensa o COUNT (só o SELECT da página)
+            // e, enquanto ele não está pronto, o COUNT é separado ou por janela
+            OptionalLong total = contagem == ModoContagem.PARALELA ? OptionalLong.empty() : contadorAnimes.total();
+            Page<AnimeLeitura> pageDoBanco;
+            if (contagem == ModoContagem.PARALELA) {
+                pageDoBanco = contagemParalela.pagina(() -> animeRepository.findConteudoBy(pageableRequest),
+                    pageableRequest, animeRepository::count);
+            } else if (total.isPresent()) {
+                pageDoBanco = PageableExecutionUtils.getPage(animeRepository.findConteudoBy(pageableRequest),
+                    pageableRequest, total::getAsLong);
+            } else if (contagem == ModoContagem.JANELA) {
+                pageDoBanco = paginaComTotal(animeRepository.findAllComTotal(pageableRequest), pageableRequest,
+                    animeRepository::count);
+            } else {
+                pageDoBanco = animeRepository.findLeituraBy(pageableRequest);
+            }
+            
+            // Valida, sanitiza e converte em uma passada
+            return PageValid.ValidaSanitizaMapeiaPageLeitura(pageDoBanco, animeMapper::toAnimeResponse);
+        });
     }
     
     // ========== BUSCA ANIMES POR NOME ==========
+    @Transactional(readOnly = true)
     public Page<AnimeResponse> findByName(Pageable pageable, String name, boolean comtem) {
+        return findByName(pageable, name, comtem, ModoContagem.SEPARADA);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<AnimeResponse> findByName(Pageable pageable, String name, boolean comtem, ModoContagem contagem) {
         // Valida e sanitiza paginação
         Pageable pageableRequest = PageableValidation.validateAndSanitize(pageable);
         
-        // Sanitiza nome para evitar injeção/ataques
+        // Sanitiza e valida o nome
+        String nSani = nomeBuscaSanitizado(name);
+        
+        // Busca por contém ou exato, baseado no parâmetro 'comtem'
+        // Exato compara a chave dobrada (nome_busca): ignora maiúsculas/acentos e usa o índice
+        // Na chave do cache o exato também vai dobrado ("NARUTO" e "naruto" dividem a página)
+        String nDobrado = NormalizadorNome.dobra(nSani);
+        
+        // Exato por nome que o filtro de Bloom garante ausente: página vazia sem SELECT nem COUNT
+        if (!comtem && !filtroBloom.podeConter(nDobrado)) {
+            return Page.empty(pageableRequest);
+        }
+        
+        ChavePagina chave = ChavePagina.porNome(pageableRequest, comtem ? nSani : nDobrado, comtem);
+        
+        return cachePaginas.obtem(chave, () -> {
+            Page<AnimeLeitura> pageDoBanco;
+            if (comtem && indiceTrigrama.pronto()) {
+                // Contém via índice em memória (total exato: o modo de contagem não importa)
+                pageDoBanco = indiceTrigrama.buscaContendo(nSani, pageableRequest);
+            } else if (contagem == ModoContagem.JANELA) {
+                pageDoBanco = comtem
+                    ? paginaComTotal(animeRepository.findByNameContainingComTotal(nSani, pageableRequest),
+                        pageableRequest, () -> animeRepository.countByNameContaining(nSani))
+                    : paginaComTotal(animeRepository.findByNomeBuscaComTotal(nDobrado, pageableRequest),
+                        pageableRequest, () -> animeRepository.countByNomeBusca(nDobrado));
+            } else if (contagem == ModoContagem.PARALELA) {
+                // Contagem do filtro guardada (ContadorAnimes) também vale aqui: acerto não toca no pool
+                pageDoBanco = comtem
+                    ? contagemParalela.pagina(
+                        () -> animeRepository.findConteudoByNameContaining(nSani, pageableRequest), pageableRequest,
+                        () -> contadorAnimes.contaFiltro("contem:" + nSani,
+                            () -> animeRepository.countByNameContaining(nSani)))
+                    : contagemParalela.pagina(
+                        () -> animeRepository.findConteudoByNomeBusca(nDobrado, pageableRequest), pageableRequest,
+                        () -> contadorAnimes.contaFiltro("exato:" + nDobrado,
+                            () -> animeRepository.countByNomeBusca(nDobrado)));
+            } else {
+                // Conteúdo sem COUNT + total do filtro guardado por pouco tempo (páginas do mesmo nome dividem)
+                // getPage só pede o total quando a própria página não o revela (primeira página incompleta)
+                pageDoBanco = comtem
+                    // Busca nomes que CONTÊM o texto (LIKE %texto%)
+                    ? PageableExecutionUtils.getPage(
+                        animeRepository.findConteudoByNameContaining(nSani, pageableRequest), pageableRequest,
+                        () -> contadorAnimes.contaFiltro("contem:" + nSani,
+                            () -> animeRepository.countByNameContaining(nSani)))
+                    // Busca nome EXATO (equals na chave dobrada)
+                    : PageableExecutionUtils.getPage(
+                        animeRepository.findConteudoByNomeBusca(nDobrado, pageableRequest), pageableRequest,
+                        () -> contadorAnimes.contaFiltro("exato:" + nDobrado,
+                            () -> animeRepository.countByNomeBusca(nDobrado)));
+            }
+            
+            return PageValid.ValidaSanitizaMapeiaPageLeitura(pageDoBanco, animeMapper::toAnimeResponse);
+        });
+    }
+    
+    // ========== BUSCA POR PREFIXO (mode=prefix) ==========
+    // "nar", "NAR" e "nár" encontram "Naruto": LIKE 'nar%' na chave dobrada (range scan no índice)
+    @Transactional(readOnly = true)
+    public Page<AnimeResponse> findByNamePrefixo(Pageable pageable, String prefixo) {
+        Pageable pageableRequest = PageableValidation.validateAndSanitize(pageable);
+        String pDobrado = NormalizadorNome.dobra(nomeBuscaSanitizado(prefixo));
+        
+        return PageValid.ValidaSanitizaMapeiaPageLeitura(
+            animeRepository.findLeituraByNomeBuscaStartingWith(pDobrado, pageableRequest),
+            animeMapper::toAnimeResponse
+        );
+    }
+    
+    // ========== BUSCA APROXIMADA (mode=fuzzy) ==========
+    // Ordem = relevância (nota de similaridade); o sort do Pageable não se aplica
+    @Transactional(readOnly = true)
+    public Page<AnimeResponse> findByNameFuzzy(Pageable pageable, String name) {
+        // Índice aquecendo (ou desligado): melhor aproximação disponível é o "contém"
+        if (!indiceFuzzy.pronto()) {
+            return findByName(pageable, name, true);
+        }
+        
+        Pageable pageableRequest = PageableValidation.validateAndSanitize(pageable);
+        List<AnimeLeitura> ranqueados = indiceFuzzy.busca(nomeBuscaSanitizado(name));
+        
+        // Recorta a página dentro da lista ranqueada
+        int total = ranqueados.size();
+        int inicio = (int) Math.min(pageableRequest.getOffset(), total);
+        int fim = Math.min(inicio + pageableRequest.getPageSize(), total);
+        Page<AnimeLeitura> pagina = new PageImpl<>(ranqueados.subList(inicio, fim), pageableRequest, total);
+        
+        return PageValid.ValidaSanitizaMapeiaPageLeitura(pagina, animeMapper::toAnimeResponse);
+    }
+    
+    // ========== LISTA SEM TOTAL (withTotal=false) ==========
+    @Transactional(readOnly = true)
+    public Slice<AnimeResponse> listAllSemTotal(Pageable pageable) {
+        Pageable pageableRequest = PageableValidation.validateAndSanitize(pageable);
+        
+        return PageValid.ValidaSanitizaMapeiaSliceAnime(
+            animeRepository.findSliceBy(pageableRequest),
+            animeMapper::toAnimeResponse
+        );
+    }
+    
+    // ========== BUSCA POR NOME SEM TOTAL (withTotal=false) ==========
+    @Transactional(readOnly = true)
+    public Slice<AnimeResponse> findByNameSemTotal(Pageable pageable, String name, boolean comtem) {
+        Pageable pageableRequest = PageableValidation.validateAndSanitize(pageable);
+        String nSani = nomeBuscaSanitizado(name);
+        
+        Slice<AnimeLeitura> sliceDoBanco;
+        if (comtem && indiceTrigrama.pronto()) {
+            Page<AnimeLeitura> pagina = indiceTrigrama.buscaContendo(nSani, pageableRequest);
+            sliceDoBanco = new SliceImpl<>(pagina.getContent(), pageableRequest, pagina.hasNext());
+        } else if (comtem) {
+            sliceDoBanco = animeRepository.findSliceByNameContaining(nSani, pageableRequest);
+        } else {
+            String nDobrado = NormalizadorNome.dobra(nSani);
+            sliceDoBanco = filtroBloom.podeConter(nDobrado)
+                ? animeRepository.findSliceByNomeBusca(nDobrado, pageableRequest)
+                : new SliceImpl<>(List.of(), pageableRequest, false);
+        }
+        
+        return PageValid.ValidaSanitizaMapeiaSliceAnime(sliceDoBanco, animeMapper::toAnimeResponse);
+    }
+    
+    // ========== AUTOCOMPLETE POR PREFIXO ==========
+    @Transactional(readOnly = true)
+    public List<String> sugere(String prefixo, int limite) {
+        // Limite ajustado para 1..LIMITE_MAXIMO_SUGESTOES (mesma política do tamanho de página)
+        int limiteSeguro = Math.max(1, Math.min(limite, LIMITE_MAXIMO_SUGESTOES));
+        String pSani = nomeBuscaSanitizado(prefixo);
+        
+        if (indiceSugestao.pronto()) {
+            return indiceSugestao.sugere(pSani, limiteSeguro);
+        }
+        
+        // Índice aquecendo (ou desligado): LIKE 'prefixo%' na chave dobrada, nomes sanitizados na saída
+        return animeRepository.findNomesComPrefixo(NormalizadorNome.dobra(pSani), PageRequest.of(0, limiteSeguro)).stream()
+            .map(Sanatizador::saniString)
+            .toList();
+    }
+    
+    // Sanitiza nome para evitar injeção/ataques e valida o resultado
+    private String nomeBuscaSanitizado(String name) {
         String nSani = Sanatizador.saniString(name);
         
         // Valida nome sanitizado
         if (nSani == null) {
             throw new BedRequestException("nome invalido");
         }
+        return nSani;
+    }
+    
+    // Monta a página a partir das linhas [id, name, sanitizadorVersao, total] da consulta com COUNT(*) OVER ()
+    // Página além do fim volta sem linhas (logo sem total): só então faz a contagem avulsa
+    private static Page<AnimeLeitura> paginaComTotal(List<Object[]> linhas, Pageable pageable, LongSupplier contagemAvulsa) {
+        if (linhas.isEmpty()) {
+            long total = pageable.getOffset() == 0 ? 0 : contagemAvulsa.getAsLong();
+            return new PageImpl<>(List.of(), pageable, total);
+        }
         
-        Page<Anime> pSani;
+        AnimeLeitura[] conteudo = new AnimeLeitura[linhas.size()];
+        for (int i = 0; i < conteudo.length; i++) {
+            Object[] linha = linhas.get(i);
+            conteudo[i] = new AnimeLeitura((Long) linha[0], (String) linha[1], (Integer) linha[2]);
+        }
+        long total = ((Number) linhas.get(0)[3]).longValue();
+        return new PageImpl<>(Arrays.asList(conteudo), pageable, total);
+    }
+    
+    // ========== LISTA TODOS OS ANIMES (PAGINAÇÃO POR CURSOR) ==========
+    @Transactional(readOnly = true)
+    public AnimeCursorResponse listAllCursor(Pageable pageable, String cursor) {
+        return buscaPorCursor(pageable, null, false, cursor);
+    }
+    
+    // ========== BUSCA ANIMES POR NOME (PAGINAÇÃO POR CURSOR) ==========
+    @Transactional(readOnly = true)
+    public AnimeCursorResponse findByNameCursor(Pageable pageable, String name, boolean comtem, String cursor) {
+        return buscaPorCursor(pageable, nomeBuscaSanitizado(name), comtem, cursor);
+    }
+    
+    // Fluxo comum da paginação por cursor (keyset)
+    // cursor vazio = primeira página na ordem do Pageable; senão a ordem vem do próprio token
+    private AnimeCursorResponse buscaPorCursor(Pageable pageable, String nome, boolean comtem, String cursor) {
+        // Valida e sanitiza paginação (tamanho e campos de ordenação permitidos)
+        Pageable pageableRequest = PageableValidation.validateAndSanitize(pageable);
+        int tamanho = pageableRequest.getPageSize();
         
-        // Busca por contém ou exato, baseado no parâmetro 'comtem'
-        if (comtem) {
-            // Busca nomes que CONTÊM o texto (LIKE %texto%)
-            pSani = PageValid.ValidaSanitizaPageAnime(
-                animeRepository.findByNameContaining(nSani, pageableRequest)
-            );
-            return pSani.map(animeMapper::toAnimeResponse);
+        CursorAnime cursorAtual = null;
+        Sort.Order ordem;
+        if (cursor == null || cursor.isBlank()) {
+            // Só o primeiro critério define a chave do cursor (id é sempre o desempate)
+            ordem = pageableRequest.getSort().iterator().next();
+        } else {
+            cursorAtual = CursorAnime.decodifica(cursor);
+            ordem = new Sort.Order(cursorAtual.getDirecao(), cursorAtual.getCampo());
         }
         
-        // Busca nome EXATO (equals)
-        pSani = PageValid.ValidaSanitizaPageAnime(
-            animeRepository.findByName(nSani, pageableRequest)
-        );
-        return pSani.map(animeMapper::toAnimeResponse);
+        // Busca uma linha a mais só para saber se existe próxima página
+        List<Anime> animes = animeRepository.buscaPorCursor(nome, comtem, ordem, cursorAtual, tamanho + 1);
+        boolean temProxima = animes.size() > tamanho;
+        if (temProxima) {
+            animes = animes.subList(0, tamanho);
+        }
+        
+        List<AnimeResponse> conteudo = animes.stream().map(animeMapper::toAnimeResponse).toList();
+        
+        // Próximo cursor = chave da última linha entregue
+        String proximoCursor = null;
+        if (temProxima) {
+            Anime ultimo = animes.get(animes.size() - 1);
+            proximoCursor = new CursorAnime(
+                ordem.getProperty(),
+                ordem.getDirection(),
+                ultimo.getId(),
+                "name".equals(ordem.getProperty()) ? ultimo.getName() : null
+            ).codifica();
+        }
+        
+        return AnimeCursorResponse.builder()
+            .content(conteudo)
+            .size(tamanho)
+            .nextCursor(proximoCursor)
+            .hasNext(temProxima)
+            .build();
     }
     
     // ========== SALVA NOVO ANIME ==========
+    // @Transactional: INSERT e evento na mesma transação (como saveLote) - os ouvintes recebem o evento
+    // depois do commit e o ContadorAnimes marca a escrita "em commit" (reconciliação no meio não conta
+    // a linha nova duas vezes)
+    @Transactional
     public AnimeResponse save(AnimePostRequestBody animePostRequestBody) {
         // Cria novo DTO para dados sanitizados
         AnimePostRequestBody dtoSanatizado = new AnimePostRequestBody();
         
-        // Sanitiza nome do anime (remove HTML/scripts maliciosos)
-        String nameSani = Sanatizador.saniString(animePostRequestBody.getName());
+        // Sanitiza nome do anime (remove HTML/scripts maliciosos) até ficar estável: vai gravado com o marcador
+        String nameSani = Sanatizador.saniNomeGravado(animePostRequestBody.getName());
         
         // Valida nome após sanitização
         if (nameSani != null && nameSani.trim().isEmpty()) {
@@ -106,52 +413,195 @@ public class AnimeServices {
         // Converte DTO para entidade Anime
         Anime animeInp = animeMapper.toAnime(dtoSanatizado);
         
+        // Marca a versão da sanitização: leituras futuras não limpam de novo
+        animeInp.setSanitizadorVersao(Sanatizador.VERSAO);
+        
         // Salva no banco de dados
         Anime animeSalvo = animeRepository.save(animeInp);
+        eventos.publishEvent(AnimeAlteradoEvento.criado(leitura(animeSalvo)));
         
         // Sanitiza anime retornado do banco (segurança extra)
         return animeMapper.toAnimeResponse(animeSalvo);
     }
     
- // ========== DELETA UM ANIME POR ID ==========
+    // ========== SALVA VÁRIOS ANIMES (LOTE) ==========
+    // Itens inválidos são rejeitados um a um (o resto do lote é gravado)
+    // INSERTs em lote JDBC: ids vêm da sequência pooled (sem IDENTITY) + hibernate.jdbc.batch_size
+    @Transactional
+    public AnimeLoteResponse saveLote(List<AnimePostRequestBody> lote) {
+        if (lote == null || lote.isEmpty()) {
+            throw new BedRequestException("lote vazio");
+        }
+        if (lote.size() > LIMITE_LOTE) {
+            throw new BedRequestException("lote com mais de " + LIMITE_LOTE + " itens");
+        }
+        
+        AnimeLoteItemResponse[] itens = new AnimeLoteItemResponse[lote.size()];
+        List<Anime> novos = new ArrayList<>(lote.size());
+        List<Integer> posicoes = new ArrayList<>(lote.size());
+        
+        // 1. Valida e sanitiza: nome repetido no lote passa uma vez só pelo Sanatizador
+        Map<String, String> sanitizados = new HashMap<>();
+        for (int i = 0; i < itens.length; i++) {
+            AnimePostRequestBody item = lote.get(i);
+            // Mesmas anotações do POST /animes (@NotEmpty, @Size) e mesmas mensagens
+            String erro = item == null ? MENSAGEM_NOME_VAZIO : violacoes(item);
+            String nameSani = null;
+            if (erro == null) {
+                nameSani = sanitizados.computeIfAbsent(item.getName(), Sanatizador::saniNomeGravado);
+                // Só tags (ex.: "<b></b>"): o Sanatizador devolve o aviso TEXTO_INPROPRIO no lugar do nome
+                if (nameSani == null || nameSani.trim().isEmpty() || Sanatizador.TEXTO_INPROPRIO.equals(nameSani)) {
+                    erro = "Digite um nome válido (apenas tags HTML não são permitidas)";
+                }
+            }
+            
+            if (erro != null) {
+                itens[i] = AnimeLoteItemResponse.builder().indice(i).criado(false).erro(erro).build();
+            } else {
+                novos.add(Anime.builder().name(nameSani).sanitizadorVersao(Sanatizador.VERSAO).build());
+                posicoes.add(i);
+            }
+        }
+        
+        // 2. Grava todos de uma vez: o flush manda os INSERTs em lotes de batch_size
+        animeRepository.saveAll(novos);
+        animeRepository.flush();
+        
+        // 3. Resultado por item (mesma ordem da requisição) + eventos para os índices em memória
+        for (int n = 0; n < novos.size(); n++) {
+            Anime salvo = novos.get(n);
+            int indice = posicoes.get(n);
+            itens[indice] = AnimeLoteItemResponse.builder()
+                .indice(indice)
+                .criado(true)
+                .id(salvo.getId())
+                .name(salvo.getName())
+                .build();
+            eventos.publishEvent(AnimeAlteradoEvento.criado(leitura(salvo)));
+        }
+        
+        return AnimeLoteResponse.builder()
+            .criados(novos.size())
+            .rejeitados(itens.length - novos.size())
+            .itens(Arrays.asList(itens))
+            .build();
+    }
+    
+    // Violações do item pelo Validator do Bean Validation (null = válido), em ordem estável
+    private String violacoes(AnimePostRequestBody item) {
+        Set<ConstraintViolation<AnimePostRequestBody>> violacoes = validator.validate(item);
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+        return violacoes.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+    
+    // ========== DELETA UM ANIME POR ID ==========
+    // Leitura da linha pela chave primária (projeção, travada) + DELETE direto, sem entidade carregada
+    @Transactional
     public AnimeResponse deleteById (long id){
     	
-    	// Busca anime pelo ID no banco de dados
-    	Optional<Anime> caixa = animeRepository.findById(id);
+    	// Nome da resposta vem do banco (MySQL não tem DELETE ... RETURNING); id inexistente → 400
+    	AnimeResponse resposta = animeRepository.findLeituraParaRemover(id)
+    		.map(animeMapper::toAnimeResponse)
+    		.orElseThrow(() -> new BedRequestException("id nao emcomtrado"));
     	
-    	// Extrai anime do Optional ou lança exceção se não encontrado
-    	Anime anime = caixa.orElseThrow(() -> new BedRequestException("id nao emcomtrado"));
-    	
-    	// Remove anime do banco de dados
-    	animeRepository.delete(anime);
+    	// Remove direto no banco (0 linhas: removido por outra requisição depois da leitura)
+    	if (animeRepository.removePorId(id) == 0) {
+    		throw new BedRequestException("id nao emcomtrado");
+    	}
+    	eventos.publishEvent(AnimeAlteradoEvento.removido(id));
     	    	
-    	// Converte entidade para DTO de resposta e retorna
-    	return animeMapper.toAnimeResponse(anime);
+    	return resposta;
     }
     
     // ========== ATUALIZA NOME DE UM ANIME ==========
+    // Sem If-Match: último a escrever vence (chamada interna não passa pelo proxy - daí o @Transactional aqui também)
+    @Transactional
+    public AnimeResponse updateByName(Long id, String newName) {
+        return updateByName(id, newName, null);
+    }
+    
     @Transactional /*Cria um proxy em volta do método para abrir e controlar uma transação.
-    Dentro dessa transação, existe um EntityManager (contexto de persistência) gerenciado pelo Hibernate/JPA,
-    que rastreia e sincroniza as entidades com o banco ao final.
+    O UPDATE do repositório precisa dela, e o evento publicado só chega aos ouvintes depois do commit.
     O uso de @Transactional garante que todas as operações no método sejam atômicas.*/
-    public AnimeResponse updateByName(Long id, String newName) {
-    	
-    	// Busca anime pelo ID ou lança exceção se não encontrado
-    	Anime anime = animeRepository.findById(id).orElseThrow(() -> new BedRequestException("id nao encomtrado"));
+    public AnimeResponse updateByName(Long id, String newName, Long versaoLida) {
     	
-    	// Sanitiza novo nome para evitar injeção/ataques
-    	String nameSani = Sanatizador.saniString(newName);
+    	// Sanitiza novo nome para evitar injeção/ataques (estável: vai gravado com o marcador)
+    	String nameSani = Sanatizador.saniNomeGravado(newName);
     	
     	// Valida nome após sanitização
     	if (nameSani == null || nameSani.trim().isEmpty()) {
     		throw new BedRequestException("nome invalido");
 		}
     	
-    	// Atualiza nome do anime (alteração automática no banco devido ao @Transactional)
-    	anime.setName(nameSani);
+    	// Um único UPDATE (sem carregar a entidade); linhas afetadas = 0 → id não existe
+    	// Com versaoLida (If-Match) o WHERE também exige a versão: outra escrita no meio não é sobrescrita
+    	String nomeBusca = NormalizadorNome.dobra(nameSani);
+    	int alteradas = versaoLida == null
+    		? animeRepository.atualizaNome(id, nameSani, nomeBusca, Sanatizador.VERSAO)
+    		: animeRepository.atualizaNomeNaVersao(id, nameSani, nomeBusca, Sanatizador.VERSAO, versaoLida);
+    	if (alteradas == 0) {
+    		// Só no caminho de falha: separa "não existe" (400) de "versão mudou" (412)
+    		if (versaoLida != null && animeRepository.existsById(id)) {
+    			throw new VersaoDesatualizadaException("anime " + id + " foi alterado depois da versao " + versaoLida);
+    		}
+    		throw new BedRequestException("id nao encomtrado");
+    	}
+    	
+    	// Estado gravado = o que acabou de ir no SET (nada a reler do banco)
+    	AnimeLeitura gravado = new AnimeLeitura(id, nameSani, Sanatizador.VERSAO);
+    	
+    	// Ouvintes recebem o evento só depois do commit desta transação
+    	eventos.publishEvent(AnimeAlteradoEvento.atualizado(gravado));
     	
-    	// Converte entidade atualizada para DTO de resposta e retorna
-    	return animeMapper.toAnimeResponse(anime);
+    	// Converte o estado gravado para DTO de resposta e retorna
+    	// Versão nova só é conhecida quando o cliente mandou a lida (sem SELECT extra para descobrir)
+    	AnimeResponse resposta = animeMapper.toAnimeResponse(gravado);
+    	resposta.setVersao(versaoLida == null ? null : versaoLida + 1);
+    	return resposta;
+    }
+    
+    // ========== BUSCA UM ANIME POR ID ==========
+    @Transactional(readOnly = true)
+    public AnimeResponse findById(long id) {
+        return animeRepository.findById(id)
+            .map(animeMapper::toAnimeResponse)
+            .orElseThrow(() -> new BedRequestException("id nao encomtrado"));
+    }
+    
+    // Versão atual da linha (ETag do recurso) - vazio se o id não existe
+    @Transactional(readOnly = true)
+    public Optional<Long> versaoAtual(long id) {
+        return animeRepository.findVersaoById(id);
+    }
+    
+    // Acertos/falhas do cache de páginas (GET /animes/cache)
+    public CachePaginas.Estatisticas estatisticasCachePaginas() {
+        return cachePaginas.estatisticas();
+    }
+    
+    // Total mantido, reconciliações e acertos das contagens de filtro (GET /animes/cache/contagem)
+    public ContadorAnimes.Estatisticas estatisticasContagem() {
+        return contadorAnimes.estatisticas();
+    }
+    
+    // Uso da contagem paralela (?contagem=PARALELA)
+    public ContagemParalela.Estatisticas estatisticasContagemParalela() {
+        return contagemParalela.estatisticas();
+    }
+    
+    // Tamanho, memória e consultas evitadas do filtro de Bloom (GET /animes/cache/bloom)
+    public FiltroBloomNomes.Estatisticas estatisticasFiltroBloom() {
+        return filtroBloom.estatisticas();
+    }
+    
+    // Estado gravado no formato dos índices em memória
+    private static AnimeLeitura leitura(Anime anime) {
+        return new AnimeLeitura(anime.getId(), anime.getName(), anime.getSanitizadorVersao());
     }
     
 }
@@ -169,23 +619,65 @@ public class AnimeServices {
 
 // 1. LISTAR TODOS:
 //    URL: GET /animes?page=0&size=5
-//    → valida paginação → busca no BD → sanitiza → retorna
+//    → valida paginação → busca no BD (projeção AnimeLeitura, sem entidades gerenciadas)
+//    → sanitiza e converte (uma passada) → retorna
+//    Total da tabela = ContadorAnimes (contador em memória reconciliado com COUNT periódico), sem COUNT por página
+//    Páginas guardadas no CachePaginas (chave = Pageable validado + nome + comtem);
+//    toda escrita (evento depois do commit) invalida, e as chaves quentes são recalculadas antes de vencer
 
 // 2. BUSCAR POR NOME:
 //    URL: GET /animes/search?name=naru&comtem=true
 //    → sanitiza nome → busca (contém ou exato) → sanitiza → retorna
+//    comtem=true usa o IndiceTrigramaNomes quando pronto (sem LIKE '%texto%' no banco)
+//    comtem=false compara a chave dobrada nome_busca ("NARUTO" = "Naruto", "pokemon" = "Pokémon")
+//    Total do filtro: COUNT guardado por alguns segundos no ContadorAnimes (descartado a cada escrita)
+//    comtem=false com nome ausente do FiltroBloomNomes → página vazia sem consultar (nem cache)
+//    ?mode=prefix → LIKE 'texto%' na chave dobrada (range scan em idx_anime_nome_busca)
+
+// 2.0 MODOS DE CONTAGEM (listAll e findByName):
+//    ?contagem=JANELA    → página + total em um SELECT (COUNT(*) OVER ())
+//                          (listAll com o ContadorAnimes pronto não conta nada: vale o total mantido)
+//    ?contagem=PARALELA  → SELECT da página na conexão da requisição + COUNT em outra, ao mesmo tempo
+//                          (ContagemParalela; executor cheio/pool sem folga → sequencial; COUNT além
+//                          do timeout → sequencial só com o pool sem folga, senão 503 sem repetir o COUNT)
+//                          listAll conta mesmo com o ContadorAnimes pronto: o modo pedido vale
+//    ?withTotal=false    → Slice com hasNext, sem nenhuma contagem
+
+// 2.1 PAGINAÇÃO POR CURSOR (listAll e findByName):
+//    URL: GET /animes?cursor=&size=10&sort=name,desc → depois ?cursor=<nextCursor>
+//    → valida paginação → decodifica cursor → busca seek (sem OFFSET e sem COUNT) → retorna nextCursor
+
+// 2.1.1 BUSCA APROXIMADA:
+//    URL: GET /animes/findByName?name=naurto&mode=fuzzy
+//    → sanitiza nome → IndiceFuzzyNomes (nota por trigramas, dentro do orçamento de tempo) → página ranqueada
+
+// 2.2 AUTOCOMPLETE:
+//    URL: GET /animes/suggest?prefix=nar&limit=10
+//    → sanitiza prefixo → IndiceSugestaoNomes (ou LIKE 'prefixo%' enquanto aquece) → nomes em ordem
 
 // 3. CRIAR NOVO:
 //    URL: POST /animes (JSON: {"name": "Naruto"})
 //    → sanitiza nome → converte DTO → salva → sanitiza resposta
 
+// 3.1 CRIAR EM LOTE:
+//    URL: POST /animes/batch (JSON: [{"name": "Naruto"}, {"name": "Bleach"}])
+//    → valida/sanitiza item a item → saveAll + flush (INSERTs em lote JDBC) → resultado por item
+
 // 4. DELETAR:
 // 	  URL: DELETE /animes/{id}
-// 	  → busca por ID → verifica existência → remove → retorna DTO
+// 	  → SELECT id, name por id (FOR UPDATE) + DELETE ... WHERE id → retorna DTO com o nome removido
 
 // 5. ATUALIZAR:
 // 	  URL: PUT /animes/{id}?newName=NovoNome
-// 	  → busca por ID → sanitiza novo nome → atualiza → retorna DTO
+// 	  → sanitiza novo nome → UPDATE ... WHERE id (um comando) → 0 linhas = id inexistente → retorna DTO
+// 	  If-Match: "a-<id>-<versao>" → UPDATE ... WHERE id AND versao → versão mudou = 412
+
+// 6. BUSCAR POR ID:
+// 	  URL: GET /animes/{id} → entidade → DTO com versão (ETag); If-None-Match usa só versaoAtual (sem carregar)
+
+// 7. LEITURAS EM GERAL:
+// 	  @Transactional(readOnly = true) + open-in-view desligado → a conexão fica com a requisição só
+// 	  durante os SQLs do service (medição: cabeçalho Server-Timing e GET /animes/conexoes)
 
 
 // SEGURANÇA IMPLEMENTADA:
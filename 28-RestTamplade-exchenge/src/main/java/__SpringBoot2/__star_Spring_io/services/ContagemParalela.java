@@ -0,0 +1,283 @@
+// Pacote para classes de serviço (camada de negócio)
+package __SpringBoot2.__star_Spring_io.services;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import __SpringBoot2.__star_Spring_io.exception.ContagemIndisponivelException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * CLASSE ContagemParalela
+ *
+ * Propósito: No Page do Spring Data o SELECT da página e o SELECT COUNT(*) rodam um depois do
+ * outro na mesma conexão - a latência da página é a SOMA dos dois. Com ?contagem=PARALELA o COUNT
+ * sai antes, numa thread deste executor (transação somente-leitura própria = outra conexão do pool),
+ * enquanto a thread da requisição busca o conteúdo: a latência passa a ser o MAIOR dos dois.
+ *
+ * Página montada por PageableExecutionUtils.getPage: o total só é esperado quando a própria página
+ * não o revela (primeira página incompleta dispensa o COUNT). COUNT e conteúdo são transações
+ * diferentes: escrita confirmada entre os dois pode mudar o total em 1 - o PageImpl acerta o total
+ * pela própria página quando ela passa do fim (mesma tolerância do ContadorAnimes).
+ *
+ * Volta ao caminho sequencial (COUNT depois do conteúdo, na conexão da requisição):
+ * - desligado (contagem.paralela.habilitado=false)
+ * - executor cheio: max-simultaneas COUNTs em andamento (sem fila - fila só somaria espera)
+ * - pool sem folga: menos de conexoes-livres-minimas conexões ociosas/criáveis no Hikari
+ *   (a conexão extra viria da fila do pool, disputada com outras requisições)
+ *
+ * COUNT paralelo sem resposta em timeout-ms (a transação dele tem o mesmo tempo limite: o driver cancela):
+ * - pool sem folga: o COUNT provavelmente nem conseguiu conexão → conta na conexão da requisição
+ * - pool com folga: o COUNT em si é lento - repetir só dobraria a espera e a carga no banco
+ *   → ContagemIndisponivelException (503, total desconhecido; ?withTotal=false não conta)
+ *
+ * Conexão do COUNT paralelo entra no total geral do MedicaoConexoes, não no Server-Timing da requisição.
+ */
+@Component
+@Log4j2
+public class ContagemParalela {
+
+    // Liga/desligado (desligado = PARALELA se comporta como SEPARADA)
+    private final boolean habilitado;
+
+    private final long timeoutMs;
+
+    private final int conexoesLivresMinimas;
+
+    // Executor sem fila: só aceita se há thread livre (null = desligado)
+    private final ThreadPoolExecutor executor;
+
+    // Transação somente-leitura do COUNT na thread do executor (null = sem transação, testes)
+    private final TransactionTemplate transacao;
+
+    // Conexões ociosas + ainda criáveis no pool (-1 = desconhecido, não bloqueia)
+    private final IntSupplier conexoesLivres;
+
+    // Contadores de uso
+    private final LongAdder paralelas = new LongAdder();
+    private final LongAdder sequenciais = new LongAdder();
+    private final LongAdder expiradas = new LongAdder();
+    private final LongAdder dispensadas = new LongAdder();
+
+    @Autowired
+    public ContagemParalela(
+            PlatformTransactionManager transactionManager,
+            DataSource dataSource,
+            @Value("${contagem.paralela.habilitado:true}") boolean habilitado,
+            @Value("${contagem.paralela.max-simultaneas:8}") int maxSimultaneas,
+            @Value("${contagem.paralela.timeout-ms:2000}") long timeoutMs,
+            @Value("${contagem.paralela.conexoes-livres-minimas:2}") int conexoesLivresMinimas) {
+        // Desligado: nem transação nem consulta ao pool (nada roda no executor)
+        this(habilitado, maxSimultaneas, timeoutMs, conexoesLivresMinimas,
+            habilitado ? transacaoSomenteLeitura(transactionManager, timeoutMs) : null,
+            habilitado ? conexoesLivres(dataSource) : () -> -1);
+    }
+
+    ContagemParalela(boolean habilitado, int maxSimultaneas, long timeoutMs, int conexoesLivresMinimas,
+            TransactionTemplate transacao, IntSupplier conexoesLivres) {
+        if (maxSimultaneas <= 0 || timeoutMs <= 0 || conexoesLivresMinimas < 0) {
+            throw new IllegalArgumentException("configuracao invalida da contagem paralela: max-simultaneas="
+                + maxSimultaneas + ", timeout-ms=" + timeoutMs + ", conexoes-livres-minimas=" + conexoesLivresMinimas);
+        }
+        this.habilitado = habilitado;
+        this.timeoutMs = timeoutMs;
+        this.conexoesLivresMinimas = conexoesLivresMinimas;
+        this.transacao = transacao;
+        this.conexoesLivres = conexoesLivres;
+        this.executor = habilitado ? executor(maxSimultaneas) : null;
+    }
+
+    @PreDestroy
+    public void encerra() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Página com o COUNT rodando ao mesmo tempo que o conteúdo
+     *
+     * @param conteudo - SELECT da página (roda na thread e na transação de quem chama)
+     * @param pageable - Página pedida (já validada)
+     * @param contagem - COUNT do filtro (roda no executor, em transação própria)
+     */
+    public <T> Page<T> pagina(Supplier<List<T>> conteudo, Pageable pageable, LongSupplier contagem) {
+        Future<Long> futuro = submete(contagem);
+        List<T> linhas;
+        try {
+            linhas = conteudo.get();
+        } catch (RuntimeException e) {
+            if (futuro != null) {
+                futuro.cancel(false);
+            }
+            throw e;
+        }
+        if (futuro == null) {
+            sequenciais.increment();
+            return PageableExecutionUtils.getPage(linhas, pageable, contagem);
+        }
+
+        boolean[] usado = { false };
+        Page<T> pagina = PageableExecutionUtils.getPage(linhas, pageable, () -> {
+            usado[0] = true;
+            return aguarda(futuro, contagem);
+        });
+        if (!usado[0]) {
+            // A página revelou o total: o COUNT não é esperado (se ainda não começou, nem roda)
+            futuro.cancel(false);
+            dispensadas.increment();
+        }
+        return pagina;
+    }
+
+    // COUNT no executor; null = sem thread livre ou pool sem folga (caminho sequencial)
+    private Future<Long> submete(LongSupplier contagem) {
+        if (executor == null || poolSemFolga()) {
+            return null;
+        }
+        try {
+            return executor.submit(() -> transacao == null
+                ? contagem.getAsLong()
+                : transacao.execute(status -> contagem.getAsLong()));
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    // Menos conexões ociosas/criáveis que o mínimo (desconhecido = tem folga)
+    private boolean poolSemFolga() {
+        int livres = conexoesLivres.getAsInt();
+        return livres >= 0 && livres < conexoesLivresMinimas;
+    }
+
+    // Espera o COUNT até timeout-ms; falhou = conta de novo na conexão da requisição
+    // Expirado: conta de novo só se o pool está sem folga (COUNT esperando conexão), senão 503
+    private long aguarda(Future<Long> futuro, LongSupplier contagem) {
+        try {
+            long total = futuro.get(timeoutMs, TimeUnit.MILLISECONDS);
+            paralelas.increment();
+            return total;
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            expiradas.increment();
+            if (!poolSemFolga()) {
+                throw new ContagemIndisponivelException("total nao contado em " + timeoutMs + " ms");
+            }
+            log.debug("COUNT paralelo sem resposta em {} ms e pool sem folga: contagem sequencial", timeoutMs);
+        } catch (ExecutionException e) {
+            // Erro do banco: a contagem sequencial repete e propaga pelo caminho normal
+            sequenciais.increment();
+            log.debug("COUNT paralelo falhou: contagem sequencial", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuro.cancel(true);
+            sequenciais.increment();
+        }
+        return contagem.getAsLong();
+    }
+
+    private static ThreadPoolExecutor executor(int maxSimultaneas) {
+        AtomicInteger numero = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxSimultaneas, maxSimultaneas, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), tarefa -> {
+                Thread thread = new Thread(tarefa, "contagem-paralela-" + numero.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        // Ociosas saem depois de 60 s (sem carga, nenhuma thread parada)
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // Somente-leitura e com tempo limite (aplicado como query timeout no COUNT)
+    private static TransactionTemplate transacaoSomenteLeitura(PlatformTransactionManager transactionManager,
+            long timeoutMs) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transacao.setTimeout((int) Math.max(1, (timeoutMs + 999) / 1000));
+        return transacao;
+    }
+
+    // Folga do Hikari (atravessa LazyConnectionDataSourceProxy/DataSourceMedido pelo unwrap)
+    private static IntSupplier conexoesLivres(DataSource dataSource) {
+        HikariDataSource hikari;
+        try {
+            hikari = dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            hikari = null;
+        }
+        if (hikari == null) {
+            // Outro pool (ou banco embutido dos testes): decide só pelo executor
+            return () -> -1;
+        }
+        HikariDataSource pool = hikari;
+        return () -> {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            // Pool ainda não iniciado (nenhuma conexão pedida)
+            return mxBean == null ? -1
+                : mxBean.getIdleConnections() + pool.getMaximumPoolSize() - mxBean.getTotalConnections();
+        };
+    }
+
+    // Fotografia dos contadores no momento da chamada
+    public Estatisticas estatisticas() {
+        return new Estatisticas(habilitado, executor == null ? 0 : executor.getActiveCount(), paralelas.sum(),
+            sequenciais.sum(), expiradas.sum(), dispensadas.sum());
+    }
+
+    /**
+     * Uso da contagem paralela desde a subida (imutável)
+     */
+    @lombok.Value
+    public static class Estatisticas {
+        boolean habilitado;
+        int emAndamento;
+        // COUNT paralelo esperado e usado no total
+        long paralelas;
+        // Executor cheio, pool sem folga ou falha do COUNT paralelo: caminho sequencial
+        long sequenciais;
+        // COUNT paralelo sem resposta em timeout-ms (pool sem folga: contou sequencial; senão 503)
+        long expiradas;
+        // Página revelou o total: COUNT paralelo descartado
+        long dispensadas;
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// contagem.paralela.habilitado=true              → false: ?contagem=PARALELA vira SEPARADA
+// contagem.paralela.max-simultaneas=8            → COUNTs paralelos ao mesmo tempo (threads do executor)
+// contagem.paralela.timeout-ms=2000              → espera máxima pelo COUNT paralelo (depois: 503 ou sequencial)
+// contagem.paralela.conexoes-livres-minimas=2    → folga mínima do pool para contar em paralelo
+
+// QUEM USA:
+// - AnimeServices.listAll / findByName com ModoContagem.PARALELA
+// - GET /animes/contagem/paralela → estatisticas()
@@ -0,0 +1,104 @@
+// Pacote para classes de serviço (camada de negócio)
+package __SpringBoot2.__star_Spring_io.services;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.mapper.AnimeMapper;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+
+/**
+ * CLASSE ExportacaoAnimes
+ *
+ * Propósito: Exportar o catálogo inteiro em NDJSON (GET /animes/export) em UMA requisição,
+ * sem paginar de 50 em 50 (PageableValidation) e sem COUNT(*) a cada página.
+ *
+ * Memória constante qualquer que seja o tamanho da tabela:
+ * - Stream do repositório sobre o ResultSet aberto (fetch size = blocos do driver)
+ * - Projeção AnimeLeitura: nada fica no contexto de persistência (nada para limpar)
+ * - Cada linha é convertida, escrita e descartada: nenhuma lista com o catálogo
+ *
+ * Formato NDJSON: um objeto JSON por linha, mesmo formato do AnimeResponse das listagens
+ *   {"name":"naruto","id":1}
+ *   {"name":"bleach","id":2}
+ */
+@Service
+public class ExportacaoAnimes {
+
+    // Buffer entre o Jackson e a resposta (evita uma escrita no socket por linha)
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private static final int FIM_DE_LINHA = '\n';
+
+    private final AnimeRepository animeRepository;
+
+    private final AnimeMapper animeMapper;
+
+    // Escritor reaproveitado (thread-safe) só para AnimeResponse
+    private final ObjectWriter escritor;
+
+    // Tempo máximo da resposta de GET /animes/export (o catálogo inteiro passa dos 30 s do padrão)
+    private final long tempoLimiteMs;
+
+    public ExportacaoAnimes(AnimeRepository animeRepository, AnimeMapper animeMapper, ObjectMapper objectMapper,
+            @Value("${exportacao.tempo-limite-ms:1800000}") long tempoLimiteMs) {
+        this.animeRepository = animeRepository;
+        this.animeMapper = animeMapper;
+        this.escritor = objectMapper.writerFor(AnimeResponse.class);
+        this.tempoLimiteMs = tempoLimiteMs;
+    }
+
+    public long tempoLimiteMs() {
+        return tempoLimiteMs;
+    }
+
+    /**
+     * Escreve todos os animes (ordem de id) em NDJSON
+     *
+     * readOnly: Hibernate não faz flush nem guarda snapshot; o driver recebe a transação como somente leitura
+     * A transação (e a conexão) ficam abertas até a última linha ser escrita
+     *
+     * @param saida - Corpo da resposta (não é fechado aqui)
+     * @return Quantidade de linhas exportadas
+     */
+    @Transactional(readOnly = true)
+    public long exportaNdjson(OutputStream saida) throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(saida, TAMANHO_BUFFER);
+        long linhas = 0;
+
+        // try-with-resources: fecha o Stream → fecha o ResultSet (mesmo se o cliente desconectar)
+        try (Stream<AnimeLeitura> animes = animeRepository.streamLeituraOrdenadaPorId()) {
+            Iterator<AnimeLeitura> iterador = animes.iterator();
+            while (iterador.hasNext()) {
+                // Mesmo mapeamento das listagens (sanitiza nomes legados)
+                AnimeResponse resposta = animeMapper.toAnimeResponse(iterador.next());
+                buffer.write(escritor.writeValueAsBytes(resposta));
+                buffer.write(FIM_DE_LINHA);
+                linhas++;
+            }
+        }
+        buffer.flush();
+        return linhas;
+    }
+}
+
+// POR QUE NDJSON E NÃO UM ARRAY JSON?
+// - Cada linha é um documento completo: o consumidor processa enquanto recebe
+// - Uma falha no meio deixa as linhas anteriores válidas (array ficaria sem "]")
+// - Ferramentas de linha (jq -c, split, wc -l) funcionam direto
+
+// CONFIGURAÇÃO RELACIONADA:
+// - spring.datasource.url com useCursorFetch=true (MySQL lê em blocos em vez de trazer tudo)
+// - exportacao.tempo-limite-ms=1800000 (tempo limite só desta resposta assíncrona, via TempoLimiteAssincrono)
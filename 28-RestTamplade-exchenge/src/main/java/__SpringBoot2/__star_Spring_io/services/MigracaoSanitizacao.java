@@ -0,0 +1,120 @@
+// Pacote para classes de serviço (camada de negócio)
+package __SpringBoot2.__star_Spring_io.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * CLASSE MigracaoSanitizacao
+ *
+ * Propósito: Atualizar em segundo plano as linhas gravadas antes do marcador
+ * Anime.sanitizadorVersao (ou com versão antiga do Sanatizador).
+ *
+ * Enquanto uma linha não é migrada, a leitura continua sanitizando sob demanda;
+ * depois de migrada, listAll/findByName deixam de gastar JSoup com ela.
+ *
+ * Também preenche Anime.nomeBusca das linhas gravadas antes da coluna existir
+ * (até lá a busca exata/por prefixo na chave dobrada não as encontra). Linha já na versão atual
+ * só ganha a chave: nome, versão (ETag) e eventos ficam como estão.
+ *
+ * Cada linha migrada publica AnimeAlteradoEvento ATUALIZADO (ouvintes rodam no commit do lote):
+ * índices, caches e o filtro de Bloom passam a ver o nome novo - sem o evento o filtro responderia
+ * "com certeza não existe" para o nome sanitizado até a próxima reconstrução com escritas.
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+@ConditionalOnProperty(name = "sanitizador.migracao.habilitada", havingValue = "true", matchIfMissing = true)
+public class MigracaoSanitizacao {
+
+    private final AnimeRepository animeRepository;
+
+    // Avisa índices/caches em memória sobre cada linha reescrita (mesmo evento do updateByName)
+    private final ApplicationEventPublisher eventos;
+
+    // Cada lote roda na sua própria transação (não segura conexão pela execução inteira)
+    private final TransactionTemplate transactionTemplate;
+
+    // Linhas por transação
+    @Value("${sanitizador.migracao.lote:200}")
+    private int tamanhoLote = 200;
+
+    // Limite de lotes por execução (não monopoliza o banco)
+    @Value("${sanitizador.migracao.max-lotes:50}")
+    private int maxLotes = 50;
+
+    // ========== EXECUÇÃO AGENDADA ==========
+    @Scheduled(
+        initialDelayString = "${sanitizador.migracao.atraso-inicial-ms:30000}",
+        fixedDelayString = "${sanitizador.migracao.intervalo-ms:300000}"
+    )
+    public void executa() {
+        int migradas = migraLegados();
+        if (migradas > 0) {
+            log.info("Migracao de sanitizacao: {} linhas atualizadas para a versao {}", migradas, Sanatizador.VERSAO);
+        }
+    }
+
+    /**
+     * Sanitiza e marca as linhas legadas, lote a lote
+     *
+     * @return Quantidade de linhas atualizadas nesta execução
+     */
+    public int migraLegados() {
+        int total = 0;
+        for (int lote = 0; lote < maxLotes; lote++) {
+            Integer migradas = transactionTemplate.execute(status -> migraLote());
+            total += migradas;
+            // Lote incompleto = não há mais linhas legadas
+            if (migradas < tamanhoLote) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // Sempre a primeira "página": as linhas migradas deixam de casar com a consulta
+    private int migraLote() {
+        List<Anime> legados = animeRepository.findLegadosSanitizacao(
+            Sanatizador.VERSAO,
+            PageRequest.of(0, tamanhoLote, Sort.by("id"))
+        );
+        for (Anime anime : legados) {
+            // Entidade gerenciada: o dirty checking grava no commit do lote
+            if (Sanatizador.estaSanitizado(anime.getSanitizadorVersao())) {
+                // Já na versão atual, só sem chave: o nome não passa de novo pelo Sanatizador
+                // (mudaria "&amp;" para "&"); sem evento nem versão nova - nada visível mudou
+                anime.atualizaNomeBusca();
+                continue;
+            }
+            anime.setName(Sanatizador.saniNomeGravado(anime.getName()));
+            anime.setSanitizadorVersao(Sanatizador.VERSAO);
+            anime.atualizaNomeBusca();
+            eventos.publishEvent(AnimeAlteradoEvento.atualizado(
+                new AnimeLeitura(anime.getId(), anime.getName(), anime.getSanitizadorVersao())));
+        }
+        return legados.size();
+    }
+}
+
+// PROPRIEDADES (application.properties):
+// sanitizador.migracao.habilitada=true      → false desliga a tarefa
+// sanitizador.migracao.lote=200             → linhas por transação
+// sanitizador.migracao.max-lotes=50         → lotes por execução
+// sanitizador.migracao.intervalo-ms=300000  → pausa entre execuções
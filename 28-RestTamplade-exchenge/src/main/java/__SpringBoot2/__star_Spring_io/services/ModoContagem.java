@@ -0,0 +1,23 @@
+// Pacote para classes de serviço (camada de negócio)
+package __SpringBoot2.__star_Spring_io.services;
+
+/**
+ * Como o total de elementos de uma página é obtido
+ *
+ * SEPARADA - comportamento padrão do Spring Data: SELECT da página + SELECT COUNT(*)
+ * JANELA   - um único SELECT com COUNT(*) OVER () (total vem em cada linha)
+ * PARALELA - SELECT da página e SELECT COUNT(*) ao mesmo tempo, em conexões diferentes
+ *            (ContagemParalela; pool/executor saturado = SEPARADA; COUNT além do timeout = 503)
+ *            listAll com PARALELA conta mesmo com o total mantido do ContadorAnimes pronto
+ */
+public enum ModoContagem {
+    SEPARADA,
+    JANELA,
+    PARALELA
+}
+
+// USO NA API:
+// GET /animes?contagem=JANELA
+// GET /animes/findByName?name=naruto&comtem=true&contagem=JANELA
+// GET /animes?contagem=PARALELA
+// Para não contar nada, usar withTotal=false (resposta Slice com hasNext)
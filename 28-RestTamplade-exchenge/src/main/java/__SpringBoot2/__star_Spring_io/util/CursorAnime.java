@@ -0,0 +1,85 @@
+package __SpringBoot2.__star_Spring_io.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort;
+
+import __SpringBoot2.__star_Spring_io.exception.BedRequestException;
+import __SpringBoot2.__star_Spring_io.seguranca.PageableValidation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * CLASSE CursorAnime
+ *
+ * Token de continuação da paginação por cursor (keyset/seek).
+ * Guarda a ordenação usada e a chave da ÚLTIMA linha entregue: (valor do campo, id).
+ * A próxima página começa logo depois dessa chave, sem OFFSET.
+ *
+ * Para o cliente o token é opaco (Base64 URL-safe); ele só devolve o valor recebido.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorAnime {
+
+    // Versão do formato (permite mudar o layout sem quebrar tokens antigos silenciosamente)
+    private static final String VERSAO_FORMATO = "c1";
+
+    private static final String SEPARADOR = "|";
+
+    // Campo de ordenação ("id" ou "name" - mesmos de PageableValidation)
+    private final String campo;
+
+    // Direção da ordenação
+    private final Sort.Direction direcao;
+
+    // Id da última linha entregue (desempate e chave quando campo = id)
+    private final long ultimoId;
+
+    // Nome da última linha entregue (null quando campo = id)
+    private final String ultimoNome;
+
+    /**
+     * Gera o token opaco
+     * Formato interno: c1|campo|ASC|id|nome  (nome por último: pode conter '|')
+     */
+    public String codifica() {
+        String conteudo = String.join(SEPARADOR,
+            VERSAO_FORMATO, campo, direcao.name(), Long.toString(ultimoId),
+            ultimoNome == null ? "" : ultimoNome);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê um token recebido do cliente
+     *
+     * @param token - Valor do parâmetro ?cursor=
+     * @return Cursor validado
+     * @throws BedRequestException - Token adulterado, de outra versão ou com campo não permitido
+     */
+    public static CursorAnime decodifica(String token) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = conteudo.split("\\|", 5);
+            if (partes.length != 5 || !VERSAO_FORMATO.equals(partes[0])
+                    || !PageableValidation.isSortFieldAllowed(partes[1])) {
+                throw new BedRequestException("cursor invalido");
+            }
+            boolean porNome = "name".equals(partes[1]);
+            return new CursorAnime(
+                partes[1],
+                Sort.Direction.valueOf(partes[2]),
+                Long.parseLong(partes[3]),
+                porNome ? partes[4] : null
+            );
+        } catch (IllegalArgumentException e) {
+            // Base64, direção ou número inválidos (NumberFormatException é IllegalArgumentException)
+            throw new BedRequestException("cursor invalido");
+        }
+    }
+}
+
+// EXEMPLO DE USO:
+// GET /animes?cursor=&size=10&sort=name,desc  → primeira página, ordem do parâmetro sort
+// GET /animes?cursor=<nextCursor>&size=10      → próxima página (ordem vem do token)
@@ -0,0 +1,49 @@
+package __SpringBoot2.__star_Spring_io.util;
+
+import __SpringBoot2.__star_Spring_io.exception.VersaoDesatualizadaException;
+
+/**
+ * CLASSE EtagAnime
+ *
+ * ETag forte de um anime: "a-<id>-<versao>" (versao = coluna @Version de Anime).
+ * Muda a cada escrita na linha - serve para o 304 do GET e para o If-Match do PUT.
+ */
+public final class EtagAnime {
+
+    private static final String PREFIXO = "\"a-";
+
+    private EtagAnime() {
+    }
+
+    public static String doRecurso(long id, long versao) {
+        return PREFIXO + id + "-" + versao + "\"";
+    }
+
+    /**
+     * Versão exigida pelo cabeçalho If-Match do PUT
+     *
+     * @param ifMatch - Valor do cabeçalho (null ou "*" = sem exigência de versão)
+     * @param id - Id do anime que será alterado
+     * @return Versão lida pelo cliente, ou null se não há exigência
+     * @throws VersaoDesatualizadaException - ETag fraco, de outro anime ou ilegível (412)
+     */
+    public static Long versaoExigida(String ifMatch, long id) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        String prefixoDoId = PREFIXO + id + "-";
+        if (!etag.startsWith(prefixoDoId) || !etag.endsWith("\"") || etag.length() <= prefixoDoId.length() + 1) {
+            throw new VersaoDesatualizadaException("If-Match nao corresponde ao anime " + id);
+        }
+        try {
+            return Long.parseLong(etag.substring(prefixoDoId.length(), etag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new VersaoDesatualizadaException("If-Match nao corresponde ao anime " + id);
+        }
+    }
+}
+
+// COMPARAÇÃO FORTE (If-Match):
+// W/"a-1-3" (fraco) e listas ("a-1-3", "a-1-4") não são aceitos → 412
+// A versão extraída vai no WHERE do UPDATE (AnimeRepository.atualizaNomeNaVersao)
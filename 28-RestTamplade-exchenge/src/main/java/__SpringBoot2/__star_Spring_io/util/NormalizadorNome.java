@@ -0,0 +1,54 @@
+package __SpringBoot2.__star_Spring_io.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * CLASSE NormalizadorNome
+ *
+ * "Dobra" um nome para comparação: minúsculas e sem acentos/diacríticos.
+ *   "Pokémon"  → "pokemon"
+ *   "AÇÃO"     → "acao"
+ *
+ * Usado onde a busca não deve depender de maiúsculas nem de acentos
+ * (coluna Anime.nomeBusca, autocomplete e busca aproximada/fuzzy em memória).
+ */
+public final class NormalizadorNome {
+
+    // Marcas combinantes que sobram depois da decomposição NFD (acento agudo, til, cedilha...)
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+
+    private NormalizadorNome() {
+    }
+
+    /**
+     * @param nome - Nome original (pode ser null)
+     * @return Nome dobrado, ou null se o nome for null
+     */
+    public static String dobra(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        // Atalho: ASCII sem maiúsculas já está dobrado (caso mais comum)
+        if (ehAsciiMinusculo(nome)) {
+            return nome;
+        }
+        String semAcento = DIACRITICOS.matcher(Normalizer.normalize(nome, Normalizer.Form.NFD)).replaceAll("");
+        return semAcento.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean ehAsciiMinusculo(String nome) {
+        for (int i = 0; i < nome.length(); i++) {
+            char c = nome.charAt(i);
+            if (c > 0x7F || (c >= 'A' && c <= 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
+
+// EXEMPLO:
+// NormalizadorNome.dobra("Shingeki no Kyojin") → "shingeki no kyojin"
+// NormalizadorNome.dobra("Pokémon")            → "pokemon"
@@ -0,0 +1,21 @@
+package __SpringBoot2.__star_Spring_io.util;
+
+/**
+ * CLASSE SequenciaIdsAnime
+ *
+ * Reserva de ids da sequência anime_seq, sem dependência de JPA/Hibernate: o módulo reativo
+ * (R2DBC, sem Hibernate no classpath) reserva os mesmos blocos que o @SequenceGenerator de Anime.
+ */
+public final class SequenciaIdsAnime {
+
+    // Ids reservados por ida à sequência (allocationSize): 1 consulta à sequência a cada 50 inserts
+    public static final int IDS_POR_RESERVA = 50;
+
+    private SequenciaIdsAnime() {
+    }
+}
+
+// QUEM USA:
+// - Anime (@SequenceGenerator allocationSize)
+// - SequenciaAnime.ajusta → próximo valor depois do maior id
+// - SequenciaAnimeReativa (módulo reativo) → bloco (v - IDS_POR_RESERVA, v]
@@ -0,0 +1,67 @@
+package __SpringBoot2.__star_Spring_io.busca;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+
+@DataJpaTest(properties = { "busca.carga.lote=2" })
+@Import({ CarregadorIndicesNome.class, IndiceTrigramaNomes.class })
+@DisplayName("CarregadorIndicesNome testes")
+class CarregadorIndicesNomeTest {
+
+	@Autowired
+	private CarregadorIndicesNome carregadorIndicesNome;
+
+	@Autowired
+	private IndiceTrigramaNomes indiceTrigramaNomes;
+
+	@Autowired
+	private AnimeRepository animeRepository;
+
+	@Test
+	@DisplayName("carrega a tabela em lotes e responde igual ao LIKE do banco")
+	void carrega_loadsAllRows_andMatchesSqlContaining() {
+		animeRepository.saveAll(List.of(
+				Anime.builder().name("naruto").build(),
+				Anime.builder().name("boruto").build(),
+				Anime.builder().name("one piece").build(),
+				Anime.builder().name("bleach").build(),
+				Anime.builder().name("naruto shippuden").build()));
+
+		int carregadas = carregadorIndicesNome.carrega();
+		PageRequest pageable = PageRequest.of(0, 3, Sort.by("id"));
+
+		Assertions.assertThat(carregadas).isEqualTo(5);
+		Assertions.assertThat(indiceTrigramaNomes.pronto()).isTrue();
+		Assertions.assertThat(indiceTrigramaNomes.buscaContendo("ruto", pageable))
+				.containsExactlyElementsOf(animeRepository.findLeituraByNameContaining("ruto", pageable));
+		Assertions.assertThat(indiceTrigramaNomes.buscaContendo("ruto", pageable).getTotalElements())
+				.isEqualTo(animeRepository.findLeituraByNameContaining("ruto", pageable).getTotalElements());
+	}
+
+	@Test
+	@DisplayName("aplica os eventos de escrita nos índices")
+	void aoAlterar_appliesWritesToIndices() {
+		Anime salvo = animeRepository.save(Anime.builder().name("naruto").build());
+		carregadorIndicesNome.carrega();
+
+		carregadorIndicesNome.aoAlterar(AnimeAlteradoEvento.criado(new AnimeLeitura(999L, "hunter x hunter", 1)));
+		carregadorIndicesNome.aoAlterar(AnimeAlteradoEvento.removido(salvo.getId()));
+
+		Assertions.assertThat(indiceTrigramaNomes.buscaContendo("hunt", PageRequest.of(0, 5)).getContent())
+				.extracting(AnimeLeitura::getId).containsExactly(999L);
+		Assertions.assertThat(indiceTrigramaNomes.buscaContendo("naruto", PageRequest.of(0, 5)).getContent()).isEmpty();
+	}
+}
@@ -0,0 +1,140 @@
+package __SpringBoot2.__star_Spring_io.busca;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+
+@DisplayName("FiltroBloomNomes testes")
+class FiltroBloomNomesTest {
+
+	private static final int NOMES = 5000;
+
+	private final AnimeRepository animeRepository = Mockito.mock(AnimeRepository.class);
+
+	// Conteúdo da "tabela" lido pela reconstrução
+	private final List<AnimeLeitura> tabela = new ArrayList<>();
+
+	private FiltroBloomNomes filtro;
+
+	@BeforeEach
+	void setUp() {
+		BDDMockito.when(animeRepository.count()).thenAnswer(invocacao -> (long) tabela.size());
+		// Lote único (menor que o tamanho do lote): a reconstrução para na primeira leitura
+		BDDMockito.when(animeRepository.findLeituraByIdGreaterThan(anyLong(), any(Pageable.class)))
+				.thenAnswer(invocacao -> List.copyOf(tabela));
+
+		for (long id = 1; id <= NOMES; id++) {
+			tabela.add(new AnimeLeitura(id, "anime " + id, 1));
+		}
+		filtro = new FiltroBloomNomes(animeRepository, true, 0.01, 8_388_608, 100_000);
+		carrega(tabela);
+	}
+
+	@Test
+	@DisplayName("todo nome carregado pode existir (sem falso negativo), sem diferenciar maiúsculas/acentos")
+	void podeConter_neverRejectsLoadedName() {
+		filtro.adiciona(new AnimeLeitura(NOMES + 1L, "Pokémon", 1));
+
+		for (AnimeLeitura anime : tabela) {
+			Assertions.assertThat(filtro.podeConter(anime.getName())).as(anime.getName()).isTrue();
+		}
+		Assertions.assertThat(filtro.podeConter("pokemon")).isTrue();
+	}
+
+	@Test
+	@DisplayName("nomes ausentes são rejeitados perto da taxa de falso positivo configurada")
+	void podeConter_rejectsAbsentNames_nearConfiguredRate() {
+		int falsosPositivos = 0;
+		for (int i = 0; i < 20_000; i++) {
+			if (filtro.podeConter("inexistente " + i)) {
+				falsosPositivos++;
+			}
+		}
+
+		Assertions.assertThat(falsosPositivos / 20_000.0).isLessThan(0.02);
+		Assertions.assertThat(filtro.estatisticas().getAusentes()).isEqualTo(20_000L - falsosPositivos);
+		Assertions.assertThat(filtro.estatisticas().getTaxaFalsoPositivoEstimada()).isLessThan(0.01);
+	}
+
+	@Test
+	@DisplayName("aquecendo ou desligado: qualquer nome pode existir (busca vai ao banco)")
+	void podeConter_acceptsEverything_untilLoaded() {
+		FiltroBloomNomes aquecendo = new FiltroBloomNomes(animeRepository, true, 0.01, 8_388_608, 1000);
+		aquecendo.iniciaCarga();
+
+		Assertions.assertThat(aquecendo.podeConter("qualquer")).isTrue();
+		Assertions.assertThat(new FiltroBloomNomes(null, false, 0.01, 8, 1).podeConter("qualquer")).isTrue();
+	}
+
+	@Test
+	@DisplayName("bits dimensionados pela taxa e limitados a max-bytes")
+	void dimensiona_respectsMaxBytes() {
+		// ~9,6 bits por nome para 1% (capacidade = 1,5 x linhas)
+		Assertions.assertThat(filtro.estatisticas().getBits()).isBetween(9L * NOMES * 3 / 2, 10L * NOMES * 3 / 2);
+		Assertions.assertThat(filtro.estatisticas().getHashes()).isEqualTo(7);
+
+		FiltroBloomNomes pequeno = new FiltroBloomNomes(animeRepository, true, 0.01, 1024, 100_000);
+		pequeno.iniciaCarga();
+		Assertions.assertThat(pequeno.estatisticas().getBytes()).isEqualTo(1024);
+	}
+
+	@Test
+	@DisplayName("nome removido só deixa de ser aceito depois da reconstrução")
+	void reconstroi_dropsRemovedNames() {
+		AnimeLeitura removido = tabela.remove(0);
+		filtro.remove(removido.getId());
+		Assertions.assertThat(filtro.podeConter(removido.getName())).isTrue();
+
+		Assertions.assertThat(filtro.reconstroi()).isTrue();
+
+		Assertions.assertThat(filtro.podeConter(removido.getName())).isFalse();
+		Assertions.assertThat(filtro.estatisticas().getReconstrucoes()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("linha gravada por fora (sem evento nesta instância) passa a ser aceita na reconstrução")
+	void reconstroi_addsRowsWrittenElsewhere_withoutLocalWrites() {
+		// Outra instância / módulo reativo / INSERT manual: nenhum adiciona(...) aqui
+		tabela.add(new AnimeLeitura(NOMES + 1L, "Gravado Por Fora", 2));
+		Assertions.assertThat(filtro.podeConter("gravado por fora")).isFalse();
+
+		Assertions.assertThat(filtro.reconstroi()).isTrue();
+
+		Assertions.assertThat(filtro.podeConter("gravado por fora")).isTrue();
+	}
+
+	@Test
+	@DisplayName("nome gravado durante a reconstrução continua aceito depois da troca")
+	void reconstroi_keepsNamesWrittenDuringRebuild() {
+		filtro.remove(1L);
+		BDDMockito.when(animeRepository.findLeituraByIdGreaterThan(anyLong(), any(Pageable.class)))
+				.thenAnswer(invocacao -> {
+					// Commit concorrente: a leitura não vê a linha, mas o evento chega ao filtro
+					filtro.adiciona(new AnimeLeitura(NOMES + 1L, "Novo Anime", 1));
+					return List.copyOf(tabela);
+				});
+
+		filtro.reconstroi();
+
+		Assertions.assertThat(filtro.podeConter("novo anime")).isTrue();
+	}
+
+	private void carrega(List<AnimeLeitura> linhas) {
+		filtro.iniciaCarga();
+		linhas.forEach(filtro::adiciona);
+		filtro.concluiCarga();
+	}
+}
@@ -0,0 +1,92 @@
+package __SpringBoot2.__star_Spring_io.busca;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+
+@DisplayName("IndiceFuzzyNomes testes")
+class IndiceFuzzyNomesTest {
+
+	private IndiceFuzzyNomes indice;
+
+	@BeforeEach
+	void setUp() {
+		indice = new IndiceFuzzyNomes(true, 0.25, 200, 1_000);
+		indice.iniciaCarga();
+		indice.adiciona(new AnimeLeitura(1L, "Naruto", 1));
+		indice.adiciona(new AnimeLeitura(2L, "Naruto Shippuden", 1));
+		indice.adiciona(new AnimeLeitura(3L, "Boruto", 1));
+		indice.adiciona(new AnimeLeitura(4L, "Pokémon", 1));
+		indice.adiciona(new AnimeLeitura(5L, "One Piece", 1));
+		indice.concluiCarga();
+	}
+
+	@Nested
+	@DisplayName("busca - testes")
+	class busca {
+
+		@Test
+		@DisplayName("encontra o nome certo com letras trocadas, mais parecido primeiro")
+		void busca_ranksClosestName_first_whenQueryHasTypo() {
+			List<AnimeLeitura> resultado = indice.busca("naurto");
+
+			Assertions.assertThat(resultado).isNotEmpty();
+			Assertions.assertThat(resultado.get(0).getName()).isEqualTo("Naruto");
+			Assertions.assertThat(resultado).extracting(AnimeLeitura::getName).doesNotContain("One Piece");
+		}
+
+		@Test
+		@DisplayName("ignora maiúsculas e acentos")
+		void busca_ignoresCaseAndAccents() {
+			Assertions.assertThat(indice.busca("POKEMON")).extracting(AnimeLeitura::getId).containsExactly(4L);
+		}
+
+		@Test
+		@DisplayName("reflete update e remoção, inclusive depois da compactação")
+		void busca_reflectsWrites_acrossCompaction() {
+			for (long id = 100; id < 2_100; id++) {
+				indice.adiciona(new AnimeLeitura(id, "filler " + id, 1));
+			}
+			for (long id = 100; id < 1_500; id++) {
+				indice.remove(id);
+			}
+			indice.adiciona(new AnimeLeitura(3L, "Bleach", 1));
+
+			Assertions.assertThat(indice.busca("boruto")).extracting(AnimeLeitura::getId).doesNotContain(3L);
+			Assertions.assertThat(indice.busca("bleach")).extracting(AnimeLeitura::getId).containsExactly(3L);
+			Assertions.assertThat(indice.busca("naruto")).extracting(AnimeLeitura::getId).startsWith(1L);
+			Assertions.assertThat(indice.tamanho()).isEqualTo(605);
+		}
+
+		@Test
+		@DisplayName("respeita o orçamento de tempo e devolve o parcial")
+		void busca_stopsAtLatencyBudget() {
+			IndiceFuzzyNomes semTempo = new IndiceFuzzyNomes(true, 0.1, 200, 0);
+			for (long id = 1; id <= 5_000; id++) {
+				semTempo.adiciona(new AnimeLeitura(id, "naruto " + id, 1));
+			}
+			semTempo.concluiCarga();
+
+			List<AnimeLeitura> resultado = semTempo.busca("naruto");
+
+			Assertions.assertThat(semTempo.buscasInterrompidas()).isEqualTo(1);
+			Assertions.assertThat(resultado).hasSizeLessThan(5_000);
+		}
+	}
+
+	@Test
+	@DisplayName("trigramas distintos, ordenados e com borda")
+	void gramas_returnsDistinctSortedPaddedTrigrams() {
+		long[] gramas = IndiceFuzzyNomes.gramas("aaa");
+
+		// "  aaa " → "  a", " aa", "aaa", "aa " (sem repetir "aaa")
+		Assertions.assertThat(gramas).hasSize(4).isSorted();
+		Assertions.assertThat(IndiceFuzzyNomes.gramas("  ")).isEmpty();
+	}
+}
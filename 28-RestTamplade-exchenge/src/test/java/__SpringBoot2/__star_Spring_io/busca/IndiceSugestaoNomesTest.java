@@ -0,0 +1,118 @@
+package __SpringBoot2.__star_Spring_io.busca;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+
+@DisplayName("IndiceSugestaoNomes testes")
+class IndiceSugestaoNomesTest {
+
+	private IndiceSugestaoNomes indice;
+
+	@BeforeEach
+	void setUp() {
+		indice = new IndiceSugestaoNomes(true, 2);
+		indice.iniciaCarga();
+		indice.adiciona(new AnimeLeitura(1L, "Naruto", 1));
+		indice.adiciona(new AnimeLeitura(2L, "naruto shippuden", 1));
+		indice.adiciona(new AnimeLeitura(3L, "Nana", 1));
+		indice.adiciona(new AnimeLeitura(4L, "one piece", 1));
+		indice.adiciona(new AnimeLeitura(5L, "Naruto", 1));
+		indice.concluiCarga();
+	}
+
+	@Nested
+	@DisplayName("sugere - testes")
+	class sugere {
+
+		@Test
+		@DisplayName("retorna nomes distintos com o prefixo, sem diferenciar maiúsculas, em ordem")
+		void sugere_returnsDistinctNamesWithPrefix_inOrder() {
+			Assertions.assertThat(indice.sugere("na", 10)).containsExactly("Nana", "Naruto", "naruto shippuden");
+		}
+
+		@Test
+		@DisplayName("ignora acentos no prefixo e no nome")
+		void sugere_ignoresAccents() {
+			indice.adiciona(new AnimeLeitura(6L, "Pokémon", 1));
+
+			Assertions.assertThat(indice.sugere("poke", 10)).containsExactly("Pokémon");
+			Assertions.assertThat(indice.sugere("POKÉ", 10)).containsExactly("Pokémon");
+		}
+
+		@Test
+		@DisplayName("respeita o limite")
+		void sugere_respectsLimit() {
+			Assertions.assertThat(indice.sugere("NAR", 1)).containsExactly("Naruto");
+		}
+
+		@Test
+		@DisplayName("nome só some quando a última linha com ele é removida")
+		void sugere_keepsName_untilLastRowIsRemoved() {
+			indice.remove(1L);
+			Assertions.assertThat(indice.sugere("naruto", 10)).containsExactly("Naruto", "naruto shippuden");
+
+			indice.adiciona(new AnimeLeitura(5L, "Boruto", 1));
+			Assertions.assertThat(indice.sugere("naruto", 10)).containsExactly("naruto shippuden");
+			Assertions.assertThat(indice.sugere("b", 10)).containsExactly("Boruto");
+		}
+
+		@Test
+		@DisplayName("sanitiza nomes legados antes de sugerir")
+		void sugere_sanitizesLegacyNames() {
+			indice.adiciona(new AnimeLeitura(9L, "<b>bleach</b>", null));
+
+			Assertions.assertThat(indice.sugere("ble", 10)).containsExactly("bleach");
+		}
+
+		@Test
+		@DisplayName("base + delta dá o mesmo resultado de um TreeMap após escritas aleatórias")
+		void sugere_matchesTreeMap_afterRandomWrites() {
+			IndiceSugestaoNomes aleatorio = new IndiceSugestaoNomes(true, 16);
+			aleatorio.iniciaCarga();
+			aleatorio.concluiCarga();
+			Random random = new Random(11);
+			TreeMap<Long, String> linhas = new TreeMap<>();
+			for (int i = 0; i < 5_000; i++) {
+				long id = random.nextInt(800);
+				if (random.nextInt(4) == 0) {
+					linhas.remove(id);
+					aleatorio.remove(id);
+				} else {
+					String nome = texto(random);
+					linhas.put(id, nome);
+					aleatorio.adiciona(new AnimeLeitura(id, nome, 1));
+				}
+			}
+
+			for (String prefixo : List.of("a", "ab", "Ba", "c", "abc")) {
+				String minusculo = prefixo.toLowerCase(Locale.ROOT);
+				List<String> esperado = linhas.values().stream()
+						.filter(nome -> nome.toLowerCase(Locale.ROOT).startsWith(minusculo))
+						.map(nome -> nome.toLowerCase(Locale.ROOT) + '\0' + nome)
+						.distinct().sorted().limit(15)
+						.map(chave -> chave.substring(chave.indexOf('\0') + 1))
+						.toList();
+
+				Assertions.assertThat(aleatorio.sugere(prefixo, 15)).containsExactlyElementsOf(esperado);
+			}
+		}
+	}
+
+	private static String texto(Random random) {
+		StringBuilder texto = new StringBuilder();
+		for (int i = 0, tamanho = 2 + random.nextInt(4); i < tamanho; i++) {
+			texto.append("abcAB".charAt(random.nextInt(5)));
+		}
+		return texto.toString();
+	}
+}
@@ -0,0 +1,143 @@
+package __SpringBoot2.__star_Spring_io.busca;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.util.NormalizadorNome;
+
+@DisplayName("IndiceTrigramaNomes testes")
+class IndiceTrigramaNomesTest {
+
+	private IndiceTrigramaNomes indice;
+
+	@BeforeEach
+	void setUp() {
+		indice = new IndiceTrigramaNomes(true);
+		indice.iniciaCarga();
+		indice.adiciona(new AnimeLeitura(1L, "naruto", 1));
+		indice.adiciona(new AnimeLeitura(2L, "naruto shippuden", 1));
+		indice.adiciona(new AnimeLeitura(3L, "boruto", 1));
+		indice.adiciona(new AnimeLeitura(4L, "one piece", 1));
+		indice.adiciona(new AnimeLeitura(5L, "abcxbcd", 1));
+		indice.concluiCarga();
+	}
+
+	@Nested
+	@DisplayName("buscaContendo - testes")
+	class buscaContendo {
+
+		@Test
+		@DisplayName("retorna os nomes que contêm o texto em ordem de id")
+		void buscaContendo_returnsMatches_orderedById() {
+			Page<AnimeLeitura> pagina = indice.buscaContendo("uto", PageRequest.of(0, 5, Sort.by("id")));
+
+			Assertions.assertThat(pagina.getContent()).extracting(AnimeLeitura::getId).containsExactly(1L, 2L, 3L);
+			Assertions.assertThat(pagina.getTotalElements()).isEqualTo(3);
+		}
+
+		@Test
+		@DisplayName("descarta candidatos que têm os trigramas mas não a substring")
+		void buscaContendo_discardsFalseCandidates() {
+			Assertions.assertThat(indice.buscaContendo("abcd", PageRequest.of(0, 5)).getContent()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("pagina e ordena por nome desc com o mesmo contrato do Page do banco")
+		void buscaContendo_pagesAndSortsByNameDesc() {
+			Page<AnimeLeitura> segunda = indice.buscaContendo("o", PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "name")));
+
+			Assertions.assertThat(segunda.getContent()).extracting(AnimeLeitura::getName)
+					.containsExactly("naruto", "boruto");
+			Assertions.assertThat(segunda.getTotalElements()).isEqualTo(4);
+			Assertions.assertThat(segunda.hasNext()).isFalse();
+		}
+
+		@Test
+		@DisplayName("reflete update e remoção")
+		void buscaContendo_reflectsUpdateAndRemove() {
+			indice.adiciona(new AnimeLeitura(3L, "bleach", 1));
+			indice.remove(1L);
+
+			Assertions.assertThat(indice.buscaContendo("uto", PageRequest.of(0, 5)).getContent())
+					.extracting(AnimeLeitura::getId).containsExactly(2L);
+			Assertions.assertThat(indice.buscaContendo("lea", PageRequest.of(0, 5)).getContent())
+					.extracting(AnimeLeitura::getId).containsExactly(3L);
+			Assertions.assertThat(indice.tamanho()).isEqualTo(4);
+		}
+
+		@Test
+		@DisplayName("ignora maiúsculas e acentos na busca e na ordem por nome (como a collation do MySQL)")
+		void buscaContendo_ignoresCaseAndAccents_likeDbCollation() {
+			indice.adiciona(new AnimeLeitura(6L, "Pokémon", 1));
+			indice.adiciona(new AnimeLeitura(7L, "NARUTO NEXT", 1));
+
+			Assertions.assertThat(indice.buscaContendo("POKEMON", PageRequest.of(0, 5)).getContent())
+					.extracting(AnimeLeitura::getName).containsExactly("Pokémon");
+			Assertions.assertThat(indice.buscaContendo("Ok", PageRequest.of(0, 5)).getContent())
+					.extracting(AnimeLeitura::getName).containsExactly("Pokémon");
+			Assertions.assertThat(indice.buscaContendo("naruto", PageRequest.of(0, 5, Sort.by("name"))).getContent())
+					.extracting(AnimeLeitura::getId).containsExactly(1L, 7L, 2L);
+		}
+
+		@Test
+		@DisplayName("dá o mesmo resultado que a varredura linear em nomes aleatórios")
+		void buscaContendo_matchesLinearScan_onRandomNames() {
+			IndiceTrigramaNomes aleatorio = new IndiceTrigramaNomes(true);
+			Random random = new Random(7);
+			List<AnimeLeitura> todos = new ArrayList<>();
+			for (long id = 1; id <= 2_000; id++) {
+				AnimeLeitura anime = new AnimeLeitura(id, textoAleatorio(random, 4 + random.nextInt(12)), 1);
+				todos.add(anime);
+				aleatorio.adiciona(anime);
+			}
+			aleatorio.concluiCarga();
+
+			for (int i = 0; i < 300; i++) {
+				String texto = textoAleatorio(random, 1 + random.nextInt(4));
+				// Varredura com a mesma regra da collation _ai_ci (chaves dobradas)
+				String chave = NormalizadorNome.dobra(texto);
+				List<Long> esperado = todos.stream().filter(a -> NormalizadorNome.dobra(a.getName()).contains(chave))
+						.sorted(Comparator.comparing((AnimeLeitura a) -> NormalizadorNome.dobra(a.getName()))
+								.thenComparing(AnimeLeitura::getId))
+						.map(AnimeLeitura::getId).limit(50).toList();
+
+				Page<AnimeLeitura> pagina = aleatorio.buscaContendo(texto, PageRequest.of(0, 50, Sort.by("name")));
+
+				Assertions.assertThat(pagina.getContent()).extracting(AnimeLeitura::getId).containsExactlyElementsOf(esperado);
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("desligado nunca fica pronto nem guarda nomes")
+	void indiceDesligado_neverBecomesReady() {
+		IndiceTrigramaNomes desligado = new IndiceTrigramaNomes(false);
+		desligado.iniciaCarga();
+		desligado.adiciona(new AnimeLeitura(1L, "naruto", 1));
+		desligado.concluiCarga();
+
+		Assertions.assertThat(desligado.pronto()).isFalse();
+		Assertions.assertThat(desligado.tamanho()).isZero();
+	}
+
+	// Alfabeto pequeno: muitos trigramas repetidos entre nomes (postagens longas)
+	private static String textoAleatorio(Random random, int tamanho) {
+		StringBuilder texto = new StringBuilder(tamanho);
+		for (int i = 0; i < tamanho; i++) {
+			texto.append("abcdeé ".charAt(random.nextInt(7)));
+		}
+		return texto.toString();
+	}
+}
@@ -0,0 +1,168 @@
+package __SpringBoot2.__star_Spring_io.cache;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import __SpringBoot2.__star_Spring_io.cache.CachePaginas.ChavePagina;
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+
+@DisplayName("CachePaginas testes")
+class CachePaginasTest {
+
+	private static final long TTL_MS = 1000;
+	private static final long REFRESH_MS = 200;
+
+	private static final ChavePagina PRIMEIRA = ChavePagina.todos(PageRequest.of(0, 5, Sort.by("id")));
+	private static final ChavePagina SEGUNDA = ChavePagina.todos(PageRequest.of(1, 5, Sort.by("id")));
+
+	// Relógio manual (nanos)
+	private final AtomicLong agora = new AtomicLong();
+
+	// Quantas vezes a "consulta ao banco" rodou
+	private final AtomicInteger consultas = new AtomicInteger();
+
+	private CachePaginas cache;
+
+	@BeforeEach
+	void setUp() {
+		// Recarga depois de escrita roda na hora (sem thread) para o teste ser determinístico
+		cache = new CachePaginas(true, 2, TTL_MS, REFRESH_MS, 1, agora::get, Runnable::run);
+	}
+
+	@Test
+	@DisplayName("segundo pedido da mesma página (Pageable equivalente) não consulta de novo")
+	void obtem_returnsCachedPage_forEquivalentPageable() {
+		cache.obtem(PRIMEIRA, consulta("naruto"));
+		Page<AnimeResponse> pagina = cache.obtem(ChavePagina.todos(PageRequest.of(0, 5, Sort.by("id"))),
+				consulta("outro"));
+
+		Assertions.assertThat(pagina.getContent()).extracting(AnimeResponse::getName).containsExactly("naruto");
+		Assertions.assertThat(consultas).hasValue(1);
+		Assertions.assertThat(cache.estatisticas().getTaxaAcerto()).isEqualTo(0.5);
+	}
+
+	@Test
+	@DisplayName("nome e comtem fazem parte da chave")
+	void obtem_separatesPages_byNameAndComtem() {
+		cache.obtem(ChavePagina.porNome(PageRequest.of(0, 5), "naruto", true), consulta("a"));
+		cache.obtem(ChavePagina.porNome(PageRequest.of(0, 5), "naruto", false), consulta("b"));
+
+		Assertions.assertThat(consultas).hasValue(2);
+	}
+
+	@Test
+	@DisplayName("página vencida (TTL) é consultada de novo")
+	void obtem_reloads_whenTtlExpired() {
+		cache.obtem(PRIMEIRA, consulta("naruto"));
+		avanca(TTL_MS);
+
+		Page<AnimeResponse> pagina = cache.obtem(PRIMEIRA, consulta("bleach"));
+
+		Assertions.assertThat(pagina.getContent()).extracting(AnimeResponse::getName).containsExactly("bleach");
+		Assertions.assertThat(consultas).hasValue(2);
+	}
+
+	@Test
+	@DisplayName("não passa da capacidade: a página mais antiga sai primeiro")
+	void obtem_evictsOldest_whenCapacityExceeded() {
+		cache.obtem(PRIMEIRA, consulta("a"));
+		cache.obtem(SEGUNDA, consulta("b"));
+		cache.obtem(ChavePagina.todos(PageRequest.of(2, 5, Sort.by("id"))), consulta("c"));
+
+		Assertions.assertThat(cache.estatisticas().getTamanho()).isEqualTo(2);
+		Assertions.assertThat(cache.estatisticas().getDespejos()).isEqualTo(1);
+
+		cache.obtem(PRIMEIRA, consulta("a"));
+		Assertions.assertThat(consultas).hasValue(4);
+	}
+
+	@Test
+	@DisplayName("escrita (AnimeAlteradoEvento) descarta as páginas guardadas")
+	void aoAlterar_invalidatesCachedPages() {
+		cache.obtem(SEGUNDA, consulta("naruto"));
+
+		cache.aoAlterar(AnimeAlteradoEvento.removido(1L));
+		Page<AnimeResponse> pagina = cache.obtem(SEGUNDA, consulta("bleach"));
+
+		Assertions.assertThat(pagina.getContent()).extracting(AnimeResponse::getName).containsExactly("bleach");
+		Assertions.assertThat(cache.estatisticas().getInvalidacoes()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("página consultada antes de uma escrita não é guardada")
+	void obtem_doesNotStorePage_whenWriteHappensDuringLoad() {
+		cache.obtem(PRIMEIRA, () -> {
+			cache.invalida();
+			return consulta("antigo").get();
+		});
+
+		Page<AnimeResponse> pagina = cache.obtem(PRIMEIRA, consulta("novo"));
+
+		Assertions.assertThat(pagina.getContent()).extracting(AnimeResponse::getName).containsExactly("novo");
+	}
+
+	@Test
+	@DisplayName("refresh-ahead: a página mais pedida é recalculada antes de vencer e depois de uma escrita")
+	void renova_keepsHottestPageLoaded() {
+		AtomicInteger versao = new AtomicInteger();
+		Supplier<Page<AnimeResponse>> primeira = () -> consulta("v" + versao.incrementAndGet()).get();
+		cache.obtem(PRIMEIRA, primeira);
+		cache.obtem(PRIMEIRA, primeira);
+		cache.obtem(SEGUNDA, consulta("fria"));
+		cache.renova();
+
+		// Perto de vencer: renovada na rodada, o pedido seguinte é acerto
+		avanca(TTL_MS - REFRESH_MS);
+		cache.renova();
+		long acertos = cache.estatisticas().getAcertos();
+		Assertions.assertThat(cache.obtem(PRIMEIRA, consulta("nunca")).getContent())
+				.extracting(AnimeResponse::getName).containsExactly("v2");
+		Assertions.assertThat(cache.estatisticas().getAcertos()).isEqualTo(acertos + 1);
+
+		// Nova janela: o acesso acima mantém a página entre as quentes
+		cache.renova();
+
+		// Escrita: só a quente volta na hora (a fria espera o próximo pedido)
+		cache.invalida();
+		Assertions.assertThat(cache.estatisticas().getTamanho()).isEqualTo(1);
+		Assertions.assertThat(cache.obtem(PRIMEIRA, consulta("nunca")).getContent())
+				.extracting(AnimeResponse::getName).containsExactly("v3");
+		Assertions.assertThat(cache.estatisticas().getRecargas()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("desligado: sempre consulta e não guarda nada")
+	void obtem_alwaysLoads_whenDisabled() {
+		CachePaginas desligado = new CachePaginas(false, 1, 1, 1, 0, System::nanoTime, Runnable::run);
+
+		desligado.obtem(PRIMEIRA, consulta("a"));
+		desligado.obtem(PRIMEIRA, consulta("a"));
+
+		Assertions.assertThat(consultas).hasValue(2);
+		Assertions.assertThat(desligado.estatisticas().getTamanho()).isZero();
+	}
+
+	private Supplier<Page<AnimeResponse>> consulta(String nome) {
+		return () -> {
+			consultas.incrementAndGet();
+			return new PageImpl<>(List.of(AnimeResponse.builder().id(1L).name(nome).build()));
+		};
+	}
+
+	private void avanca(long ms) {
+		agora.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+	}
+}
@@ -0,0 +1,188 @@
+package __SpringBoot2.__star_Spring_io.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+
+@DisplayName("ContadorAnimes testes")
+class ContadorAnimesTest {
+
+	private static final long TTL_MS = 1000;
+
+	private final AnimeRepository animeRepository = Mockito.mock(AnimeRepository.class);
+
+	// Relógio manual (nanos)
+	private final AtomicLong agora = new AtomicLong();
+
+	// Quantas vezes o "COUNT do filtro" rodou
+	private final AtomicInteger contagens = new AtomicInteger();
+
+	private ContadorAnimes contador;
+
+	@BeforeEach
+	void setUp() {
+		contador = new ContadorAnimes(animeRepository, true, 2, TTL_MS, agora::get);
+	}
+
+	@Test
+	@DisplayName("sem total até a primeira reconciliação; depois segue as escritas sem novo COUNT")
+	void total_followsWrites_afterFirstReconciliation() {
+		Assertions.assertThat(contador.total()).isEmpty();
+
+		BDDMockito.when(animeRepository.count()).thenReturn(10L);
+		contador.reconcilia();
+		contador.aoAlterar(AnimeAlteradoEvento.criado(new AnimeLeitura(11L, "naruto", 1)));
+		contador.aoAlterar(AnimeAlteradoEvento.criado(new AnimeLeitura(12L, "bleach", 1)));
+		contador.aoAlterar(AnimeAlteradoEvento.atualizado(new AnimeLeitura(12L, "one piece", 1)));
+		contador.aoAlterar(AnimeAlteradoEvento.removido(3L));
+
+		Assertions.assertThat(contador.total()).hasValue(11);
+		BDDMockito.verify(animeRepository, Mockito.times(1)).count();
+	}
+
+	@Test
+	@DisplayName("reconciliação corrige o total e conta a divergência")
+	void reconcilia_correctsDrift() {
+		BDDMockito.when(animeRepository.count()).thenReturn(10L, 15L);
+		contador.reconcilia();
+
+		Assertions.assertThat(contador.reconcilia()).isTrue();
+
+		Assertions.assertThat(contador.total()).hasValue(15);
+		Assertions.assertThat(contador.estatisticas().getDivergencias()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("escrita durante o COUNT descarta a reconciliação (fica para a próxima)")
+	void reconcilia_discardsCount_whenWriteHappensDuringCount() {
+		BDDMockito.when(animeRepository.count()).thenReturn(10L);
+		contador.reconcilia();
+		BDDMockito.when(animeRepository.count()).thenAnswer(invocacao -> {
+			contador.aoAlterar(AnimeAlteradoEvento.criado(new AnimeLeitura(11L, "naruto", 1)));
+			return 10L;
+		});
+
+		Assertions.assertThat(contador.reconcilia()).isFalse();
+		Assertions.assertThat(contador.total()).hasValue(11);
+	}
+
+	@Test
+	@DisplayName("linha já confirmada no banco com o evento ainda por vir: COUNT descartado, sem contar duas vezes")
+	void reconcilia_discardsCount_whenCommittedWriteEventIsLate() {
+		BDDMockito.when(animeRepository.count()).thenReturn(10L);
+		contador.reconcilia();
+		AnimeAlteradoEvento criado = AnimeAlteradoEvento.criado(new AnimeLeitura(11L, "naruto", 1));
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			// BEFORE_COMMIT já rodou e o COMMIT já incluiu a linha; o AFTER_COMMIT ainda não chegou
+			contador.antesDoCommit(criado);
+			BDDMockito.when(animeRepository.count()).thenReturn(11L);
+			Assertions.assertThat(contador.reconcilia()).isFalse();
+
+			contador.aoAlterar(criado);
+			fimDaTransacao(TransactionSynchronization.STATUS_COMMITTED);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		Assertions.assertThat(contador.total()).hasValue(11);
+		Assertions.assertThat(contador.reconcilia()).isTrue();
+		Assertions.assertThat(contador.total()).hasValue(11);
+		Assertions.assertThat(contador.estatisticas().getDivergencias()).isZero();
+	}
+
+	@Test
+	@DisplayName("commit começou durante o COUNT: resultado descartado; rollback libera a próxima reconciliação")
+	void reconcilia_discardsCount_whenCommitStartsDuringCount() {
+		BDDMockito.when(animeRepository.count()).thenReturn(10L);
+		contador.reconcilia();
+		AnimeAlteradoEvento criado = AnimeAlteradoEvento.criado(new AnimeLeitura(11L, "naruto", 1));
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			BDDMockito.when(animeRepository.count()).thenAnswer(invocacao -> {
+				contador.antesDoCommit(criado);
+				return 11L;
+			});
+			Assertions.assertThat(contador.reconcilia()).isFalse();
+
+			// COMMIT falhou: o evento nunca chega
+			fimDaTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		// doReturn: when(count()) chamaria a resposta anterior (fora da transação simulada)
+		BDDMockito.doReturn(10L).when(animeRepository).count();
+		Assertions.assertThat(contador.reconcilia()).isTrue();
+		Assertions.assertThat(contador.total()).hasValue(10);
+	}
+
+	@Test
+	@DisplayName("contagem de filtro guardada até o TTL; escrita descarta")
+	void contaFiltro_cachesUntilTtlOrWrite() {
+		Assertions.assertThat(contador.contaFiltro("exato:naruto", contagem(3))).isEqualTo(3);
+		Assertions.assertThat(contador.contaFiltro("exato:naruto", contagem(4))).isEqualTo(3);
+		Assertions.assertThat(contagens).hasValue(1);
+
+		agora.addAndGet(TimeUnit.MILLISECONDS.toNanos(TTL_MS));
+		Assertions.assertThat(contador.contaFiltro("exato:naruto", contagem(5))).isEqualTo(5);
+
+		contador.aoAlterar(AnimeAlteradoEvento.removido(1L));
+		Assertions.assertThat(contador.contaFiltro("exato:naruto", contagem(4))).isEqualTo(4);
+		Assertions.assertThat(contagens).hasValue(3);
+		Assertions.assertThat(contador.estatisticas().getTaxaAcerto()).isEqualTo(0.25);
+	}
+
+	@Test
+	@DisplayName("não passa da capacidade: a contagem mais antiga sai primeiro")
+	void contaFiltro_evictsOldest_whenCapacityExceeded() {
+		contador.contaFiltro("a", contagem(1));
+		contador.contaFiltro("b", contagem(2));
+		contador.contaFiltro("c", contagem(3));
+
+		Assertions.assertThat(contador.estatisticas().getTamanho()).isEqualTo(2);
+		contador.contaFiltro("a", contagem(1));
+		Assertions.assertThat(contagens).hasValue(4);
+	}
+
+	@Test
+	@DisplayName("desligado: nunca tem total e sempre conta no banco")
+	void desligado_alwaysCounts() {
+		ContadorAnimes desligado = new ContadorAnimes(null, false, 1, 1, System::nanoTime);
+
+		desligado.contaFiltro("a", contagem(1));
+		desligado.contaFiltro("a", contagem(1));
+
+		Assertions.assertThat(desligado.reconcilia()).isFalse();
+		Assertions.assertThat(desligado.total()).isEmpty();
+		Assertions.assertThat(contagens).hasValue(2);
+	}
+
+	// Fim da transação simulada: afterCompletion das sincronizações registradas
+	private static void fimDaTransacao(int status) {
+		TransactionSynchronizationManager.getSynchronizations().forEach(sincronizacao -> sincronizacao.afterCompletion(status));
+	}
+
+	private LongSupplier contagem(long valor) {
+		return () -> {
+			contagens.incrementAndGet();
+			return valor;
+		};
+	}
+}
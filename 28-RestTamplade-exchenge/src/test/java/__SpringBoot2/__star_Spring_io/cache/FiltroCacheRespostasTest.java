@@ -0,0 +1,173 @@
+package __SpringBoot2.__star_Spring_io.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@DisplayName("FiltroCacheRespostas testes")
+class FiltroCacheRespostasTest {
+
+	private static final String JSON = "{\"content\":[" + "{\"id\":1,\"name\":\"naruto\"},".repeat(40)
+			+ "{\"id\":2,\"name\":\"bleach\"}]}";
+
+	private static final String ETAG = "\"p-teste-0-1\"";
+
+	// Quantas vezes a requisição chegou ao "controller"
+	private final AtomicInteger chamadas = new AtomicInteger();
+
+	@ParameterizedTest(name = "off-heap={0}")
+	@ValueSource(booleans = { false, true })
+	@DisplayName("segunda listagem igual (parâmetros em outra ordem) sai do cache com os mesmos bytes")
+	void doFilter_servesCachedBytes_forNormalizedParameters(boolean offHeap) throws Exception {
+		FiltroCacheRespostas filtro = filtro(offHeap);
+
+		MockHttpServletResponse primeira = executa(filtro, lista("page", "0", "size", "5"));
+		MockHttpServletResponse segunda = executa(filtro, lista("size", "5", "page", "0"));
+
+		Assertions.assertThat(chamadas).hasValue(1);
+		Assertions.assertThat(segunda.getContentAsString()).isEqualTo(primeira.getContentAsString()).isEqualTo(JSON);
+		Assertions.assertThat(segunda.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+		Assertions.assertThat(segunda.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+	}
+
+	@Test
+	@DisplayName("cliente com Accept-Encoding: gzip recebe a variante comprimida")
+	void doFilter_servesGzipVariant_whenClientAcceptsGzip() throws Exception {
+		FiltroCacheRespostas filtro = filtro(false);
+		executa(filtro, lista());
+
+		MockHttpServletRequest request = lista();
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8");
+		MockHttpServletResponse resposta = executa(filtro, request);
+
+		Assertions.assertThat(resposta.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		Assertions.assertThat(resposta.getContentLength()).isLessThan(JSON.length());
+		Assertions.assertThat(descomprime(resposta.getContentAsByteArray())).isEqualTo(JSON);
+		Assertions.assertThat(resposta.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+	}
+
+	@Test
+	@DisplayName("If-None-Match igual à ETag guardada volta 304 sem corpo")
+	void doFilter_returnsNotModified_whenEtagMatches() throws Exception {
+		FiltroCacheRespostas filtro = filtro(false);
+		executa(filtro, lista());
+
+		MockHttpServletRequest request = lista();
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+		MockHttpServletResponse resposta = executa(filtro, request);
+
+		Assertions.assertThat(resposta.getStatus()).isEqualTo(304);
+		Assertions.assertThat(resposta.getContentLength()).isZero();
+		Assertions.assertThat(chamadas).hasValue(1);
+	}
+
+	@Test
+	@DisplayName("escrita (AnimeAlteradoEvento) esvazia o cache: a próxima listagem chega ao controller")
+	void doFilter_reachesController_afterWrite() throws Exception {
+		CacheRespostas cache = cache(false, 33_554_432);
+		FiltroCacheRespostas filtro = new FiltroCacheRespostas(cache);
+		executa(filtro, lista());
+
+		cache.aoAlterar(AnimeAlteradoEvento.removido(1L));
+		executa(filtro, lista());
+
+		Assertions.assertThat(chamadas).hasValue(2);
+		Assertions.assertThat(cache.estatisticas().getBytes()).isPositive();
+		Assertions.assertThat(cache.estatisticas().getInvalidacoes()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("não guarda escrita nem resposta de erro")
+	void doFilter_ignoresNonGetAndErrors() throws Exception {
+		FiltroCacheRespostas filtro = filtro(false);
+		MockHttpServletRequest post = lista();
+		post.setMethod("POST");
+
+		executa(filtro, post);
+		executa(filtro, post);
+		executa(filtro, lista("name", "erro"));
+		executa(filtro, lista("name", "erro"));
+
+		Assertions.assertThat(chamadas).hasValue(4);
+	}
+
+	@Test
+	@DisplayName("limite de bytes despeja as respostas mais antigas")
+	void guarda_evictsOldest_whenMaxBytesExceeded() {
+		byte[] corpo = JSON.getBytes(StandardCharsets.UTF_8);
+		CacheRespostas cache = cache(false, corpo.length * 2L);
+
+		cache.guarda("a", cache.geracao(), corpo, MediaType.APPLICATION_JSON_VALUE, null);
+		cache.guarda("b", cache.geracao(), corpo, MediaType.APPLICATION_JSON_VALUE, null);
+		cache.guarda("c", cache.geracao(), corpo, MediaType.APPLICATION_JSON_VALUE, null);
+
+		Assertions.assertThat(cache.obtem("a")).isNull();
+		Assertions.assertThat(cache.obtem("c")).isNotNull();
+		Assertions.assertThat(cache.estatisticas().getBytes()).isLessThanOrEqualTo(corpo.length * 2L);
+	}
+
+	private FiltroCacheRespostas filtro(boolean offHeap) {
+		return new FiltroCacheRespostas(cache(offHeap, 33_554_432));
+	}
+
+	private static CacheRespostas cache(boolean offHeap, long maxBytes) {
+		return new CacheRespostas(true, 10, maxBytes, 60_000, true, offHeap, System::nanoTime);
+	}
+
+	private MockHttpServletResponse executa(FiltroCacheRespostas filtro, MockHttpServletRequest request)
+			throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filtro.doFilter(request, response, new MockFilterChain(new ControllerFalso()));
+		return response;
+	}
+
+	private static MockHttpServletRequest lista(String... parametros) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/animes");
+		for (int i = 0; i < parametros.length; i += 2) {
+			request.addParameter(parametros[i], parametros[i + 1]);
+		}
+		return request;
+	}
+
+	private static String descomprime(byte[] bytes) throws IOException {
+		try (GZIPInputStream gz = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			return new String(gz.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	// Responde o JSON com ETag (ou 400 para name=erro), contando as chamadas
+	private class ControllerFalso extends HttpServlet {
+		@Override
+		protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+			chamadas.incrementAndGet();
+			if ("erro".equals(request.getParameter("name"))) {
+				response.setStatus(400);
+				response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+				response.getWriter().write("{\"status\":400}");
+				return;
+			}
+			response.setStatus(200);
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			response.setHeader(HttpHeaders.ETAG, ETAG);
+			response.getOutputStream().write(JSON.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+}
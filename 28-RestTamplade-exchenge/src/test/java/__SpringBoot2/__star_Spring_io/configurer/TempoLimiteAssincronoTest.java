@@ -0,0 +1,51 @@
+package __SpringBoot2.__star_Spring_io.configurer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+@DisplayName("TempoLimiteAssincrono testes")
+class TempoLimiteAssincronoTest {
+
+	private MockHttpServletRequest servletRequest;
+	private StandardServletAsyncWebRequest asyncWebRequest;
+	private WebAsyncManager asyncManager;
+
+	@BeforeEach
+	void setUp() {
+		servletRequest = new MockHttpServletRequest();
+		servletRequest.setAsyncSupported(true);
+		asyncWebRequest = new StandardServletAsyncWebRequest(servletRequest, new MockHttpServletResponse());
+		// Tempo limite global (spring.mvc.async.request-timeout)
+		asyncWebRequest.setTimeout(30_000L);
+		asyncManager = WebAsyncUtils.getAsyncManager(servletRequest);
+		asyncManager.setAsyncWebRequest(asyncWebRequest);
+		asyncManager.setTaskExecutor(new SimpleAsyncTaskExecutor());
+		asyncManager.registerCallableInterceptor("tempoLimite", new TempoLimiteAssincrono());
+	}
+
+	@Test
+	@DisplayName("requisição marcada começa a resposta assíncrona com o próprio tempo limite")
+	void beforeConcurrentHandling_appliesMarkedTimeout() throws Exception {
+		TempoLimiteAssincrono.define(asyncWebRequest, 1_800_000L);
+
+		asyncManager.startCallableProcessing(() -> "ok");
+
+		Assertions.assertThat(servletRequest.getAsyncContext().getTimeout()).isEqualTo(1_800_000L);
+	}
+
+	@Test
+	@DisplayName("requisição sem marca segue com o tempo limite global")
+	void beforeConcurrentHandling_keepsGlobalTimeout_whenNotMarked() throws Exception {
+		asyncManager.startCallableProcessing(() -> "ok");
+
+		Assertions.assertThat(servletRequest.getAsyncContext().getTimeout()).isEqualTo(30_000L);
+	}
+}
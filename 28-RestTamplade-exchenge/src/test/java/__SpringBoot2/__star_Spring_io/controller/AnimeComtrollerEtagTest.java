@@ -0,0 +1,124 @@
+package __SpringBoot2.__star_Spring_io.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import __SpringBoot2.__star_Spring_io.cache.GeracaoCatalogo;
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import __SpringBoot2.__star_Spring_io.handler.RestExceptionHandler;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+import __SpringBoot2.__star_Spring_io.services.AnimeServices;
+import __SpringBoot2.__star_Spring_io.services.ExportacaoAnimes;
+import __SpringBoot2.__star_Spring_io.services.ModoContagem;
+import __SpringBoot2.__star_Spring_io.util.DateUtil;
+import __SpringBoot2.__star_Spring_io.util.EtagAnime;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnimeComtroller requisições condicionais (ETag) testes")
+class AnimeComtrollerEtagTest {
+
+	@InjectMocks
+	private AnimeComtroller animeComtroller;
+
+	@Mock
+	private DateUtil dateUtil;
+
+	@Mock
+	private AnimeServices animeServices;
+
+	@Mock
+	private ExportacaoAnimes exportacaoAnimes;
+
+	@Spy
+	private GeracaoCatalogo geracaoCatalogo = new GeracaoCatalogo();
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.standaloneSetup(animeComtroller)
+				.setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+				.setControllerAdvice(new RestExceptionHandler())
+				.build();
+	}
+
+	@Test
+	@DisplayName("página repetida com If-None-Match volta 304 sem chamar o service; depois de uma escrita volta 200")
+	void list_returnsNotModified_untilCatalogChanges() throws Exception {
+		BDDMockito.when(animeServices.listAll(any(Pageable.class), any(ModoContagem.class)))
+				.thenReturn(new PageImpl<>(List.of(AnimeResponse.builder().id(1L).name("naruto").build()),
+						PageRequest.of(0, 5), 1));
+
+		String etag = mockMvc.perform(get("/animes").param("page", "0"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/animes").param("page", "0").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+		Mockito.verify(animeServices, Mockito.times(1)).listAll(any(Pageable.class), any(ModoContagem.class));
+
+		geracaoCatalogo.aoAlterar(AnimeAlteradoEvento.removido(1L));
+
+		mockMvc.perform(get("/animes").param("page", "0").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	@DisplayName("GET /animes/{id} com If-None-Match da versão atual volta 304 sem carregar o anime")
+	void findById_returnsNotModified_whenVersionUnchanged() throws Exception {
+		BDDMockito.when(animeServices.versaoAtual(1L)).thenReturn(Optional.of(3L));
+
+		mockMvc.perform(get("/animes/1").header(HttpHeaders.IF_NONE_MATCH, EtagAnime.doRecurso(1L, 3L)))
+				.andExpect(status().isNotModified());
+		Mockito.verify(animeServices, Mockito.never()).findById(1L);
+	}
+
+	@Test
+	@DisplayName("PUT com If-Match passa a versão lida ao service e devolve a ETag da nova versão")
+	void update_passesIfMatchVersion_andReturnsNewEtag() throws Exception {
+		BDDMockito.when(animeServices.updateByName(1L, "bleach", 3L))
+				.thenReturn(AnimeResponse.builder().id(1L).name("bleach").versao(4L).build());
+
+		mockMvc.perform(put("/animes").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id\":1,\"name\":\"bleach\"}")
+				.header(HttpHeaders.IF_MATCH, EtagAnime.doRecurso(1L, 3L)))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, EtagAnime.doRecurso(1L, 4L)));
+	}
+
+	@Test
+	@DisplayName("PUT com If-Match de outro anime volta 412 sem chamar o service")
+	void update_returnsPreconditionFailed_whenIfMatchIsForAnotherAnime() throws Exception {
+		mockMvc.perform(put("/animes").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id\":1,\"name\":\"bleach\"}")
+				.header(HttpHeaders.IF_MATCH, EtagAnime.doRecurso(2L, 3L)))
+				.andExpect(status().isPreconditionFailed());
+		Mockito.verifyNoInteractions(animeServices);
+	}
+}
@@ -0,0 +1,92 @@
+package __SpringBoot2.__star_Spring_io.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import __SpringBoot2.__star_Spring_io.cache.GeracaoCatalogo;
+import __SpringBoot2.__star_Spring_io.handler.RestExceptionHandler;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+import __SpringBoot2.__star_Spring_io.services.AnimeServices;
+import __SpringBoot2.__star_Spring_io.services.ExportacaoAnimes;
+import __SpringBoot2.__star_Spring_io.util.DateUtil;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnimeComtroller escolha do método em /animes/findByName testes")
+class AnimeComtrollerRotasTest {
+
+	@InjectMocks
+	private AnimeComtroller animeComtroller;
+
+	@Mock
+	private DateUtil dateUtil;
+
+	@Mock
+	private AnimeServices animeServices;
+
+	@Mock
+	private ExportacaoAnimes exportacaoAnimes;
+
+	@Spy
+	private GeracaoCatalogo geracaoCatalogo = new GeracaoCatalogo();
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.standaloneSetup(animeComtroller)
+				.setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+				.setControllerAdvice(new RestExceptionHandler())
+				.build();
+	}
+
+	@Test
+	@DisplayName("mode=fuzzy/prefix com withTotal=false ou cursor responde 400 sem chamar o service")
+	void findByName_returnsBadRequest_whenModeIsCombinedWithSliceOrCursor() throws Exception {
+		for (String mode : List.of("fuzzy", "prefix")) {
+			mockMvc.perform(get("/animes/findByName").param("name", "naruto").param("mode", mode)
+					.param("withTotal", "false"))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.details").value("mode=" + mode + " nao aceita withTotal=false"));
+			mockMvc.perform(get("/animes/findByName").param("name", "naruto").param("mode", mode)
+					.param("cursor", ""))
+					.andExpect(status().isBadRequest());
+		}
+
+		Mockito.verifyNoInteractions(animeServices);
+	}
+
+	@Test
+	@DisplayName("mode=fuzzy com withTotal=true continua na busca aproximada")
+	void findByName_usesFuzzy_whenWithTotalIsTrue() throws Exception {
+		BDDMockito.when(animeServices.findByNameFuzzy(any(Pageable.class), anyString()))
+				.thenReturn(new PageImpl<>(List.of(AnimeResponse.builder().id(1L).name("naruto").build()),
+						PageRequest.of(0, 5), 1));
+
+		mockMvc.perform(get("/animes/findByName").param("name", "naurto").param("mode", "fuzzy")
+				.param("withTotal", "true"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].name").value("naruto"));
+	}
+}
@@ -0,0 +1,68 @@
+package __SpringBoot2.__star_Spring_io.monitoramento;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DiagnosticoPinagem testes")
+class DiagnosticoPinagemTest {
+
+	private static final long MILI = 1_000_000;
+
+	private final DiagnosticoPinagem diagnostico = new DiagnosticoPinagem(true, true, 20, 2);
+
+	@Test
+	@DisplayName("origem = primeiro quadro de mysql/hibernate/hikari/aplicação, de dentro para fora")
+	void registra_groupsByFirstKnownFrame() {
+		diagnostico.registra(List.of(
+			"java.net.SocketInputStream.read:10",
+			"com.mysql.cj.protocol.a.NativeProtocol.readMessage:20",
+			"org.hibernate.sql.exec.internal.JdbcSelectExecutorStandardImpl.execute:30"), 30 * MILI);
+		diagnostico.registra(List.of(
+			"org.hibernate.engine.jdbc.internal.ResultSetReturnImpl.extract:5",
+			"__SpringBoot2.__star_Spring_io.services.AnimeServices.findById:1"), 50 * MILI);
+		diagnostico.registra(List.of("java.lang.Object.wait:1"), 25 * MILI);
+
+		DiagnosticoPinagem.Estatisticas estatisticas = diagnostico.estatisticas();
+
+		Assertions.assertThat(estatisticas.getEventos()).isEqualTo(3);
+		Assertions.assertThat(estatisticas.getOrigens()).containsOnlyKeys("mysql", "hibernate", DiagnosticoPinagem.OUTROS);
+		Assertions.assertThat(estatisticas.getOrigens().get("mysql").getLocais())
+			.containsOnlyKeys("com.mysql.cj.protocol.a.NativeProtocol.readMessage:20");
+		Assertions.assertThat(estatisticas.getOrigens().get("hibernate").getMaxMilisPreso()).isEqualTo(50.0);
+		Assertions.assertThat(estatisticas.getOrigens().get(DiagnosticoPinagem.OUTROS).getLocais())
+			.containsOnlyKeys("java.lang.Object.wait:1");
+	}
+
+	@Test
+	@DisplayName("soma tempo e eventos por origem; locais além do limite só entram na contagem")
+	void registra_sumsPerOrigin_andCapsLocals() {
+		diagnostico.registra(List.of("com.mysql.cj.NativeSession.a:1"), 20 * MILI);
+		diagnostico.registra(List.of("com.mysql.cj.NativeSession.b:1"), 40 * MILI);
+		diagnostico.registra(List.of("com.mysql.cj.NativeSession.b:1"), 30 * MILI);
+		diagnostico.registra(List.of("com.mysql.cj.NativeSession.c:1"), 10 * MILI);
+
+		DiagnosticoPinagem.Origem mysql = diagnostico.estatisticas().getOrigens().get("mysql");
+
+		Assertions.assertThat(mysql.getEventos()).isEqualTo(4);
+		Assertions.assertThat(mysql.getMilisPresos()).isEqualTo(100.0);
+		Assertions.assertThat(mysql.getMaxMilisPreso()).isEqualTo(40.0);
+		Assertions.assertThat(mysql.getLocais()).containsExactly(
+			Assertions.entry("com.mysql.cj.NativeSession.b:1", 2L),
+			Assertions.entry("com.mysql.cj.NativeSession.a:1", 1L));
+	}
+
+	@Test
+	@DisplayName("desligado: não escuta o JFR e informa o modo de plataforma")
+	void desligado_neverMonitors() {
+		DiagnosticoPinagem desligado = new DiagnosticoPinagem(false, false, 20, 1);
+
+		desligado.inicia();
+
+		Assertions.assertThat(desligado.estatisticas().isMonitorando()).isFalse();
+		Assertions.assertThat(desligado.estatisticas().isThreadsVirtuais()).isFalse();
+		Assertions.assertThat(desligado.estatisticas().getEventos()).isZero();
+	}
+}
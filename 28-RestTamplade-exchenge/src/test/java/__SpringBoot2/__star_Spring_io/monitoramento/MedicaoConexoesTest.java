@@ -0,0 +1,87 @@
+package __SpringBoot2.__star_Spring_io.monitoramento;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@DisplayName("MedicaoConexoes testes")
+class MedicaoConexoesTest {
+
+	private final DataSource pool = Mockito.mock(DataSource.class);
+
+	private final Connection conexaoFisica = Mockito.mock(Connection.class);
+
+	private final MedicaoConexoes medicao = new MedicaoConexoes();
+
+	private DataSource dataSource;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		BDDMockito.when(pool.getConnection()).thenReturn(conexaoFisica);
+		dataSource = (DataSource) medicao.postProcessAfterInitialization(pool, "dataSource");
+		// Padrões já conhecidos: sem isso o proxy pega uma conexão na primeira chamada só para lê-los
+		LazyConnectionDataSourceProxy lazy = (LazyConnectionDataSourceProxy) dataSource;
+		lazy.setDefaultAutoCommit(true);
+		lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+	}
+
+	@Test
+	@DisplayName("envolve o DataSource uma vez só, com o proxy lazy por fora")
+	void postProcess_wrapsDataSourceOnce() {
+		Assertions.assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+		Assertions.assertThat(medicao.postProcessAfterInitialization(dataSource, "dataSource")).isSameAs(dataSource);
+		Assertions.assertThat(medicao.postProcessAfterInitialization("outro bean", "outro")).isEqualTo("outro bean");
+	}
+
+	@Test
+	@DisplayName("conexão sem SQL não sai do pool nem conta na requisição")
+	void requisicao_withoutSql_takesNoConnection() throws Exception {
+		medicao.iniciaRequisicao();
+		try (Connection conexao = dataSource.getConnection()) {
+			conexao.setReadOnly(true);
+			conexao.setAutoCommit(false);
+		}
+		MedicaoConexoes.Requisicao requisicao = medicao.encerraRequisicao();
+
+		Assertions.assertThat(requisicao.getConexoes()).isZero();
+		BDDMockito.verify(pool, Mockito.never()).getConnection();
+		Assertions.assertThat(medicao.estatisticas().getRequisicoes()).isEqualTo(1);
+		Assertions.assertThat(medicao.estatisticas().getRequisicoesComConexao()).isZero();
+	}
+
+	@Test
+	@DisplayName("conexão usada conta uma vez na requisição e no total, mesmo com close repetido")
+	void requisicao_withSql_countsConnectionOnce() throws Exception {
+		medicao.iniciaRequisicao();
+		Connection conexao = dataSource.getConnection();
+		conexao.prepareStatement("select 1");
+		conexao.close();
+		conexao.close();
+		MedicaoConexoes.Requisicao requisicao = medicao.encerraRequisicao();
+
+		Assertions.assertThat(requisicao.getConexoes()).isEqualTo(1);
+		BDDMockito.verify(conexaoFisica).prepareStatement("select 1");
+		Assertions.assertThat(medicao.estatisticas().getConexoes()).isEqualTo(1);
+		Assertions.assertThat(medicao.estatisticas().getRequisicoesComConexao()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("conexão fora de requisição entra só no total geral")
+	void semRequisicao_countsOnlyInTotal() throws Exception {
+		try (Connection conexao = dataSource.getConnection()) {
+			conexao.prepareStatement("select 1");
+		}
+
+		Assertions.assertThat(medicao.encerraRequisicao()).isNull();
+		Assertions.assertThat(medicao.estatisticas().getConexoes()).isEqualTo(1);
+		Assertions.assertThat(medicao.estatisticas().getRequisicoes()).isZero();
+	}
+}
@@ -0,0 +1,127 @@
+package __SpringBoot2.__star_Spring_io.repository;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+import jakarta.persistence.EntityManagerFactory;
+
+// O cache de segundo nível só troca as entradas no commit: cada chamada do repositório roda
+// na própria transação (sem a transação de rollback do @DataJpaTest) e o teste limpa no fim
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=true",
+		"spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+		"spring.jpa.properties.hibernate.javax.cache.provider=org.ehcache.jsr107.EhcacheCachingProvider",
+		"spring.jpa.properties.hibernate.javax.cache.uri=ehcache.xml" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Anime no cache de segundo nível e de consultas testes")
+class AnimeCacheSegundoNivelTest {
+
+	private static final PageRequest PAGINA = PageRequest.of(0, 5);
+
+	@Autowired
+	private AnimeRepository animeRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private SessionFactory sessionFactory;
+
+	private Statistics estatisticas;
+
+	private long id;
+
+	@BeforeEach
+	void setUp() {
+		id = animeRepository.save(Anime.builder().name("naruto").sanitizadorVersao(Sanatizador.VERSAO).build()).getId();
+		sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		sessionFactory.getCache().evictAllRegions();
+		estatisticas = sessionFactory.getStatistics();
+	}
+
+	@AfterEach
+	void limpa() {
+		animeRepository.deleteAllInBatch();
+		sessionFactory.getCache().evictAllRegions();
+	}
+
+	@Test
+	@DisplayName("findById repetido vem do cache de segundo nível, sem SQL")
+	void findById_secondRead_issuesNoSql() {
+		animeRepository.findById(id);
+		estatisticas.clear();
+
+		Assertions.assertThat(animeRepository.findById(id)).get().extracting(Anime::getName).isEqualTo("naruto");
+		Assertions.assertThat(estatisticas.getPrepareStatementCount()).isZero();
+		Assertions.assertThat(estatisticas.getSecondLevelCacheHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("finder com HINT_CACHEABLE repetido vem do cache de consultas, sem SQL")
+	void cacheableFinders_secondCall_issueNoSql() {
+		animeRepository.findLeituraByNomeBusca("naruto", PAGINA);
+		animeRepository.findVersaoById(id);
+		estatisticas.clear();
+
+		Assertions.assertThat(animeRepository.findLeituraByNomeBusca("naruto", PAGINA))
+				.extracting(AnimeLeitura::getId).containsExactly(id);
+		Assertions.assertThat(animeRepository.findVersaoById(id)).contains(0L);
+		Assertions.assertThat(estatisticas.getPrepareStatementCount()).isZero();
+		Assertions.assertThat(estatisticas.getQueryCacheHitCount()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("UPDATE em um comando tira a entidade e as consultas antigas do cache")
+	void atualizaNome_evictsEntityAndQueryResults() {
+		animeRepository.findById(id);
+		animeRepository.findLeituraByNomeBusca("naruto", PAGINA);
+		animeRepository.findVersaoById(id);
+
+		animeRepository.atualizaNome(id, "Bleach", "bleach", Sanatizador.VERSAO);
+		estatisticas.clear();
+
+		Assertions.assertThat(animeRepository.findById(id)).get().extracting(Anime::getName).isEqualTo("Bleach");
+		Assertions.assertThat(animeRepository.findLeituraByNomeBusca("naruto", PAGINA)).isEmpty();
+		Assertions.assertThat(animeRepository.findVersaoById(id)).contains(1L);
+		Assertions.assertThat(estatisticas.getSecondLevelCacheHitCount()).isZero();
+		Assertions.assertThat(estatisticas.getQueryCacheHitCount()).isZero();
+		Assertions.assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("DELETE em um comando tira a entidade do cache")
+	void removePorId_evictsEntity() {
+		animeRepository.findById(id);
+
+		animeRepository.removePorId(id);
+
+		Assertions.assertThat(animeRepository.findById(id)).isEmpty();
+		Assertions.assertThat(animeRepository.findVersaoById(id)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("save invalida o resultado em cache de uma consulta que agora tem mais linhas")
+	void save_invalidatesCachedQueryResults() {
+		Assertions.assertThat(animeRepository.findLeituraByNomeBusca("bleach", PAGINA)).isEmpty();
+
+		long novo = animeRepository.save(Anime.builder().name("Bleach").sanitizadorVersao(Sanatizador.VERSAO).build())
+				.getId();
+
+		Assertions.assertThat(animeRepository.findLeituraByNomeBusca("bleach", PAGINA))
+				.extracting(AnimeLeitura::getId).containsExactly(novo);
+	}
+}
@@ -1,9 +1,12 @@
 package __SpringBoot2.__star_Spring_io.repository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -11,15 +14,22 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.util.CursorAnime;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.log4j.Log4j2;
 
-@DataJpaTest(properties = { "spring.jpa.properties.jakarta.persistence.validation.mode=none" })
+@DataJpaTest(properties = { "spring.jpa.properties.jakarta.persistence.validation.mode=none",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
 @Log4j2
 @DisplayName("animeRepository testes")
 class AnimeRepositoryTest {
@@ -27,6 +37,12 @@ class AnimeRepositoryTest {
 	@Autowired
 	private AnimeRepository animeRepository;
 
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
 	@BeforeEach
 	void setUp() {
 		List<Anime> AnimesToSaved = List.of(
@@ -37,6 +53,152 @@ class AnimeRepositoryTest {
 		for (Anime anime : AnimesToSaved) {
 			animeRepository.save(anime);
 		}
+		// Ids da sequência: o INSERT só sai no flush (sem isso ele cairia dentro das medições de comandos)
+		animeRepository.flush();
+	}
+
+	@Nested
+	@DisplayName("chave de busca dobrada (nome_busca) - testes")
+	class nomeBusca{
+		
+		@Test
+		@DisplayName("save e update preenchem nome_busca sem maiúsculas nem acentos")
+		void save_andUpdate_fillFoldedSearchKey() {
+			Anime anime = animeRepository.saveAndFlush(Anime.builder().name("Pokémon").build());
+			Assertions.assertThat(anime.getNomeBusca()).isEqualTo("pokemon");
+			
+			// Update por dirty checking (@PreUpdate recalcula a chave)
+			anime.setName("AÇÃO Pokémon");
+			testEntityManager.flush();
+			testEntityManager.clear();
+			
+			Assertions.assertThat(animeRepository.findLeituraByNomeBusca("acao pokemon", PageRequest.of(0, 5)))
+					.extracting(AnimeLeitura::getName).containsExactly("AÇÃO Pokémon");
+			Assertions.assertThat(animeRepository.findLeituraByNomeBusca("pokemon", PageRequest.of(0, 5))).isEmpty();
+		}
+		
+		@Test
+		@DisplayName("prefixo encontra pelo começo da chave dobrada")
+		void findLeituraByNomeBuscaStartingWith_matchesFoldedPrefix() {
+			animeRepository.save(Anime.builder().name("Álex Kidd").build());
+			
+			Assertions.assertThat(animeRepository.findLeituraByNomeBuscaStartingWith("ale", PageRequest.of(0, 5, Sort.by("id"))))
+					.extracting(AnimeLeitura::getName).containsExactly("alex", "Álex Kidd");
+		}
+		
+		@Test
+		@DisplayName("exato e prefixo usam o índice idx_anime_nome_busca (plano do banco)")
+		void exactAndPrefix_useSearchKeyIndex() {
+			String exato = plano("SELECT id FROM anime WHERE nome_busca = 'alex'");
+			String prefixo = plano("SELECT id FROM anime WHERE nome_busca LIKE 'al%'");
+			
+			log.info("Plano exato: {} | prefixo: {}", exato, prefixo);
+			Assertions.assertThat(exato).containsIgnoringCase("idx_anime_nome_busca");
+			Assertions.assertThat(prefixo).containsIgnoringCase("idx_anime_nome_busca");
+		}
+		
+		private String plano(String sql) {
+			return String.valueOf(testEntityManager.getEntityManager()
+					.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+		}
+	}
+
+	@Nested
+	@DisplayName("página com total em uma consulta - testes")
+	class paginaComTotal{
+		
+		@Test
+		@DisplayName("findAllComTotal traz página e total em 1 comando, findAll paginado usa 2")
+		void findAllComTotal_usesSingleStatement_insteadOfPagePlusCount() {
+			Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+			Pageable pageable = PageRequest.of(0, 2, Sort.by("id"));
+			
+			estatisticas.clear();
+			Page<Anime> separada = animeRepository.findAll(pageable);
+			long comandosSeparada = estatisticas.getPrepareStatementCount();
+			
+			estatisticas.clear();
+			List<Object[]> linhas = animeRepository.findAllComTotal(pageable);
+			long comandosJanela = estatisticas.getPrepareStatementCount();
+			
+			log.info("Comandos por pagina: separada={}, janela={}", comandosSeparada, comandosJanela);
+			Assertions.assertThat(comandosSeparada).isEqualTo(2);
+			Assertions.assertThat(comandosJanela).isEqualTo(1);
+			Assertions.assertThat(linhas).extracting(linha -> (Long) linha[0])
+					.containsExactlyElementsOf(separada.map(Anime::getId).getContent());
+			Assertions.assertThat(((Number) linhas.get(0)[3]).longValue()).isEqualTo(separada.getTotalElements());
+		}
+		
+		@Test
+		@DisplayName("findByNameContainingComTotal conta só as linhas filtradas")
+		void findByNameContainingComTotal_returnsFilteredTotal() {
+			List<Object[]> linhas = animeRepository.findByNameContainingComTotal("ar", PageRequest.of(0, 1));
+			
+			Assertions.assertThat(linhas).hasSize(1);
+			Assertions.assertThat(((Number) linhas.get(0)[3]).longValue())
+					.isEqualTo(animeRepository.countByNameContaining("ar"));
+		}
+		
+		@Test
+		@DisplayName("findSliceBy não executa contagem e informa hasNext")
+		void findSliceBy_skipsCount_andReportsHasNext() {
+			Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+			
+			estatisticas.clear();
+			Slice<AnimeLeitura> slice = animeRepository.findSliceBy(PageRequest.of(0, 3, Sort.by("id")));
+			
+			Assertions.assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+			Assertions.assertThat(slice.getContent()).hasSize(3);
+			Assertions.assertThat(slice.hasNext()).isTrue();
+		}
+	}
+
+	@Nested
+	@DisplayName("buscaPorCursor (keyset) - testes")
+	class buscaPorCursor{
+		
+		@Test
+		@DisplayName("percorre todas as linhas por nome desc sem repetir nem pular, inclusive nomes iguais")
+		void buscaPorCursor_walksAllRowsInOrder_whenSortedByNameDesc() {
+			animeRepository.saveAndFlush(Anime.builder().name("barbara").build());
+			Sort.Order ordem = Sort.Order.desc("name");
+			
+			List<String> nomes = new ArrayList<>();
+			List<Long> ids = new ArrayList<>();
+			CursorAnime cursor = null;
+			List<Anime> pagina;
+			do {
+				pagina = animeRepository.buscaPorCursor(null, false, ordem, cursor, 2);
+				pagina.forEach(anime -> { nomes.add(anime.getName()); ids.add(anime.getId()); });
+				if (!pagina.isEmpty()) {
+					Anime ultimo = pagina.get(pagina.size() - 1);
+					cursor = new CursorAnime("name", Sort.Direction.DESC, ultimo.getId(), ultimo.getName());
+				}
+			} while (pagina.size() == 2);
+			
+			Assertions.assertThat(nomes).containsExactly("daniel", "carlos", "barbara", "barbara", "alex");
+			Assertions.assertThat(ids).doesNotHaveDuplicates();
+		}
+		
+		@Test
+		@DisplayName("aplica filtro contém e continua depois do id do cursor")
+		void buscaPorCursor_filtersByContainingAndSeeksById() {
+			List<Anime> primeira = animeRepository.buscaPorCursor("ar", true, Sort.Order.asc("id"), null, 1);
+			CursorAnime cursor = new CursorAnime("id", Sort.Direction.ASC, primeira.get(0).getId(), null);
+			
+			List<Anime> segunda = animeRepository.buscaPorCursor("ar", true, Sort.Order.asc("id"), cursor, 5);
+			
+			Assertions.assertThat(primeira).extracting(Anime::getName).containsExactly("barbara");
+			Assertions.assertThat(segunda).extracting(Anime::getName).containsExactly("carlos");
+		}
+		
+		@Test
+		@DisplayName("trata '_' como caractere literal no filtro contém")
+		void buscaPorCursor_escapesLikeWildcards_whenNameHasUnderscore() {
+			List<Anime> resultado = animeRepository.buscaPorCursor("a_e", true, Sort.Order.asc("id"), null, 5);
+			
+			Assertions.assertThat(resultado).isEmpty();
+		}
 	}
 
 	@Nested
@@ -161,6 +323,51 @@ class AnimeRepositoryTest {
 		}
 	}
 	
+	@Nested
+	@DisplayName("update e delete em um comando - testes")
+	class escritaUmComando{
+		
+		@Test
+		@DisplayName("atualizaNome grava nome, chave dobrada e versão em um UPDATE e devolve 1")
+		void atualizaNome_updatesRowInOneStatement_whenIdExists() {
+			Long id = animeRepository.findLeituraByNomeBusca("alex", PageRequest.of(0, 1)).getContent().get(0).getId();
+			Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+			estatisticas.clear();
+			
+			int alteradas = animeRepository.atualizaNome(id, "Álex Kidd", "alex kidd", 1);
+			
+			Assertions.assertThat(alteradas).isEqualTo(1);
+			Assertions.assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+			Assertions.assertThat(animeRepository.findLeituraByNomeBusca("alex kidd", PageRequest.of(0, 5)))
+					.extracting(AnimeLeitura::getId, AnimeLeitura::getName, AnimeLeitura::getSanitizadorVersao)
+					.containsExactly(Assertions.tuple(id, "Álex Kidd", 1));
+		}
+		
+		@Test
+		@DisplayName("atualizaNome devolve 0 e não altera nada quando o id não existe")
+		void atualizaNome_returnsZero_whenIdNotFound() {
+			Assertions.assertThat(animeRepository.atualizaNome(99_999L, "kaka", "kaka", 1)).isZero();
+			Assertions.assertThat(animeRepository.findLeituraByNomeBusca("kaka", PageRequest.of(0, 5))).isEmpty();
+		}
+		
+		@Test
+		@DisplayName("removePorId apaga em um DELETE e devolve 1; id inexistente devolve 0")
+		void removePorId_deletesInOneStatement_andReportsMissingId() {
+			Long id = animeRepository.findLeituraByNomeBusca("carlos", PageRequest.of(0, 1)).getContent().get(0).getId();
+			long countBefore = animeRepository.count();
+			Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+			estatisticas.clear();
+			
+			int apagadas = animeRepository.removePorId(id);
+			
+			Assertions.assertThat(apagadas).isEqualTo(1);
+			Assertions.assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+			Assertions.assertThat(animeRepository.findById(id)).isEmpty();
+			Assertions.assertThat(animeRepository.removePorId(id)).isZero();
+			Assertions.assertThat(animeRepository.count()).isEqualTo(countBefore - 1);
+		}
+	}
+	
 	@Nested
 	@DisplayName("delete - testes")
 	class delete{
@@ -211,4 +418,3 @@ class AnimeRepositoryTest {
 
 
 
-
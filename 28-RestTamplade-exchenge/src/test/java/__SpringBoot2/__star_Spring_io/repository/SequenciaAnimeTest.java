@@ -0,0 +1,46 @@
+package __SpringBoot2.__star_Spring_io.repository;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import __SpringBoot2.__star_Spring_io.util.SequenciaIdsAnime;
+
+@DataJpaTest
+@Import(SequenciaAnime.class)
+@DisplayName("SequenciaAnime testes")
+class SequenciaAnimeTest {
+
+	@Autowired
+	private SequenciaAnime sequenciaAnime;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	// Valores consumidos da sequência não voltam no rollback: o teste roda sem a transação e limpa no fim
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@DisplayName("adianta a sequência para depois do maior id herdado do IDENTITY, uma vez só")
+	void ajustaAposMaiorId_movesSequencePastExistingIds_once() {
+		jdbcTemplate.update("INSERT INTO anime (id, name) VALUES (10000, 'legado')");
+		try {
+			long ajustada = sequenciaAnime.ajustaAposMaiorId();
+			Long proximo = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR anime_seq", Long.class);
+
+			// Sequência só avança de IDS_POR_RESERVA em IDS_POR_RESERVA: para no primeiro valor depois do alvo
+			Assertions.assertThat(ajustada).isBetween(10_000L + SequenciaIdsAnime.IDS_POR_RESERVA,
+					10_000L + 2 * SequenciaIdsAnime.IDS_POR_RESERVA - 1);
+			// Primeiro id da reserva (v - 50, v] fica depois do legado
+			Assertions.assertThat(proximo - SequenciaIdsAnime.IDS_POR_RESERVA + 1).isGreaterThan(10_000);
+			Assertions.assertThat(sequenciaAnime.ajustaAposMaiorId()).isZero();
+		} finally {
+			jdbcTemplate.update("DELETE FROM anime WHERE id = 10000");
+		}
+	}
+}
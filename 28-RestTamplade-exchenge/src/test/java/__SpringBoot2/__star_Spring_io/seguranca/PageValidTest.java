@@ -0,0 +1,100 @@
+package __SpringBoot2.__star_Spring_io.seguranca;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.exception.BedRequestException;
+import __SpringBoot2.__star_Spring_io.mapper.AnimeMapper;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+@DisplayName("PageValid testes")
+class PageValidTest {
+
+	private final AnimeMapper animeMapper = Mappers.getMapper(AnimeMapper.class);
+
+	@Nested
+	@DisplayName("Pipeline fundido (ValidaSanitizaMapeiaPageLeitura) - testes")
+	class PipelineFundido {
+
+		@Test
+		@DisplayName("produz o mesmo conteúdo e metadados do fluxo por entidade")
+		void validaSanitizaMapeia_returnsSamePage_asLegacyPipeline() {
+			Page<AnimeResponse> antigo = PageValid.ValidaSanitizaPageAnime(paginaDoBanco(5))
+					.map(animeMapper::toAnimeResponse);
+			Page<AnimeResponse> fundido = PageValid.ValidaSanitizaMapeiaPageLeitura(paginaLeitura(5),
+					animeMapper::toAnimeResponse);
+
+			Assertions.assertThat(fundido.getContent()).containsExactlyElementsOf(antigo.getContent());
+			Assertions.assertThat(fundido.getTotalElements()).isEqualTo(antigo.getTotalElements());
+			Assertions.assertThat(fundido.getPageable()).isEqualTo(antigo.getPageable());
+			Assertions.assertThat(fundido.getContent().get(0).getName()).isEqualTo("anime 0");
+		}
+
+		@Test
+		@DisplayName("lança BedRequestException quando a página for null")
+		void validaSanitizaMapeia_throwsBedRequestException_whenPageIsNull() {
+			Assertions.assertThatExceptionOfType(BedRequestException.class)
+					.isThrownBy(() -> PageValid.ValidaSanitizaMapeiaPageLeitura(null, animeMapper::toAnimeResponse));
+		}
+
+		@Test
+		@DisplayName("aloca menos memória que ValidaSanitizaPageAnime + Page.map")
+		void validaSanitizaMapeia_allocatesLess_thanLegacyPipeline() {
+			Page<Anime> page = paginaDoBanco(50);
+			Page<AnimeLeitura> leituras = paginaLeitura(50);
+
+			long bytesAntigo = bytesPorChamada(() -> PageValid.ValidaSanitizaPageAnime(page).map(animeMapper::toAnimeResponse));
+			long bytesFundido = bytesPorChamada(() -> PageValid.ValidaSanitizaMapeiaPageLeitura(leituras, animeMapper::toAnimeResponse));
+
+			log.info("Alocacao por pagina de 50: antigo={} bytes, fundido={} bytes", bytesAntigo, bytesFundido);
+			Assertions.assertThat(bytesFundido).isLessThan(bytesAntigo);
+		}
+	}
+
+	// Linhas legadas (sem marcador): os dois fluxos precisam sanitizar
+	private static Page<Anime> paginaDoBanco(int tamanho) {
+		List<Anime> animes = new ArrayList<>();
+		for (int i = 0; i < tamanho; i++) {
+			animes.add(Anime.builder().id((long) i).name("anime " + i).build());
+		}
+		return new PageImpl<>(animes, PageRequest.of(0, tamanho), 1000);
+	}
+
+	// Mesmas linhas na projeção de leitura
+	private static Page<AnimeLeitura> paginaLeitura(int tamanho) {
+		List<AnimeLeitura> leituras = new ArrayList<>();
+		for (int i = 0; i < tamanho; i++) {
+			leituras.add(new AnimeLeitura((long) i, "anime " + i, null));
+		}
+		return new PageImpl<>(leituras, PageRequest.of(0, tamanho), 1000);
+	}
+
+	// Média de bytes alocados pela thread atual (após aquecimento do JIT)
+	private static long bytesPorChamada(Supplier<Page<AnimeResponse>> fluxo) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		int repeticoes = 20_000;
+		for (int i = 0; i < repeticoes; i++) {
+			fluxo.get();
+		}
+		long antes = threads.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < repeticoes; i++) {
+			fluxo.get();
+		}
+		return (threads.getCurrentThreadAllocatedBytes() - antes) / repeticoes;
+	}
+}
@@ -0,0 +1,204 @@
+package __SpringBoot2.__star_Spring_io.seguranca;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+
+@DisplayName("Sanatizador testes")
+class SanatizadorTest {
+
+	private static final List<String> ENTRADAS = List.of(
+			"naruto",
+			"Shingeki no Kyojin",
+			"alemcar<script>alert('xss')</script>",
+			"<img src=x onerror=alert(1)>",
+			"<h1>alfredo</h1>",
+			"&lt;b&gt;negrito&lt;/b&gt;",
+			"<H1><Script></Script></H1>",
+			"  espacos   duplicados  ",
+			"",
+			"a".repeat(150));
+
+	@AfterEach
+	void restauraCachePadrao() {
+		Sanatizador.configuraCache(true, Sanatizador.CAPACIDADE_CACHE_PADRAO);
+	}
+
+	@Nested
+	@DisplayName("Cache de sanitização - testes")
+	class CacheSanitizacao {
+
+		@Test
+		@DisplayName("retorna a mesma saída com o cache ligado e desligado")
+		void saniString_returnsSameOutput_whenCacheIsEnabledOrDisabled() {
+			Sanatizador.configuraCache(false, Sanatizador.CAPACIDADE_CACHE_PADRAO);
+			List<String> semCache = sanitizaTodas();
+
+			Sanatizador.configuraCache(true, Sanatizador.CAPACIDADE_CACHE_PADRAO);
+			List<String> primeiraPassada = sanitizaTodas();
+			List<String> segundaPassada = sanitizaTodas();
+
+			Assertions.assertThat(primeiraPassada).containsExactlyElementsOf(semCache);
+			Assertions.assertThat(segundaPassada).containsExactlyElementsOf(semCache);
+		}
+
+		@Test
+		@DisplayName("conta acertos e falhas quando nomes se repetem")
+		void saniString_countsHitsAndMisses_whenNamesRepeat() {
+			Sanatizador.configuraCache(true, 100);
+
+			sanitizaTodas();
+			sanitizaTodas();
+
+			// texto simples não passa pelo cache (caminho rápido)
+			long comMarcacao = ENTRADAS.stream().filter(e -> !Sanatizador.ehTextoSimples(e)).count();
+			SanitizacaoCache.Estatisticas estatisticas = Sanatizador.estatisticasCache();
+			Assertions.assertThat(estatisticas.getFalhas()).isEqualTo(comMarcacao);
+			Assertions.assertThat(estatisticas.getAcertos()).isEqualTo(comMarcacao);
+			Assertions.assertThat(estatisticas.getDespejos()).isZero();
+		}
+
+		@Test
+		@DisplayName("despeja entradas antigas e respeita a capacidade")
+		void saniString_evictsOldestEntries_whenCapacityIsExceeded() {
+			Sanatizador.configuraCache(true, 3);
+
+			for (int i = 0; i < 10; i++) {
+				Sanatizador.saniString("<b>anime " + i + "</b>");
+			}
+
+			SanitizacaoCache.Estatisticas estatisticas = Sanatizador.estatisticasCache();
+			Assertions.assertThat(estatisticas.getTamanho()).isEqualTo(3);
+			Assertions.assertThat(estatisticas.getDespejos()).isEqualTo(7);
+		}
+
+		@Test
+		@DisplayName("não expõe estatísticas quando o cache está desligado")
+		void estatisticasCache_returnsNull_whenCacheIsDisabled() {
+			Sanatizador.configuraCache(false, Sanatizador.CAPACIDADE_CACHE_PADRAO);
+
+			Assertions.assertThat(Sanatizador.estatisticasCache()).isNull();
+			Assertions.assertThat(Sanatizador.saniString(null)).isNull();
+		}
+	}
+
+	@Nested
+	@DisplayName("Caminho rápido sem JSoup - testes")
+	class CaminhoRapido {
+
+		// Alfabeto do fuzz: letras, acentos, marcação, entidades, espaços e invisíveis
+		private static final String ALFABETO = "abcXYZ019 áçÑ.-_'\"=/;#<>&lt\t\n\r\u00a0\u00ad\u200b\u0000\u0301!?";
+
+		@Test
+		@DisplayName("produz saída idêntica ao JSoup em um corpus aleatório grande")
+		void saniString_matchesJsoupOutput_onLargeFuzzCorpus() {
+			Sanatizador.configuraCache(false, Sanatizador.CAPACIDADE_CACHE_PADRAO);
+			Random aleatorio = new Random(42);
+
+			for (int i = 0; i < 20_000; i++) {
+				String entrada = geraTexto(aleatorio);
+
+				Assertions.assertThat(Sanatizador.saniString(entrada))
+						.as("entrada [%s]", entrada)
+						.isEqualTo(Sanatizador.sanitizaComJsoup(entrada));
+			}
+		}
+
+		@Test
+		@DisplayName("reconhece texto simples e desvia textos suspeitos para o JSoup")
+		void ehTextoSimples_detectsMarkupEntitiesAndWhitespace() {
+			Assertions.assertThat(Sanatizador.ehTextoSimples("Shingeki no Kyojin")).isTrue();
+			Assertions.assertThat(Sanatizador.ehTextoSimples("Pokémon: Ação 2")).isTrue();
+			Assertions.assertThat(Sanatizador.ehTextoSimples("")).isTrue();
+
+			Assertions.assertThat(Sanatizador.ehTextoSimples("<b>naruto</b>")).isFalse();
+			Assertions.assertThat(Sanatizador.ehTextoSimples("tom &amp; jerry")).isFalse();
+			Assertions.assertThat(Sanatizador.ehTextoSimples(" naruto")).isFalse();
+			Assertions.assertThat(Sanatizador.ehTextoSimples("naruto ")).isFalse();
+			Assertions.assertThat(Sanatizador.ehTextoSimples("one  piece")).isFalse();
+			Assertions.assertThat(Sanatizador.ehTextoSimples("one\tpiece")).isFalse();
+		}
+
+		@Test
+		@DisplayName("mantém o corte em 100 caracteres e o aviso para texto vazio")
+		void saniString_keepsTruncationAndFallback_onFastPath() {
+			Assertions.assertThat(Sanatizador.saniString("a".repeat(150))).hasSize(100);
+			Assertions.assertThat(Sanatizador.saniString("")).isEqualTo("CARACTERES OU SIMBOLOS INPROPRIOS");
+		}
+
+		private String geraTexto(Random aleatorio) {
+			int tamanho = aleatorio.nextInt(130);
+			// metade das entradas só com letras/pontuação/espaço para exercitar o caminho rápido
+			String fonte = aleatorio.nextBoolean() ? ALFABETO : ALFABETO.substring(0, 17);
+			StringBuilder texto = new StringBuilder(tamanho);
+			for (int i = 0; i < tamanho; i++) {
+				texto.append(fonte.charAt(aleatorio.nextInt(fonte.length())));
+			}
+			return texto.toString();
+		}
+	}
+
+	@Nested
+	@DisplayName("Marcador de versão da sanitização - testes")
+	class MarcadorVersao {
+
+		@Test
+		@DisplayName("não sanitiza de novo nome gravado com a versão atual")
+		void saniNomeLido_returnsStoredName_whenRowHasCurrentVersion() {
+			Assertions.assertThat(Sanatizador.saniNomeLido("<b>naruto</b>", Sanatizador.VERSAO))
+					.isEqualTo("<b>naruto</b>");
+		}
+
+		@Test
+		@DisplayName("sanitiza nome de linha legada (sem marcador)")
+		void saniNomeLido_sanitizesName_whenRowHasNoVersion() {
+			Assertions.assertThat(Sanatizador.saniNomeLido("<b>naruto</b>", null)).isEqualTo("naruto");
+		}
+
+		@Test
+		@DisplayName("nome gravado com o marcador é estável: entidade escapada não vira tag viva")
+		void saniNomeGravado_returnsFixedPoint_whenInputHasEscapedScript() {
+			String entrada = "&lt;script&gt;alert(1)&lt;/script&gt;";
+			// Uma passada só decodifica a entidade: a tag sairia viva de uma linha marcada
+			Assertions.assertThat(Sanatizador.saniString(entrada)).isEqualTo("<script>alert(1)</script>");
+
+			String gravado = Sanatizador.saniNomeGravado(entrada);
+
+			Assertions.assertThat(gravado).doesNotContain("<", ">");
+			Assertions.assertThat(Sanatizador.saniString(gravado)).isEqualTo(gravado);
+			Assertions.assertThat(Sanatizador.saniNomeGravado("&lt;b&gt;Bleach&lt;/b&gt; &amp;amp; Naruto"))
+					.isEqualTo("Bleach & Naruto");
+			Assertions.assertThat(Sanatizador.saniNomeGravado(null)).isNull();
+		}
+
+		@Test
+		@DisplayName("saniAnime devolve a mesma instância marcada e cópia marcada para legado")
+		void saniAnime_skipsCopy_whenAnimeIsMarked() {
+			Anime marcado = Anime.builder().id(1L).name("naruto").sanitizadorVersao(Sanatizador.VERSAO).build();
+			Anime legado = Anime.builder().id(2L).name("<i>bleach</i>").build();
+
+			Assertions.assertThat(Sanatizador.saniAnime(marcado)).isSameAs(marcado);
+
+			Anime copia = Sanatizador.saniAnime(legado);
+			Assertions.assertThat(copia).isNotSameAs(legado);
+			Assertions.assertThat(copia.getName()).isEqualTo("bleach");
+			Assertions.assertThat(copia.getSanitizadorVersao()).isEqualTo(Sanatizador.VERSAO);
+		}
+	}
+
+	private static List<String> sanitizaTodas() {
+		List<String> saidas = new ArrayList<>();
+		for (String entrada : ENTRADAS) {
+			saidas.add(Sanatizador.saniString(entrada));
+		}
+		return saidas;
+	}
+}
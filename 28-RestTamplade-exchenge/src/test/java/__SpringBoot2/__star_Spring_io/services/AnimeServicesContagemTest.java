@@ -0,0 +1,81 @@
+package __SpringBoot2.__star_Spring_io.services;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import __SpringBoot2.__star_Spring_io.cache.ContadorAnimes;
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import __SpringBoot2.__star_Spring_io.requests.AnimePostRequestBody;
+
+// O total mantido só muda com o evento depois do commit: cada save roda na própria transação
+// (sem a transação de rollback do @DataJpaTest) e o teste limpa no fim
+@DataJpaTest(properties = { "cache.contagem.habilitado=true" })
+@Import({ AnimeServicesTestConfig.class, AnimeServicesContagemTest.ReconciliacaoNoCommit.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("AnimeServices save e o total mantido (ContadorAnimes) testes")
+class AnimeServicesContagemTest {
+
+	@Autowired
+	private AnimeServices animeServices;
+
+	@Autowired
+	private AnimeRepository animeRepository;
+
+	@Autowired
+	private ContadorAnimes contadorAnimes;
+
+	@Autowired
+	private ReconciliacaoNoCommit reconciliacaoNoCommit;
+
+	@BeforeEach
+	void setUp() {
+		Assertions.assertThat(contadorAnimes.reconcilia()).isTrue();
+	}
+
+	@AfterEach
+	void limpa() {
+		animeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("reconciliação entre o commit do save e o evento não conta a linha nova duas vezes")
+	void save_keepsTotal_whenReconcileRunsBetweenCommitAndEvent() {
+		AnimePostRequestBody corpo = new AnimePostRequestBody();
+		corpo.setName("naruto");
+
+		animeServices.save(corpo);
+
+		// A linha já estava no banco quando a reconciliação rodou: ela precisa ter sido adiada
+		Assertions.assertThat(reconciliacaoNoCommit.resultado).isFalse();
+		Assertions.assertThat(contadorAnimes.total()).hasValue(animeRepository.count());
+	}
+
+	// Roda antes do ContadorAnimes.aoAlterar: linha confirmada no banco, evento ainda não aplicado
+	@TestConfiguration
+	static class ReconciliacaoNoCommit {
+
+		@Autowired
+		private ContadorAnimes contadorAnimes;
+
+		private Boolean resultado;
+
+		@Order(Ordered.HIGHEST_PRECEDENCE)
+		@TransactionalEventListener(fallbackExecution = true)
+		void aoAlterar(AnimeAlteradoEvento evento) {
+			resultado = contadorAnimes.reconcilia();
+		}
+	}
+}
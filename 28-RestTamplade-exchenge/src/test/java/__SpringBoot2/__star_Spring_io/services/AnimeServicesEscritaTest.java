@@ -0,0 +1,139 @@
+package __SpringBoot2.__star_Spring_io.services;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import __SpringBoot2.__star_Spring_io.busca.IndiceTrigramaNomes;
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.exception.BedRequestException;
+import __SpringBoot2.__star_Spring_io.exception.VersaoDesatualizadaException;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import __SpringBoot2.__star_Spring_io.requests.AnimePostRequestBody;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true" })
+@Import(AnimeServicesTestConfig.class)
+@DisplayName("AnimeServices update (If-Match) e delete em um comando testes")
+class AnimeServicesEscritaTest {
+
+	@Autowired
+	private AnimeServices animeServices;
+
+	@Autowired
+	private AnimeRepository animeRepository;
+
+	@Autowired
+	private IndiceTrigramaNomes indiceTrigrama;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics estatisticas;
+
+	private long id;
+
+	@BeforeEach
+	void setUp() {
+		id = animeRepository.saveAndFlush(Anime.builder().name("naruto").sanitizadorVersao(Sanatizador.VERSAO).build())
+				.getId();
+		estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+	}
+
+	@Test
+	@DisplayName("updateByName faz um único UPDATE (sem SELECT) e devolve o nome sanitizado")
+	void updateByName_issuesSingleUpdate_andReturnsSanitizedName() {
+		AnimeResponse resposta = animeServices.updateByName(id, "<b>Bleach</b>");
+
+		Assertions.assertThat(resposta.getId()).isEqualTo(id);
+		Assertions.assertThat(resposta.getName()).isEqualTo("Bleach");
+		Assertions.assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+		Assertions.assertThat(estatisticas.getEntityLoadCount()).isZero();
+		Assertions.assertThat(animeRepository.findLeituraByNomeBusca("bleach", PageRequest.of(0, 5)))
+				.extracting(AnimeLeitura::getId).containsExactly(id);
+	}
+
+	@Test
+	@DisplayName("save e updateByName gravam nome escapado sem devolver tag viva (linha marcada não é relida)")
+	void saveAndUpdate_storeStableName_whenInputHasEscapedScript() {
+		String entrada = "&lt;script&gt;alert(1)&lt;/script&gt;";
+
+		AnimePostRequestBody corpo = new AnimePostRequestBody();
+		corpo.setName(entrada);
+
+		AnimeResponse criado = animeServices.save(corpo);
+		AnimeResponse alterado = animeServices.updateByName(id, entrada);
+
+		Assertions.assertThat(criado.getName()).doesNotContain("<", ">");
+		Assertions.assertThat(alterado.getName()).doesNotContain("<", ">");
+		Assertions.assertThat(animeServices.findById(criado.getId()).getName()).doesNotContain("<", ">");
+		Assertions.assertThat(animeServices.findById(id).getName()).doesNotContain("<", ">");
+	}
+
+	@Test
+	@DisplayName("updateByName lança BedRequestException quando o id não existe")
+	void updateByName_throwsBedRequest_whenIdNotFound() {
+		Assertions.assertThatExceptionOfType(BedRequestException.class)
+				.isThrownBy(() -> animeServices.updateByName(id + 1000, "Bleach"));
+	}
+
+	@Test
+	@DisplayName("updateByName com a versão lida (If-Match) grava e devolve a versão seguinte")
+	void updateByName_withCurrentVersion_updatesAndReturnsNextVersion() {
+		AnimeResponse resposta = animeServices.updateByName(id, "Bleach", 0L);
+
+		Assertions.assertThat(resposta.getVersao()).isEqualTo(1L);
+		Assertions.assertThat(animeServices.versaoAtual(id)).contains(1L);
+	}
+
+	@Test
+	@DisplayName("updateByName com versão antiga lança VersaoDesatualizadaException e não grava")
+	void updateByName_withStaleVersion_throwsVersaoDesatualizada() {
+		animeServices.updateByName(id, "Bleach", 0L);
+
+		Assertions.assertThatExceptionOfType(VersaoDesatualizadaException.class)
+				.isThrownBy(() -> animeServices.updateByName(id, "One Piece", 0L));
+		Assertions.assertThat(animeServices.findById(id).getName()).isEqualTo("Bleach");
+		Assertions.assertThatExceptionOfType(BedRequestException.class)
+				.isThrownBy(() -> animeServices.updateByName(id + 1000, "One Piece", 0L));
+	}
+
+	@Test
+	@DisplayName("deleteById lê a linha pela chave primária e faz um DELETE, sem carregar a entidade")
+	void deleteById_readsRowByIdAndIssuesSingleDelete() {
+		AnimeResponse resposta = animeServices.deleteById(id);
+
+		Assertions.assertThat(resposta.getId()).isEqualTo(id);
+		Assertions.assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+		Assertions.assertThat(estatisticas.getEntityLoadCount()).isZero();
+		Assertions.assertThat(animeRepository.findById(id)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("deleteById devolve o nome removido mesmo com o índice em memória ainda aquecendo")
+	void deleteById_returnsName_whileIndexWarmsUp() {
+		Assertions.assertThat(indiceTrigrama.pronto()).isFalse();
+
+		AnimeResponse resposta = animeServices.deleteById(id);
+
+		Assertions.assertThat(resposta.getName()).isEqualTo("naruto");
+	}
+
+	@Test
+	@DisplayName("deleteById lança BedRequestException quando o id não existe")
+	void deleteById_throwsBedRequest_whenIdNotFound() {
+		Assertions.assertThatExceptionOfType(BedRequestException.class)
+				.isThrownBy(() -> animeServices.deleteById(id + 1000));
+	}
+}
@@ -0,0 +1,104 @@
+package __SpringBoot2.__star_Spring_io.services;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+
+@DataJpaTest
+@Import(AnimeServicesTestConfig.class)
+@DisplayName("AnimeServices leitura por projeção testes")
+class AnimeServicesLeituraTest {
+
+	@Autowired
+	private AnimeServices animeServices;
+
+	@Autowired
+	private AnimeRepository animeRepository;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@BeforeEach
+	void setUp() {
+		animeRepository.saveAll(List.of(
+				Anime.builder().name("naruto").build(),
+				Anime.builder().name("<b>bleach</b>").build(),
+				Anime.builder().name("one piece").build()));
+		testEntityManager.flush();
+		// Começa com o contexto vazio: só o que a leitura carregar fica gerenciado
+		testEntityManager.clear();
+	}
+
+	@Test
+	@DisplayName("listAll não deixa entidades no contexto de persistência")
+	void listAll_leavesPersistenceContextEmpty() {
+		Page<AnimeResponse> pagina = animeServices.listAll(PageRequest.of(0, 5));
+
+		Assertions.assertThat(pagina.getContent()).extracting(AnimeResponse::getName)
+				.containsExactly("naruto", "bleach", "one piece");
+		Assertions.assertThat(entidadesGerenciadas()).isZero();
+	}
+
+	@Test
+	@DisplayName("findByName (contém e exato) não deixa entidades no contexto de persistência")
+	void findByName_leavesPersistenceContextEmpty() {
+		Page<AnimeResponse> contem = animeServices.findByName(PageRequest.of(0, 5), "a", true);
+		Page<AnimeResponse> exato = animeServices.findByName(PageRequest.of(0, 5), "naruto", false,
+				ModoContagem.JANELA);
+
+		Assertions.assertThat(contem.getTotalElements()).isEqualTo(2);
+		Assertions.assertThat(exato.getContent()).extracting(AnimeResponse::getName).containsExactly("naruto");
+		Assertions.assertThat(entidadesGerenciadas()).isZero();
+	}
+
+	@Test
+	@DisplayName("findAll com entidades (fluxo antigo) enche o contexto - referência da comparação")
+	void findAll_fillsPersistenceContext_withManagedEntities() {
+		animeRepository.findAll(PageRequest.of(0, 5));
+
+		Assertions.assertThat(entidadesGerenciadas()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("busca exata e por prefixo ignoram maiúsculas e acentos (chave nome_busca)")
+	void findByName_exactAndPrefix_ignoreCaseAndAccents() {
+		animeRepository.save(Anime.builder().name("Pokémon").build());
+
+		Assertions.assertThat(animeServices.findByName(PageRequest.of(0, 5), "POKEMON", false).getContent())
+				.extracting(AnimeResponse::getName).containsExactly("Pokémon");
+		Assertions.assertThat(animeServices.findByNameSemTotal(PageRequest.of(0, 5), "Naruto", false).getContent())
+				.extracting(AnimeResponse::getName).containsExactly("naruto");
+		Assertions.assertThat(animeServices.findByNamePrefixo(PageRequest.of(0, 5), "poké").getContent())
+				.extracting(AnimeResponse::getName).containsExactly("Pokémon");
+		Assertions.assertThat(animeServices.sugere("POK", 10)).containsExactly("Pokémon");
+	}
+
+	@Test
+	@DisplayName("sugere pelo banco enquanto o índice de sugestões não está pronto")
+	void sugere_fallsBackToSql_whenIndexIsWarming() {
+		animeRepository.save(Anime.builder().name("naruto shippuden").build());
+		animeRepository.save(Anime.builder().name("naruto").build());
+
+		Assertions.assertThat(animeServices.sugere("nar", 10)).containsExactly("naruto", "naruto shippuden");
+		Assertions.assertThat(animeServices.sugere("nar", 1)).containsExactly("naruto");
+	}
+
+	private int entidadesGerenciadas() {
+		return testEntityManager.getEntityManager().unwrap(SessionImplementor.class)
+				.getPersistenceContext().getNumberOfManagedEntities();
+	}
+}
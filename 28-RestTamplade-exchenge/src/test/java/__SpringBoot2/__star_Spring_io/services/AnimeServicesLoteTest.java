@@ -0,0 +1,100 @@
+package __SpringBoot2.__star_Spring_io.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.exception.BedRequestException;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import __SpringBoot2.__star_Spring_io.requests.AnimeLoteItemResponse;
+import __SpringBoot2.__star_Spring_io.requests.AnimeLoteResponse;
+import __SpringBoot2.__star_Spring_io.requests.AnimePostRequestBody;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true" })
+@Import(AnimeServicesTestConfig.class)
+@DisplayName("AnimeServices criação em lote testes")
+class AnimeServicesLoteTest {
+
+	@Autowired
+	private AnimeServices animeServices;
+
+	@Autowired
+	private AnimeRepository animeRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	@DisplayName("grava os válidos e devolve o resultado de cada item na ordem enviada")
+	void saveLote_savesValidItems_andReportsEachItem() {
+		AnimeLoteResponse resposta = animeServices.saveLote(Arrays.asList(
+				item("naruto"), item(""), item("<b></b>"), item("<b>bleach</b>"), null,
+				item("x".repeat(101)), item("naruto")));
+
+		Assertions.assertThat(resposta.getCriados()).isEqualTo(3);
+		Assertions.assertThat(resposta.getRejeitados()).isEqualTo(4);
+		Assertions.assertThat(resposta.getItens()).extracting(AnimeLoteItemResponse::getIndice)
+				.containsExactly(0, 1, 2, 3, 4, 5, 6);
+		Assertions.assertThat(resposta.getItens()).extracting(AnimeLoteItemResponse::isCriado)
+				.containsExactly(true, false, false, true, false, false, true);
+		Assertions.assertThat(resposta.getItens().get(3).getName()).isEqualTo("bleach");
+		// Mesmas mensagens das anotações de AnimePostRequestBody (POST /animes)
+		// "" viola @NotEmpty e @Size(min = 1): as duas mensagens, como no POST /animes
+		Assertions.assertThat(resposta.getItens().get(1).getErro()).contains("o nome de um anime nao pode ser vazio")
+				.contains("Nome deve ter entre 2 e 100 caracteres");
+		Assertions.assertThat(resposta.getItens().get(4).getErro()).isEqualTo("o nome de um anime nao pode ser vazio");
+		Assertions.assertThat(resposta.getItens().get(5).getErro()).isEqualTo("Nome deve ter entre 2 e 100 caracteres");
+		Assertions.assertThat(animeRepository.findAll()).extracting(Anime::getName)
+				.containsExactlyInAnyOrder("naruto", "bleach", "naruto");
+	}
+
+	@Test
+	@DisplayName("INSERTs vão em lote JDBC: poucos comandos preparados para muitas linhas")
+	void saveLote_batchesInserts() {
+		List<AnimePostRequestBody> lote = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			lote.add(item("anime " + i));
+		}
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+
+		AnimeLoteResponse resposta = animeServices.saveLote(lote);
+
+		// 3 lotes de INSERT (50+50+20) + no máximo 3 reservas de ids da sequência
+		Assertions.assertThat(resposta.getCriados()).isEqualTo(120);
+		Assertions.assertThat(estatisticas.getEntityInsertCount()).isEqualTo(120);
+		Assertions.assertThat(estatisticas.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+		Assertions.assertThat(resposta.getItens()).extracting(AnimeLoteItemResponse::getId).doesNotHaveDuplicates();
+	}
+
+	@Test
+	@DisplayName("lote vazio ou acima do limite é recusado inteiro")
+	void saveLote_throwsBedRequest_whenEmptyOrTooLarge() {
+		List<AnimePostRequestBody> grande = new ArrayList<>();
+		for (int i = 0; i <= AnimeServices.LIMITE_LOTE; i++) {
+			grande.add(item("a"));
+		}
+
+		Assertions.assertThatExceptionOfType(BedRequestException.class)
+				.isThrownBy(() -> animeServices.saveLote(List.of()));
+		Assertions.assertThatExceptionOfType(BedRequestException.class)
+				.isThrownBy(() -> animeServices.saveLote(grande));
+	}
+
+	private static AnimePostRequestBody item(String nome) {
+		AnimePostRequestBody corpo = new AnimePostRequestBody();
+		corpo.setName(nome);
+		return corpo;
+	}
+}
@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 
 import java.lang.annotation.Documented;
 import java.util.List;
+import java.util.OptionalLong;
 
 import org.apache.catalina.mapper.Mapper;
 import org.assertj.core.api.Assertions;
@@ -18,6 +19,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -26,7 +28,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import __SpringBoot2.__star_Spring_io.busca.FiltroBloomNomes;
+import __SpringBoot2.__star_Spring_io.cache.CachePaginas;
+import __SpringBoot2.__star_Spring_io.cache.ContadorAnimes;
 import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
 import __SpringBoot2.__star_Spring_io.mapper.AnimeMapper;
 import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
 import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
@@ -44,6 +50,22 @@ class AnimeServicesTest {
 		@Spy
 		private AnimeMapper animeMapper = Mappers.getMapper(AnimeMapper.class);
 		
+		// Desligado: cada chamada chega ao repositório mockado
+		@Spy
+		private CachePaginas cachePaginas = AnimeServicesTestConfig.cachePaginasDesligado();
+		
+		// Nunca fica pronto: busca exata sempre chega ao repositório
+		@Spy
+		private FiltroBloomNomes filtroBloom = AnimeServicesTestConfig.filtroBloomDesligado();
+		
+		// Nunca fica pronto: listAll continua no Page com COUNT do repositório
+		@Spy
+		private ContadorAnimes contadorAnimes = AnimeServicesTestConfig.contadorDesligado();
+		
+		// Sem executor: ?contagem=PARALELA conta depois do conteúdo, no repositório mockado
+		@Spy
+		private ContagemParalela contagemParalela = AnimeServicesTestConfig.contagemParalelaDesligada();
+		
 		
 		@Nested
 		@DisplayName("listAll paginado - testes")
@@ -51,13 +73,13 @@ class AnimeServicesTest {
 			
 			@BeforeEach
 			void setUp(){
-				BDDMockito.when(animeRepository.findAll(any(Pageable.class)))
+				BDDMockito.when(animeRepository.findLeituraBy(any(Pageable.class)))
 				.thenReturn(new PageImpl<>(List.of(
-						Anime.builder().id(1L).name("alemcar<Script>").build(),
-						Anime.builder().id(2L).name("felipe").build(),
-						Anime.builder().id(3L).name("alfredo").build(),
-						Anime.builder().id(4L).name("bernado").build(),
-						Anime.builder().id(5L).name("barbara").build()
+						new AnimeLeitura(1L, "alemcar<Script>", null),
+						new AnimeLeitura(2L, "felipe", null),
+						new AnimeLeitura(3L, "alfredo", null),
+						new AnimeLeitura(4L, "bernado", null),
+						new AnimeLeitura(5L, "barbara", null)
 						)));
 			};
 			
@@ -106,7 +128,7 @@ class AnimeServicesTest {
 					animeServices.listAll(pageableAbusiva);
 					
 					
-					BDDMockito.verify(animeRepository).findAll(captura.capture());
+					BDDMockito.verify(animeRepository).findLeituraBy(captura.capture());
 					Pageable resultado = captura.getValue();
 					
 					
@@ -194,6 +216,70 @@ class AnimeServicesTest {
 		
 		
 		
+		@Nested
+		@DisplayName("listAll com total mantido (ContadorAnimes) - testes")
+		class listAllComTotalMantido{
+			
+			@Test
+			@DisplayName("listAll : usa o total do ContadorAnimes e não faz COUNT quando ele está pronto")
+			void listAll_UsesMaintainedTotal_WithoutCountQuery() {
+				BDDMockito.doReturn(OptionalLong.of(42)).when(contadorAnimes).total();
+				BDDMockito.when(animeRepository.findConteudoBy(any(Pageable.class)))
+				.thenReturn(List.of(
+						new AnimeLeitura(1L, "naruto", null),
+						new AnimeLeitura(2L, "bleach", null)));
+				
+				Page<AnimeResponse> resposta = animeServices.listAll(PageRequest.of(0, 2));
+				
+				Assertions.assertThat(resposta.getTotalElements()).isEqualTo(42);
+				Assertions.assertThat(resposta.getContent()).extracting(AnimeResponse::getName)
+				.containsExactly("naruto", "bleach");
+				BDDMockito.verify(animeRepository, Mockito.never()).findLeituraBy(any(Pageable.class));
+				BDDMockito.verify(animeRepository, Mockito.never()).count();
+			}
+		}
+		
+		@Nested
+		@DisplayName("listAll com contagem PARALELA - testes")
+		class listAllContagemParalela{
+			
+			@Test
+			@DisplayName("listAll : monta a página do conteúdo sem COUNT do Page + contagem avulsa")
+			void listAll_BuildsPageFromContentAndCount_WhenParallel() {
+				BDDMockito.when(animeRepository.findConteudoBy(any(Pageable.class)))
+				.thenReturn(List.of(
+						new AnimeLeitura(1L, "naruto", null),
+						new AnimeLeitura(2L, "bleach", null)));
+				BDDMockito.when(animeRepository.count()).thenReturn(7L);
+				
+				Page<AnimeResponse> resposta = animeServices.listAll(PageRequest.of(0, 2), ModoContagem.PARALELA);
+				
+				Assertions.assertThat(resposta.getTotalElements()).isEqualTo(7);
+				Assertions.assertThat(resposta.getContent()).extracting(AnimeResponse::getName)
+				.containsExactly("naruto", "bleach");
+				BDDMockito.verify(animeRepository, Mockito.never()).findLeituraBy(any(Pageable.class));
+			}
+			
+			@Test
+			@DisplayName("listAll : PARALELA pedida conta mesmo com o total do ContadorAnimes pronto")
+			void listAll_CountsInParallel_WhenCounterIsReady() {
+				// lenient: o total pronto não pode nem ser consultado
+				Mockito.lenient().doReturn(OptionalLong.of(42)).when(contadorAnimes).total();
+				BDDMockito.when(animeRepository.findConteudoBy(any(Pageable.class)))
+				.thenReturn(List.of(
+						new AnimeLeitura(1L, "naruto", null),
+						new AnimeLeitura(2L, "bleach", null)));
+				BDDMockito.when(animeRepository.count()).thenReturn(7L);
+				
+				Page<AnimeResponse> resposta = animeServices.listAll(PageRequest.of(0, 2), ModoContagem.PARALELA);
+				
+				Assertions.assertThat(resposta.getTotalElements()).isEqualTo(7);
+				BDDMockito.verify(animeRepository).count();
+				BDDMockito.verify(contadorAnimes, Mockito.never()).total();
+			}
+		}
+		
+
 }
 
 
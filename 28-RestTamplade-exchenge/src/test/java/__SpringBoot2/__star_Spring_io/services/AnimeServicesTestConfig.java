@@ -0,0 +1,49 @@
+package __SpringBoot2.__star_Spring_io.services;
+
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+import __SpringBoot2.__star_Spring_io.busca.FiltroBloomNomes;
+import __SpringBoot2.__star_Spring_io.busca.IndiceFuzzyNomes;
+import __SpringBoot2.__star_Spring_io.busca.IndiceSugestaoNomes;
+import __SpringBoot2.__star_Spring_io.busca.IndiceTrigramaNomes;
+import __SpringBoot2.__star_Spring_io.cache.CachePaginas;
+import __SpringBoot2.__star_Spring_io.cache.ContadorAnimes;
+import __SpringBoot2.__star_Spring_io.mapper.AnimeMapperImpl;
+
+/**
+ * Dependências do AnimeServices num lugar só (dependência nova no service = muda só aqui)
+ *
+ * - Testes @DataJpaTest: @Import(AnimeServicesTestConfig.class) sobe o service com os componentes reais
+ * - Teste com mocks (AnimeServicesTest): componentes opcionais desligados, montados pelos
+ *   construtores públicos (cada chamada chega ao repositório mockado)
+ */
+@TestConfiguration
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ AnimeServices.class, AnimeMapperImpl.class, IndiceTrigramaNomes.class, IndiceFuzzyNomes.class,
+		IndiceSugestaoNomes.class, CachePaginas.class, FiltroBloomNomes.class,
+		ContadorAnimes.class, ContagemParalela.class })
+class AnimeServicesTestConfig {
+
+	// Toda página vai ao banco e nada fica guardado
+	static CachePaginas cachePaginasDesligado() {
+		return new CachePaginas(false, 1, 1, 1, 0);
+	}
+
+	// Sem repositório, nunca fica pronto: busca exata sempre vai ao banco
+	static FiltroBloomNomes filtroBloomDesligado() {
+		return new FiltroBloomNomes(null, false, 0.01, 8, 1);
+	}
+
+	// Sem repositório, nunca fica pronto: listAll continua no Page com COUNT
+	static ContadorAnimes contadorDesligado() {
+		return new ContadorAnimes(null, false, 1, 1);
+	}
+
+	// Sem executor: ?contagem=PARALELA conta depois do conteúdo
+	static ContagemParalela contagemParalelaDesligada() {
+		return new ContagemParalela(null, null, false, 1, 1, 0);
+	}
+}
@@ -0,0 +1,150 @@
+package __SpringBoot2.__star_Spring_io.services;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import __SpringBoot2.__star_Spring_io.exception.ContagemIndisponivelException;
+
+@DisplayName("ContagemParalela testes")
+class ContagemParalelaTest {
+
+	private ContagemParalela contagem;
+
+	@AfterEach
+	void tearDown() {
+		if (contagem != null) {
+			contagem.encerra();
+		}
+	}
+
+	@Test
+	@DisplayName("COUNT roda em outra thread enquanto o conteúdo é buscado")
+	void pagina_countsConcurrently_withContent() throws Exception {
+		contagem = new ContagemParalela(true, 2, 2000, 0, null, () -> -1);
+		CountDownLatch contagemIniciada = new CountDownLatch(1);
+		AtomicReference<String> threadContagem = new AtomicReference<>();
+
+		Page<String> pagina = contagem.pagina(() -> {
+			// Conteúdo só termina se o COUNT já começou (os dois ao mesmo tempo)
+			aguarda(contagemIniciada);
+			return List.of("naruto", "bleach");
+		}, PageRequest.of(0, 2), () -> {
+			threadContagem.set(Thread.currentThread().getName());
+			contagemIniciada.countDown();
+			return 7;
+		});
+
+		Assertions.assertThat(pagina.getContent()).containsExactly("naruto", "bleach");
+		Assertions.assertThat(pagina.getTotalElements()).isEqualTo(7);
+		Assertions.assertThat(threadContagem.get()).startsWith("contagem-paralela-");
+		Assertions.assertThat(contagem.estatisticas().getParalelas()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("pool sem folga: COUNT sequencial na thread de quem chama")
+	void pagina_countsSequentially_whenPoolHasNoSpareConnections() {
+		contagem = new ContagemParalela(true, 2, 2000, 2, null, () -> 1);
+		AtomicReference<Thread> threadContagem = new AtomicReference<>();
+
+		Page<String> pagina = contagem.pagina(() -> List.of("naruto", "bleach"), PageRequest.of(0, 2), () -> {
+			threadContagem.set(Thread.currentThread());
+			return 7;
+		});
+
+		Assertions.assertThat(pagina.getTotalElements()).isEqualTo(7);
+		Assertions.assertThat(threadContagem.get()).isSameAs(Thread.currentThread());
+		Assertions.assertThat(contagem.estatisticas().getSequenciais()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("COUNT paralelo além do timeout com pool folgado: 503 sem repetir o COUNT")
+	void pagina_throwsWithoutRecounting_afterTimeout_whenPoolHasSpareConnections() {
+		contagem = new ContagemParalela(true, 1, 50, 0, null, () -> -1);
+		CountDownLatch libera = new CountDownLatch(1);
+		AtomicInteger sequenciais = new AtomicInteger();
+		LongSupplier contagemLenta = () -> {
+			if (Thread.currentThread().getName().startsWith("contagem-paralela-")) {
+				aguarda(libera);
+				return 99;
+			}
+			sequenciais.incrementAndGet();
+			return 7;
+		};
+
+		try {
+			Assertions.assertThatThrownBy(() -> contagem.pagina(() -> List.of("naruto", "bleach"),
+					PageRequest.of(0, 2), contagemLenta))
+				.isInstanceOf(ContagemIndisponivelException.class);
+
+			Assertions.assertThat(sequenciais).hasValue(0);
+			Assertions.assertThat(contagem.estatisticas().getExpiradas()).isEqualTo(1);
+		} finally {
+			libera.countDown();
+		}
+	}
+
+	@Test
+	@DisplayName("COUNT paralelo além do timeout com pool sem folga: conta sequencial")
+	void pagina_fallsBackToSequentialCount_afterTimeout_whenPoolHasNoSpareConnections() {
+		// Folga na submissão, esgotada enquanto o COUNT paralelo espera
+		AtomicInteger livres = new AtomicInteger(2);
+		contagem = new ContagemParalela(true, 1, 50, 1, null, livres::get);
+		CountDownLatch libera = new CountDownLatch(1);
+		LongSupplier contagemLenta = () -> {
+			if (Thread.currentThread().getName().startsWith("contagem-paralela-")) {
+				livres.set(0);
+				aguarda(libera);
+				return 99;
+			}
+			return 7;
+		};
+
+		try {
+			Page<String> pagina = contagem.pagina(() -> List.of("naruto", "bleach"), PageRequest.of(0, 2),
+					contagemLenta);
+
+			Assertions.assertThat(pagina.getTotalElements()).isEqualTo(7);
+			Assertions.assertThat(contagem.estatisticas().getExpiradas()).isEqualTo(1);
+		} finally {
+			libera.countDown();
+		}
+	}
+
+	@Test
+	@DisplayName("primeira página incompleta revela o total: COUNT paralelo não é esperado")
+	void pagina_skipsCount_whenPageRevealsTotal() {
+		contagem = new ContagemParalela(true, 1, 2000, 0, null, () -> -1);
+		AtomicInteger esperadas = new AtomicInteger();
+
+		Page<String> pagina = contagem.pagina(() -> List.of("naruto"), PageRequest.of(0, 5), () -> {
+			esperadas.incrementAndGet();
+			return 1;
+		});
+
+		Assertions.assertThat(pagina.getTotalElements()).isEqualTo(1);
+		Assertions.assertThat(contagem.estatisticas().getDispensadas()).isEqualTo(1);
+		Assertions.assertThat(contagem.estatisticas().getParalelas()).isZero();
+	}
+
+	private static void aguarda(CountDownLatch latch) {
+		try {
+			if (!latch.await(5, TimeUnit.SECONDS)) {
+				throw new AssertionError("tempo esgotado esperando a outra thread");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AssertionError(e);
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package __SpringBoot2.__star_Spring_io.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.dominio.AnimeLeitura;
+import __SpringBoot2.__star_Spring_io.mapper.AnimeMapper;
+import __SpringBoot2.__star_Spring_io.mapper.AnimeMapperImpl;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import __SpringBoot2.__star_Spring_io.requests.AnimeResponse;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+
+@DataJpaTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO" })
+@Import({ ExportacaoAnimes.class, AnimeMapperImpl.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@DisplayName("ExportacaoAnimes testes")
+class ExportacaoAnimesTest {
+
+	// Linhas da massa grande (NDJSON bem maior que o buffer de 64 KB)
+	private static final int LINHAS_MASSA = 20_000;
+
+	@Autowired
+	private ExportacaoAnimes exportacaoAnimes;
+
+	@Autowired
+	private AnimeRepository animeRepository;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private AnimeMapper animeMapper;
+
+	@Test
+	@DisplayName("escreve uma linha JSON por anime, em ordem de id e com nomes sanitizados")
+	void exportaNdjson_writesOneJsonObjectPerLine() throws Exception {
+		animeRepository.saveAll(List.of(
+				Anime.builder().name("naruto").build(),
+				Anime.builder().name("<b>bleach</b>").build(),
+				Anime.builder().name("one piece").build()));
+		testEntityManager.flush();
+		testEntityManager.clear();
+
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		long linhas = exportacaoAnimes.exportaNdjson(saida);
+
+		String[] json = saida.toString(StandardCharsets.UTF_8).split("\n");
+		List<String> nomes = new ArrayList<>();
+		for (String linha : json) {
+			nomes.add(objectMapper.readValue(linha, AnimeResponse.class).getName());
+		}
+		Assertions.assertThat(linhas).isEqualTo(3);
+		Assertions.assertThat(nomes).containsExactly("naruto", "bleach", "one piece");
+		Assertions.assertThat(entidadesGerenciadas()).isZero();
+	}
+
+	@Test
+	@DisplayName("primeiros blocos chegam à resposta com o ResultSet ainda aberto")
+	void exportaNdjson_flushesRowsBeforeStreamEnds() throws Exception {
+		// Stream preguiçoso: conta as linhas já lidas e marca o fechamento (como o ResultSet)
+		AtomicLong lidas = new AtomicLong();
+		AtomicBoolean fechado = new AtomicBoolean();
+		AnimeRepository repositorio = Mockito.mock(AnimeRepository.class);
+		Mockito.when(repositorio.streamLeituraOrdenadaPorId()).thenReturn(LongStream.rangeClosed(1, LINHAS_MASSA)
+				.peek(id -> lidas.incrementAndGet())
+				.mapToObj(id -> new AnimeLeitura(id, "anime numero " + id, Sanatizador.VERSAO))
+				.onClose(() -> fechado.set(true)));
+		ExportacaoAnimes exportacao = new ExportacaoAnimes(repositorio, animeMapper, objectMapper, 0);
+
+		PrimeiraEscrita saida = new PrimeiraEscrita(lidas, fechado);
+		long linhas = exportacao.exportaNdjson(saida);
+
+		Assertions.assertThat(linhas).isEqualTo(LINHAS_MASSA);
+		// Uma lista com o catálogo só escreveria depois de ler (e fechar) tudo
+		Assertions.assertThat(saida.fechadoNaPrimeira).isFalse();
+		Assertions.assertThat(saida.lidasNaPrimeira).isPositive().isLessThan(LINHAS_MASSA / 2);
+		// Blocos do buffer, não uma escrita por linha
+		Assertions.assertThat(saida.escritas).isGreaterThan(1).isLessThan(LINHAS_MASSA / 100);
+		Assertions.assertThat(fechado).isTrue();
+	}
+
+	@Test
+	@DisplayName("consulta da exportação lê o ResultSet em blocos (fetch size)")
+	void streamLeituraOrdenadaPorId_hasBoundedFetchSize() throws Exception {
+		QueryHints dicas = AnimeRepository.class.getMethod("streamLeituraOrdenadaPorId").getAnnotation(QueryHints.class);
+
+		Assertions.assertThat(dicas).isNotNull();
+		Assertions.assertThat(dicas.value())
+				.filteredOn(dica -> dica.name().equals(HibernateHints.HINT_FETCH_SIZE))
+				.singleElement()
+				.satisfies(dica -> Assertions.assertThat(Integer.parseInt(dica.value())).isBetween(1, 10_000));
+	}
+
+	private int entidadesGerenciadas() {
+		return testEntityManager.getEntityManager().unwrap(SessionImplementor.class)
+				.getPersistenceContext().getNumberOfManagedEntities();
+	}
+
+	// Descarta os bytes e guarda o estado do Stream na primeira escrita que chega à resposta
+	private static final class PrimeiraEscrita extends OutputStream {
+
+		private final AtomicLong lidas;
+		private final AtomicBoolean fechado;
+		private long lidasNaPrimeira = -1;
+		private boolean fechadoNaPrimeira;
+		private int escritas;
+
+		PrimeiraEscrita(AtomicLong lidas, AtomicBoolean fechado) {
+			this.lidas = lidas;
+			this.fechado = fechado;
+		}
+
+		@Override
+		public void write(int b) {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			if (escritas++ == 0) {
+				lidasNaPrimeira = lidas.get();
+				fechadoNaPrimeira = fechado.get();
+			}
+		}
+	}
+}
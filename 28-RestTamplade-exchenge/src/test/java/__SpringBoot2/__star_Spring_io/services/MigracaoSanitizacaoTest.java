@@ -0,0 +1,114 @@
+package __SpringBoot2.__star_Spring_io.services;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import __SpringBoot2.__star_Spring_io.dominio.Anime;
+import __SpringBoot2.__star_Spring_io.evento.AnimeAlteradoEvento;
+import __SpringBoot2.__star_Spring_io.repository.AnimeRepository;
+import __SpringBoot2.__star_Spring_io.seguranca.Sanatizador;
+
+@DataJpaTest(properties = { "sanitizador.migracao.lote=2" })
+@Import(MigracaoSanitizacao.class)
+@RecordApplicationEvents
+@DisplayName("MigracaoSanitizacao testes")
+class MigracaoSanitizacaoTest {
+
+	@Autowired
+	private ApplicationEvents eventos;
+
+	@Autowired
+	private MigracaoSanitizacao migracaoSanitizacao;
+
+	@Autowired
+	private AnimeRepository animeRepository;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@Test
+	@DisplayName("sanitiza e marca todas as linhas legadas em lotes")
+	void migraLegados_sanitizesAndMarksLegacyRows_inBatches() {
+		animeRepository.saveAll(List.of(
+				Anime.builder().name("<b>naruto</b>").build(),
+				Anime.builder().name("<script>x</script>bleach").build(),
+				Anime.builder().name("one piece").build(),
+				Anime.builder().name("marcado").sanitizadorVersao(Sanatizador.VERSAO).build()));
+		testEntityManager.flush();
+
+		int migradas = migracaoSanitizacao.migraLegados();
+		testEntityManager.flush();
+		testEntityManager.clear();
+
+		Assertions.assertThat(migradas).isEqualTo(3);
+		Assertions.assertThat(animeRepository.findAll())
+				.allSatisfy(anime -> Assertions.assertThat(anime.getSanitizadorVersao()).isEqualTo(Sanatizador.VERSAO))
+				.extracting(Anime::getName)
+				.containsExactlyInAnyOrder("naruto", "bleach", "one piece", "marcado");
+	}
+
+	@Test
+	@DisplayName("preenche nome_busca das linhas gravadas antes da coluna")
+	void migraLegados_fillsMissingSearchKey() {
+		animeRepository.save(Anime.builder().name("Pokémon").sanitizadorVersao(Sanatizador.VERSAO).build());
+		testEntityManager.flush();
+		testEntityManager.getEntityManager().createNativeQuery("UPDATE anime SET nome_busca = NULL").executeUpdate();
+		testEntityManager.clear();
+
+		int migradas = migracaoSanitizacao.migraLegados();
+		testEntityManager.flush();
+		testEntityManager.clear();
+
+		Assertions.assertThat(migradas).isEqualTo(1);
+		Assertions.assertThat(animeRepository.findAll()).extracting(Anime::getNomeBusca).containsExactly("pokemon");
+	}
+
+	@Test
+	@DisplayName("linha na versão atual sem nome_busca só ganha a chave: mesmo nome, mesma versão, sem evento")
+	void migraLegados_onlyFillsSearchKey_whenRowHasCurrentVersion() {
+		// Outra passada do saniString trocaria "&amp;" por "&": a migração não pode tocar no nome
+		Anime gravado = animeRepository.save(
+				Anime.builder().name("Tom &amp; Jerry").sanitizadorVersao(Sanatizador.VERSAO).build());
+		testEntityManager.flush();
+		testEntityManager.getEntityManager().createNativeQuery("UPDATE anime SET nome_busca = NULL").executeUpdate();
+		testEntityManager.clear();
+
+		int migradas = migracaoSanitizacao.migraLegados();
+		testEntityManager.flush();
+		testEntityManager.clear();
+
+		Anime depois = animeRepository.findById(gravado.getId()).orElseThrow();
+		Assertions.assertThat(migradas).isEqualTo(1);
+		Assertions.assertThat(depois.getName()).isEqualTo("Tom &amp; Jerry");
+		Assertions.assertThat(depois.getNomeBusca()).isNotNull();
+		Assertions.assertThat(depois.getVersao()).isEqualTo(gravado.getVersao());
+		Assertions.assertThat(eventos.stream(AnimeAlteradoEvento.class)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("publica ATUALIZADO com o nome gravado de cada linha migrada (índices e filtro de Bloom)")
+	void migraLegados_publishesUpdatedEventPerRow() {
+		long id = animeRepository.save(Anime.builder().name("<b>Naruto</b>").build()).getId();
+		animeRepository.save(Anime.builder().name("marcado").sanitizadorVersao(Sanatizador.VERSAO).build());
+		testEntityManager.flush();
+
+		migracaoSanitizacao.migraLegados();
+
+		Assertions.assertThat(eventos.stream(AnimeAlteradoEvento.class))
+				.singleElement()
+				.satisfies(evento -> {
+					Assertions.assertThat(evento.getTipo()).isEqualTo(AnimeAlteradoEvento.Tipo.ATUALIZADO);
+					Assertions.assertThat(evento.getId()).isEqualTo(id);
+					Assertions.assertThat(evento.getAnime().getName()).isEqualTo("Naruto");
+				});
+	}
+}
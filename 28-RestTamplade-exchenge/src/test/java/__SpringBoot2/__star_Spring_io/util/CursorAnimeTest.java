@@ -0,0 +1,36 @@
+package __SpringBoot2.__star_Spring_io.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import __SpringBoot2.__star_Spring_io.exception.BedRequestException;
+
+@DisplayName("CursorAnime testes")
+class CursorAnimeTest {
+
+	@Test
+	@DisplayName("decodifica o mesmo cursor que foi codificado, inclusive nome com '|'")
+	void decodifica_returnsSameCursor_whenTokenWasGeneratedByCodifica() {
+		CursorAnime original = new CursorAnime("name", Sort.Direction.DESC, 42L, "Fate|Zero ação");
+
+		CursorAnime lido = CursorAnime.decodifica(original.codifica());
+
+		Assertions.assertThat(lido.getCampo()).isEqualTo("name");
+		Assertions.assertThat(lido.getDirecao()).isEqualTo(Sort.Direction.DESC);
+		Assertions.assertThat(lido.getUltimoId()).isEqualTo(42L);
+		Assertions.assertThat(lido.getUltimoNome()).isEqualTo("Fate|Zero ação");
+	}
+
+	@Test
+	@DisplayName("lança BedRequestException para token adulterado ou campo não permitido")
+	void decodifica_throwsBedRequestException_whenTokenIsInvalid() {
+		String campoProibido = new CursorAnime("password", Sort.Direction.ASC, 1L, null).codifica();
+
+		Assertions.assertThatExceptionOfType(BedRequestException.class)
+				.isThrownBy(() -> CursorAnime.decodifica("nao-e-base64!!"));
+		Assertions.assertThatExceptionOfType(BedRequestException.class)
+				.isThrownBy(() -> CursorAnime.decodifica(campoProibido));
+	}
+}
@@ -0,0 +1,32 @@
+package __SpringBoot2.__star_Spring_io.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import __SpringBoot2.__star_Spring_io.exception.VersaoDesatualizadaException;
+
+@DisplayName("EtagAnime testes")
+class EtagAnimeTest {
+
+	@Test
+	@DisplayName("lê de volta a versão da ETag gerada para o mesmo anime")
+	void versaoExigida_returnsVersion_whenEtagWasGeneratedByDoRecurso() {
+		Assertions.assertThat(EtagAnime.versaoExigida(EtagAnime.doRecurso(7L, 3L), 7L)).isEqualTo(3L);
+		Assertions.assertThat(EtagAnime.versaoExigida(null, 7L)).isNull();
+		Assertions.assertThat(EtagAnime.versaoExigida("*", 7L)).isNull();
+	}
+
+	@Test
+	@DisplayName("lança VersaoDesatualizadaException para ETag de outro anime, fraca ou ilegível")
+	void versaoExigida_throwsVersaoDesatualizada_whenEtagDoesNotMatch() {
+		String deOutroAnime = EtagAnime.doRecurso(8L, 3L);
+
+		Assertions.assertThatExceptionOfType(VersaoDesatualizadaException.class)
+				.isThrownBy(() -> EtagAnime.versaoExigida(deOutroAnime, 7L));
+		Assertions.assertThatExceptionOfType(VersaoDesatualizadaException.class)
+				.isThrownBy(() -> EtagAnime.versaoExigida("W/" + EtagAnime.doRecurso(7L, 3L), 7L));
+		Assertions.assertThatExceptionOfType(VersaoDesatualizadaException.class)
+				.isThrownBy(() -> EtagAnime.versaoExigida("\"a-7-x\"", 7L));
+	}
+}